@@ -1,268 +1,407 @@
-package com.bookTracker.model;
-
-import java.io.Serializable;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.UUID;
-
-/**
- * Classe base abstrata que representa um Livro genérico no sistema.
- * Conceitos de POO aplicados:
- * Abstração: Esta classe não pode ser instanciada diretamente (ninguém cria apenas um "Livro").
- * Ela serve de modelo para {@link PhysicalBook} e {@link Ebook}.
- * Herança: Contém todos os atributos comuns (título, autor, etc.) que as subclasses herdam.
- * Serialização: Implementa {@link Serializable} para permitir que objetos desta classe (e subclasses)
- * sejam transformados em bytes para salvamento (embora agora estejamos usando .txt, manter Serializable é boa prática).
- * * @author Netto
- */
-
-public abstract class Book implements Serializable {
-    // Versionamento da classe para garantir compatibilidade durante a serialização.
-    private static final long serialVersionUID = 1L; 
-
-    /**
-     * Identificador único universal (UUID). 
-     * Essencial para diferenciar livros com mesmo título ou para operações de update/delete.
-     */
-    private final String id;
-    
-    private String title;
-    private String author;
-    private int totalPages;
-    private int currentPage;
-    private String publisher;
-    private Genre genre; 
-    
-    /**
-     * Descrição ou sinopse do livro. Pode conter texto longo.
-     */
-    private String description;
-    
-    /**
-     * Estado atual da leitura (Lendo, Lido, A Ler).
-     */
-    private BookStatus status;
-    
-    /**
-     * Avaliação do usuário de 0 a 5 estrelas.
-     */
-    private int rating; 
-    
-    // Listas para armazenar múltiplos textos associados ao livro.
-    private List<String> notes;
-    private List<String> quotes;
-	
-    /**
-     * Construtor "Completo" (11 args)
-     * Este construtor é utilizado exclusivamente pelo {@code DataManager} quando
-     * está lendo os dados do arquivo de texto (backup). Ele permite recriar um objeto
-     * {@code Book} com um ID já existente e todas as suas propriedades preenchidas.
-     * @param id O UUID recuperado do arquivo (não gera um novo).
-     * @param title Título do livro.
-     * @param author Autor do livro.
-     * @param totalPages Número total de páginas.
-     * @param publisher Editora.
-     * @param description Descrição.
-     * @param genre Objeto Gênero associado.
-     * @param status Enum do status de leitura.
-     * @param rating Nota atribuída (0-5). [AINDA NÃO UTILIZADA]
-     * @param currentPage Página onde o usuário parou.
-     * @param notes Lista de anotações pessoais. [AINDA NÃO UTILIZADA]
-     * @param quotes Lista de citações favoritas.
-     */
-    public Book(String id, String title, String author, int totalPages, String publisher, String description, Genre genre, BookStatus status, int rating, int currentPage, List<String> notes, List<String> quotes) {
-        super();
-        this.id = id; // Usa o ID vindo do arquivo (preservando a identidade)
-        this.title = title;
-        this.author = author;
-        this.totalPages = totalPages;
-        this.publisher = publisher;
-        this.description = description;
-        this.genre = genre;
-        this.rating = rating;
-        this.currentPage = currentPage;
-        // Validação básica para evitar NullPointerException ao carregar dados antigos ou corrompidos
-        this.status = (status != null) ? status : BookStatus.TO_READ;
-        this.notes = (notes != null) ? notes : new ArrayList<>();
-        this.quotes = (quotes != null) ? quotes : new ArrayList<>();
-    }
-        
-    /**
-     * Construtor "Simples" (6 args)
-     * Utilizado pela interface gráfica ({@code NewBook.java}) quando o usuário está
-     * cadastrando um novo livro.
-     * 
-     * Esse método:
-     * Gera um novo ID único automaticamente via {@code UUID.randomUUID()}.
-     * Define valores padrão para campos opcionais (Status = A Ler, Página Atual = 0, etc.).
-     * 
-     * @param title Título do livro.
-     * @param author Autor do livro.
-     * @param totalPages Número total de páginas.
-     * @param publisher Editora.
-     * @param description Descrição.
-     * @param genre Gênero selecionado no ComboBox.
-     */
-    public Book(String title, String author, int totalPages, String publisher, String description, Genre genre) {
-        super();
-        this.id = UUID.randomUUID().toString(); // Gera um NOVO ID do livro
-        this.title = title;
-        this.author = author;
-        this.totalPages = totalPages;
-        this.publisher = publisher;
-        this.description = description;
-        this.genre = genre;
-        // Valores padrão para um registro novo
-        this.status = BookStatus.TO_READ; 
-        this.rating = 0;                  
-        this.currentPage = 0;           
-        // Listas para Notas [AINDA NÃO UTILIZADA] e citações
-        this.notes = new ArrayList<>();   
-        this.quotes = new ArrayList<>();  
-    }
-
-    // Getters
-    public String getId() {
-        return id;
-    }
-	
-    public static long getSerialversionuid() {
-        return serialVersionUID;
-    }
-
-    public String getTitle() {
-        return title;
-    }
-
-    public String getAuthor() {
-        return author;
-    }
-
-    public int getTotalPages() {
-        return totalPages;
-    }
-
-    public String getPublisher() {
-        return publisher;
-    }
-
-    public String getDescription() {
-        return description;
-    }
-
-    public Genre getGenre() {
-        return genre;
-    }
-
-    public BookStatus getStatus() {
-        return status;
-    }
-
-    public int getRating() {
-        return rating;
-    }
-
-    public int getCurrentPage() {
-        return currentPage;
-    }
-
-    public List<String> getNotes() {
-        return notes;
-    }
-
-    public List<String> getQuotes() {
-        return quotes;
-    }
-
-    // Setters
-    public void setTitle(String title) {
-        this.title = title;
-    }
-
-    public void setAuthor(String author) {
-        this.author = author;
-    }
-
-    public void setTotalPages(int totalPages) {
-        this.totalPages = totalPages;
-    }
-
-    public void setPublisher(String publisher) {
-        this.publisher = publisher;
-    }
-
-    public void setDescription(String description) {
-        this.description = description;
-    }
-
-    public void setGenre(Genre genre) {
-        this.genre = genre;
-    }
-
-    public void setStatus(BookStatus status) {
-        this.status = status;
-    }
-
-    public void setRating(int rating) {
-        this.rating = rating;
-    }
-
-    public void setCurrentPage(int currentPage) {
-        this.currentPage = currentPage;
-    }
-
-    public void setNotes(List<String> notes) {
-        this.notes = notes;
-    }
-
-    public void setQuotes(List<String> quotes) {
-        this.quotes = quotes;
-    }
-
-    /**
-     * Retorna uma representação textual simplificada do livro.
-     * Utilizado principalmente pelos componentes de UI (como JComboBox) 
-     * para exibir o nome do livro na lista.
-     */
-    @Override
-    public String toString() {
-            return this.title + " / " + this.author + " / Total páginas:" + this.totalPages;
-    }
-	
-    /**
-     * Verifica se dois livros são iguais.
-     * A igualdade é baseada exclusivamente no ID do livro.
-     * Isso garante que, mesmo se editarmos o título ou a página atual, 
-     * o sistema ainda reconheça que é o mesmo objeto.
-     */
-    @Override
-    public boolean equals(Object o) {
-        if (this == o) return true;
-        if (o == null || getClass() != o.getClass()) return false;
-        // Verifica se o objeto comparado é uma instância de Book (ou subclasses)
-        if (!(o instanceof Book)) {
-            return false;
-        }
-        Book book = (Book) o;
-        return id.equals(book.id);
-    }
-
-    /**
-     * Gera um código hash único para o livro.
-     * Este método é obrigatório sempre que sobrescrevemos o {@code equals}.
-     * A regra é: se dois objetos são iguais segundo {@code equals()}, 
-     * eles DEVEM ter o mesmo {@code hashCode}. Por isso, usamos o ID aqui também.
-     */
-    @Override
-    public int hashCode() {
-        return java.util.Objects.hash(id);
-    }
-	
-	
-	
-
-	
-	
-	
-	
-}
+package com.bookTracker.model;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Classe base abstrata que representa um Livro genérico no sistema.
+ * Conceitos de POO aplicados:
+ * Abstração: Esta classe não pode ser instanciada diretamente (ninguém cria apenas um "Livro").
+ * Ela serve de modelo para {@link PhysicalBook} e {@link Ebook}.
+ * Herança: Contém todos os atributos comuns (título, autor, etc.) que as subclasses herdam.
+ * Serialização: Implementa {@link Serializable} para permitir que objetos desta classe (e subclasses)
+ * sejam transformados em bytes para salvamento (embora agora estejamos usando .txt, manter Serializable é boa prática).
+ * * @author Netto
+ */
+
+public abstract class Book implements Serializable {
+    // Versionamento da classe para garantir compatibilidade durante a serialização.
+    private static final long serialVersionUID = 1L; 
+
+    /**
+     * Identificador único universal (UUID). 
+     * Essencial para diferenciar livros com mesmo título ou para operações de update/delete.
+     */
+    private final String id;
+    
+    private String title;
+    private String author;
+
+    /**
+     * Título e autor normalizados para busca ({@link SearchKeys}: minúsculas e sem acentos).
+     * Calculados quando o título e o autor são definidos, para que as buscas não normalizem o texto de
+     * cada livro a cada consulta.
+     */
+    private transient String titleKey;
+    private transient String authorKey;
+    private int totalPages;
+    private int currentPage;
+    private String publisher;
+    private Genre genre; 
+    
+    /**
+     * Descrição ou sinopse do livro. Pode conter texto longo.
+     */
+    private String description;
+    
+    /**
+     * Estado atual da leitura (Lendo, Lido, A Ler).
+     */
+    private BookStatus status;
+    
+    /**
+     * Avaliação do usuário de 0 a 5 estrelas.
+     */
+    private int rating; 
+    
+    // Listas para armazenar múltiplos textos associados ao livro.
+    private List<String> notes;
+    private List<String> quotes;
+
+    /**
+     * Origem da descrição, citações e notas quando o livro foi carregado em modo preguiçoso.
+     * Enquanto não for {@code null}, esses textos ainda estão apenas no arquivo.
+     */
+    private transient volatile LazyTextSource lazyText;
+
+    /** Verdadeiro enquanto a fonte preguiçosa está preenchendo os textos (evita recarga pelos setters). */
+    private transient boolean loadingText;
+
+    /**
+     * Campos que esta versão da aplicação não conhece (gravados por uma versão mais nova no arquivo),
+     * guardados exatamente como foram lidos, uma linha por campo, para serem regravados sem perdas.
+     * {@code null} quando não há nenhum.
+     */
+    private String unknownFields;
+	
+    /**
+     * Construtor "Completo" (11 args)
+     * Este construtor é utilizado exclusivamente pelo {@code DataManager} quando
+     * está lendo os dados do arquivo de texto (backup). Ele permite recriar um objeto
+     * {@code Book} com um ID já existente e todas as suas propriedades preenchidas.
+     * @param id O UUID recuperado do arquivo (não gera um novo).
+     * @param title Título do livro.
+     * @param author Autor do livro.
+     * @param totalPages Número total de páginas.
+     * @param publisher Editora.
+     * @param description Descrição.
+     * @param genre Objeto Gênero associado.
+     * @param status Enum do status de leitura.
+     * @param rating Nota atribuída (0-5). [AINDA NÃO UTILIZADA]
+     * @param currentPage Página onde o usuário parou.
+     * @param notes Lista de anotações pessoais. [AINDA NÃO UTILIZADA]
+     * @param quotes Lista de citações favoritas.
+     */
+    public Book(String id, String title, String author, int totalPages, String publisher, String description, Genre genre, BookStatus status, int rating, int currentPage, List<String> notes, List<String> quotes) {
+        super();
+        this.id = id; // Usa o ID vindo do arquivo (preservando a identidade)
+        this.title = title;
+        this.author = author;
+        this.titleKey = SearchKeys.fold(title);
+        this.authorKey = SearchKeys.fold(author);
+        this.totalPages = totalPages;
+        this.publisher = publisher;
+        this.description = description;
+        this.genre = genre;
+        this.rating = rating;
+        this.currentPage = currentPage;
+        // Validação básica para evitar NullPointerException ao carregar dados antigos ou corrompidos
+        this.status = (status != null) ? status : BookStatus.TO_READ;
+        this.notes = (notes != null) ? notes : new ArrayList<>();
+        this.quotes = (quotes != null) ? quotes : new ArrayList<>();
+    }
+        
+    /**
+     * Construtor "Simples" (6 args)
+     * Utilizado pela interface gráfica ({@code NewBook.java}) quando o usuário está
+     * cadastrando um novo livro.
+     * 
+     * Esse método:
+     * Gera um novo ID único automaticamente via {@code UUID.randomUUID()}.
+     * Define valores padrão para campos opcionais (Status = A Ler, Página Atual = 0, etc.).
+     * 
+     * @param title Título do livro.
+     * @param author Autor do livro.
+     * @param totalPages Número total de páginas.
+     * @param publisher Editora.
+     * @param description Descrição.
+     * @param genre Gênero selecionado no ComboBox.
+     */
+    public Book(String title, String author, int totalPages, String publisher, String description, Genre genre) {
+        super();
+        this.id = UUID.randomUUID().toString(); // Gera um NOVO ID do livro
+        this.title = title;
+        this.author = author;
+        this.titleKey = SearchKeys.fold(title);
+        this.authorKey = SearchKeys.fold(author);
+        this.totalPages = totalPages;
+        this.publisher = publisher;
+        this.description = description;
+        this.genre = genre;
+        // Valores padrão para um registro novo
+        this.status = BookStatus.TO_READ; 
+        this.rating = 0;                  
+        this.currentPage = 0;           
+        // Listas para Notas [AINDA NÃO UTILIZADA] e citações
+        this.notes = new ArrayList<>();   
+        this.quotes = new ArrayList<>();  
+    }
+
+    // Getters
+    public String getId() {
+        return id;
+    }
+	
+    public static long getSerialversionuid() {
+        return serialVersionUID;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public String getAuthor() {
+        return author;
+    }
+
+    /**
+     * @return O título normalizado para busca: minúsculas e sem acentos ("" se não houver título).
+     */
+    public String getTitleKey() {
+        if (titleKey == null) { // Objeto desserializado: os campos transient voltam nulos
+            titleKey = SearchKeys.fold(title);
+        }
+        return titleKey;
+    }
+
+    /**
+     * @return O autor normalizado para busca: minúsculas e sem acentos ("" se não houver autor).
+     */
+    public String getAuthorKey() {
+        if (authorKey == null) {
+            authorKey = SearchKeys.fold(author);
+        }
+        return authorKey;
+    }
+
+    public int getTotalPages() {
+        return totalPages;
+    }
+
+    public String getPublisher() {
+        return publisher;
+    }
+
+    public String getDescription() {
+        loadLazyText();
+        return description;
+    }
+
+    public Genre getGenre() {
+        return genre;
+    }
+
+    public BookStatus getStatus() {
+        return status;
+    }
+
+    public int getRating() {
+        return rating;
+    }
+
+    public int getCurrentPage() {
+        return currentPage;
+    }
+
+    public List<String> getNotes() {
+        loadLazyText();
+        return notes;
+    }
+
+    public List<String> getQuotes() {
+        loadLazyText();
+        return quotes;
+    }
+
+    // Setters
+    public void setTitle(String title) {
+        this.title = title;
+        this.titleKey = SearchKeys.fold(title);
+    }
+
+    public void setAuthor(String author) {
+        this.author = author;
+        this.authorKey = SearchKeys.fold(author);
+    }
+
+    public void setTotalPages(int totalPages) {
+        this.totalPages = totalPages;
+    }
+
+    public void setPublisher(String publisher) {
+        this.publisher = publisher;
+    }
+
+    public void setDescription(String description) {
+        loadLazyText(); // Senão a carga posterior sobrescreveria o novo valor
+        this.description = description;
+    }
+
+    public void setGenre(Genre genre) {
+        this.genre = genre;
+    }
+
+    public void setStatus(BookStatus status) {
+        this.status = status;
+    }
+
+    public void setRating(int rating) {
+        this.rating = rating;
+    }
+
+    public void setCurrentPage(int currentPage) {
+        this.currentPage = currentPage;
+    }
+
+    public void setNotes(List<String> notes) {
+        loadLazyText();
+        this.notes = notes;
+    }
+
+    public void setQuotes(List<String> quotes) {
+        loadLazyText();
+        this.quotes = quotes;
+    }
+
+    /**
+     * Retorna os campos desconhecidos lidos do arquivo (linhas separadas por {@code \n}).
+     * Usado apenas pela camada de persistência, para regravá-los como estavam.
+     * @return As linhas originais, ou {@code null} se o registro não tinha campos desconhecidos.
+     */
+    public String getUnknownFields() {
+        return unknownFields;
+    }
+
+    public void setUnknownFields(String unknownFields) {
+        this.unknownFields = unknownFields;
+    }
+
+    /**
+     * Ativa o carregamento preguiçoso dos textos longos (descrição, citações e notas).
+     * Usado pela camada de persistência: os textos só são lidos do arquivo no primeiro acesso.
+     * @param source De onde os textos serão lidos, ou {@code null} se já estão em memória.
+     */
+    public void setLazyTextSource(LazyTextSource source) {
+        this.lazyText = source;
+    }
+
+    /**
+     * Indica se a descrição, as citações e as notas já estão em memória.
+     * @return {@code false} se ainda serão lidas do arquivo no primeiro acesso (ou se a última leitura falhou).
+     * Nesse caso os textos em memória são apenas provisórios e o livro não deve ser gravado.
+     */
+    public boolean isTextLoaded() {
+        return lazyText == null;
+    }
+
+    /**
+     * Busca os textos longos na primeira vez que são necessários.
+     * Outras threads que acessarem o livro durante a leitura esperam ela terminar;
+     * os setters chamados pela própria fonte durante a leitura não disparam outra carga.
+     * Se a leitura falhar, a fonte é mantida: o próximo acesso tenta de novo.
+     */
+    private void loadLazyText() {
+        if (lazyText == null) {
+            return;
+        }
+        synchronized (this) {
+            LazyTextSource source = lazyText;
+            if (source != null && !loadingText) {
+                loadingText = true;
+                boolean loaded = false;
+                try {
+                    loaded = source.loadInto(this);
+                } finally {
+                    loadingText = false;
+                    if (loaded) {
+                        lazyText = null;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Cria uma cópia independente do livro (mesmo ID), que não muda quando o original é editado.
+     * Usada pela gravação em segundo plano: o que vai para o disco é o livro no momento da alteração.
+     * Textos ainda não carregados não são lidos agora: a cópia usa a mesma fonte preguiçosa.
+     * @return Um livro do mesmo tipo, com os mesmos dados e listas próprias.
+     */
+    public final Book copy() {
+        synchronized (this) { // Não copia no meio de uma carga preguiçosa
+            Book copy = newCopy(id, title, author, totalPages, publisher, description, genre, status, rating, currentPage,
+                    (notes != null) ? new ArrayList<>(notes) : null,
+                    (quotes != null) ? new ArrayList<>(quotes) : null);
+            copy.unknownFields = unknownFields;
+            copy.lazyText = lazyText;
+            return copy;
+        }
+    }
+
+    /**
+     * Cria um livro do mesmo tipo com os dados informados (ver {@link #copy()}).
+     * Os parâmetros são os do construtor completo.
+     */
+    protected abstract Book newCopy(String id, String title, String author, int totalPages, String publisher,
+                                    String description, Genre genre, BookStatus status, int rating, int currentPage,
+                                    List<String> notes, List<String> quotes);
+
+    /**
+     * Retorna uma representação textual simplificada do livro.
+     * Utilizado principalmente pelos componentes de UI (como JComboBox) 
+     * para exibir o nome do livro na lista.
+     */
+    @Override
+    public String toString() {
+            return this.title + " / " + this.author + " / Total páginas:" + this.totalPages;
+    }
+	
+    /**
+     * Verifica se dois livros são iguais.
+     * A igualdade é baseada exclusivamente no ID do livro.
+     * Isso garante que, mesmo se editarmos o título ou a página atual, 
+     * o sistema ainda reconheça que é o mesmo objeto.
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        // Verifica se o objeto comparado é uma instância de Book (ou subclasses)
+        if (!(o instanceof Book)) {
+            return false;
+        }
+        Book book = (Book) o;
+        return id.equals(book.id);
+    }
+
+    /**
+     * Gera um código hash único para o livro.
+     * Este método é obrigatório sempre que sobrescrevemos o {@code equals}.
+     * A regra é: se dois objetos são iguais segundo {@code equals()}, 
+     * eles DEVEM ter o mesmo {@code hashCode}. Por isso, usamos o ID aqui também.
+     */
+    @Override
+    public int hashCode() {
+        return java.util.Objects.hash(id);
+    }
+	
+	
+	
+
+	
+	
+	
+	
+}
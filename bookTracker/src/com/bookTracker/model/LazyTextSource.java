@@ -0,0 +1,22 @@
+package com.bookTracker.model;
+
+/**
+ * Fonte dos textos longos (descrição, citações e notas) de um {@link Book} carregado em modo preguiçoso.
+ *
+ * A camada de persistência pode criar o livro apenas com os campos curtos (título, autor, status...)
+ * e deixar os blocos de texto no arquivo. Na primeira vez que um deles é acessado, o livro chama
+ * {@link #loadInto(Book)} para buscá-los.
+ *
+ * * @author Netto
+ */
+public interface LazyTextSource {
+
+    /**
+     * Lê os textos longos do livro e os preenche usando {@code setDescription},
+     * {@code setQuotes} e {@code setNotes}.
+     * @param book O livro que está pedindo seus textos.
+     * @return {@code false} se os textos não puderam ser lidos: o livro continua com esta fonte
+     * e a leitura é tentada de novo no próximo acesso.
+     */
+    boolean loadInto(Book book);
+}
@@ -0,0 +1,67 @@
+package com.bookTracker.model;
+
+import java.text.Normalizer;
+import java.util.Locale;
+
+/**
+ * Forma normalizada dos textos usada nas buscas: letras minúsculas e sem acentos
+ * (decomposição NFD, retirada das marcas de acento e conversão para minúsculas).
+ * Assim "politica" encontra "Política" e "FINANCAS" encontra "Finanças".
+ *
+ * O {@link Book} guarda a forma normalizada do título e do autor ({@link Book#getTitleKey()},
+ * {@link Book#getAuthorKey()}), calculada quando o texto é definido; as buscas normalizam apenas o termo buscado.
+ *
+ * * @author Netto
+ */
+public final class SearchKeys {
+
+    /**
+     * Letras latinas (até U+024F) já em minúsculas e sem acento, calculadas uma vez: a maioria dos textos
+     * não precisa passar pela decomposição completa do {@link Normalizer}.
+     */
+    private static final char[] LATIN_FOLD = new char[0x250];
+
+    static {
+        for (char c = 0; c < LATIN_FOLD.length; c++) {
+            String decomposed = Normalizer.normalize(String.valueOf(c), Normalizer.Form.NFD);
+            String lower = decomposed.substring(0, 1).toLowerCase(Locale.ROOT);
+            LATIN_FOLD[c] = (lower.length() == 1) ? lower.charAt(0) : c;
+        }
+    }
+
+    private SearchKeys() {
+    }
+
+    /**
+     * Normaliza o texto: minúsculas e sem acentos.
+     * Textos só com letras latinas usam a tabela {@link #LATIN_FOLD}; os demais passam pelo {@link Normalizer}.
+     * @param text O texto original.
+     * @return O texto normalizado ("" se {@code null}).
+     */
+    public static String fold(String text) {
+        if (text == null) {
+            return "";
+        }
+        char[] folded = new char[text.length()];
+        for (int i = 0; i < folded.length; i++) {
+            char c = text.charAt(i);
+            if (c >= LATIN_FOLD.length) {
+                return foldFully(text);
+            }
+            folded[i] = LATIN_FOLD[c];
+        }
+        return new String(folded);
+    }
+
+    private static String foldFully(String text) {
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        StringBuilder folded = new StringBuilder(decomposed.length());
+        for (int i = 0; i < decomposed.length(); i++) {
+            char c = decomposed.charAt(i);
+            if (Character.getType(c) != Character.NON_SPACING_MARK) {
+                folded.append(c);
+            }
+        }
+        return folded.toString().toLowerCase(Locale.ROOT);
+    }
+}
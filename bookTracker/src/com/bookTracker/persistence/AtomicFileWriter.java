@@ -0,0 +1,87 @@
+package com.bookTracker.persistence;
+
+import java.io.BufferedOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Grava arquivos de forma segura contra quedas (falta de energia, travamento, etc).
+ *
+ * O conteúdo é escrito primeiro em um arquivo temporário ao lado do original,
+ * forçado para o disco ({@code fsync}) e só então movido por cima do original
+ * em uma única operação atômica. Assim, em qualquer momento o arquivo de destino
+ * contém ou a versão antiga completa ou a nova completa, nunca um arquivo pela metade.
+ *
+ * * @author Netto
+ */
+final class AtomicFileWriter {
+
+    /** Extensão do arquivo temporário usado durante a gravação. */
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    /**
+     * Conteúdo a ser gravado no arquivo temporário.
+     */
+    interface WriteAction {
+        void write(OutputStream out) throws IOException;
+    }
+
+    private AtomicFileWriter() {
+    }
+
+    /**
+     * Substitui o conteúdo do arquivo de forma atômica.
+     * @param filename Arquivo de destino.
+     * @param action Escreve o novo conteúdo no stream recebido (não precisa fechá-lo).
+     * @throws IOException Se a gravação falhar. Nesse caso o arquivo original fica intacto.
+     */
+    static void write(String filename, WriteAction action) throws IOException {
+        Path target = Path.of(filename).toAbsolutePath();
+        // Nome único: duas gravações simultâneas (ex: o índice, por dois processos) não disputam o mesmo temporário
+        Path temp = target.resolveSibling(target.getFileName() + "." + ProcessHandle.current().pid()
+                + "-" + Thread.currentThread().getId() + TEMP_SUFFIX);
+
+        // 1. Grava e força o conteúdo para o disco no arquivo temporário
+        try (FileOutputStream file = new FileOutputStream(temp.toFile());
+             OutputStream out = new BufferedOutputStream(file, 64 * 1024)) {
+            action.write(out);
+            out.flush();
+            file.getFD().sync();
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+
+        // 2. Troca o arquivo original pelo novo em uma única operação
+        try {
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+
+        // 3. Garante que a troca de nomes também chegou ao disco
+        syncDirectory(target.getParent());
+    }
+
+    /**
+     * Força a gravação da entrada de diretório (necessário no Linux para a renomeação
+     * sobreviver a uma queda). Em sistemas que não permitem abrir diretórios (Windows), é ignorado.
+     */
+    private static void syncDirectory(Path directory) {
+        if (directory == null) {
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException | RuntimeException e) {
+            // Sem suporte neste sistema: a renomeação já é atômica, apenas não é forçada
+        }
+    }
+}
@@ -0,0 +1,339 @@
+package com.bookTracker.persistence;
+
+import com.bookTracker.model.Book;
+import com.bookTracker.model.BookStatus;
+import com.bookTracker.model.Ebook;
+import com.bookTracker.model.Genre;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.zip.CRC32;
+
+/**
+ * Formato binário compacto para a biblioteca ({@code books.bin}), usado no lugar do
+ * formato de texto legível ({@code books.txt}) pelo {@link DataManager} no modo binário.
+ *
+ * Estrutura do arquivo:
+ * Cabeçalho: assinatura {@code BKTR} + versão do formato (1 byte).
+ * Dicionário de gêneros: quantidade (varint) + ID de cada gênero referenciado pelos livros.
+ * Livros: quantidade (varint) + um registro por livro.
+ *
+ * Cada registro guarda: flags (tipo, formato do ID), ID (16 bytes quando é um UUID),
+ * textos com prefixo de tamanho em UTF-8, números inteiros como varint, status pelo ordinal
+ * e o gênero como índice no dicionário. Não há nomes de tags nem conversão de texto para número.
+ *
+ * A conversão é sem perdas em relação aos objetos {@link Book} em memória: ler o binário
+ * gerado a partir de uma lista devolve os mesmos dados, e vice-versa.
+ *
+ * * @author Netto
+ */
+final class BinaryBookFormat {
+
+    /** Assinatura no início do arquivo ("BKTR"). */
+    private static final int MAGIC = 0x424B5452;
+
+    /**
+     * Versão atual do formato. Arquivos de versões mais novas são recusados.
+     * 2: campos desconhecidos do {@code books.txt} ({@link #FLAG_UNKNOWN_FIELDS}).
+     */
+    static final int FORMAT_VERSION = 2;
+
+    // Flags do registro de livro
+    private static final int FLAG_EBOOK = 1;
+    private static final int FLAG_UUID_ID = 1 << 1;
+    /** O registro termina com os campos desconhecidos ({@link Book#getUnknownFields()}), como texto. */
+    private static final int FLAG_UNKNOWN_FIELDS = 1 << 2;
+
+    private static final BookStatus[] STATUS_VALUES = BookStatus.values();
+
+    private BinaryBookFormat() {
+    }
+
+    // ========================================================================
+    // == ESCRITA
+    // ========================================================================
+
+    /**
+     * Grava a lista de livros no formato binário.
+     * @param out Destino (deve ser bufferizado pelo chamador), ainda vazio: as posições informadas contam do início dele.
+     * @param books Livros a serem gravados, na ordem desejada.
+     * @param onRecord Recebe cada livro com o trecho (em bytes) e o CRC-32 do seu registro no arquivo.
+     */
+    static void write(DataOutputStream out, List<Book> books, DataManager.RecordHandler onRecord) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeByte(FORMAT_VERSION);
+
+        // 1. Dicionário de gêneros: cada ID aparece uma única vez no arquivo
+        Map<String, Integer> genreIndex = new HashMap<>();
+        List<String> genreIds = new ArrayList<>();
+        for (Book book : books) {
+            if (book.getGenre() != null && !genreIndex.containsKey(book.getGenre().getId())) {
+                genreIndex.put(book.getGenre().getId(), genreIds.size());
+                genreIds.add(book.getGenre().getId());
+            }
+        }
+        writeVarInt(out, genreIds.size());
+        for (String genreId : genreIds) {
+            writeId(out, genreId);
+        }
+
+        // 2. Livros: cada registro é montado à parte, para que o seu checksum seja conhecido
+        writeVarInt(out, books.size());
+        ByteArrayOutputStream recordBytes = new ByteArrayOutputStream(512);
+        DataOutputStream record = new DataOutputStream(recordBytes);
+        CRC32 crc = new CRC32();
+        for (Book book : books) {
+            recordBytes.reset();
+            writeRecord(record, book, genreIndex);
+            long start = out.size();
+            recordBytes.writeTo(out);
+            crc.reset();
+            crc.update(recordBytes.toByteArray());
+            onRecord.accept(book, start, out.size(), crc.getValue());
+        }
+    }
+
+    /** Grava o registro de um livro (flags, ID, campos e textos). */
+    private static void writeRecord(DataOutputStream out, Book book, Map<String, Integer> genreIndex) throws IOException {
+        boolean uuid = isCanonicalUuid(book.getId());
+        int flags = (book instanceof Ebook ? FLAG_EBOOK : 0) | (uuid ? FLAG_UUID_ID : 0)
+                | (book.getUnknownFields() != null ? FLAG_UNKNOWN_FIELDS : 0);
+        out.writeByte(flags);
+        if (uuid) {
+            writeUuid(out, book.getId());
+        } else {
+            writeString(out, book.getId());
+        }
+
+        writeString(out, book.getTitle());
+        writeString(out, book.getAuthor());
+        writeString(out, book.getPublisher());
+        writeVarInt(out, zigZag(book.getTotalPages()));
+        writeVarInt(out, zigZag(book.getCurrentPage()));
+        writeVarInt(out, zigZag(book.getRating()));
+        out.writeByte(book.getStatus().ordinal());
+        // Gênero: 0 = sem gênero, n = posição n-1 no dicionário
+        writeVarInt(out, book.getGenre() != null ? genreIndex.get(book.getGenre().getId()) + 1 : 0);
+        if (book instanceof Ebook) {
+            writeString(out, ((Ebook) book).getLocal());
+        }
+
+        writeString(out, book.getDescription());
+        writeStrings(out, book.getQuotes());
+        writeStrings(out, book.getNotes());
+        if (book.getUnknownFields() != null) {
+            writeString(out, book.getUnknownFields());
+        }
+    }
+
+    /** Grava um ID: como UUID (16 bytes) quando possível, senão como texto. */
+    private static void writeId(DataOutputStream out, String id) throws IOException {
+        boolean uuid = isCanonicalUuid(id);
+        out.writeBoolean(uuid);
+        if (uuid) {
+            writeUuid(out, id);
+        } else {
+            writeString(out, id);
+        }
+    }
+
+    private static void writeUuid(DataOutputStream out, String id) throws IOException {
+        UUID uuid = UUID.fromString(id);
+        out.writeLong(uuid.getMostSignificantBits());
+        out.writeLong(uuid.getLeastSignificantBits());
+    }
+
+    /**
+     * Grava um texto com prefixo de tamanho. O tamanho é gravado como {@code bytes + 1}
+     * para que o valor 0 represente {@code null}.
+     */
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            writeVarInt(out, 0);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(out, bytes.length + 1);
+        out.write(bytes);
+    }
+
+    private static void writeStrings(DataOutputStream out, List<String> values) throws IOException {
+        writeVarInt(out, values.size());
+        for (String value : values) {
+            writeString(out, value);
+        }
+    }
+
+    /** Grava um inteiro não negativo em 7 bits por byte (1 byte para valores até 127). */
+    private static void writeVarInt(DataOutputStream out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    /** Codifica inteiros com sinal para que números negativos pequenos também ocupem poucos bytes. */
+    private static int zigZag(int value) {
+        return (value << 1) ^ (value >> 31);
+    }
+
+    /**
+     * Verifica se o ID é um UUID na forma canônica (minúsculas, com hífens), ou seja,
+     * se pode ser gravado em 16 bytes e voltar exatamente ao mesmo texto.
+     */
+    private static boolean isCanonicalUuid(String id) {
+        if (id == null || id.length() != 36) {
+            return false;
+        }
+        try {
+            return UUID.fromString(id).toString().equals(id);
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    // ========================================================================
+    // == LEITURA
+    // ========================================================================
+
+    /**
+     * Lê todos os livros de um arquivo binário.
+     * @param in Conteúdo do arquivo (normalmente mapeado em memória), posicionado no início.
+     * @param genres Lista de gêneros para vincular os livros (IDs desconhecidos ficam sem gênero).
+     * @param onBook Recebe cada livro, na ordem do arquivo, com o trecho (em bytes) e o CRC-32 do seu registro.
+     * @throws IOException Se o arquivo não for do formato esperado, for de uma versão
+     * mais nova ou estiver truncado.
+     */
+    static void read(ByteBuffer in, List<Genre> genres, DataManager.RecordHandler onBook) throws IOException {
+        try {
+            readBooks(in, genres, onBook);
+        } catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+            throw new EOFException("Arquivo binário truncado.");
+        }
+    }
+
+    private static void readBooks(ByteBuffer in, List<Genre> genres, DataManager.RecordHandler onBook) throws IOException {
+        if (in.remaining() < 5 || in.getInt() != MAGIC) {
+            throw new IOException("Arquivo não está no formato binário do Book Tracker.");
+        }
+        int version = in.get() & 0xFF;
+        if (version > FORMAT_VERSION) {
+            throw new IOException("Versão do formato binário não suportada: " + version);
+        }
+
+        // 1. Dicionário de gêneros -> objetos Genre em memória
+        SymbolTable symbols = new SymbolTable(genres);
+        Genre[] dictionary = new Genre[readCount(in, "gêneros")];
+        for (int i = 0; i < dictionary.length; i++) {
+            dictionary[i] = symbols.genre(readId(in));
+        }
+
+        // 2. Livros
+        int count = readCount(in, "livros");
+        CRC32 crc = new CRC32();
+        for (int i = 0; i < count; i++) {
+            int start = in.position();
+            BookBuilder builder = new BookBuilder();
+            int flags = in.get() & 0xFF;
+            builder.isEbook = (flags & FLAG_EBOOK) != 0;
+            builder.id = (flags & FLAG_UUID_ID) != 0 ? readUuid(in) : readString(in);
+
+            builder.title = readString(in);
+            builder.author = symbols.intern(readString(in));
+            builder.publisher = symbols.intern(readString(in));
+            builder.totalPages = unZigZag(readVarInt(in));
+            builder.currentPage = unZigZag(readVarInt(in));
+            builder.rating = unZigZag(readVarInt(in));
+            int status = in.get() & 0xFF;
+            if (status >= STATUS_VALUES.length) {
+                throw new IOException("Status inválido no registro " + i + ": " + status);
+            }
+            builder.status = STATUS_VALUES[status];
+            int genre = readVarInt(in);
+            if (genre < 0 || genre > dictionary.length) {
+                throw new IOException("Gênero inválido no registro " + i + ": " + genre);
+            }
+            builder.genre = (genre == 0) ? null : dictionary[genre - 1];
+            if (builder.isEbook) {
+                builder.local = symbols.intern(readString(in));
+            }
+
+            builder.description = readString(in);
+            readStrings(in, builder.quotes);
+            readStrings(in, builder.notes);
+            if ((flags & FLAG_UNKNOWN_FIELDS) != 0) {
+                builder.addUnknownField(readString(in));
+            }
+            crc.reset();
+            crc.update(in.duplicate().limit(in.position()).position(start));
+            onBook.accept(builder.build(), start, in.position(), crc.getValue());
+        }
+    }
+
+    private static String readId(ByteBuffer in) throws IOException {
+        return in.get() != 0 ? readUuid(in) : readString(in);
+    }
+
+    private static String readUuid(ByteBuffer in) {
+        return new UUID(in.getLong(), in.getLong()).toString();
+    }
+
+    private static String readString(ByteBuffer in) throws IOException {
+        int length = readVarInt(in);
+        if (length == 0) {
+            return null;
+        }
+        if (length < 0 || length - 1 > in.remaining()) {
+            throw new IOException("Tamanho de texto inválido no arquivo binário: " + length);
+        }
+        byte[] bytes = new byte[length - 1];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void readStrings(ByteBuffer in, List<String> target) throws IOException {
+        int count = readCount(in, "textos");
+        for (int i = 0; i < count; i++) {
+            target.add(readString(in));
+        }
+    }
+
+    /**
+     * Lê a quantidade de itens de uma lista. Cada item ocupa pelo menos um byte: uma quantidade maior
+     * que o restante do arquivo (ou negativa) é de um arquivo corrompido, e não chega a alocar nada.
+     */
+    private static int readCount(ByteBuffer in, String label) throws IOException {
+        int count = readVarInt(in);
+        if (count < 0 || count > in.remaining()) {
+            throw new IOException("Quantidade de " + label + " inválida no arquivo binário: " + count);
+        }
+        return count;
+    }
+
+    private static int readVarInt(ByteBuffer in) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            int b = in.get();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Varint inválido no arquivo binário.");
+    }
+
+    private static int unZigZag(int value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+}
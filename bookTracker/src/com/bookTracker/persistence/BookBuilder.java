@@ -0,0 +1,55 @@
+package com.bookTracker.persistence;
+
+import com.bookTracker.model.Book;
+import com.bookTracker.model.BookStatus;
+import com.bookTracker.model.Ebook;
+import com.bookTracker.model.Genre;
+import com.bookTracker.model.PhysicalBook;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Classe auxiliar (Builder) para facilitar a construção do objeto Livro
+ * durante o processo de leitura, pois os dados chegam linha a linha e fora de ordem.
+ * Compartilhada pelos leitores do pacote de persistência ({@link DataManager}, {@link MappedBookParser}).
+ * 
+ * * @author Netto
+ */
+class BookBuilder {
+    boolean isEbook;
+    String id, title, author, publisher, local;
+    int totalPages, currentPage, rating;
+    BookStatus status;
+    Genre genre;
+    String description = ""; // Garante que não seja nulo
+    List<String> notes = new ArrayList<>();
+    List<String> quotes = new ArrayList<>();
+    StringBuilder unknownFields; // Só é criado se o registro tiver campos desconhecidos
+
+    /** Guarda uma linha (ou bloco de linhas) de um campo desconhecido, na ordem em que apareceu. */
+    void addUnknownField(String lines) {
+        if (unknownFields == null) {
+            unknownFields = new StringBuilder();
+        } else {
+            unknownFields.append('\n');
+        }
+        unknownFields.append(lines);
+    }
+
+    /**
+     * Finaliza a construção e retorna a instância correta (Ebook ou PhysicalBook).
+     */
+    Book build() {
+        Book book;
+        if (isEbook) {
+            book = new Ebook(id, title, author, totalPages, publisher, description, genre, status, rating, currentPage, notes, quotes, local);
+        } else {
+            book = new PhysicalBook(id, title, author, totalPages, publisher, description, genre, status, rating, currentPage, notes, quotes);
+        }
+        if (unknownFields != null) {
+            book.setUnknownFields(unknownFields.toString());
+        }
+        return book;
+    }
+}
@@ -0,0 +1,203 @@
+package com.bookTracker.persistence;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Índice auxiliar ({@code books.idx}) com a posição de cada registro dentro do {@code books.txt}.
+ *
+ * Para cada livro guarda o ID, o offset e o tamanho (em bytes) do seu bloco
+ * {@code BOOK_START ... BOOK_END}, o que permite ler um único livro sem percorrer o arquivo inteiro,
+ * e o checksum do registro, que permite saber quais livros mudaram sem relê-los.
+ *
+ * Estrutura do arquivo:
+ * Cabeçalho: assinatura {@code BKIX} + versão, seguidos do tamanho e da data de modificação
+ * do {@code books.txt} no momento em que o índice foi gravado.
+ * Entradas: quantidade + (ID, offset, tamanho, checksum) de cada registro.
+ *
+ * Os salvamentos incrementais apenas acrescentam entradas no fim ({@link #append}); na leitura,
+ * a última entrada de cada ID vale, e uma entrada com offset {@value #REMOVED} marca um livro excluído.
+ *
+ * Se o tamanho ou a data gravados não baterem com o {@code books.txt} atual, o índice é
+ * considerado desatualizado (o arquivo foi alterado por fora) e o {@link DataManager} o reconstrói.
+ *
+ * * @author Netto
+ */
+final class BookIndex {
+
+    /** Assinatura no início do arquivo ("BKIX"). */
+    private static final int MAGIC = 0x424B4958;
+
+    private static final int FORMAT_VERSION = 2;
+
+    /** Offset das entradas que marcam um livro excluído. */
+    private static final long REMOVED = -1;
+
+    /** Posição, no cabeçalho, do tamanho do {@code books.txt} (seguido da data e da quantidade de entradas). */
+    private static final int LENGTH_POSITION = 5;
+
+    /** Entradas acumuladas por livro existente a partir das quais vale mais a pena regravar o índice inteiro. */
+    private static final int MAX_ENTRIES_PER_BOOK = 2;
+
+    private BookIndex() {
+    }
+
+    /**
+     * Grava o índice de forma atômica.
+     * @param indexFilename Caminho do {@code books.idx}.
+     * @param booksFile O {@code books.txt} indexado (tamanho e data vão para o cabeçalho).
+     * @param slots Posição de cada registro (ID -> trecho).
+     */
+    static void write(String indexFilename, File booksFile, Map<String, DataManager.RecordSlot> slots) throws IOException {
+        long length = booksFile.length();
+        long modified = booksFile.lastModified();
+        AtomicFileWriter.write(indexFilename, out -> {
+            DataOutputStream data = new DataOutputStream(out);
+            data.writeInt(MAGIC);
+            data.writeByte(FORMAT_VERSION);
+            data.writeLong(length);
+            data.writeLong(modified);
+            data.writeInt(slots.size());
+            for (Map.Entry<String, DataManager.RecordSlot> entry : slots.entrySet()) {
+                data.writeUTF(entry.getKey());
+                data.writeLong(entry.getValue().offset);
+                data.writeInt(entry.getValue().length);
+                data.writeLong(entry.getValue().checksum);
+            }
+            data.flush();
+        });
+    }
+
+    /**
+     * Acrescenta ao índice apenas as entradas alteradas por um salvamento incremental, em vez de regravá-lo.
+     * O cabeçalho é atualizado por último: se a gravação for interrompida, o índice continua apontando para
+     * o {@code books.txt} antigo e é descartado na próxima leitura.
+     * @param indexFilename Caminho do {@code books.idx}.
+     * @param previousLength Tamanho do {@code books.txt} antes do salvamento.
+     * @param previousModified Data de modificação do {@code books.txt} antes do salvamento.
+     * @param booksFile O {@code books.txt} já salvo.
+     * @param changedSlots Novas posições dos livros gravados.
+     * @param deletedIds IDs dos livros excluídos.
+     * @param liveCount Quantidade de livros existentes depois do salvamento.
+     * @return {@code false} se o índice não correspondia ao {@code books.txt} anterior ou já acumulou entradas
+     * antigas demais; nesses casos o chamador deve gravá-lo inteiro com {@link #write}.
+     */
+    static boolean append(String indexFilename, long previousLength, long previousModified, File booksFile,
+                          Map<String, DataManager.RecordSlot> changedSlots, Collection<String> deletedIds,
+                          int liveCount) throws IOException {
+        File indexFile = new File(indexFilename);
+        if (!indexFile.exists()) {
+            return false;
+        }
+        try (RandomAccessFile index = new RandomAccessFile(indexFile, "rw")) {
+            // 1. O índice precisa corresponder ao books.txt de antes da gravação
+            if (index.length() < LENGTH_POSITION + 20
+                    || index.readInt() != MAGIC
+                    || index.readUnsignedByte() != FORMAT_VERSION
+                    || index.readLong() != previousLength
+                    || index.readLong() != previousModified) {
+                return false;
+            }
+            long count = index.readInt() + (long) changedSlots.size() + deletedIds.size();
+            if (count > Integer.MAX_VALUE || count > (long) MAX_ENTRIES_PER_BOOK * liveCount + 1024) {
+                return false;
+            }
+
+            // 2. Entradas novas no fim do arquivo
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream(64 * 1024);
+            DataOutputStream data = new DataOutputStream(buffer);
+            for (String id : deletedIds) {
+                data.writeUTF(id);
+                data.writeLong(REMOVED);
+                data.writeInt(0);
+                data.writeLong(0);
+            }
+            for (Map.Entry<String, DataManager.RecordSlot> entry : changedSlots.entrySet()) {
+                data.writeUTF(entry.getKey());
+                data.writeLong(entry.getValue().offset);
+                data.writeInt(entry.getValue().length);
+                data.writeLong(entry.getValue().checksum);
+            }
+            index.seek(index.length());
+            index.write(buffer.toByteArray());
+            index.getFD().sync();
+
+            // 3. Cabeçalho por último
+            index.seek(LENGTH_POSITION);
+            index.writeLong(booksFile.length());
+            index.writeLong(booksFile.lastModified());
+            index.writeInt((int) count);
+            return true;
+        }
+    }
+
+    /**
+     * Lê o índice, desde que ele corresponda ao {@code books.txt} atual.
+     * @param indexFilename Caminho do {@code books.idx}.
+     * @param booksFile O {@code books.txt} atual.
+     * @return As posições dos registros, ou {@code null} se o índice não existir,
+     * estiver desatualizado ou danificado.
+     */
+    static Map<String, DataManager.RecordSlot> read(String indexFilename, File booksFile) {
+        File indexFile = new File(indexFilename);
+        if (!indexFile.exists()) {
+            return null;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(indexFile), 64 * 1024))) {
+            if (!readHeader(in, booksFile)) {
+                return null;
+            }
+            int count = in.readInt();
+            Map<String, DataManager.RecordSlot> slots = new HashMap<>(Math.max(16, count * 2));
+            for (int i = 0; i < count; i++) {
+                String id = in.readUTF();
+                long offset = in.readLong();
+                int length = in.readInt();
+                long checksum = in.readLong();
+                if (offset == REMOVED) {
+                    slots.remove(id);
+                } else {
+                    slots.put(id, new DataManager.RecordSlot(offset, length, checksum));
+                }
+            }
+            return slots;
+        } catch (EOFException e) {
+            return null; // Índice truncado: será reconstruído
+        } catch (IOException e) {
+            System.err.println("Erro ao ler o índice de livros: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Verifica, lendo apenas o cabeçalho, se o índice corresponde ao {@code books.txt} atual.
+     */
+    static boolean isFresh(String indexFilename, File booksFile) {
+        File indexFile = new File(indexFilename);
+        if (!indexFile.exists()) {
+            return false;
+        }
+        try (DataInputStream in = new DataInputStream(new FileInputStream(indexFile))) {
+            return readHeader(in, booksFile);
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private static boolean readHeader(DataInputStream in, File booksFile) throws IOException {
+        return in.readInt() == MAGIC
+                && in.readUnsignedByte() == FORMAT_VERSION
+                && in.readLong() == booksFile.length()
+                && in.readLong() == booksFile.lastModified();
+    }
+}
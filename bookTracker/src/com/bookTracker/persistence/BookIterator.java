@@ -0,0 +1,189 @@
+package com.bookTracker.persistence;
+
+import com.bookTracker.model.Book;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * Percorre os livros da biblioteca um de cada vez, lendo o {@code books.txt} sob demanda.
+ *
+ * Apenas o registro atual fica em memória, então bibliotecas de qualquer tamanho podem ser
+ * processadas (estatísticas, exportação, validação) com pouca memória. As alterações do journal
+ * são aplicadas no caminho: livros editados aparecem na versão mais recente, livros excluídos
+ * são pulados e livros incluídos aparecem no final.
+ *
+ * Os registros são lidos em lotes, cada lote com o bloqueio compartilhado da biblioteca ({@link LibraryLock}):
+ * nenhum registro é lido no meio de uma gravação, e o bloqueio é liberado entre um lote e outro (nunca fica
+ * com quem usa o iterador), então as gravações não precisam esperar o percurso inteiro. Em contrapartida,
+ * um livro regravado durante o percurso pode aparecer na versão nova, e um livro realocado para o fim do
+ * arquivo durante o percurso pode aparecer duas vezes.
+ *
+ * No modo binário, o {@code books.bin} é lido por inteiro na abertura (junto com o journal) e o percurso
+ * não toca mais nos arquivos.
+ *
+ * Deve ser fechado após o uso (de preferência com try-with-resources), para liberar o arquivo.
+ * Obtido por {@link DataManager#iterateBooks(java.util.List)}.
+ *
+ * * @author Netto
+ */
+public class BookIterator implements Iterator<Book>, Closeable {
+
+    /** Quantidade de registros lidos a cada obtenção do bloqueio. */
+    private static final int BATCH_SIZE = 256;
+
+    private final LibraryLock lock;
+
+    /** Leitor do {@code books.txt}, ou {@code null} se o arquivo não existir ou já tiver terminado. */
+    private BookRecordReader records;
+
+    /** Livros do {@code books.bin}, já lidos, ou {@code null} no {@code books.txt}. */
+    private final Iterator<Book> snapshot;
+
+    /** Alterações do journal ainda não aplicadas (ID -> livro; {@code null} = excluído). */
+    private final Map<String, Book> journalChanges;
+
+    /** Percorre os livros incluídos pelo journal, depois que o {@code books.txt} termina. */
+    private Iterator<Book> journalTail;
+
+    /** Livros do {@code books.txt} já lidos (journal aplicado) e ainda não entregues. */
+    private final ArrayDeque<Book> batch = new ArrayDeque<>();
+
+    private Book nextBook;
+
+    /**
+     * @param lock Bloqueio da biblioteca, obtido (compartilhado) a cada lote.
+     * @param records Leitor do {@code books.txt} (pode ser {@code null}).
+     * @param journalChanges Estado final de cada livro alterado no journal, na ordem do journal.
+     */
+    BookIterator(LibraryLock lock, BookRecordReader records, Map<String, Book> journalChanges) {
+        this.lock = lock;
+        this.records = records;
+        this.snapshot = null;
+        this.journalChanges = journalChanges;
+    }
+
+    /**
+     * @param snapshot Livros do {@code books.bin}, lidos com o mesmo bloqueio que o journal.
+     * @param journalChanges Estado final de cada livro alterado no journal, na ordem do journal.
+     */
+    BookIterator(List<Book> snapshot, Map<String, Book> journalChanges) {
+        this.lock = null;
+        this.records = null;
+        this.snapshot = snapshot.iterator();
+        this.journalChanges = journalChanges;
+    }
+
+    /**
+     * @throws UncheckedIOException Se a leitura do arquivo falhar.
+     */
+    @Override
+    public boolean hasNext() {
+        if (nextBook == null) {
+            nextBook = fetchNext();
+        }
+        return nextBook != null;
+    }
+
+    @Override
+    public Book next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        Book book = nextBook;
+        nextBook = null;
+        return book;
+    }
+
+    /** Lê o próximo livro, aplicando o journal. Retorna {@code null} quando não há mais livros. */
+    private Book fetchNext() {
+        // 1. Registros do books.txt, na ordem do arquivo
+        if (batch.isEmpty() && records != null) {
+            readBatch();
+        }
+        if (!batch.isEmpty()) {
+            return batch.poll();
+        }
+        // 1. Ou os livros do books.bin, já lidos
+        while (snapshot != null && snapshot.hasNext()) {
+            Book book = snapshot.next();
+            if (!journalChanges.containsKey(book.getId())) {
+                return book;
+            }
+            Book latest = journalChanges.remove(book.getId());
+            if (latest != null) {
+                return latest; // Editado pelo journal (senão, excluído)
+            }
+        }
+
+        // 2. Livros que só existem no journal (incluídos desde o último salvamento)
+        if (journalTail == null) {
+            journalTail = journalChanges.values().iterator();
+        }
+        while (journalTail.hasNext()) {
+            Book book = journalTail.next();
+            if (book != null) {
+                return book;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Lê o próximo lote de registros do {@code books.txt} com o bloqueio compartilhado.
+     * Fecha o arquivo quando ele termina.
+     */
+    private void readBatch() {
+        LibraryLock.Hold hold = lock.shared();
+        try {
+            records.discardReadAhead(); // O arquivo pode ter mudado desde o lote anterior
+            while (batch.size() < BATCH_SIZE) {
+                if (!records.advance()) {
+                    closeRecords();
+                    return;
+                }
+                Book book = records.getBook();
+                if (book == null) {
+                    continue;
+                }
+                if (journalChanges.containsKey(book.getId())) {
+                    Book latest = journalChanges.remove(book.getId());
+                    if (latest != null) {
+                        batch.add(latest); // Editado pelo journal
+                    }
+                    continue; // Senão, excluído pelo journal
+                }
+                batch.add(book);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Erro ao ler livros: " + e.getMessage(), e);
+        } finally {
+            hold.close();
+        }
+    }
+
+    private void closeRecords() {
+        if (records != null) {
+            try {
+                records.close();
+            } catch (IOException e) {
+                System.err.println("Erro ao fechar o arquivo de livros: " + e.getMessage());
+            }
+            records = null;
+        }
+    }
+
+    /**
+     * Libera o arquivo. Pode ser chamado mais de uma vez.
+     */
+    @Override
+    public void close() {
+        closeRecords();
+    }
+}
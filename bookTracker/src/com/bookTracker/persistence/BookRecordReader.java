@@ -0,0 +1,343 @@
+package com.bookTracker.persistence;
+
+import com.bookTracker.model.Book;
+import com.bookTracker.model.BookStatus;
+import com.bookTracker.model.Genre;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * Leitor de registros no formato com tags ({@code BOOK_START ... BOOK_END}), um registro por vez.
+ *
+ * Lê o arquivo linha por linha e usa uma máquina de estados (via flags como {@code readingMode})
+ * para processar blocos de texto multilinhas (descrição, quotes). A cada chamada de {@link #advance()}
+ * apenas o próximo registro é montado, então a memória usada não depende do tamanho do arquivo.
+ * Cada registro é conferido pelo seu {@code CHECKSUM} ({@link RecordChecksum}), quando houver; um registro
+ * lido sem erros cujo checksum não confere é entregue mesmo assim, marcado com {@link RecordChecksum#UNSEALED}.
+ * É compartilhado entre o {@code books.txt} e o journal.
+ *
+ * * @author Netto
+ */
+class BookRecordReader implements Closeable {
+    private final OffsetLineReader reader;
+    private final SymbolTable symbols;
+
+    // Resultado do último registro lido
+    private Book book;
+    private String deletedId;
+    private long recordStart; // Posição em bytes do BOOK_START do registro atual
+    private long recordEnd;
+    private long recordChecksum; // Valor da linha CHECKSUM do registro atual (-1 = sem checksum, UNSEALED = não confere)
+
+    /** Recebe os registros danificados. Por padrão, interrompe a leitura. */
+    private DataManager.DamageHandler onDamage = CorruptRecordException::raise;
+
+    /** Indica se a leitura terminou fora de um registro (arquivo íntegro). */
+    private boolean clean = true;
+
+    /**
+     * @param reader Leitor já aberto sobre o arquivo (é fechado junto com este objeto).
+     * @param genres Lista de gêneros para vincular os livros.
+     */
+    BookRecordReader(OffsetLineReader reader, List<Genre> genres) {
+        this.reader = reader;
+        this.symbols = new SymbolTable(genres);
+    }
+
+    /**
+     * Define quem recebe os registros danificados. Sem isso, o primeiro dano interrompe a leitura
+     * com {@link CorruptRecordException}.
+     */
+    BookRecordReader onDamage(DataManager.DamageHandler onDamage) {
+        this.onDamage = onDamage;
+        return this;
+    }
+
+    /**
+     * Avança até o próximo registro completo: um livro ({@link #getBook()}) ou,
+     * no journal, uma exclusão ({@link #getDeletedId()}).
+     * Registros danificados no caminho são entregues ao tratador de danos e pulados.
+     * @return {@code false} no fim do arquivo.
+     */
+    boolean advance() throws IOException {
+        book = null;
+        deletedId = null;
+
+        String line;
+        // Variáveis temporárias para construir o livro
+        BookBuilder builder = null;
+        String readingMode = null; // Controla se estamos lendo um bloco de texto (DESCRIPTION, QUOTE, NOTE)
+        StringBuilder textBlock = null;
+        long textBlockContent = 0; // Posição logo após a abertura do bloco de texto atual
+        String unknownBlockEnd = null; // Fechamento do bloco desconhecido atual (modo UNKNOWN)
+
+        // Verificação do registro atual
+        String damage = null; // Motivo, se o registro atual estiver danificado
+        CRC32 crc = new CRC32();
+        long expectedChecksum = -1;
+        boolean hasChecksum = false;
+
+        while (true) {
+            line = reader.readLine();
+            if (line == null) {
+                if (readingMode == null) {
+                    break; // Fim do arquivo
+                }
+                // Bloco de texto sem fechamento: o registro termina onde começa o próximo
+                long resync = findNextRecord(textBlockContent);
+                if (resync < 0) {
+                    break;
+                }
+                onDamage.accept(recordStart, resync, "bloco de texto sem fechamento");
+                reader.seek(resync);
+                builder = null;
+                readingMode = null;
+                continue;
+            }
+
+            // Todas as linhas do registro até a linha CHECKSUM entram na verificação
+            boolean checksumLine = readingMode == null && line.startsWith(DataManager.TAG_CHECKSUM);
+            if (builder != null && !hasChecksum && !checksumLine) {
+                reader.updateChecksum(crc);
+            }
+
+            // 1. Processamento de Blocos de Texto (multilinhas)
+            // (um bloco fora de registro, ex: o resto de um registro danificado, é lido e descartado)
+            if (readingMode != null) {
+                // Bloco desconhecido (de uma versão mais nova): guardado inteiro, como está
+                if (readingMode.equals("UNKNOWN")) {
+                    textBlock.append('\n').append(line);
+                    if (line.equals(unknownBlockEnd)) {
+                        if (builder != null) {
+                            builder.addUnknownField(textBlock.toString());
+                        }
+                        readingMode = null;
+                    }
+                    continue;
+                }
+                // Verifica se o bloco terminou
+                if (line.equals(DataManager.TAG_DESCRIPTION_END)) {
+                    if (builder != null) {
+                        builder.description = textBlock.toString();
+                    }
+                    readingMode = null;
+                } else if (line.equals(DataManager.TAG_QUOTE_END)) {
+                    if (builder != null) {
+                        builder.quotes.add(textBlock.toString());
+                    }
+                    readingMode = null;
+                } else if (line.equals(DataManager.TAG_NOTE_END)) {
+                    if (builder != null) {
+                        builder.notes.add(textBlock.toString());
+                    }
+                    readingMode = null;
+                } else {
+                    // Se não terminou, adiciona a linha atual ao conteúdo
+                    if (textBlock.length() > 0) {
+                        textBlock.append("\n"); // Restaura a quebra de linha
+                    }
+                    textBlock.append(line);
+                }
+                continue; // Passa para a próxima linha do arquivo
+            }
+
+            // 2. Processamento de Tags Simples
+            if (line.startsWith(DataManager.TAG_BOOK_START)) {
+                if (builder != null) {
+                    onDamage.accept(recordStart, reader.getLineStart(), "registro sem " + DataManager.TAG_BOOK_END);
+                }
+                builder = new BookBuilder(); // Inicia um novo livro
+                recordStart = reader.getLineStart();
+                damage = null;
+                hasChecksum = false;
+                crc.reset();
+                reader.updateChecksum(crc);
+                // Define se é Ebook ou Físico baseado no valor após a tag (ex: BOOK_START: EBOOK)
+                builder.isEbook = line.substring(DataManager.TAG_BOOK_START.length()).equals("EBOOK");
+            }
+            else if (checksumLine) {
+                if (builder != null) {
+                    hasChecksum = true;
+                    expectedChecksum = RecordChecksum.parse(line.substring(DataManager.TAG_CHECKSUM.length()));
+                }
+            }
+            // Exclusão registrada no journal
+            else if (line.startsWith(DataManager.TAG_JOURNAL_DELETE)) {
+                deletedId = line.substring(DataManager.TAG_JOURNAL_DELETE.length());
+                return true;
+            }
+            // 3. Detecção de Início de Bloco
+            else if (line.equals(DataManager.TAG_DESCRIPTION_START)) {
+                readingMode = "DESCRIPTION";
+                textBlock = new StringBuilder();
+                textBlockContent = reader.getPosition();
+            }
+            else if (line.equals(DataManager.TAG_QUOTE_START)) {
+                readingMode = "QUOTE";
+                textBlock = new StringBuilder();
+                textBlockContent = reader.getPosition();
+            }
+            else if (line.equals(DataManager.TAG_NOTE_START)) {
+                readingMode = "NOTE";
+                textBlock = new StringBuilder();
+                textBlockContent = reader.getPosition();
+            }
+            else if (builder != null && DataManager.isBlockStart(line)) {
+                readingMode = "UNKNOWN";
+                unknownBlockEnd = DataManager.blockEndTag(line);
+                textBlock = new StringBuilder(line);
+                textBlockContent = reader.getPosition();
+            }
+            // 4. Finalização do Livro
+            else if (line.equals(DataManager.TAG_BOOK_END)) {
+                if (builder != null) {
+                    if (damage == null && builder.id == null) {
+                        damage = "registro sem ID";
+                    }
+                    if (damage != null) {
+                        onDamage.accept(recordStart, reader.getPosition(), damage);
+                        builder = null;
+                        continue; // Pula o registro danificado e segue para o próximo
+                    }
+                    book = builder.build(); // Constrói o objeto final e entrega ao chamador
+                    recordEnd = reader.getPosition();
+                    // Lido sem erros: um checksum que não confere (ex: edição à mão) só marca o registro para ser regravado
+                    if (!hasChecksum) {
+                        recordChecksum = -1;
+                    } else {
+                        recordChecksum = (expectedChecksum >= 0 && crc.getValue() == expectedChecksum)
+                                ? expectedChecksum : RecordChecksum.UNSEALED;
+                    }
+                    return true;
+                }
+            }
+            else if (builder != null) {
+                try {
+                    readField(builder, line);
+                } catch (IllegalArgumentException e) {
+                    // Valor inválido (número, status): o registro inteiro é descartado
+                    if (damage == null) damage = e.getMessage();
+                }
+            }
+        }
+
+        if (builder != null) {
+            onDamage.accept(recordStart, reader.getPosition(), "registro incompleto no fim do arquivo");
+        }
+        clean = builder == null && readingMode == null;
+        return false;
+    }
+
+    /** Interpreta uma linha de campo simples ({@code TAG: valor}) do registro atual. */
+    private void readField(BookBuilder builder, String line) {
+        if (line.startsWith(DataManager.TAG_ID)) {
+            builder.id = line.substring(DataManager.TAG_ID.length());
+        }
+        else if (line.startsWith(DataManager.TAG_TITLE)) {
+            builder.title = line.substring(DataManager.TAG_TITLE.length());
+        }
+        else if (line.startsWith(DataManager.TAG_AUTHOR)) {
+            builder.author = symbols.intern(line.substring(DataManager.TAG_AUTHOR.length()));
+        }
+        else if (line.startsWith(DataManager.TAG_PUBLISHER)) {
+            builder.publisher = symbols.intern(line.substring(DataManager.TAG_PUBLISHER.length()));
+        }
+        else if (line.startsWith(DataManager.TAG_TOTAL_PAGES)) {
+            builder.totalPages = Integer.parseInt(line.substring(DataManager.TAG_TOTAL_PAGES.length()));
+        }
+        else if (line.startsWith(DataManager.TAG_CURRENT_PAGE)) {
+            builder.currentPage = Integer.parseInt(line.substring(DataManager.TAG_CURRENT_PAGE.length()));
+        }
+        else if (line.startsWith(DataManager.TAG_RATING)) {
+            builder.rating = Integer.parseInt(line.substring(DataManager.TAG_RATING.length()));
+        }
+        else if (line.startsWith(DataManager.TAG_STATUS)) {
+            builder.status = BookStatus.valueOf(line.substring(DataManager.TAG_STATUS.length()));
+        }
+        else if (line.startsWith(DataManager.TAG_GENRE_ID)) {
+            // Busca o objeto Genre pelo ID na tabela de símbolos (O(1))
+            builder.genre = symbols.genre(line.substring(DataManager.TAG_GENRE_ID.length()));
+        }
+        else if (line.startsWith(DataManager.TAG_LOCAL)) {
+            builder.local = symbols.intern(line.substring(DataManager.TAG_LOCAL.length()));
+        }
+        // Blocos de texto compactados (uma única linha)
+        else if (line.startsWith(DataManager.TAG_DESCRIPTION_DEFLATE)) {
+            builder.description = TextCompression.decompress(line.substring(DataManager.TAG_DESCRIPTION_DEFLATE.length()));
+        }
+        else if (line.startsWith(DataManager.TAG_QUOTE_DEFLATE)) {
+            builder.quotes.add(TextCompression.decompress(line.substring(DataManager.TAG_QUOTE_DEFLATE.length())));
+        }
+        else if (line.startsWith(DataManager.TAG_NOTE_DEFLATE)) {
+            builder.notes.add(TextCompression.decompress(line.substring(DataManager.TAG_NOTE_DEFLATE.length())));
+        }
+        // Campo de uma versão mais nova: guardado como está, para ser regravado
+        else if (!line.isBlank()) {
+            builder.addUnknownField(line);
+        }
+    }
+
+    /**
+     * Procura a próxima linha {@code BOOK_START:} a partir de uma posição do arquivo.
+     * @return A posição do início dessa linha, ou -1 se não houver.
+     */
+    private long findNextRecord(long from) throws IOException {
+        reader.seek(from);
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.startsWith(DataManager.TAG_BOOK_START)) {
+                return reader.getLineStart();
+            }
+        }
+        return -1;
+    }
+
+    /** @return O livro do último registro, ou {@code null} se o registro foi uma exclusão. */
+    Book getBook() {
+        return book;
+    }
+
+    /** @return O ID do último registro {@code JOURNAL_DELETE}, ou {@code null} se foi um livro. */
+    String getDeletedId() {
+        return deletedId;
+    }
+
+    /** @return Posição (em bytes) do início do último registro de livro. */
+    long getRecordStart() {
+        return recordStart;
+    }
+
+    /** @return Posição (em bytes) logo após o fim do último registro de livro. */
+    long getRecordEnd() {
+        return recordEnd;
+    }
+
+    /**
+     * @return O checksum gravado no último registro de livro, -1 se o registro não tinha, ou
+     * {@link RecordChecksum#UNSEALED} se ele não confere.
+     */
+    long getRecordChecksum() {
+        return recordChecksum;
+    }
+
+    /**
+     * Descarta o que já foi lido antecipadamente do arquivo, para que a próxima leitura veja o
+     * conteúdo atual (o arquivo pode ter sido regravado por outro escritor desde a última leitura).
+     */
+    void discardReadAhead() throws IOException {
+        reader.seek(reader.getPosition());
+    }
+
+    /** @return {@code true} se, no fim do arquivo, nenhum registro ficou pela metade. */
+    boolean isClean() {
+        return clean;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
@@ -0,0 +1,141 @@
+package com.bookTracker.persistence;
+
+import com.bookTracker.model.Book;
+import com.bookTracker.model.Genre;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Armazenamento dos livros, independente do formato usado em disco.
+ *
+ * Implementações:
+ * {@link DataManager}: arquivos de texto ({@code books.txt} + journal), o formato padrão da aplicação.
+ * {@link SqlDataManager}: banco de dados SQLite, para bibliotecas grandes, com atualizações e buscas pontuais indexadas.
+ * {@link ShardedDataManager}: arquivos de texto divididos em um segmento por gênero, carregados em paralelo.
+ *
+ * Os métodos do journal têm implementação padrão para os armazenamentos que gravam cada alteração
+ * direto no lugar definitivo (não há nada a consolidar).
+ *
+ * * @author Netto
+ */
+public interface BookRepository {
+
+    /**
+     * Carrega todos os livros.
+     * @param genres A lista de gêneros já carregada, para vincular cada livro ao seu {@link Genre}.
+     * @return Lista de livros, na ordem em que foram incluídos.
+     */
+    List<Book> loadBooks(List<Genre> genres);
+
+    /**
+     * Carrega um único livro pelo ID, sem ler a biblioteca inteira.
+     * @param id O ID (UUID) do livro.
+     * @param genres A lista de gêneros já carregada.
+     * @return O livro, ou {@code null} se não existir.
+     */
+    Book loadBook(String id, List<Genre> genres);
+
+    /**
+     * Lê os livros um de cada vez, sem carregar a biblioteca inteira.
+     * O stream deve ser fechado após o uso (try-with-resources).
+     * @param genres A lista de gêneros já carregada.
+     * @return Stream sequencial dos livros.
+     */
+    Stream<Book> streamBooks(List<Genre> genres);
+
+    /**
+     * Lê os livros de um único gênero, um de cada vez. Por padrão, filtra o {@link #streamBooks(List)};
+     * armazenamentos que separam os livros por gênero leem só a parte do gênero.
+     * O stream deve ser fechado após o uso.
+     * @param genre O gênero; {@code null} lê os livros sem gênero.
+     * @param genres A lista de gêneros já carregada.
+     * @return Stream sequencial dos livros do gênero.
+     */
+    default Stream<Book> streamBooksByGenre(Genre genre, List<Genre> genres) {
+        String genreId = (genre == null) ? null : genre.getId();
+        return streamBooks(genres).filter(book -> (book.getGenre() == null)
+                ? genreId == null
+                : book.getGenre().getId().equals(genreId));
+    }
+
+    /**
+     * Grava a biblioteca inteira (salvamento completo). Livros que não estão na lista deixam de existir.
+     * @param bookList A lista de livros a ser persistida.
+     */
+    void saveBooks(List<Book> bookList);
+
+    /**
+     * Grava apenas os livros incluídos, editados ou excluídos, sem regravar os demais.
+     * @param changedBooks Livros incluídos ou editados.
+     * @param deletedBookIds IDs dos livros excluídos.
+     * @return {@code true} se deu certo; {@code false} se é preciso fazer um salvamento completo.
+     */
+    boolean saveChangedBooks(Collection<Book> changedBooks, Collection<String> deletedBookIds);
+
+    /**
+     * Registra a inclusão ou edição de um único livro.
+     * @param book O livro incluído ou editado.
+     */
+    void appendBookUpsert(Book book);
+
+    /**
+     * Registra a inclusão ou edição de um lote de livros. Por padrão, um livro de cada vez.
+     * @param books Os livros incluídos ou editados.
+     * @return {@code false} se o lote não pôde ser registrado.
+     */
+    default boolean appendBookUpserts(Collection<Book> books) {
+        books.forEach(this::appendBookUpsert);
+        return true;
+    }
+
+    /**
+     * Registra a exclusão de um único livro.
+     * @param bookId O ID do livro excluído.
+     */
+    void appendBookDelete(String bookId);
+
+    /**
+     * Indica se outro processo gravou na biblioteca desde a última sincronização desta instância.
+     * Feito para ser chamado periodicamente: deve ser barato.
+     */
+    boolean hasExternalChanges();
+
+    /**
+     * Traz as alterações gravadas por outros processos desde a última sincronização.
+     * @param genres A lista de gêneros atual (deve incluir os gêneros novos).
+     * @return Os livros incluídos ou editados e os IDs dos excluídos.
+     */
+    LibraryChanges refresh(List<Genre> genres);
+
+    /**
+     * Liga ou desliga a compactação dos textos longos, se o formato tiver suporte (por padrão, é ignorado).
+     * @param textCompression {@code true} para compactar os textos longos.
+     */
+    default void setTextCompression(boolean textCompression) {
+    }
+
+    /** @return {@code true} se os textos longos são gravados compactados ({@code false} se o formato não tem suporte). */
+    default boolean isTextCompression() {
+        return false;
+    }
+
+    /** @return Quantos registros aguardam consolidação (0 por padrão). */
+    default int getJournalRecordCount() {
+        return 0;
+    }
+
+    /** @return Tamanho, em bytes, do que aguarda consolidação (0 por padrão). */
+    default long getJournalSize() {
+        return 0;
+    }
+
+    /**
+     * Consolida as alterações registradas no armazenamento definitivo.
+     * @return {@code true} se consolidou (ou não havia nada a consolidar, o padrão).
+     */
+    default boolean compactJournal() {
+        return true;
+    }
+}
@@ -0,0 +1,33 @@
+package com.bookTracker.persistence;
+
+/**
+ * Lançada quando um registro danificado é encontrado e a leitura não está em modo de recuperação.
+ * Informa o trecho do arquivo (em bytes) ocupado pelo registro.
+ *
+ * * @author Netto
+ */
+class CorruptRecordException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    private final long start;
+    private final long end;
+
+    CorruptRecordException(long start, long end, String reason) {
+        super("Registro danificado nos bytes " + start + "-" + end + ": " + reason);
+        this.start = start;
+        this.end = end;
+    }
+
+    /** Tratador de danos padrão: interrompe a leitura no primeiro registro danificado. */
+    static void raise(long start, long end, String reason) {
+        throw new CorruptRecordException(start, end, reason);
+    }
+
+    long getStart() {
+        return start;
+    }
+
+    long getEnd() {
+        return end;
+    }
+}
@@ -0,0 +1,66 @@
+package com.bookTracker.persistence;
+
+import java.util.Objects;
+
+/**
+ * Trecho danificado encontrado durante a carga dos livros.
+ *
+ * Guarda o arquivo, o intervalo de bytes {@code [start, end)} e o motivo (campo inválido,
+ * registro sem {@code BOOK_END}, etc.). Os bytes originais do trecho são copiados para o arquivo
+ * de quarentena ({@code books.quarantine}) antes que uma gravação os retire do arquivo.
+ * Dois trechos são iguais se estão no mesmo arquivo e na mesma posição.
+ * Obtido por {@link DataManager#getDamagedRecords()}.
+ *
+ * * @author Netto
+ */
+public class DamagedRecord {
+    private final String filename;
+    private final long start;
+    private final long end;
+    private final String reason;
+
+    DamagedRecord(String filename, long start, long end, String reason) {
+        this.filename = filename;
+        this.start = start;
+        this.end = end;
+        this.reason = reason;
+    }
+
+    /** @return O arquivo onde o dano foi encontrado ({@code books.txt} ou journal). */
+    public String getFilename() {
+        return filename;
+    }
+
+    /** @return Posição (em bytes) do início do trecho danificado. */
+    public long getStart() {
+        return start;
+    }
+
+    /** @return Posição (em bytes) logo após o fim do trecho danificado. */
+    public long getEnd() {
+        return end;
+    }
+
+    /** @return O motivo pelo qual o registro foi ignorado. */
+    public String getReason() {
+        return reason;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (obj == null || getClass() != obj.getClass()) return false;
+        DamagedRecord record = (DamagedRecord) obj;
+        return start == record.start && end == record.end && filename.equals(record.filename); // O motivo não importa
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(filename, start, end);
+    }
+
+    @Override
+    public String toString() {
+        return filename + " [" + start + ", " + end + "): " + reason;
+    }
+}
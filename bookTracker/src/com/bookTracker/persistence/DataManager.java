@@ -1,342 +1,2469 @@
-package com.bookTracker.persistence;
-
-import com.bookTracker.model.Book;
-import com.bookTracker.model.BookStatus;
-import com.bookTracker.model.Ebook;
-import com.bookTracker.model.Genre;
-import com.bookTracker.model.PhysicalBook;
-
-import java.io.BufferedReader;
-import java.io.BufferedWriter;
-import java.io.File;
-import java.io.FileReader;
-import java.io.FileWriter;
-import java.io.IOException;
-import java.nio.charset.StandardCharsets;
-import java.util.ArrayList;
-import java.util.List;
-
-/**
- * Gerencia a persistência de dados da aplicação utilizando arquivos de texto (.txt).
- * Esta classe é responsável por converter os objetos em memória ({@link Book}, {@link Genre})
- * para um formato de texto legível e vice-versa.
- * 
- * Estratégia de Arquivos:
- * genres.txt: Formato simples de linha única (ID ; Nome).
- * books.txt: Formato estruturado com tags (BOOK_START, ID:, TITLE:, etc.) para suportar textos longos e multilinhas.
- * 
- * * @author Netto
- */
-
-public class DataManager {
-    private final String booksFilename;
-    private final String genresFilename;
-    
-    /** Separador utilizado apenas no arquivo de gêneros. */
-    private static final String SEPARATOR = " ; ";
-
-    // --- TAGS PARA IDENTIFICAÇÃO NO ARQUIVO TXT ---
-    // Usamos constantes para evitar erros de digitação e facilitar mudanças futuras no formato.
-    // Tags para Gêneros
-    private static final String TAG_GENRE = "GENRE: ";
-
-    // Tags para Livros
-    private static final String TAG_BOOK_START = "BOOK_START: ";
-    private static final String TAG_BOOK_END = "BOOK_END";
-    
-    // Tags de campos simples (uma linha)
-    private static final String TAG_ID = "ID: ";
-    private static final String TAG_TITLE = "TITLE: ";
-    private static final String TAG_AUTHOR = "AUTHOR: ";
-    private static final String TAG_PUBLISHER = "PUBLISHER: ";
-    private static final String TAG_TOTAL_PAGES = "TOTAL_PAGES: ";
-    private static final String TAG_CURRENT_PAGE = "CURRENT_PAGE: ";
-    private static final String TAG_RATING = "RATING: ";
-    private static final String TAG_STATUS = "STATUS: ";
-    private static final String TAG_GENRE_ID = "GENRE_ID: ";
-    private static final String TAG_LOCAL = "LOCAL: "; // Específico de Ebook
-    
-    // Tags de blocos de texto (multilinhas)
-    private static final String TAG_DESCRIPTION_START = "DESCRIPTION_START";
-    private static final String TAG_DESCRIPTION_END = "DESCRIPTION_END";
-    private static final String TAG_QUOTE_START = "QUOTE_START";
-    private static final String TAG_QUOTE_END = "QUOTE_END";
-    private static final String TAG_NOTE_START = "NOTE_START";
-    private static final String TAG_NOTE_END = "NOTE_END";
-	
-    /**
-     * Construtor do gerenciador de dados.
-     * @param booksFilename Caminho/Nome do arquivo onde os livros serão salvos.
-     * @param genresFilename Caminho/Nome do arquivo onde os gêneros serão salvos.
-     */
-    public DataManager(String booksFilename, String genresFilename) {
-        this.booksFilename = booksFilename;
-        this.genresFilename = genresFilename;
-    }
-    
-    // ========================================================================
-    // == MÉTODOS DE GÊNEROS
-    // ========================================================================
-
-    /**
-     * Carrega a lista de gêneros do arquivo de texto.
-     * O formato esperado por linha é: {@code GENRE: <UUID> ; <NOME>}
-     * @return Uma lista de objetos {@link Genre}. Se o arquivo não existir, retorna lista vazia.
-     */
-    public List<Genre> loadGenres() {
-        List<Genre> genreList = new ArrayList<>();
-        File file = new File(genresFilename);
-
-        if (!file.exists()) {
-            return genreList;
-        }
-
-        // Usa try-with-resources para garantir que o arquivo seja fechado
-        try (BufferedReader reader = new BufferedReader(new FileReader(file, StandardCharsets.UTF_8))) {
-            String line;
-            while ((line = reader.readLine()) != null) {
-                if (line.startsWith(TAG_GENRE)) {
-                    // Remove a tag inicial ("GENRE: ")
-                    String data = line.substring(TAG_GENRE.length());
-                    // Quebra a linha no separador " ; "
-                    String[] parts = data.split(SEPARATOR, -1);
-                    if (parts.length == 2) {
-                        // parts[0] = ID, parts[1] = Nome
-                        // Usa o construtor (id, name)
-                        genreList.add(new Genre(parts[0], parts[1])); 
-                    }
-                }
-            }
-        } catch (IOException e) {
-            System.err.println("Erro ao carregar gêneros: " + e.getMessage());
-        }
-        return genreList;
-    }
-
-    /**
-     * Salva a lista de gêneros no arquivo de texto.
-     * Sobrescreve o arquivo existente completamente.
-     * @param genreList A lista de gêneros a ser persistida.
-     */
-    public void saveGenres(List<Genre> genreList) {
-        try (BufferedWriter writer = new BufferedWriter(new FileWriter(genresFilename, StandardCharsets.UTF_8))) {
-            for (Genre genre : genreList) {
-                // Formato: GENRE: id ; nome
-                writer.write(TAG_GENRE + genre.getId() + SEPARATOR + genre.getName());
-                writer.newLine();
-            }
-        } catch (IOException e) {
-            System.err.println("Erro ao salvar gêneros: " + e.getMessage());
-        }
-    }
-    
-    // ========================================================================
-    // == MÉTODOS DE LIVROS
-    // ========================================================================
-
-    /**
-     * Carrega a lista de livros do arquivo de texto.
-     * Este método lê o arquivo linha por linha e usa uma máquina de estados (via flags
-     * como {@code readingMode}) para processar blocos de texto multilinhas (descrição, quotes).
-     * @param genres A lista de gêneros já carregada. Necessária para vincular o ID do gênero 
-     * salvo no arquivo do livro ao objeto {@link Genre} real em memória.
-     * @return Uma lista de objetos {@link Book} (podendo conter {@link PhysicalBook} e {@link Ebook}).
-     */
-    public List<Book> loadBooks(List<Genre> genres) {
-        List<Book> bookList = new ArrayList<>();
-        File file = new File(booksFilename);
-        if (!file.exists()) {
-            return bookList;
-        }
-
-        try (BufferedReader reader = new BufferedReader(new FileReader(file, StandardCharsets.UTF_8))) {
-            String line;
-            // Variáveis temporárias para construir o livro
-            BookBuilder builder = null;
-            String readingMode = null; // Controla se estamos lendo um bloco de texto (DESCRIPTION, QUOTE, NOTE)
-            StringBuilder textBlock = null;
-
-            while ((line = reader.readLine()) != null) {
-                
-                // 1. Processamento de Blocos de Texto (multilinhas)
-                if (readingMode != null) {
-                    // Verifica se o bloco terminou
-                    if (line.equals(TAG_DESCRIPTION_END)) {
-                        builder.description = textBlock.toString();
-                        readingMode = null;
-                    } else if (line.equals(TAG_QUOTE_END)) {
-                        builder.quotes.add(textBlock.toString());
-                        readingMode = null;
-                    } else if (line.equals(TAG_NOTE_END)) {
-                        builder.notes.add(textBlock.toString());
-                        readingMode = null;
-                    } else {
-                        // Se não terminou, adiciona a linha atual ao conteúdo
-                        if (textBlock.length() > 0) {
-                            textBlock.append("\n"); // Restaura a quebra de linha
-                        }
-                        textBlock.append(line);
-                    }
-                    continue; // Passa para a próxima linha do arquivo
-                }
-
-                // 2. Processamento de Tags Simples
-                if (line.startsWith(TAG_BOOK_START)) {
-                    builder = new BookBuilder(); // Inicia um novo livro
-                    // Define se é Ebook ou Físico baseado no valor após a tag (ex: BOOK_START: EBOOK)
-                    builder.isEbook = line.substring(TAG_BOOK_START.length()).equals("EBOOK");
-                } 
-                else if (line.startsWith(TAG_ID)) {
-                    if (builder != null) builder.id = line.substring(TAG_ID.length());
-                }
-                else if (line.startsWith(TAG_TITLE)) {
-                    if (builder != null) builder.title = line.substring(TAG_TITLE.length());
-                }
-                else if (line.startsWith(TAG_AUTHOR)) {
-                    if (builder != null) builder.author = line.substring(TAG_AUTHOR.length());
-                }
-                else if (line.startsWith(TAG_PUBLISHER)) {
-                    if (builder != null) builder.publisher = line.substring(TAG_PUBLISHER.length());
-                }
-                else if (line.startsWith(TAG_TOTAL_PAGES)) {
-                    if (builder != null) builder.totalPages = Integer.parseInt(line.substring(TAG_TOTAL_PAGES.length()));
-                }
-                else if (line.startsWith(TAG_CURRENT_PAGE)) {
-                    if (builder != null) builder.currentPage = Integer.parseInt(line.substring(TAG_CURRENT_PAGE.length()));
-                }
-                else if (line.startsWith(TAG_RATING)) {
-                    if (builder != null) builder.rating = Integer.parseInt(line.substring(TAG_RATING.length()));
-                }
-                else if (line.startsWith(TAG_STATUS)) {
-                    if (builder != null) builder.status = BookStatus.valueOf(line.substring(TAG_STATUS.length()));
-                }
-                else if (line.startsWith(TAG_GENRE_ID)) {
-                    if (builder != null) {
-                        String genreId = line.substring(TAG_GENRE_ID.length());
-                        // Busca o objeto Genre na lista fornecida usando o ID
-                        builder.genre = genres.stream()
-                                            .filter(g -> g.getId().equals(genreId))
-                                            .findFirst()
-                                            .orElse(null);
-                    }
-                }
-                else if (line.startsWith(TAG_LOCAL)) {
-                     if (builder != null) builder.local = line.substring(TAG_LOCAL.length());
-                }
-                // 3. Detecção de Início de Bloco
-                else if (line.equals(TAG_DESCRIPTION_START)) {
-                    readingMode = "DESCRIPTION";
-                    textBlock = new StringBuilder();
-                }
-                else if (line.equals(TAG_QUOTE_START)) {
-                    readingMode = "QUOTE";
-                    textBlock = new StringBuilder();
-                }
-                else if (line.equals(TAG_NOTE_START)) {
-                    readingMode = "NOTE";
-                    textBlock = new StringBuilder();
-                }
-                // 4. Finalização do Livro
-                else if (line.equals(TAG_BOOK_END)) {
-                    if (builder != null) {
-                        bookList.add(builder.build()); // Constrói o objeto final e adiciona à lista
-                        builder = null; // Limpa o construtor para o próximo livro
-                    }
-                }
-            }
-        } catch (IOException | NumberFormatException e) {
-            System.err.println("Erro fatal ao carregar livros: " + e.getMessage());
-            e.printStackTrace();
-        }
-        return bookList;
-    }
-
-    /**
-     * Salva a lista de livros no arquivo de texto.
-     * @param bookList Lista de livros a ser salva.
-     */
-    public void saveBooks(List<Book> bookList) {
-        try (BufferedWriter writer = new BufferedWriter(new FileWriter(booksFilename, StandardCharsets.UTF_8))) {
-            for (Book book : bookList) {
-                // Identifica o tipo de livro para salvar na tag inicial (Polimofirsmo)
-                if (book instanceof Ebook) {
-                    writer.write(TAG_BOOK_START + "EBOOK");
-                } else {
-                    writer.write(TAG_BOOK_START + "PHYSICAL");
-                }
-                writer.newLine();
-
-                // Salva campos simples
-                writer.write(TAG_ID + book.getId()); writer.newLine();
-                writer.write(TAG_TITLE + book.getTitle()); writer.newLine();
-                writer.write(TAG_AUTHOR + book.getAuthor()); writer.newLine();
-                writer.write(TAG_PUBLISHER + book.getPublisher()); writer.newLine();
-                writer.write(TAG_TOTAL_PAGES + book.getTotalPages()); writer.newLine();
-                writer.write(TAG_CURRENT_PAGE + book.getCurrentPage()); writer.newLine();
-                writer.write(TAG_RATING + book.getRating()); writer.newLine();
-                writer.write(TAG_STATUS + book.getStatus().name()); writer.newLine();
-                // Salva apenas o ID do gênero para manter a integridade referencial
-                writer.write(TAG_GENRE_ID + (book.getGenre() != null ? book.getGenre().getId() : "NULL_GENRE_ID")); writer.newLine();
-
-                // Campo específico do Ebook
-                if (book instanceof Ebook) {
-                    writer.write(TAG_LOCAL + ((Ebook) book).getLocal());
-                    writer.newLine();
-                }
-
-                // Salva Blocos de Texto (com tags de início e fim)
-                writer.write(TAG_DESCRIPTION_START); writer.newLine();
-                writer.write(book.getDescription()); writer.newLine(); // Salva o texto exatamente como está
-                writer.write(TAG_DESCRIPTION_END); writer.newLine();
-
-                // Bloco de Citações (um por um)
-                for (String quote : book.getQuotes()) {
-                    writer.write(TAG_QUOTE_START); writer.newLine();
-                    writer.write(quote); writer.newLine();
-                    writer.write(TAG_QUOTE_END); writer.newLine();
-                }
-
-                // Bloco de Notas (um por um)
-                for (String note : book.getNotes()) {
-                    writer.write(TAG_NOTE_START); writer.newLine();
-                    writer.write(note); writer.newLine();
-                    writer.write(TAG_NOTE_END); writer.newLine();
-                }
-
-                // Tag de Fim
-                writer.write(TAG_BOOK_END);
-                writer.newLine();
-                writer.newLine(); // Linha em branco para separar os livros
-            }
-        } catch (IOException e) {
-            System.err.println("Erro ao salvar livros: " + e.getMessage());
-        }
-    }
-
-
-    /**
-     * Classe auxiliar (Builder) interna para facilitar a construção do objeto Livro
-     * durante o processo de leitura, pois os dados chegam linha a linha e fora de ordem.
-     */
-    private static class BookBuilder {
-        boolean isEbook;
-        String id, title, author, publisher, local;
-        int totalPages, currentPage, rating;
-        BookStatus status;
-        Genre genre;
-        String description = ""; // Garante que não seja nulo
-        List<String> notes = new ArrayList<>();
-        List<String> quotes = new ArrayList<>();
-
-        /**
-         * Finaliza a construção e retorna a instância correta (Ebook ou PhysicalBook).
-         */
-        Book build() {
-            if (isEbook) {
-                return new Ebook(id, title, author, totalPages, publisher, description, genre, status, rating, currentPage, notes, quotes, local);
-            } else {
-                return new PhysicalBook(id, title, author, totalPages, publisher, description, genre, status, rating, currentPage, notes, quotes);
-            }
-        }
-    }
-}
+package com.bookTracker.persistence;
+
+import com.bookTracker.model.Book;
+import com.bookTracker.model.Ebook;
+import com.bookTracker.model.Genre;
+import com.bookTracker.model.LazyTextSource;
+import com.bookTracker.model.PhysicalBook;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.FileReader;
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import java.util.zip.CRC32;
+
+/**
+ * Gerencia a persistência de dados da aplicação utilizando arquivos de texto (.txt).
+ * Esta classe é responsável por converter os objetos em memória ({@link Book}, {@link Genre})
+ * para um formato de texto legível e vice-versa. É o armazenamento padrão ({@link BookRepository},
+ * {@link GenreRepository}); a alternativa para bibliotecas grandes é o {@link SqlDataManager}.
+ * 
+ * Estratégia de Arquivos:
+ * genres.txt: Formato simples de linha única (ID ; Nome).
+ * books.txt: Formato estruturado com tags (BOOK_START, ID:, TITLE:, etc.) para suportar textos longos e multilinhas.
+ * books.journal: Diário (journal) de alterações, onde cada inclusão, edição ou exclusão de livro
+ * é anexada ao final do arquivo como um único registro. É reaplicado sobre o books.txt ao carregar.
+ * books.bin: No modo binário ({@link #setBinaryStorage(boolean)}), substitui o books.txt pelo formato compacto
+ * ({@link BinaryBookFormat}); o journal continua em texto, reaplicado sobre ele.
+ * books.idx: Índice auxiliar ({@link BookIndex}) com a posição de cada livro no books.txt, usado por {@link #loadBook(String)}.
+ * É reconstruído automaticamente se não existir ou estiver desatualizado.
+ * books.quarantine: Cópia dos registros danificados, gravada antes que qualquer gravação os retire do arquivo
+ * (ver {@link #setRecoveryMode(boolean)}).
+ * books.lock: Bloqueio entre processos ({@link LibraryLock}) e contador de geração da biblioteca.
+ * 
+ * Acesso por vários processos:
+ * A interface e ferramentas externas (ex: um importador em lote) podem usar a mesma biblioteca ao mesmo tempo.
+ * Leituras compartilham o {@code books.lock}; gravações o obtêm com exclusividade e incrementam a geração.
+ * Uma instância percebe as gravações das outras pela geração ({@link #hasExternalChanges()}) e recebe
+ * apenas os livros alterados ({@link #refresh(List)}), sem recarregar a biblioteca inteira.
+ * Ordem de bloqueio: sempre o {@code books.lock} antes do monitor deste objeto.
+ * 
+ * Segurança contra quedas:
+ * Salvamentos completos são gravados em um arquivo temporário e trocados de uma vez ({@link AtomicFileWriter}).
+ * Registros do journal são forçados para o disco antes de a operação ser considerada concluída;
+ * pedidos que chegam juntos (de várias threads) compartilham um único {@code fsync} ({@link GroupCommit}).
+ * 
+ * * @author Netto
+ */
+
+public class DataManager implements BookRepository, GenreRepository {
+    private final String booksFilename;
+    private final String genresFilename;
+    private final String journalFilename;
+    private final String binaryFilename;
+    private final String indexFilename;
+    private final String quarantineFilename;
+    
+    /** Quantidade de registros atualmente no journal (lidos na carga + anexados desde então). */
+    private int journalRecordCount;
+
+    /**
+     * Posição de cada registro de livro dentro do {@code books.txt} (ID -> trecho em bytes).
+     * Permite regravar somente os registros alterados, sem reescrever o arquivo inteiro.
+     * No modo binário, são os trechos do {@code books.bin}, usados apenas para comparar versões.
+     */
+    private final Map<String, RecordSlot> recordSlots = new HashMap<>();
+
+    /** Indica se {@code recordSlots} reflete fielmente o conteúdo atual do {@code books.txt}. */
+    private boolean recordSlotsValid;
+
+    /** Se verdadeiro, o snapshot da biblioteca fica no {@code books.bin} ({@link BinaryBookFormat}) em vez do {@code books.txt}. */
+    private volatile boolean binaryStorage;
+
+    /** Se verdadeiro, o {@code books.txt} é lido mapeado em memória ({@link MappedBookParser}). */
+    private boolean mappedLoading = true;
+
+    /** Se verdadeiro, arquivos grandes são lidos em paralelo ({@link ParallelBookLoader}). */
+    private boolean parallelLoading = true;
+
+    /** Se verdadeiro, descrição, citações e notas só são lidas do arquivo quando acessadas ({@link LazyTextSource}). */
+    private boolean lazyTextLoading;
+
+    /** Se verdadeiro, registros danificados são pulados (e informados) sem interromper a carga. */
+    private boolean recoveryMode = true;
+
+    /** Se verdadeiro, a carga apaga do {@code books.txt} os registros danificados, depois de guardá-los na quarentena. */
+    private boolean damageRepair;
+
+    /** Se verdadeiro, os blocos de texto longos são gravados compactados ({@link TextCompression}). */
+    private volatile boolean textCompression;
+
+    /** Se verdadeiro, a compactação foi escolhida por {@link #setTextCompression}; senão, segue o cabeçalho do arquivo. */
+    private volatile boolean textCompressionChosen;
+
+    /** Se verdadeiro, {@link #textCompression} já foi escolhida ou lida do cabeçalho. */
+    private volatile boolean textCompressionKnown;
+
+    /** Trechos danificados encontrados na última carga. */
+    private final List<DamagedRecord> damagedRecords = new ArrayList<>();
+
+    /**
+     * Trechos danificados que ainda não foram copiados para a quarentena. São copiados (e o arquivo
+     * sincronizado) antes de qualquer gravação que os retire do lugar: snapshot, limpeza do journal ou reparo.
+     */
+    private final List<DamagedRecord> unpreservedDamage = new ArrayList<>();
+
+    /** Bloqueio entre processos ({@code books.lock}): leituras compartilham, gravações são exclusivas. */
+    private final LibraryLock libraryLock;
+
+    /** Geração da biblioteca na última sincronização (carga, gravação própria ou {@link #refresh(List)}). */
+    private volatile long knownGeneration = -1;
+
+    /** Indica se outro processo alterou a biblioteca e as alterações ainda não foram entregues por {@link #refresh(List)}. */
+    private volatile boolean externalChanges;
+
+    /** Tamanho e data do {@code books.txt} (ou do {@code books.bin}) na última sincronização. */
+    private long knownBooksLength = -1;
+    private long knownBooksModified = -1;
+
+    /** Tamanho do journal até onde os registros já são conhecidos (lidos na carga, anexados por nós ou guardados). */
+    private long knownJournalLength;
+
+    /** Recomeços do journal na última sincronização: se mudou, {@code knownJournalLength} se refere a um journal já apagado. */
+    private long knownJournalEpoch = -1;
+
+    /**
+     * Posição e checksum de cada registro na versão que a aplicação conhece (última carga ou atualização,
+     * mais as nossas gravações). Comparada com o arquivo atual, revela os livros alterados por outro processo.
+     */
+    private final Map<String, RecordSlot> knownSlots = new HashMap<>();
+
+    /** Alterações que outro processo anexou ao journal, guardadas antes de consolidarmos o journal (null = excluído). */
+    private final Map<String, Book> pendingExternalChanges = new LinkedHashMap<>();
+
+    /** Quantidade de bytes de registros novos acumulados antes de cada escrita no salvamento incremental. */
+    private static final int APPEND_BUFFER_SIZE = 1024 * 1024;
+
+    /** Tamanho a partir do qual a leitura paralela compensa o custo de dividir o arquivo. */
+    private static final long PARALLEL_LOADING_THRESHOLD = 4L * 1024 * 1024;
+
+    /**
+     * Janela (ms) em que pedidos de gravação concorrentes são agrupados em uma única gravação.
+     * Com 0, o líder não espera: são agrupados os pedidos que chegam enquanto a gravação anterior
+     * ainda está no disco, sem atrasar uma thread que grava sozinha (ex: a fila do BookService).
+     */
+    private static final long GROUP_COMMIT_WINDOW_MILLIS = 0;
+
+    /** Agrupa salvamentos completos concorrentes: apenas a lista mais recente é gravada. */
+    private final GroupCommit<List<Book>> snapshotCommit = new GroupCommit<>(this::writeSnapshot, GROUP_COMMIT_WINDOW_MILLIS);
+
+    /** Agrupa os {@code fsync} do journal: várias alterações seguidas custam uma única ida ao disco. */
+    private final GroupCommit<Void> journalSync = new GroupCommit<>(state -> syncJournal(), GROUP_COMMIT_WINDOW_MILLIS);
+    
+    /** Separador utilizado apenas no arquivo de gêneros. */
+    private static final String SEPARATOR = " ; ";
+
+    /**
+     * Indica se o nome pode ser gravado no arquivo de gêneros: uma linha só, sem o separador {@code " ; "}
+     * (que partiria a linha em campos errados na leitura).
+     */
+    public static boolean isStorableGenreName(String name) {
+        return name.indexOf('\n') < 0 && name.indexOf('\r') < 0 && !name.contains(SEPARATOR);
+    }
+
+    /**
+     * Indica se um texto longo (descrição, citação ou nota) tem uma linha igual a uma tag de fim de bloco
+     * (ex: {@code DESCRIPTION_END}): na leitura, ela encerraria o bloco no meio do texto.
+     */
+    public static boolean hasBlockEndLine(String text) {
+        if (text == null) {
+            return false;
+        }
+        for (String line : text.split("\r?\n", -1)) {
+            if (line.equals(TAG_DESCRIPTION_END) || line.equals(TAG_QUOTE_END) || line.equals(TAG_NOTE_END)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // --- TAGS PARA IDENTIFICAÇÃO NO ARQUIVO TXT ---
+    // Usamos constantes para evitar erros de digitação e facilitar mudanças futuras no formato.
+    // Tags para Gêneros
+    private static final String TAG_GENRE = "GENRE: ";
+
+    // Cabeçalho do books.txt: primeira linha do arquivo, fora de qualquer registro (ignorada pelas versões antigas)
+    static final String TAG_FORMAT_VERSION = "FORMAT_VERSION: ";
+
+    /**
+     * Versão atual do formato do {@code books.txt}.
+     * 1: arquivos sem cabeçalho (anteriores ao versionamento), com registros que podem não ter o {@code CHECKSUM}.
+     * 2: cabeçalho {@code FORMAT_VERSION} e {@code CHECKSUM} em todos os registros.
+     */
+    static final int FORMAT_VERSION = 2;
+
+    // Opção gravada na linha do cabeçalho, depois da versão: FORMAT_VERSION: 2 ; TEXT_COMPRESSION: DEFLATE
+    private static final String HEADER_TEXT_COMPRESSION = "TEXT_COMPRESSION: DEFLATE";
+
+    // Tags para Livros
+    // Visíveis no pacote para que os leitores alternativos (ex: MappedBookParser) usem o mesmo formato.
+    static final String TAG_BOOK_START = "BOOK_START: ";
+    static final String TAG_BOOK_END = "BOOK_END";
+    
+    // Tags de campos simples (uma linha)
+    static final String TAG_ID = "ID: ";
+    static final String TAG_TITLE = "TITLE: ";
+    static final String TAG_AUTHOR = "AUTHOR: ";
+    static final String TAG_PUBLISHER = "PUBLISHER: ";
+    static final String TAG_TOTAL_PAGES = "TOTAL_PAGES: ";
+    static final String TAG_CURRENT_PAGE = "CURRENT_PAGE: ";
+    static final String TAG_RATING = "RATING: ";
+    static final String TAG_STATUS = "STATUS: ";
+    static final String TAG_GENRE_ID = "GENRE_ID: ";
+    static final String TAG_LOCAL = "LOCAL: "; // Específico de Ebook
+    
+    // Tags de blocos de texto (multilinhas)
+    static final String TAG_DESCRIPTION_START = "DESCRIPTION_START";
+    static final String TAG_DESCRIPTION_END = "DESCRIPTION_END";
+    static final String TAG_QUOTE_START = "QUOTE_START";
+    static final String TAG_QUOTE_END = "QUOTE_END";
+    static final String TAG_NOTE_START = "NOTE_START";
+    static final String TAG_NOTE_END = "NOTE_END";
+    // Blocos de texto compactados (ver TextCompression): uma única linha em Base64
+    static final String TAG_DESCRIPTION_DEFLATE = "DESCRIPTION_DEFLATE: ";
+    static final String TAG_QUOTE_DEFLATE = "QUOTE_DEFLATE: ";
+    static final String TAG_NOTE_DEFLATE = "NOTE_DEFLATE: ";
+    // Soma de verificação do registro (ver RecordChecksum), gravada logo antes do BOOK_END
+    static final String TAG_CHECKSUM = "CHECKSUM: ";
+    // Blocos de várias linhas seguem o padrão NOME_START ... NOME_END; blocos de versões mais novas
+    // (e linhas "TAG: valor" desconhecidas) são preservados como campos desconhecidos
+    static final String BLOCK_START_SUFFIX = "_START";
+    static final String BLOCK_END_SUFFIX = "_END";
+
+    // Tags do journal de alterações
+    // Um UPSERT é seguido de um bloco BOOK_START ... BOOK_END completo; um DELETE leva apenas o ID.
+    private static final String TAG_JOURNAL_UPSERT = "JOURNAL_UPSERT";
+    static final String TAG_JOURNAL_DELETE = "JOURNAL_DELETE: ";
+
+    /** Quebra de linha usada na escrita (a leitura aceita tanto {@code \n} quanto {@code \r\n}). */
+    private static final String NEWLINE = System.lineSeparator();
+
+    /**
+     * Byte usado para preencher o espaço que sobra quando um registro encolhe ou é excluído.
+     * O trecho vira uma única linha de espaços, e linhas sem tag fora de um registro são ignoradas pela leitura.
+     */
+    private static final byte PADDING = ' ';
+
+    /**
+     * Passos de migração do formato, pela versão de origem (ver {@link FormatMigration}).
+     * 1 -> 2: a estrutura dos registros não muda; o cabeçalho e o {@code CHECKSUM} dos registros
+     * antigos são acrescentados pela própria passada de migração.
+     */
+    private static final Map<Integer, FormatMigration> MIGRATIONS = Map.of(
+            1, lines -> { });
+
+    /**
+     * Versão gravada no cabeçalho do {@code books.txt}. Um arquivo de uma versão mais nova mantém a sua
+     * versão ao ser regravado: os campos que esta versão não conhece são preservados.
+     */
+    private int formatVersion = FORMAT_VERSION;
+	
+    /**
+     * Construtor do gerenciador de dados.
+     * @param booksFilename Caminho/Nome do arquivo onde os livros serão salvos.
+     * @param genresFilename Caminho/Nome do arquivo onde os gêneros serão salvos.
+     */
+    public DataManager(String booksFilename, String genresFilename) {
+        this.booksFilename = booksFilename;
+        this.genresFilename = genresFilename;
+        this.journalFilename = siblingFilename(booksFilename, ".journal");
+        this.binaryFilename = siblingFilename(booksFilename, ".bin");
+        this.indexFilename = siblingFilename(booksFilename, ".idx");
+        this.quarantineFilename = siblingFilename(booksFilename, ".quarantine");
+        this.libraryLock = LibraryLock.forFile(siblingFilename(booksFilename, ".lock"));
+    }
+
+    /**
+     * Define se o {@code books.txt} deve ser lido com o leitor mapeado em memória
+     * ({@link MappedBookParser}) ou com a leitura linha a linha tradicional.
+     * O resultado é o mesmo; o leitor mapeado evita criar Strings intermediárias e é
+     * bem mais rápido em bibliotecas grandes. Arquivos acima de 2 GB sempre usam a leitura linha a linha.
+     * @param mappedLoading {@code true} para usar o leitor mapeado (padrão).
+     */
+    public void setMappedLoading(boolean mappedLoading) {
+        this.mappedLoading = mappedLoading;
+    }
+
+    /**
+     * Define se bibliotecas grandes devem ser lidas em paralelo, dividindo o {@code books.txt}
+     * em trechos processados por todos os núcleos ({@link ParallelBookLoader}).
+     * Só tem efeito junto com a leitura mapeada em memória. A ordem dos livros é preservada.
+     * @param parallelLoading {@code true} para ler em paralelo (padrão).
+     */
+    public void setParallelLoading(boolean parallelLoading) {
+        this.parallelLoading = parallelLoading;
+    }
+
+    /**
+     * Define se os textos longos dos livros (descrição, citações e notas) devem ser carregados sob demanda.
+     * Na carga, cada livro guarda apenas a posição do seu registro no {@code books.txt}; os textos
+     * são lidos na primeira chamada a {@code getDescription()}, {@code getQuotes()} ou {@code getNotes()}.
+     * Reduz bastante o tempo de carga e a memória de bibliotecas com descrições longas.
+     * Só tem efeito junto com a leitura mapeada em memória. Livros vindos do journal são sempre carregados por completo.
+     * @param lazyTextLoading {@code true} para carregar os textos sob demanda (padrão: {@code false}).
+     */
+    public void setLazyTextLoading(boolean lazyTextLoading) {
+        this.lazyTextLoading = lazyTextLoading;
+    }
+
+    /**
+     * Define se o snapshot da biblioteca fica no formato binário compacto ({@code books.bin}) em vez do
+     * {@code books.txt}. O arquivo é bem menor e é lido mais rápido; o journal continua em texto e é
+     * reaplicado sobre ele na carga, como no formato de texto.
+     * 
+     * Na primeira carga depois da troca de formato, a biblioteca (snapshot do outro formato com o journal)
+     * é convertida e o arquivo antigo é apagado, para que nunca haja dois snapshots divergentes. Se a conversão
+     * falhar, a biblioteca continua no formato antigo nesta execução.
+     * O {@code books.idx}, a leitura preguiçosa e a regravação dos registros no lugar existem só no {@code books.txt}:
+     * no modo binário, salvar as alterações e consolidar o journal regravam o {@code books.bin} inteiro.
+     * @param binaryStorage {@code true} para usar o {@code books.bin} (padrão: {@code false}).
+     */
+    public void setBinaryStorage(boolean binaryStorage) {
+        this.binaryStorage = binaryStorage;
+    }
+
+    /**
+     * Define se descrições, citações e notas longas devem ser gravadas compactadas (Deflate + Base64).
+     * Reduz bastante o tamanho do {@code books.txt} (e o tempo de leitura e escrita) em bibliotecas
+     * com muitos textos longos. Textos curtos continuam em texto puro.
+     * 
+     * A leitura aceita os dois formatos, então a opção pode ser ligada ou desligada a qualquer momento:
+     * cada registro passa para o novo formato na próxima vez que for gravado.
+     * 
+     * A opção fica gravada com a biblioteca, no cabeçalho do {@code books.txt}. Sem esta chamada, vale a
+     * opção do cabeçalho; com ela, se a opção gravada for outra, a carga ({@link #loadBooks(List)})
+     * regrava a biblioteca no novo formato (um salvamento completo também grava a opção).
+     * @param textCompression {@code true} para compactar os textos longos (padrão: a opção gravada, ou {@code false}).
+     */
+    public void setTextCompression(boolean textCompression) {
+        this.textCompression = textCompression;
+        this.textCompressionChosen = true;
+        this.textCompressionKnown = true;
+    }
+
+    /** @return {@code true} se os textos longos são gravados compactados (a opção escolhida ou a gravada). */
+    @Override
+    public boolean isTextCompression() {
+        if (!textCompressionKnown) {
+            adoptStoredTextCompression();
+        }
+        return textCompression;
+    }
+
+    /**
+     * Define o que fazer quando a carga encontra um registro danificado (valor inválido, bloco sem
+     * fechamento, registro cortado no meio).
+     * No modo de recuperação, o registro danificado é pulado e informado, e a carga continua com os demais;
+     * o {@code books.txt} não é alterado. Os bytes do registro são copiados para o {@code books.quarantine}
+     * antes que uma gravação (ex: um salvamento completo) os retire do arquivo.
+     * Fora dele, a carga para no primeiro dano, como nas versões anteriores.
+     * Os trechos encontrados ficam disponíveis em {@link #getDamagedRecords()}.
+     * 
+     * Um registro lido sem erros cujo checksum não confere (ex: editado à mão) não é dano: o livro é
+     * carregado, com um aviso, e o registro é regravado com um checksum novo.
+     * @param recoveryMode {@code true} para pular apenas os registros danificados (padrão).
+     */
+    public void setRecoveryMode(boolean recoveryMode) {
+        this.recoveryMode = recoveryMode;
+    }
+
+    /**
+     * Define se a carga apaga do {@code books.txt} os registros danificados (modo de recuperação).
+     * O trecho só é apagado depois que a sua cópia foi gravada e sincronizada no {@code books.quarantine};
+     * se a quarentena falhar, o arquivo fica como está.
+     * @param damageRepair {@code true} para apagar os registros danificados (padrão: {@code false}).
+     */
+    public void setDamageRepair(boolean damageRepair) {
+        this.damageRepair = damageRepair;
+    }
+
+    /**
+     * Retorna os trechos danificados encontrados na última carga ({@code books.txt} e journal).
+     * @return Lista vazia se os arquivos estavam íntegros.
+     */
+    public synchronized List<DamagedRecord> getDamagedRecords() {
+        return new ArrayList<>(damagedRecords);
+    }
+
+    /**
+     * Monta o nome de um arquivo auxiliar "irmão" do arquivo de livros, trocando a extensão.
+     * Ex: {@code books.txt} + {@code .journal} = {@code books.journal}.
+     */
+    private static String siblingFilename(String filename, String extension) {
+        int dot = filename.lastIndexOf('.');
+        int sep = Math.max(filename.lastIndexOf('/'), filename.lastIndexOf('\\'));
+        String base = (dot > sep) ? filename.substring(0, dot) : filename;
+        return base + extension;
+    }
+    
+    // ========================================================================
+    // == MÉTODOS DE GÊNEROS
+    // ========================================================================
+
+    /**
+     * Carrega a lista de gêneros do arquivo de texto.
+     * O formato esperado por linha é: {@code GENRE: <UUID> ; <NOME>}
+     * @return Uma lista de objetos {@link Genre}. Se o arquivo não existir, retorna lista vazia.
+     */
+    public List<Genre> loadGenres() {
+        LibraryLock.Hold hold = libraryLock.shared();
+        try {
+            return readGenres();
+        } finally {
+            hold.close();
+        }
+    }
+
+    private List<Genre> readGenres() {
+        List<Genre> genreList = new ArrayList<>();
+        File file = new File(genresFilename);
+
+        if (!file.exists()) {
+            return genreList;
+        }
+
+        // Usa try-with-resources para garantir que o arquivo seja fechado
+        try (BufferedReader reader = new BufferedReader(new FileReader(file, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.startsWith(TAG_GENRE)) {
+                    // Remove a tag inicial ("GENRE: ")
+                    String data = line.substring(TAG_GENRE.length());
+                    // Quebra a linha no separador " ; "
+                    String[] parts = data.split(SEPARATOR, -1);
+                    if (parts.length == 2) {
+                        // parts[0] = ID, parts[1] = Nome
+                        // Usa o construtor (id, name)
+                        genreList.add(new Genre(parts[0], parts[1])); 
+                    }
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Erro ao carregar gêneros: " + e.getMessage());
+        }
+        return genreList;
+    }
+
+    /**
+     * Salva a lista de gêneros no arquivo de texto.
+     * Sobrescreve o arquivo existente completamente.
+     * @param genreList A lista de gêneros a ser persistida.
+     */
+    public void saveGenres(List<Genre> genreList) {
+        try {
+            writeLocked(() -> {
+                // Gêneros cadastrados por outro processo, que ainda não chegaram a esta lista, são mantidos
+                List<Genre> merged = new ArrayList<>(genreList);
+                if (externalChanges) {
+                    for (Genre genre : readGenres()) {
+                        if (merged.stream().noneMatch(g -> g.getId().equals(genre.getId()))) {
+                            merged.add(genre);
+                        }
+                    }
+                }
+                AtomicFileWriter.write(genresFilename, out -> {
+                    BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+                    for (Genre genre : merged) {
+                        // Formato: GENRE: id ; nome
+                        writer.write(TAG_GENRE + genre.getId() + SEPARATOR + genre.getName());
+                        writer.newLine();
+                    }
+                    writer.flush();
+                });
+                return null;
+            });
+        } catch (IOException | UncheckedIOException e) {
+            System.err.println("Erro ao salvar gêneros: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Anexa um único gênero ao final do arquivo de gêneros, sem reescrever os demais.
+     * @param genre O gênero recém-cadastrado.
+     */
+    public void appendGenre(Genre genre) {
+        try {
+            writeLocked(() -> {
+                try (BufferedWriter writer = new BufferedWriter(new FileWriter(genresFilename, StandardCharsets.UTF_8, true))) {
+                    writer.write(TAG_GENRE + genre.getId() + SEPARATOR + genre.getName());
+                    writer.newLine();
+                }
+                return null;
+            });
+        } catch (IOException | UncheckedIOException e) {
+            System.err.println("Erro ao salvar gênero: " + e.getMessage());
+        }
+    }
+    
+    // ========================================================================
+    // == MÉTODOS DE LIVROS
+    // ========================================================================
+
+    /**
+     * Carrega a lista de livros do arquivo de texto.
+     * Após ler o {@code books.txt}, reaplica o journal de alterações ({@code books.journal})
+     * na ordem em que foi gravado, para que inclusões, edições e exclusões feitas desde o
+     * último salvamento completo não sejam perdidas.
+     * @param genres A lista de gêneros já carregada. Necessária para vincular o ID do gênero 
+     * salvo no arquivo do livro ao objeto {@link Genre} real em memória.
+     * @return Uma lista de objetos {@link Book} (podendo conter {@link PhysicalBook} e {@link Ebook}).
+     */
+    public List<Book> loadBooks(List<Genre> genres) {
+        convertSnapshotIfNeeded();
+        if (!binaryStorage) {
+            migrateFormatIfNeeded();
+            applyTextCompression();
+        }
+        // Mapa ordenado por inserção: mantém a ordem do arquivo e permite substituir/remover pelo ID
+        Map<String, Book> books = new LinkedHashMap<>();
+        List<DamagedRecord> damagedBooks = new ArrayList<>();
+        List<DamagedRecord> damagedJournal = new ArrayList<>();
+        List<Book> unsealedBooks = new ArrayList<>();
+        boolean journalIntact;
+
+        // 1. Leitura, com o bloqueio compartilhado: outros processos podem ler ao mesmo tempo, mas não gravar
+        try (LibraryLock.Hold hold = libraryLock.shared()) {
+            synchronized (this) {
+                knownGeneration = hold.generation();
+                externalChanges = false;
+                pendingExternalChanges.clear();
+                damagedRecords.clear();
+                unpreservedDamage.clear(); // Os trechos ainda danificados são encontrados de novo pela leitura
+                readBooksFile(genres, books, damagedBooks, unsealedBooks);
+                journalIntact = replayJournal(genres, books, damagedJournal);
+                rememberDamage(damagedBooks);
+                rememberDamage(damagedJournal);
+                knownSlots.clear();
+                knownSlots.putAll(recordSlots);
+                rememberFileState();
+            }
+        }
+        List<Book> bookList = new ArrayList<>(books.values());
+        boolean repairBooksFile = damageRepair && !damagedBooks.isEmpty();
+        if (journalIntact && !repairBooksFile) {
+            resealBooks(unsealedBooks);
+            return bookList; // Danos apenas informados: os arquivos ficam como estão
+        }
+
+        // 2. Reparos, com o bloqueio exclusivo
+        try {
+            writeLocked(() -> {
+                // Se outro processo gravou entre a leitura e o reparo, os trechos podem ter mudado de lugar:
+                // os danos ficam para a próxima carga
+                if (externalChanges) {
+                    return null;
+                }
+                if (!journalIntact) {
+                    // Journal terminou com um registro incompleto (queda durante a escrita) ou tem registros danificados.
+                    // Ele continua valendo como está: só garantimos que o próximo registro comece numa linha nova.
+                    terminateJournal();
+                }
+                if (repairBooksFile) {
+                    // Registros danificados: apaga o trecho, para não tropeçar nele de novo, só depois de a cópia estar no disco
+                    preserveDamageLocked();
+                    if (eraseDamaged(damagedBooks)) {
+                        writeIndex();
+                    } else {
+                        recordSlotsValid = false;
+                    }
+                }
+                return null;
+            });
+        } catch (IOException | UncheckedIOException e) {
+            System.err.println("Erro ao reparar o arquivo de livros: " + e.getMessage());
+        }
+        resealBooks(unsealedBooks);
+        return bookList;
+    }
+
+    /**
+     * Regrava, com um checksum novo, os registros lidos sem erros cujo checksum não conferia (ex: editados à mão).
+     * Os registros que ainda estão no journal são regravados quando ele for consolidado.
+     */
+    private void resealBooks(List<Book> unsealedBooks) {
+        if (!unsealedBooks.isEmpty() && !saveChangedBooks(unsealedBooks, Collections.emptyList())) {
+            System.err.println("Não foi possível regravar os registros com checksum divergente; "
+                    + "eles serão regravados no próximo salvamento.");
+        }
+    }
+
+    /**
+     * Termina o journal com uma quebra de linha, se ele acabou no meio de uma linha (escrita interrompida),
+     * para que o próximo registro anexado não se junte ao lixo.
+     */
+    private void terminateJournal() throws IOException {
+        File journal = new File(journalFilename);
+        if (!journal.exists() || journal.length() == 0) {
+            return;
+        }
+        try (RandomAccessFile file = new RandomAccessFile(journal, "rw")) {
+            file.seek(file.length() - 1);
+            if (file.read() != '\n') {
+                file.write(NEWLINE.getBytes(StandardCharsets.UTF_8));
+                file.getFD().sync();
+            }
+        }
+        rememberJournalState();
+    }
+
+    /**
+     * Lê o {@code books.txt} inteiro, preenchendo o mapa de livros e as posições dos registros.
+     * @param damaged Recebe os trechos danificados (no modo de recuperação).
+     * @param unsealed Recebe os livros cujo checksum não conferia (a serem regravados).
+     */
+    private void readBooksFile(List<Genre> genres, Map<String, Book> books, List<DamagedRecord> damaged,
+                               List<Book> unsealed) {
+        recordSlots.clear();
+        if (binaryStorage) {
+            recordSlotsValid = false; // Não há regravação no lugar no books.bin
+            try {
+                readBinaryFile(genres, (book, start, end, checksum) -> {
+                    books.put(book.getId(), book);
+                    recordSlots.put(book.getId(), new RecordSlot(start, (int) (end - start), checksum));
+                });
+            } catch (IOException e) {
+                System.err.println("Erro fatal ao carregar livros (binário): " + e.getMessage());
+            }
+            return;
+        }
+        recordSlotsValid = true;
+        File file = new File(booksFilename);
+        if (!file.exists()) {
+            return;
+        }
+        DamageHandler onDamage = damageHandler(booksFilename, damaged);
+        boolean mappable = mappedLoading && file.length() <= MappedBookParser.MAX_MAPPED_SIZE;
+        boolean lazy = lazyTextLoading && mappable;
+        RecordHandler onBook = (book, start, end, checksum) -> {
+            RecordSlot slot = new RecordSlot(start, (int) (end - start), checksum);
+            if (lazy) {
+                book.setLazyTextSource(new RecordTextSource(book.getId(), slot));
+            }
+            if (checksum == RecordChecksum.UNSEALED) {
+                System.err.println("Checksum divergente, registro carregado e será regravado (ID: " + book.getId() + ")");
+                unsealed.add(book);
+            }
+            books.put(book.getId(), book);
+            recordSlots.put(book.getId(), slot);
+        };
+        try {
+            if (mappable && parallelLoading && file.length() >= PARALLEL_LOADING_THRESHOLD) {
+                ParallelBookLoader.parseFile(booksFilename, genres, lazy, onBook, onDamage);
+            } else if (mappable) {
+                MappedBookParser.parseFile(booksFilename, genres, lazy, onBook, onDamage);
+            } else {
+                try (OffsetLineReader reader = new OffsetLineReader(booksFilename)) {
+                    readBookRecords(reader, genres, onBook, null, onDamage);
+                }
+            }
+        } catch (IOException | CorruptRecordException e) {
+            System.err.println("Erro fatal ao carregar livros: " + e.getMessage());
+            e.printStackTrace();
+            recordSlotsValid = false; // Parte do arquivo não foi mapeada
+        }
+        // Aproveita a leitura completa para refazer o índice, se ele estiver desatualizado
+        if (recordSlotsValid && !BookIndex.isFresh(indexFilename, file)) {
+            writeIndex();
+        }
+    }
+
+    /**
+     * Reaplica o journal de alterações sobre o mapa de livros já carregado.
+     * @param genres Lista de gêneros para vincular os livros.
+     * @param books Mapa (ID -> Livro) que recebe as alterações.
+     * @param damaged Recebe os trechos danificados do journal.
+     * @return {@code false} se o journal terminar no meio de um registro (escrita interrompida) ou tiver registros danificados.
+     */
+    private boolean replayJournal(List<Genre> genres, Map<String, Book> books, List<DamagedRecord> damaged) {
+        journalRecordCount = 0;
+        File journal = new File(journalFilename);
+        if (!journal.exists()) {
+            return true;
+        }
+
+        try (OffsetLineReader reader = new OffsetLineReader(journalFilename)) {
+            boolean clean = readBookRecords(reader, genres,
+                    (book, start, end, checksum) -> {
+                        if (checksum == RecordChecksum.UNSEALED) {
+                            System.err.println("Checksum divergente no journal, registro carregado (ID: " + book.getId() + ")");
+                        }
+                        books.put(book.getId(), book);
+                        journalRecordCount++;
+                    },
+                    id -> { books.remove(id); journalRecordCount++; },
+                    damageHandler(journalFilename, damaged));
+            return clean && damaged.isEmpty();
+        } catch (IOException | CorruptRecordException e) {
+            System.err.println("Erro ao reaplicar o journal de livros: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Lê registros de livros no formato com tags, entregando cada livro completo ao {@code onBook}.
+     * É compartilhado entre o {@code books.txt} e o journal (ver {@link BookRecordReader}).
+     * @param reader Leitor já aberto sobre o arquivo.
+     * @param genres Lista de gêneros para vincular os livros.
+     * @param onBook Recebe cada livro ao encontrar {@code BOOK_END}, junto com o trecho em bytes do registro.
+     * @param onDelete Recebe o ID de cada registro {@code JOURNAL_DELETE} (pode ser {@code null}).
+     * @param onDamage Recebe cada registro danificado, que é pulado.
+     * @return {@code true} se a leitura terminou fora de um registro (arquivo íntegro).
+     */
+    private boolean readBookRecords(OffsetLineReader reader, List<Genre> genres, RecordHandler onBook,
+                                    Consumer<String> onDelete, DamageHandler onDamage) throws IOException {
+        BookRecordReader records = new BookRecordReader(reader, genres).onDamage(onDamage);
+        while (records.advance()) {
+            if (records.getBook() != null) {
+                onBook.accept(records.getBook(), records.getRecordStart(), records.getRecordEnd(), records.getRecordChecksum());
+            } else if (onDelete != null) {
+                onDelete.accept(records.getDeletedId());
+            }
+        }
+        return records.isClean();
+    }
+
+    /**
+     * Monta o tratador de danos da carga: no modo de recuperação, registra o trecho e segue em frente;
+     * fora dele, interrompe a leitura ({@link CorruptRecordException}).
+     */
+    private DamageHandler damageHandler(String filename, List<DamagedRecord> damaged) {
+        if (!recoveryMode) {
+            return CorruptRecordException::raise;
+        }
+        return (start, end, reason) -> {
+            DamagedRecord record = new DamagedRecord(filename, start, end, reason);
+            System.err.println("Registro danificado ignorado: " + record);
+            damaged.add(record);
+        };
+    }
+
+    /** Guarda os trechos danificados encontrados (sem repetir os já conhecidos), para informar e preservar. */
+    private void rememberDamage(List<DamagedRecord> damaged) {
+        for (DamagedRecord record : damaged) {
+            if (!damagedRecords.contains(record)) {
+                damagedRecords.add(record);
+            }
+            if (!unpreservedDamage.contains(record)) {
+                unpreservedDamage.add(record);
+            }
+        }
+    }
+
+    /**
+     * Copia para a quarentena os trechos danificados ainda não copiados. Deve ser chamado, com o bloqueio
+     * exclusivo, antes de qualquer gravação que retire esses trechos do {@code books.txt} ou do journal.
+     * @throws IOException Se a cópia falhar: a gravação não deve prosseguir.
+     */
+    private void preserveDamageLocked() throws IOException {
+        quarantine(unpreservedDamage);
+        unpreservedDamage.clear();
+    }
+
+    /**
+     * Copia os bytes originais dos trechos danificados para o {@code books.quarantine},
+     * cada um precedido de uma linha com a data, o arquivo, o trecho e o motivo, e sincroniza a cópia.
+     * Assim nada é perdido de vez: o conteúdo pode ser conferido e recuperado à mão.
+     * Trechos que não começam mais por {@code BOOK_START} (o arquivo foi regravado) são pulados.
+     */
+    private void quarantine(List<DamagedRecord> damaged) throws IOException {
+        if (damaged.isEmpty()) {
+            return;
+        }
+        byte[] recordStart = TAG_BOOK_START.getBytes(StandardCharsets.UTF_8);
+        try (FileOutputStream quarantine = new FileOutputStream(quarantineFilename, true);
+             OutputStream out = new BufferedOutputStream(quarantine)) {
+            for (DamagedRecord record : damaged) {
+                byte[] bytes;
+                try (RandomAccessFile file = new RandomAccessFile(record.getFilename(), "r")) {
+                    long end = Math.min(record.getEnd(), file.length());
+                    bytes = new byte[(int) Math.max(0, end - record.getStart())];
+                    file.seek(record.getStart());
+                    file.readFully(bytes);
+                } catch (FileNotFoundException e) {
+                    continue; // O journal já foi apagado
+                }
+                if (bytes.length < recordStart.length
+                        || !Arrays.equals(bytes, 0, recordStart.length, recordStart, 0, recordStart.length)) {
+                    System.err.println("Trecho danificado não está mais no arquivo: " + record);
+                    continue;
+                }
+                String header = "# " + LocalDateTime.now() + " " + record + NEWLINE;
+                out.write(header.getBytes(StandardCharsets.UTF_8));
+                out.write(bytes);
+                out.write(NEWLINE.getBytes(StandardCharsets.UTF_8));
+            }
+            out.flush();
+            quarantine.getFD().sync();
+        }
+    }
+
+    /**
+     * Apaga do {@code books.txt} os trechos danificados (já copiados e sincronizados na quarentena).
+     * @return {@code false} se o arquivo não pôde ser alterado.
+     */
+    private boolean eraseDamaged(List<DamagedRecord> damaged) {
+        try (RandomAccessFile file = new RandomAccessFile(booksFilename, "rw")) {
+            for (DamagedRecord record : damaged) {
+                long end = Math.min(record.getEnd(), file.length());
+                erase(file, record.getStart(), (int) (end - record.getStart()));
+            }
+            file.getFD().sync();
+            return true;
+        } catch (IOException e) {
+            System.err.println("Erro ao apagar registros danificados: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Salva a lista de livros no arquivo de texto.
+     * Como o arquivo passa a conter o estado completo, o journal de alterações é descartado.
+     * 
+     * A gravação é atômica: uma queda no meio do salvamento deixa o {@code books.txt} anterior intacto.
+     * Se várias threads pedirem um salvamento ao mesmo tempo, apenas a lista mais recente é gravada.
+     * @param bookList Lista de livros a ser salva.
+     */
+    public void saveBooks(List<Book> bookList) {
+        try {
+            snapshotCommit.commit(new ArrayList<>(bookList));
+        } catch (IOException e) {
+            System.err.println("Erro ao salvar livros: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Grava o snapshot completo no {@code books.txt} (via arquivo temporário) e descarta o journal.
+     * Se a gravação falhar, o arquivo e o journal anteriores são mantidos.
+     */
+    private void writeSnapshot(List<Book> bookList) throws IOException {
+        loadLazyTexts(bookList);
+        writeLocked(() -> {
+            writeSnapshotLocked(bookList);
+            return null;
+        });
+    }
+
+    private void writeSnapshotLocked(List<Book> bookList) throws IOException {
+        if (externalChanges) {
+            // Outro processo alterou a biblioteca: um snapshot só com a nossa lista apagaria o que ele gravou.
+            // Em vez disso, consolida o journal e regrava os nossos livros sobre o arquivo atual.
+            if (compactJournalLocked(readGenres()) && saveChangedBooksLocked(bookList, Collections.emptyList(), false)) {
+                bookList.forEach(book -> pendingExternalChanges.remove(book.getId()));
+                return;
+            }
+            throw new IOException("não foi possível juntar o salvamento às alterações de outro processo");
+        }
+        writeSnapshotFile(bookList);
+    }
+
+    /**
+     * Regrava o {@code books.txt} (ou o {@code books.bin}) inteiro com a lista informada e descarta o journal.
+     * Os trechos danificados dos dois arquivos são copiados para a quarentena antes; se a cópia falhar, nada é gravado.
+     */
+    private void writeSnapshotFile(List<Book> bookList) throws IOException {
+        preserveDamageLocked();
+        if (binaryStorage) {
+            writeBinaryFile(bookList);
+            clearJournal();
+            return;
+        }
+        Map<String, RecordSlot> slots = new HashMap<>();
+        AtomicFileWriter.write(booksFilename, out -> {
+            byte[] header = formatHeader();
+            out.write(header);
+            long offset = header.length;
+            byte[] separator = NEWLINE.getBytes(StandardCharsets.UTF_8);
+            for (Book book : bookList) {
+                byte[] record = encodeBook(book);
+                out.write(record);
+                out.write(separator); // Linha em branco para separar os livros
+                slots.put(book.getId(), new RecordSlot(offset, record.length, checksumOf(record)));
+                offset += record.length + separator.length;
+            }
+        });
+        recordSlots.clear();
+        recordSlots.putAll(slots);
+        recordSlotsValid = true;
+        knownSlots.clear();
+        knownSlots.putAll(slots);
+        writeIndex();
+        clearJournal();
+    }
+
+    /**
+     * Salva apenas os livros alterados, regravando somente os seus registros no {@code books.txt}.
+     * 
+     * Estratégia por registro:
+     * Se o novo conteúdo cabe no espaço antigo, é gravado no mesmo lugar e a sobra é preenchida com espaços.
+     * Se não cabe, o registro é realocado para o fim do arquivo e o espaço antigo é apagado (vira uma linha em branco).
+     * Livros excluídos têm o seu espaço apagado.
+     * 
+     * Segurança contra quedas: nenhum espaço antigo é tocado antes de a nova versão estar no disco.
+     * As cópias realocadas são gravadas e sincronizadas primeiro; os registros sobrescritos e as exclusões
+     * são antes anotados no journal, que os reaplica se a gravação for interrompida no meio.
+     * Alterações do journal que não estão na lista (ex: gravadas por outro processo) são gravadas junto,
+     * já que o journal é descartado no fim.
+     * 
+     * Observação: um livro realocado passa a aparecer no fim da lista na próxima carga.
+     * Um salvamento completo ({@link #saveBooks(List)}) reorganiza o arquivo e recupera o espaço vazio.
+     * No modo binário, o {@code books.bin} é regravado inteiro, com as alterações aplicadas.
+     * @param changedBooks Livros incluídos ou editados desde o último salvamento.
+     * @param deletedBookIds IDs dos livros excluídos desde o último salvamento.
+     * @return {@code false} se não foi possível salvar de forma incremental (o chamador deve
+     * fazer um salvamento completo).
+     */
+    public boolean saveChangedBooks(Collection<Book> changedBooks, Collection<String> deletedBookIds) {
+        loadLazyTexts(changedBooks);
+        try {
+            return writeLocked(() -> {
+                // O journal será descartado: as alterações dele que não vieram na lista (ex: gravadas
+                // por outro processo) são gravadas junto, para não se perderem
+                Map<String, Book> journalChanges = readJournalChanges(readGenres());
+                if (journalChanges == null) {
+                    return false;
+                }
+                changedBooks.forEach(book -> journalChanges.remove(book.getId()));
+                deletedBookIds.forEach(journalChanges::remove);
+                List<Book> allChanged = new ArrayList<>();
+                List<String> allDeleted = new ArrayList<>();
+                splitChanges(journalChanges, allChanged, allDeleted);
+                allChanged.addAll(changedBooks);
+                allDeleted.addAll(deletedBookIds);
+                if (!saveChangedBooksLocked(allChanged, allDeleted, false)) {
+                    return false;
+                }
+                // A nossa versão foi gravada por último: é ela que vale, não a guardada do outro processo
+                changedBooks.forEach(book -> pendingExternalChanges.remove(book.getId()));
+                deletedBookIds.forEach(pendingExternalChanges::remove);
+                return true;
+            });
+        } catch (IOException | UncheckedIOException e) {
+            System.err.println("Erro ao salvar livros alterados: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * @param journaled {@code true} se todas as alterações já estão no journal (consolidação): não precisam
+     * ser anotadas de novo antes de os registros serem sobrescritos.
+     */
+    private boolean saveChangedBooksLocked(Collection<Book> changedBooks, Collection<String> deletedBookIds,
+                                           boolean journaled) {
+        if (binaryStorage) {
+            return rewriteLibraryLocked(readGenres(), binaryStorage, changedBooks, deletedBookIds);
+        }
+        if (!recordSlotsValid) {
+            return false;
+        }
+        try {
+            preserveDamageLocked(); // O journal é descartado no fim: os seus trechos danificados vão antes para a quarentena
+        } catch (IOException e) {
+            System.err.println("Erro ao gravar a quarentena de livros: " + e.getMessage());
+            return false;
+        }
+
+        // 1. Monta todos os registros antes de tocar no arquivo (um livro repetido na lista vale pela última versão)
+        Map<String, byte[]> records = new LinkedHashMap<>();
+        try {
+            for (Book book : changedBooks) {
+                records.remove(book.getId());
+                records.put(book.getId(), encodeBook(book));
+            }
+        } catch (IOException e) {
+            System.err.println("Erro ao salvar livros alterados: " + e.getMessage());
+            return false;
+        }
+        Map<String, byte[]> patched = new LinkedHashMap<>();   // Cabem no lugar: sobrescritos
+        Map<String, byte[]> relocated = new LinkedHashMap<>(); // Não cabem (ou são novos): anexados ao fim
+        for (Map.Entry<String, byte[]> entry : records.entrySet()) {
+            RecordSlot slot = recordSlots.get(entry.getKey());
+            if (slot != null && entry.getValue().length <= slot.length) {
+                patched.put(entry.getKey(), entry.getValue());
+            } else {
+                relocated.put(entry.getKey(), entry.getValue());
+            }
+        }
+        List<String> erasedIds = new ArrayList<>();
+        for (String id : deletedBookIds) {
+            if (recordSlots.containsKey(id) && !records.containsKey(id)) {
+                erasedIds.add(id);
+            }
+        }
+
+        File books = new File(booksFilename);
+        long previousLength = books.length();
+        long previousModified = books.lastModified();
+        Map<String, RecordSlot> changedSlots = new HashMap<>();
+        try {
+            // 2. Sobrescrever ou apagar um registro destrói a única cópia dele no books.txt: as novas versões
+            // vão antes para o journal, que as reaplica se a gravação for interrompida no meio
+            if (!journaled) {
+                journalBatchLocked(patched.values(), erasedIds);
+            }
+
+            try (RandomAccessFile file = new RandomAccessFile(booksFilename, "rw")) {
+                if (file.length() == 0) {
+                    file.write(formatHeader()); // Arquivo novo: começa pelo cabeçalho
+                }
+
+                // 3. Cópias realocadas: anexadas ao fim, numa única escrita a cada APPEND_BUFFER_SIZE bytes, e sincronizadas.
+                // Até o passo 4, o arquivo tem as duas versões; na leitura, vale a última (a nova)
+                byte[] separator = NEWLINE.getBytes(StandardCharsets.UTF_8);
+                AppendBuffer appended = new AppendBuffer(file);
+                for (Map.Entry<String, byte[]> entry : relocated.entrySet()) {
+                    long offset = appended.add(entry.getValue(), separator);
+                    changedSlots.put(entry.getKey(), new RecordSlot(offset, entry.getValue().length, checksumOf(entry.getValue())));
+                }
+                appended.flush();
+                file.getFD().sync();
+
+                // 4. Só agora os espaços antigos: sobrescreve os que cabem no lugar e apaga os realocados e os excluídos
+                for (Map.Entry<String, byte[]> entry : patched.entrySet()) {
+                    RecordSlot slot = recordSlots.get(entry.getKey());
+                    byte[] record = entry.getValue();
+                    file.seek(slot.offset);
+                    file.write(record);
+                    erase(file, slot.offset + record.length, slot.length - record.length);
+                    changedSlots.put(entry.getKey(), new RecordSlot(slot.offset, slot.length, checksumOf(record)));
+                }
+                for (String id : relocated.keySet()) {
+                    RecordSlot slot = recordSlots.get(id);
+                    if (slot != null) {
+                        erase(file, slot.offset, slot.length);
+                    }
+                }
+                for (String id : erasedIds) {
+                    RecordSlot slot = recordSlots.get(id);
+                    erase(file, slot.offset, slot.length);
+                }
+                // O journal só pode ser descartado depois que os registros chegaram ao disco
+                file.getFD().sync();
+            }
+        } catch (IOException e) {
+            System.err.println("Erro ao salvar livros alterados: " + e.getMessage());
+            recordSlotsValid = false;
+            return false;
+        }
+        for (String id : deletedBookIds) {
+            recordSlots.remove(id);
+            knownSlots.remove(id);
+        }
+        recordSlots.putAll(changedSlots);
+        knownSlots.putAll(changedSlots);
+        updateIndex(previousLength, previousModified, changedSlots, deletedBookIds);
+        clearJournal();
+        return true;
+    }
+
+    /**
+     * Anota no journal, e sincroniza, os registros que o salvamento incremental vai sobrescrever
+     * e as exclusões que ele vai apagar do {@code books.txt}.
+     */
+    private void journalBatchLocked(Collection<byte[]> records, Collection<String> deletedIds) throws IOException {
+        if (records.isEmpty() && deletedIds.isEmpty()) {
+            return;
+        }
+        terminateJournal(); // Uma escrita interrompida não pode se juntar ao primeiro registro
+        try (FileOutputStream journal = new FileOutputStream(journalFilename, true);
+             OutputStream out = new BufferedOutputStream(journal)) {
+            for (byte[] record : records) {
+                out.write((TAG_JOURNAL_UPSERT + NEWLINE).getBytes(StandardCharsets.UTF_8));
+                out.write(record);
+                out.write(NEWLINE.getBytes(StandardCharsets.UTF_8));
+                journalRecordCount++;
+            }
+            for (String id : deletedIds) {
+                out.write((TAG_JOURNAL_DELETE + id + NEWLINE + NEWLINE).getBytes(StandardCharsets.UTF_8));
+                journalRecordCount++;
+            }
+            out.flush();
+            journal.getFD().sync();
+        }
+    }
+
+    /**
+     * Registros anexados ao fim do {@code books.txt} durante um salvamento incremental, acumulados
+     * para serem escritos de uma vez (com muitos livros novos, como numa importação, evita uma
+     * chamada ao sistema por registro).
+     */
+    private static class AppendBuffer {
+        private final RandomAccessFile file;
+        private final ByteArrayOutputStream pending = new ByteArrayOutputStream(APPEND_BUFFER_SIZE);
+        /** Posição do arquivo onde começa o conteúdo do buffer. */
+        private long start;
+
+        AppendBuffer(RandomAccessFile file) throws IOException {
+            this.file = file;
+            this.start = file.length();
+        }
+
+        /** @return A posição que o registro terá no arquivo. */
+        long add(byte[] record, byte[] separator) throws IOException {
+            long offset = start + pending.size();
+            pending.write(record);
+            pending.write(separator);
+            if (pending.size() >= APPEND_BUFFER_SIZE) {
+                flush();
+            }
+            return offset;
+        }
+
+        void flush() throws IOException {
+            if (pending.size() == 0) {
+                return;
+            }
+            file.seek(start);
+            file.write(pending.toByteArray());
+            start += pending.size();
+            pending.reset();
+        }
+    }
+
+    /**
+     * Garante que os textos preguiçosos dos livros já estejam em memória antes de gravá-los.
+     * Deve ser chamado fora do bloqueio deste objeto: a carga bloqueia o livro e depois o
+     * {@code DataManager}, e inverter essa ordem em outra thread causaria um impasse.
+     */
+    static void loadLazyTexts(Collection<Book> books) {
+        for (Book book : books) {
+            if (!book.isTextLoaded()) {
+                book.getDescription(); // Dispara a leitura de descrição, citações e notas
+            }
+        }
+    }
+
+    /**
+     * Confere que os textos preguiçosos do livro estão em memória antes de gravá-lo.
+     * Não tenta a leitura: pode ser chamado com o monitor deste objeto, e a leitura bloquearia o livro
+     * depois dele (ordem inversa à de {@link #loadLazyTexts(Collection)}). A nova tentativa é de
+     * {@link #loadLazyTexts(Collection)}, antes do bloqueio.
+     * @throws IOException Se os textos não foram lidos (o livro não pode ser gravado).
+     */
+    private static void requireTextLoaded(Book book) throws IOException {
+        if (!book.isTextLoaded()) {
+            throw new IOException("textos do livro não puderam ser lidos, gravação recusada (ID: " + book.getId() + ")");
+        }
+    }
+
+    /** Preenche um trecho do arquivo com uma linha em branco (ignorada pela leitura). */
+    private static void erase(RandomAccessFile file, long offset, int length) throws IOException {
+        if (length <= 0) {
+            return;
+        }
+        byte[] padding = new byte[length];
+        Arrays.fill(padding, PADDING);
+        padding[length - 1] = '\n';
+        file.seek(offset);
+        file.write(padding);
+    }
+
+    /**
+     * Converte um único livro para o formato com tags (BOOK_START ... BOOK_END), em bytes UTF-8.
+     * Usado tanto pelo salvamento completo quanto pelo salvamento incremental e pelo journal.
+     * O registro termina na linha {@code BOOK_END}, sem a linha em branco separadora.
+     * @throws IOException Se os textos preguiçosos do livro não foram lidos (ver {@link #loadLazyTexts(Collection)}):
+     * gravar os textos provisórios apagaria os verdadeiros.
+     */
+    private byte[] encodeBook(Book book) throws IOException {
+        requireTextLoaded(book);
+        StringBuilder out = new StringBuilder(512);
+        // Identifica o tipo de livro para salvar na tag inicial (Polimofirsmo)
+        if (book instanceof Ebook) {
+            out.append(TAG_BOOK_START + "EBOOK");
+        } else {
+            out.append(TAG_BOOK_START + "PHYSICAL");
+        }
+        out.append(NEWLINE);
+
+        // Salva campos simples
+        out.append(TAG_ID + book.getId()).append(NEWLINE);
+        out.append(TAG_TITLE + book.getTitle()).append(NEWLINE);
+        out.append(TAG_AUTHOR + book.getAuthor()).append(NEWLINE);
+        out.append(TAG_PUBLISHER + book.getPublisher()).append(NEWLINE);
+        out.append(TAG_TOTAL_PAGES + book.getTotalPages()).append(NEWLINE);
+        out.append(TAG_CURRENT_PAGE + book.getCurrentPage()).append(NEWLINE);
+        out.append(TAG_RATING + book.getRating()).append(NEWLINE);
+        out.append(TAG_STATUS + book.getStatus().name()).append(NEWLINE);
+        // Salva apenas o ID do gênero para manter a integridade referencial
+        out.append(TAG_GENRE_ID + (book.getGenre() != null ? book.getGenre().getId() : "NULL_GENRE_ID")).append(NEWLINE);
+
+        // Campo específico do Ebook
+        if (book instanceof Ebook) {
+            out.append(TAG_LOCAL + ((Ebook) book).getLocal()).append(NEWLINE);
+        }
+
+        // Salva Blocos de Texto (com tags de início e fim)
+        appendTextBlock(out, book.getDescription(), TAG_DESCRIPTION_START, TAG_DESCRIPTION_END, TAG_DESCRIPTION_DEFLATE);
+
+        // Bloco de Citações (um por um)
+        for (String quote : book.getQuotes()) {
+            appendTextBlock(out, quote, TAG_QUOTE_START, TAG_QUOTE_END, TAG_QUOTE_DEFLATE);
+        }
+
+        // Bloco de Notas (um por um)
+        for (String note : book.getNotes()) {
+            appendTextBlock(out, note, TAG_NOTE_START, TAG_NOTE_END, TAG_NOTE_DEFLATE);
+        }
+
+        // Campos de versões mais novas, exatamente como foram lidos
+        if (book.getUnknownFields() != null) {
+            for (String line : book.getUnknownFields().split("\n", -1)) {
+                out.append(line).append(NEWLINE);
+            }
+        }
+
+        return sealRecord(out);
+    }
+
+    /**
+     * Fecha um registro: acrescenta ao corpo ({@code BOOK_START} até a última linha de dados) a soma
+     * de verificação de tudo o que veio antes, seguida da tag de fim.
+     * @return O registro completo em bytes UTF-8.
+     */
+    private static byte[] sealRecord(CharSequence body) {
+        byte[] bodyBytes = body.toString().getBytes(StandardCharsets.UTF_8);
+        String trailer = TAG_CHECKSUM + RecordChecksum.format(RecordChecksum.of(bodyBytes, 0, bodyBytes.length)) + NEWLINE
+                + TAG_BOOK_END + NEWLINE;
+        byte[] trailerBytes = trailer.getBytes(StandardCharsets.UTF_8);
+        byte[] record = Arrays.copyOf(bodyBytes, bodyBytes.length + trailerBytes.length);
+        System.arraycopy(trailerBytes, 0, record, bodyBytes.length, trailerBytes.length);
+        return record;
+    }
+
+    /**
+     * Indica se a linha abre um bloco de várias linhas ({@code NOME_START}): só maiúsculas, dígitos e "_".
+     * O bloco vai até a linha {@link #blockEndTag(String) NOME_END}.
+     */
+    static boolean isBlockStart(String line) {
+        if (line.length() <= BLOCK_START_SUFFIX.length() || !line.endsWith(BLOCK_START_SUFFIX)) {
+            return false;
+        }
+        for (int i = 0; i < line.length(); i++) {
+            char ch = line.charAt(i);
+            if ((ch < 'A' || ch > 'Z') && (ch < '0' || ch > '9') && ch != '_') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** @return A linha que fecha o bloco aberto por {@code startLine} ({@code NOME_START} -> {@code NOME_END}). */
+    static String blockEndTag(String startLine) {
+        return startLine.substring(0, startLine.length() - BLOCK_START_SUFFIX.length()) + BLOCK_END_SUFFIX;
+    }
+
+    /**
+     * Grava um bloco de texto: compactado numa única linha ({@code deflateTag}), se a compactação
+     * estiver ligada e valer a pena, ou entre as tags de início e fim, exatamente como está.
+     */
+    private void appendTextBlock(StringBuilder out, String text, String startTag, String endTag, String deflateTag) {
+        String compressed = textCompression ? TextCompression.compress(text) : null;
+        if (compressed != null) {
+            out.append(deflateTag).append(compressed).append(NEWLINE);
+            return;
+        }
+        out.append(startTag).append(NEWLINE);
+        out.append(text).append(NEWLINE); // Salva o texto exatamente como está
+        out.append(endTag).append(NEWLINE);
+    }
+
+    /**
+     * Extrai o checksum de um registro gerado por {@link #encodeBook(Book)}.
+     * O valor está sempre no mesmo lugar: nos 8 dígitos da linha {@code CHECKSUM}, antes de {@code BOOK_END}.
+     */
+    private static long checksumOf(byte[] record) {
+        int end = record.length - (TAG_BOOK_END + NEWLINE).length() - NEWLINE.length();
+        return RecordChecksum.parse(new String(record, end - 8, 8, StandardCharsets.US_ASCII));
+    }
+
+    // ========================================================================
+    // == VERSÃO DO FORMATO E MIGRAÇÃO
+    // ========================================================================
+
+    /** @return A linha de cabeçalho do {@code books.txt} (versão e opções), em bytes UTF-8. */
+    private byte[] formatHeader() {
+        String options = isTextCompression() ? SEPARATOR + HEADER_TEXT_COMPRESSION : "";
+        return (TAG_FORMAT_VERSION + formatVersion + options + NEWLINE).getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Lê o início da primeira linha do {@code books.txt} (o bastante para o cabeçalho).
+     * @return O texto lido, ou {@code null} se o arquivo não existir ou estiver vazio.
+     */
+    private String readHeaderLine() throws IOException {
+        File file = new File(booksFilename);
+        if (!file.exists() || file.length() == 0) {
+            return null;
+        }
+        try (RandomAccessFile in = new RandomAccessFile(file, "r")) {
+            byte[] head = new byte[(int) Math.min(64, in.length())];
+            in.readFully(head);
+            String line = new String(head, StandardCharsets.UTF_8);
+            int end = line.indexOf('\n');
+            return (end >= 0) ? line.substring(0, end) : line;
+        }
+    }
+
+    /** @return {@code true} se o cabeçalho do {@code books.txt} indica textos compactados. */
+    private boolean readStoredTextCompression() {
+        try {
+            String line = readHeaderLine();
+            return line != null && line.startsWith(TAG_FORMAT_VERSION) && line.contains(HEADER_TEXT_COMPRESSION);
+        } catch (IOException e) {
+            System.err.println("Erro ao ler o cabeçalho dos livros: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /** Passa a usar a opção de compactação gravada no cabeçalho (nenhuma foi escolhida). */
+    private void adoptStoredTextCompression() {
+        textCompression = readStoredTextCompression();
+        textCompressionKnown = true;
+    }
+
+    /**
+     * Na carga: sem opção escolhida, adota a do cabeçalho; com uma opção diferente da gravada, regrava a
+     * biblioteca inteira (livros e journal) no novo formato, antes da leitura. Se a regravação falhar,
+     * a biblioteca continua legível como está e a regravação é tentada na próxima carga.
+     */
+    private void applyTextCompression() {
+        if (!textCompressionChosen) {
+            adoptStoredTextCompression();
+            return;
+        }
+        if (!new File(booksFilename).exists() || readStoredTextCompression() == textCompression) {
+            return;
+        }
+        try {
+            boolean rewritten = writeLocked(() -> readStoredTextCompression() == textCompression
+                    || rewriteLibraryLocked(readGenres()));
+            if (rewritten) {
+                System.out.println("Biblioteca regravada com a compactação de textos "
+                        + (textCompression ? "ligada" : "desligada") + ": " + booksFilename);
+            }
+        } catch (IOException | UncheckedIOException e) {
+            System.err.println("Erro ao regravar a biblioteca com a nova compactação: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Lê a versão do formato no cabeçalho do {@code books.txt}, sem ler o resto do arquivo.
+     * @return A versão do cabeçalho; 1 se o arquivo não tiver cabeçalho; {@link #FORMAT_VERSION}
+     * se o arquivo não existir ou estiver vazio (não há o que migrar).
+     */
+    int readFormatVersion() {
+        try {
+            String line = readHeaderLine();
+            if (line == null) {
+                return FORMAT_VERSION;
+            }
+            if (!line.startsWith(TAG_FORMAT_VERSION)) {
+                return 1;
+            }
+            int end = TAG_FORMAT_VERSION.length();
+            while (end < line.length() && Character.isDigit(line.charAt(end))) {
+                end++;
+            }
+            return Integer.parseInt(line.substring(TAG_FORMAT_VERSION.length(), end));
+        } catch (IOException | NumberFormatException e) {
+            System.err.println("Erro ao ler a versão do formato dos livros: " + e.getMessage());
+            return FORMAT_VERSION; // Na dúvida, não migra: a leitura aceita todas as versões
+        }
+    }
+
+    /**
+     * Migra o {@code books.txt} para a versão atual do formato, se ele for de uma versão anterior.
+     * Um arquivo já atualizado custa apenas a leitura da primeira linha.
+     */
+    private void migrateFormatIfNeeded() {
+        int version = readFormatVersion();
+        formatVersion = Math.max(version, FORMAT_VERSION);
+        if (version >= FORMAT_VERSION) {
+            return;
+        }
+        try {
+            writeLocked(() -> {
+                int current = readFormatVersion(); // Outro processo pode ter migrado enquanto esperávamos o bloqueio
+                if (current < FORMAT_VERSION) {
+                    migrateFormatLocked(current);
+                }
+                return null;
+            });
+        } catch (IOException | UncheckedIOException e) {
+            // A leitura aceita o formato antigo: a migração é tentada de novo na próxima carga
+            System.err.println("Erro ao migrar o formato dos livros: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Converte o {@code books.txt} da versão informada para a atual numa única passada, registro a registro,
+     * sem interpretar os livros (ver {@link FormatMigration}). A gravação é atômica: uma queda no meio
+     * mantém o arquivo antigo. O índice fica desatualizado e é refeito pela carga seguinte.
+     */
+    private void migrateFormatLocked(int fromVersion) throws IOException {
+        List<FormatMigration> steps = new ArrayList<>();
+        for (int version = fromVersion; version < FORMAT_VERSION; version++) {
+            FormatMigration step = MIGRATIONS.get(version);
+            if (step == null) {
+                throw new IOException("não há migração do formato a partir da versão " + version);
+            }
+            steps.add(step);
+        }
+
+        long start = System.nanoTime();
+        int[] counts = new int[2]; // Registros migrados e registros danificados copiados como estão
+        AtomicFileWriter.write(booksFilename, out -> {
+            out.write(formatHeader());
+            try (OffsetLineReader reader = new OffsetLineReader(booksFilename)) {
+                List<String> record = null;
+                String blockEnd = null; // Fechamento do bloco de várias linhas aberto (o conteúdo não tem tags)
+                CRC32 crc = new CRC32();
+                int checksumLine = -1; // Posição da linha CHECKSUM no registro (-1 = registro sem checksum)
+                long expectedChecksum = -1;
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (record != null && blockEnd != null) {
+                        record.add(line);
+                        reader.updateChecksum(crc);
+                        if (line.equals(blockEnd)) {
+                            blockEnd = null;
+                        }
+                    } else if (line.startsWith(TAG_BOOK_START)) {
+                        if (record != null) {
+                            writeLines(out, record); // Registro sem BOOK_END: a carga o trata
+                            counts[1]++;
+                        }
+                        record = new ArrayList<>();
+                        record.add(line);
+                        crc.reset();
+                        reader.updateChecksum(crc);
+                        checksumLine = -1;
+                    } else if (record == null) {
+                        // Fora dos registros: separadores e espaço apagado ficam para trás; o resto é mantido
+                        if (!line.isBlank() && !line.startsWith(TAG_FORMAT_VERSION)) {
+                            writeLines(out, List.of(line));
+                        }
+                    } else if (line.equals(TAG_BOOK_END)) {
+                        record.add(line);
+                        if (checksumLine >= 0 && crc.getValue() != expectedChecksum) {
+                            writeLines(out, record); // Danificado: não pode ganhar um checksum novo
+                            counts[1]++;
+                        } else {
+                            if (checksumLine >= 0) {
+                                record.remove(checksumLine);
+                            }
+                            for (FormatMigration step : steps) {
+                                step.migrate(record);
+                            }
+                            StringBuilder body = new StringBuilder(512);
+                            for (String recordLine : record.subList(0, record.size() - 1)) {
+                                body.append(recordLine).append(NEWLINE);
+                            }
+                            out.write(sealRecord(body));
+                            out.write(NEWLINE.getBytes(StandardCharsets.UTF_8));
+                            counts[0]++;
+                        }
+                        record = null;
+                    } else if (checksumLine < 0 && line.startsWith(TAG_CHECKSUM)) {
+                        checksumLine = record.size();
+                        expectedChecksum = RecordChecksum.parse(line.substring(TAG_CHECKSUM.length()));
+                        record.add(line);
+                    } else {
+                        record.add(line);
+                        if (checksumLine < 0) {
+                            reader.updateChecksum(crc);
+                        }
+                        if (isBlockStart(line)) {
+                            blockEnd = blockEndTag(line);
+                        }
+                    }
+                }
+                if (record != null) {
+                    writeLines(out, record); // Registro incompleto no fim do arquivo
+                    counts[1]++;
+                }
+            }
+        });
+        System.out.println("Formato dos livros migrado da versão " + fromVersion + " para a " + FORMAT_VERSION + ": "
+                + counts[0] + " registros em " + (System.nanoTime() - start) / 1_000_000 + " ms"
+                + (counts[1] > 0 ? " (" + counts[1] + " registros danificados copiados como estavam)" : ""));
+    }
+
+    /** Grava as linhas como estão, seguidas de uma linha em branco. */
+    private static void writeLines(OutputStream out, List<String> lines) throws IOException {
+        StringBuilder text = new StringBuilder();
+        for (String line : lines) {
+            text.append(line).append(NEWLINE);
+        }
+        text.append(NEWLINE);
+        out.write(text.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    // ========================================================================
+    // == LEITURA EM FLUXO (streaming)
+    // ========================================================================
+
+    /**
+     * Abre um iterador que lê os livros um de cada vez, sem carregar a biblioteca inteira.
+     * Ideal para ferramentas que percorrem todos os livros (estatísticas, exportação, validação):
+     * a memória usada não depende do tamanho do {@code books.txt}.
+     * 
+     * O iterador deve ser fechado após o uso (try-with-resources).
+     * @param genres A lista de gêneros já carregada.
+     * @return Iterador sobre os livros, já com as alterações do journal aplicadas.
+     * @throws IOException Se o {@code books.txt} não puder ser aberto (ou o {@code books.bin} não puder ser lido).
+     */
+    public BookIterator iterateBooks(List<Genre> genres) throws IOException {
+        // Registros danificados são apenas pulados: a quarentena fica a cargo de quem grava
+        return iterateBooks(genres, recoveryMode ? IGNORE_DAMAGE : CorruptRecordException::raise);
+    }
+
+    /**
+     * Como {@link #iterateBooks(List)}, entregando os trechos danificados do {@code books.txt} ao {@code booksDamage}.
+     */
+    private BookIterator iterateBooks(List<Genre> genres, DamageHandler booksDamage) throws IOException {
+        return iterateBooks(genres, booksDamage, binaryStorage);
+    }
+
+    /**
+     * @param binary {@code true} para partir do {@code books.bin}, que é lido por inteiro (é compacto e não
+     * tem leitura por trechos); {@code false} para ler o {@code books.txt} sob demanda.
+     */
+    private BookIterator iterateBooks(List<Genre> genres, DamageHandler booksDamage, boolean binary) throws IOException {
+        // O journal é pequeno (consolidado periodicamente): seu estado final fica em memória
+        Map<String, Book> journalChanges = new LinkedHashMap<>();
+        List<Book> snapshot = new ArrayList<>();
+        DamageHandler onDamage = recoveryMode ? IGNORE_DAMAGE : CorruptRecordException::raise;
+        BookRecordReader records = null;
+        LibraryLock.Hold hold = libraryLock.shared();
+        try {
+            synchronized (this) {
+                if (new File(journalFilename).exists()) {
+                    try (OffsetLineReader reader = new OffsetLineReader(journalFilename)) {
+                        readBookRecords(reader, genres,
+                                (book, start, end, checksum) -> journalChanges.put(book.getId(), book),
+                                id -> journalChanges.put(id, null),
+                                onDamage);
+                    }
+                }
+            }
+            // Aberto junto com a leitura do journal, para que os dois correspondam à mesma versão da biblioteca
+            if (binary) {
+                readBinaryFile(genres, (book, start, end, checksum) -> snapshot.add(book));
+            } else if (new File(booksFilename).exists()) {
+                records = new BookRecordReader(new OffsetLineReader(booksFilename), genres).onDamage(booksDamage);
+            }
+        } finally {
+            hold.close();
+        }
+        return binary ? new BookIterator(snapshot, journalChanges) : new BookIterator(libraryLock, records, journalChanges);
+    }
+
+    /**
+     * Lê os livros como um {@link Stream}, um de cada vez, sem carregar a biblioteca inteira.
+     * O stream deve ser fechado após o uso para liberar o arquivo:
+     * {@code try (Stream<Book> books = dataManager.streamBooks(genres)) { ... }}
+     * @param genres A lista de gêneros já carregada.
+     * @return Stream sequencial dos livros, já com as alterações do journal aplicadas.
+     * Erros de leitura durante o percurso são lançados como {@link UncheckedIOException}.
+     */
+    public Stream<Book> streamBooks(List<Genre> genres) {
+        BookIterator iterator;
+        try {
+            iterator = iterateBooks(genres);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Erro ao abrir livros: " + e.getMessage(), e);
+        }
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(iterator::close);
+    }
+
+    /**
+     * Lê os livros como um {@link Stream}, carregando os gêneros do arquivo de gêneros.
+     * @see #streamBooks(List)
+     */
+    public Stream<Book> streamBooks() {
+        return streamBooks(loadGenres());
+    }
+
+    // ========================================================================
+    // == ACESSO DIRETO A UM LIVRO (books.idx)
+    // ========================================================================
+
+    /**
+     * Carrega um único livro pelo ID, sem ler a biblioteca inteira.
+     * Os gêneros são lidos do arquivo de gêneros para vincular o livro ao seu {@link Genre}.
+     * @param id O ID (UUID) do livro.
+     * @return O livro, ou {@code null} se não existir (ou tiver sido excluído).
+     */
+    public Book loadBook(String id) {
+        return loadBook(id, loadGenres());
+    }
+
+    /**
+     * Carrega um único livro pelo ID, sem ler a biblioteca inteira.
+     * 
+     * Ordem de busca:
+     * Primeiro o journal, que contém as alterações mais recentes (inclusões, edições e exclusões).
+     * Depois o {@code books.txt}, indo direto ao registro pela posição guardada no {@code books.idx}.
+     * Se o índice não existir, estiver desatualizado ou apontar para o registro errado, ele é reconstruído.
+     * @param id O ID (UUID) do livro.
+     * @param genres A lista de gêneros já carregada.
+     * @return O livro, ou {@code null} se não existir (ou tiver sido excluído).
+     */
+    public Book loadBook(String id, List<Genre> genres) {
+        LibraryLock.Hold hold = libraryLock.shared();
+        try {
+            synchronized (this) {
+                return readBook(id, genres);
+            }
+        } finally {
+            hold.close();
+        }
+    }
+
+    private Book readBook(String id, List<Genre> genres) {
+        // 1. Journal: a versão mais recente do livro, se ele foi alterado desde o último salvamento
+        Book[] latest = new Book[1];
+        boolean[] journaled = new boolean[1];
+        File journal = new File(journalFilename);
+        if (journal.exists()) {
+            try (OffsetLineReader reader = new OffsetLineReader(journalFilename)) {
+                readBookRecords(reader, genres,
+                        (book, start, end, checksum) -> { if (book.getId().equals(id)) { latest[0] = book; journaled[0] = true; } },
+                        deletedId -> { if (deletedId.equals(id)) { latest[0] = null; journaled[0] = true; } },
+                        IGNORE_DAMAGE);
+            } catch (IOException e) {
+                System.err.println("Erro ao ler o journal de livros: " + e.getMessage());
+            }
+            if (journaled[0]) {
+                return latest[0];
+            }
+        }
+
+        // 2. books.bin: sem índice, o arquivo (compacto) é percorrido até o livro
+        if (binaryStorage) {
+            Book[] found = new Book[1];
+            try {
+                readBinaryFile(genres, (book, start, end, checksum) -> { if (book.getId().equals(id)) found[0] = book; });
+            } catch (IOException e) {
+                System.err.println("Erro ao carregar livro (ID: " + id + "): " + e.getMessage());
+            }
+            return found[0];
+        }
+
+        // 2. books.txt, pela posição do registro no índice
+        File file = new File(booksFilename);
+        if (!file.exists()) {
+            return null;
+        }
+        try {
+            if ((!recordSlotsValid || !BookIndex.isFresh(indexFilename, file)) && !readIndex()) {
+                rebuildIndex(genres);
+            }
+
+            Book book = readRecord(recordSlots.get(id), genres);
+            if (book != null && book.getId().equals(id)) {
+                return book;
+            }
+            // O índice apontou para o lugar errado (arquivo alterado por fora): reconstrói e tenta de novo
+            rebuildIndex(genres);
+            book = readRecord(recordSlots.get(id), genres);
+            return (book != null && book.getId().equals(id)) ? book : null;
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Erro ao carregar livro (ID: " + id + "): " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Lê e interpreta um único registro do {@code books.txt}.
+     * @return O livro do registro, ou {@code null} se o trecho não contiver um registro completo.
+     */
+    private Book readRecord(RecordSlot slot, List<Genre> genres) throws IOException {
+        if (slot == null) {
+            return null;
+        }
+        byte[] record = new byte[slot.length];
+        try (RandomAccessFile file = new RandomAccessFile(booksFilename, "r")) {
+            if (slot.offset + slot.length > file.length()) {
+                return null; // Registro além do fim do arquivo: índice desatualizado
+            }
+            file.seek(slot.offset);
+            file.readFully(record);
+        }
+        Book[] result = new Book[1];
+        new MappedBookParser(ByteBuffer.wrap(record), genres).onDamage(IGNORE_DAMAGE)
+                .parse(0, record.length, slot.offset, (book, start, end, checksum) -> { if (result[0] == null) result[0] = book; });
+        return result[0];
+    }
+
+    /**
+     * Carrega as posições dos registros a partir do {@code books.idx}, se ele estiver atualizado.
+     * @return {@code false} se o índice não existir ou estiver desatualizado (ou no modo binário).
+     */
+    private boolean readIndex() {
+        if (binaryStorage) {
+            return false; // O índice é do books.txt
+        }
+        Map<String, RecordSlot> slots = BookIndex.read(indexFilename, new File(booksFilename));
+        if (slots == null) {
+            return false;
+        }
+        recordSlots.clear();
+        recordSlots.putAll(slots);
+        recordSlotsValid = true;
+        return true;
+    }
+
+    /**
+     * Percorre o {@code books.txt} inteiro para recalcular a posição de cada registro e grava um novo índice.
+     */
+    private void rebuildIndex(List<Genre> genres) throws IOException {
+        Map<String, RecordSlot> slots = new HashMap<>();
+        RecordHandler onBook = (book, start, end, checksum) -> slots.put(book.getId(), new RecordSlot(start, (int) (end - start), checksum));
+        File file = new File(booksFilename);
+        if (!file.exists()) {
+            // Biblioteca ainda sem livros gravados: não há posições nem índice
+            recordSlots.clear();
+            recordSlotsValid = true;
+            return;
+        }
+        if (file.length() <= MappedBookParser.MAX_MAPPED_SIZE) {
+            MappedBookParser.parseFile(booksFilename, genres, true, onBook, IGNORE_DAMAGE); // Só as posições interessam
+        } else {
+            try (OffsetLineReader reader = new OffsetLineReader(booksFilename)) {
+                readBookRecords(reader, genres, onBook, null, IGNORE_DAMAGE);
+            }
+        }
+        recordSlots.clear();
+        recordSlots.putAll(slots);
+        recordSlotsValid = true;
+        writeIndex();
+    }
+
+    /**
+     * Lê do {@code books.txt} o registro completo de um livro carregado em modo preguiçoso.
+     * Se o registro não estiver mais na posição conhecida (arquivo alterado por fora),
+     * o índice é reconstruído e a leitura é refeita pela nova posição.
+     * @return O livro com todos os textos, ou {@code null} se o registro não foi encontrado.
+     */
+    private Book readFullRecord(String id, RecordSlot slot) throws IOException {
+        List<Genre> noGenres = Collections.emptyList(); // Apenas os textos serão aproveitados
+        LibraryLock.Hold hold = libraryLock.shared();
+        try {
+            synchronized (this) {
+                Book book = readRecord(slot, noGenres);
+                if (book == null || !book.getId().equals(id)) {
+                    rebuildIndex(noGenres);
+                    book = readRecord(recordSlots.get(id), noGenres);
+                }
+                return (book != null && book.getId().equals(id)) ? book : null;
+            }
+        } finally {
+            hold.close();
+        }
+    }
+
+    /**
+     * Grava o {@code books.idx} com as posições atuais dos registros.
+     * Uma falha aqui não é grave: o índice é reconstruído na próxima vez que for necessário.
+     */
+    private void writeIndex() {
+        try {
+            BookIndex.write(indexFilename, new File(booksFilename), recordSlots);
+        } catch (IOException e) {
+            System.err.println("Erro ao salvar o índice de livros: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Atualiza o {@code books.idx} depois de um salvamento incremental: se o índice correspondia ao
+     * {@code books.txt} de antes da gravação, acrescenta apenas as entradas alteradas; senão, grava o índice inteiro.
+     */
+    private void updateIndex(long previousLength, long previousModified,
+                             Map<String, RecordSlot> changedSlots, Collection<String> deletedIds) {
+        try {
+            if (BookIndex.append(indexFilename, previousLength, previousModified, new File(booksFilename),
+                    changedSlots, deletedIds, recordSlots.size())) {
+                return;
+            }
+        } catch (IOException e) {
+            System.err.println("Erro ao atualizar o índice de livros: " + e.getMessage());
+        }
+        writeIndex();
+    }
+
+    // ========================================================================
+    // == FORMATO BINÁRIO (books.bin)
+    // ========================================================================
+
+    /**
+     * Grava o {@code books.bin} inteiro com a lista informada (via arquivo temporário).
+     * O arquivo fica bem menor que o {@code books.txt} e é lido/gravado mais rápido,
+     * pois não repete nomes de tags nem converte números para texto.
+     */
+    private void writeBinaryFile(List<Book> bookList) throws IOException {
+        for (Book book : bookList) {
+            requireTextLoaded(book);
+        }
+        Map<String, RecordSlot> slots = new HashMap<>();
+        AtomicFileWriter.write(binaryFilename, out -> {
+            DataOutputStream data = new DataOutputStream(out);
+            BinaryBookFormat.write(data, bookList,
+                    (book, start, end, checksum) -> slots.put(book.getId(), new RecordSlot(start, (int) (end - start), checksum)));
+            data.flush();
+        });
+        recordSlots.clear();
+        recordSlots.putAll(slots);
+        recordSlotsValid = false; // Não há regravação no lugar no books.bin
+        knownSlots.clear();
+        knownSlots.putAll(slots);
+    }
+
+    /**
+     * Lê o {@code books.bin} inteiro (mapeado em memória), entregando cada livro com o trecho do seu registro.
+     * Se o arquivo não existir, não entrega nada.
+     * @throws IOException Se o arquivo não puder ser lido ou estiver danificado: nenhum livro dele é confiável.
+     */
+    private void readBinaryFile(List<Genre> genres, RecordHandler onBook) throws IOException {
+        File file = new File(binaryFilename);
+        if (!file.exists()) {
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            if (channel.size() > MappedBookParser.MAX_MAPPED_SIZE) {
+                throw new IOException("Arquivo grande demais para ser mapeado: " + channel.size() + " bytes");
+            }
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            try {
+                BinaryBookFormat.read(mapped, genres, onBook);
+            } finally {
+                MappedBookParser.unmap(mapped);
+            }
+        }
+    }
+
+    /**
+     * Na carga: se o snapshot do formato escolhido ainda não existe, mas o do outro formato existe
+     * (o formato acabou de ser trocado), converte a biblioteca (snapshot com o journal aplicado) e apaga o
+     * arquivo antigo. Se a conversão falhar, continua no formato antigo, para não abrir uma biblioteca vazia.
+     */
+    private void convertSnapshotIfNeeded() {
+        boolean toBinary = binaryStorage;
+        File target = new File(toBinary ? binaryFilename : booksFilename);
+        File source = new File(toBinary ? booksFilename : binaryFilename);
+        if (target.exists() || !source.exists()) {
+            return;
+        }
+        boolean converted;
+        try {
+            converted = writeLocked(() -> {
+                // Outro processo pode ter convertido enquanto esperávamos o bloqueio
+                if (target.exists() || !source.exists()) {
+                    return true;
+                }
+                if (!rewriteLibraryLocked(readGenres(), !toBinary, Collections.emptyList(), Collections.emptyList())) {
+                    return false;
+                }
+                if (!source.delete()) {
+                    System.err.println("Erro ao apagar o arquivo de livros antigo: " + source);
+                }
+                if (toBinary) {
+                    new File(indexFilename).delete(); // O índice é do books.txt
+                }
+                return true;
+            });
+        } catch (IOException | UncheckedIOException e) {
+            System.err.println("Erro ao converter a biblioteca: " + e.getMessage());
+            converted = false;
+        }
+        if (converted) {
+            System.out.println("Biblioteca convertida de " + source + " para " + target);
+        } else {
+            System.err.println("Não foi possível converter a biblioteca para " + target + "; usando " + source + ".");
+            binaryStorage = !toBinary;
+        }
+    }
+
+    // ========================================================================
+    // == JOURNAL DE ALTERAÇÕES
+    // ========================================================================
+
+    /**
+     * Registra no journal a inclusão ou edição de um livro.
+     * Apenas o registro deste livro é anexado ao final do arquivo, então o custo
+     * da escrita depende do tamanho da alteração e não do tamanho da biblioteca.
+     * O método só retorna depois que o registro foi forçado para o disco.
+     * @param book O livro incluído ou editado.
+     */
+    public void appendBookUpsert(Book book) {
+        try {
+            loadLazyTexts(List.of(book)); // Fora do bloqueio
+            byte[] record = encodeBook(book);
+            writeLocked(() -> {
+                try (OutputStream out = new BufferedOutputStream(new FileOutputStream(journalFilename, true))) {
+                    out.write((TAG_JOURNAL_UPSERT + NEWLINE).getBytes(StandardCharsets.UTF_8));
+                    out.write(record);
+                    out.write(NEWLINE.getBytes(StandardCharsets.UTF_8));
+                    journalRecordCount++;
+                }
+                pendingExternalChanges.remove(book.getId()); // A nossa versão é a mais recente
+                return null;
+            });
+            journalSync.commit(null);
+        } catch (IOException | UncheckedIOException e) {
+            System.err.println("Erro ao registrar livro no journal: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Registra no journal a inclusão ou edição de um lote de livros (ex: uma importação), com uma única
+     * ida ao disco para o lote inteiro.
+     * @param books Os livros incluídos ou editados.
+     * @return {@code false} se o lote não pôde ser registrado (nenhum livro fica pela metade na leitura:
+     * cada registro é verificado pelo seu checksum).
+     */
+    public boolean appendBookUpserts(Collection<Book> books) {
+        try {
+            loadLazyTexts(books); // Fora do bloqueio
+            List<byte[]> records = new ArrayList<>(books.size());
+            for (Book book : books) {
+                records.add(encodeBook(book));
+            }
+            writeLocked(() -> {
+                try (OutputStream out = new BufferedOutputStream(new FileOutputStream(journalFilename, true))) {
+                    byte[] upsert = (TAG_JOURNAL_UPSERT + NEWLINE).getBytes(StandardCharsets.UTF_8);
+                    byte[] separator = NEWLINE.getBytes(StandardCharsets.UTF_8);
+                    for (byte[] record : records) {
+                        out.write(upsert);
+                        out.write(record);
+                        out.write(separator);
+                        journalRecordCount++;
+                    }
+                }
+                books.forEach(book -> pendingExternalChanges.remove(book.getId())); // A nossa versão é a mais recente
+                return null;
+            });
+            journalSync.commit(null);
+            return true;
+        } catch (IOException | UncheckedIOException e) {
+            System.err.println("Erro ao registrar livros no journal: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Registra no journal a exclusão de um livro.
+     * @param bookId O ID do livro removido.
+     */
+    public void appendBookDelete(String bookId) {
+        try {
+            writeLocked(() -> {
+                try (OutputStream out = new BufferedOutputStream(new FileOutputStream(journalFilename, true))) {
+                    out.write((TAG_JOURNAL_DELETE + bookId + NEWLINE + NEWLINE).getBytes(StandardCharsets.UTF_8));
+                    journalRecordCount++;
+                }
+                pendingExternalChanges.remove(bookId);
+                return null;
+            });
+            journalSync.commit(null);
+        } catch (IOException | UncheckedIOException e) {
+            System.err.println("Erro ao registrar exclusão no journal: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Força para o disco tudo o que já foi anexado ao journal.
+     * Chamado pelo {@link GroupCommit}, uma vez para cada grupo de registros.
+     */
+    private void syncJournal() throws IOException {
+        File journal = new File(journalFilename);
+        if (!journal.exists()) {
+            return; // Já consolidado por um salvamento completo
+        }
+        try (FileChannel channel = FileChannel.open(journal.toPath(), StandardOpenOption.WRITE)) {
+            channel.force(false);
+        }
+    }
+
+    /**
+     * Retorna quantos registros o journal acumula desde o último salvamento completo.
+     * Usado pelo serviço para decidir quando consolidar tudo no {@code books.txt}.
+     */
+    public synchronized int getJournalRecordCount() {
+        return journalRecordCount;
+    }
+
+    /**
+     * Retorna o tamanho atual do journal, em bytes (0 se não existir).
+     */
+    public long getJournalSize() {
+        return new File(journalFilename).length();
+    }
+
+    /**
+     * Consolida o journal no {@code books.txt}: as alterações registradas são gravadas nos
+     * registros dos livros (no mesmo lugar, quando cabem) e o journal é descartado.
+     * Parte apenas do que já está em disco, então pode rodar em qualquer thread sem depender
+     * do estado em memória da aplicação. Se a gravação incremental não for possível, a biblioteca
+     * inteira é regravada a partir do disco.
+     * 
+     * Enquanto roda, novas alterações aguardam para serem anexadas ao journal; leituras da
+     * biblioteca já carregada não são afetadas.
+     * @return {@code true} se o journal foi consolidado (ou já estava vazio).
+     */
+    public boolean compactJournal() {
+        try {
+            // Os gêneros de livros do journal já foram gravados antes deles
+            return writeLocked(() -> compactJournalLocked(readGenres()));
+        } catch (IOException | UncheckedIOException e) {
+            System.err.println("Erro ao consolidar o journal de livros: " + e.getMessage());
+            return false;
+        }
+    }
+
+    private boolean compactJournalLocked(List<Genre> genres) {
+        if (!new File(journalFilename).exists()) {
+            return true;
+        }
+
+        // 1. Estado final de cada livro alterado no journal (null = excluído)
+        Map<String, Book> changes = readJournalChanges(genres);
+        if (changes == null) {
+            return false;
+        }
+
+        // 2. Grava só os registros alterados (as posições vêm do índice, se a biblioteca não foi carregada)
+        if (!recordSlotsValid) {
+            readIndex();
+        }
+        List<Book> changedBooks = new ArrayList<>();
+        List<String> deletedIds = new ArrayList<>();
+        splitChanges(changes, changedBooks, deletedIds);
+        if (saveChangedBooksLocked(changedBooks, deletedIds, true)) {
+            return true;
+        }
+
+        // 3. Posições desconhecidas: regrava a biblioteca inteira, lendo um livro por vez
+        return rewriteLibraryLocked(genres);
+    }
+
+    /**
+     * Regrava a biblioteca inteira a partir do disco ({@code books.txt} com o journal aplicado), com as
+     * opções atuais, e descarta o journal. Registros danificados vão antes para a quarentena.
+     * @return {@code false} se a leitura ou a gravação falhou (os arquivos ficam como estavam).
+     */
+    private boolean rewriteLibraryLocked(List<Genre> genres) {
+        return rewriteLibraryLocked(genres, binaryStorage, Collections.emptyList(), Collections.emptyList());
+    }
+
+    /**
+     * Como {@link #rewriteLibraryLocked(List)}, lendo o snapshot do formato informado (a gravação segue o
+     * formato atual) e aplicando as alterações por cima do que está no disco.
+     * @param fromBinary {@code true} para ler o {@code books.bin}; {@code false} para o {@code books.txt}.
+     */
+    private boolean rewriteLibraryLocked(List<Genre> genres, boolean fromBinary,
+                                         Collection<Book> changedBooks, Collection<String> deletedBookIds) {
+        Map<String, Book> books = new LinkedHashMap<>();
+        List<DamagedRecord> damaged = new ArrayList<>();
+        try (BookIterator current = iterateBooks(genres, damageHandler(booksFilename, damaged), fromBinary)) {
+            current.forEachRemaining(book -> books.put(book.getId(), book));
+            rememberDamage(damaged); // O snapshot não terá os registros pulados: vão antes para a quarentena
+            deletedBookIds.forEach(books::remove);
+            changedBooks.forEach(book -> books.put(book.getId(), book)); // Um livro repetido vale pela última versão
+            writeSnapshotFile(new ArrayList<>(books.values()));
+            return true;
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Erro ao regravar a biblioteca: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Lê o estado final de cada livro alterado no journal (ID -> livro; {@code null} = excluído).
+     * Registros danificados são pulados (e copiados para a quarentena antes de o journal ser descartado).
+     * @return O mapa (vazio se não houver journal), ou {@code null} se o journal não pôde ser lido.
+     */
+    private Map<String, Book> readJournalChanges(List<Genre> genres) {
+        Map<String, Book> changes = new LinkedHashMap<>();
+        if (!new File(journalFilename).exists()) {
+            return changes;
+        }
+        List<DamagedRecord> damaged = new ArrayList<>();
+        try (OffsetLineReader reader = new OffsetLineReader(journalFilename)) {
+            readBookRecords(reader, genres,
+                    (book, start, end, checksum) -> changes.put(book.getId(), book),
+                    id -> changes.put(id, null),
+                    damageHandler(journalFilename, damaged));
+        } catch (IOException | CorruptRecordException e) {
+            System.err.println("Erro ao ler o journal de livros: " + e.getMessage());
+            return null;
+        }
+        rememberDamage(damaged); // Copiados para a quarentena antes de o journal ser descartado
+        return changes;
+    }
+
+    /** Separa as alterações em livros gravados e IDs excluídos ({@code null}), mantendo a ordem. */
+    private static void splitChanges(Map<String, Book> changes, List<Book> changedBooks, List<String> deletedIds) {
+        for (Map.Entry<String, Book> change : changes.entrySet()) {
+            if (change.getValue() != null) {
+                changedBooks.add(change.getValue());
+            } else {
+                deletedIds.add(change.getKey());
+            }
+        }
+    }
+
+    /**
+     * Apaga o journal após um salvamento completo bem-sucedido.
+     */
+    private void clearJournal() {
+        File journal = new File(journalFilename);
+        if (journal.exists() && !journal.delete()) {
+            System.err.println("Erro ao limpar o journal de livros: " + journalFilename);
+            return;
+        }
+        try {
+            libraryLock.advanceJournalEpoch(); // Posições guardadas do journal antigo deixam de valer
+        } catch (IOException e) {
+            System.err.println("Erro ao registrar a limpeza do journal: " + e.getMessage());
+        }
+        journalRecordCount = 0;
+    }
+
+    // ========================================================================
+    // == ACESSO POR VÁRIOS PROCESSOS (books.lock)
+    // ========================================================================
+
+    /**
+     * Indica se outro processo gravou na biblioteca desde a última sincronização desta instância.
+     * Não espera pelo bloqueio (pode ser chamado periodicamente pela interface); pode, raramente,
+     * avisar de uma alteração que era nossa, caso em que {@link #refresh(List)} não encontra nada.
+     * @return {@code true} se vale a pena chamar {@link #refresh(List)}.
+     */
+    public boolean hasExternalChanges() {
+        return externalChanges || libraryLock.peekGeneration() != knownGeneration;
+    }
+
+    /**
+     * Traz as alterações gravadas por outros processos desde a última sincronização, sem recarregar a biblioteca.
+     * 
+     * Os registros do {@code books.txt} são comparados pelo checksum com a versão conhecida, e só os
+     * diferentes são relidos; do journal, só é lido o trecho que ainda não conhecíamos.
+     * @param genres A lista de gêneros atual, para vincular os livros (deve incluir os gêneros novos).
+     * @return Os livros incluídos ou editados e os IDs dos excluídos (vazio se nada mudou).
+     */
+    public LibraryChanges refresh(List<Genre> genres) {
+        try (LibraryLock.Hold hold = libraryLock.shared()) {
+            synchronized (this) {
+                long generation = hold.generation();
+                if (generation == knownGeneration && !externalChanges) {
+                    return new LibraryChanges(Collections.emptyMap());
+                }
+                Map<String, Book> changes = new LinkedHashMap<>(); // ID -> livro (null = excluído)
+
+                // 1. Alterações que outro processo anexou ao journal e nós consolidamos (as mais antigas)
+                changes.putAll(pendingExternalChanges);
+
+                // 2. books.txt (ou books.bin): entrega apenas os registros cujo conteúdo mudou
+                if (booksFileChanged() || externalChanges) {
+                    if (binaryStorage) {
+                        refreshBinarySnapshot(genres, changes); // Sem índice: o arquivo (compacto) é lido por inteiro
+                    } else {
+                        if (!readIndex()) {
+                            rebuildIndex(genres);
+                        }
+                        for (Map.Entry<String, RecordSlot> entry : recordSlots.entrySet()) {
+                            RecordSlot known = knownSlots.get(entry.getKey());
+                            if (known == null || !known.sameContent(entry.getValue())) {
+                                Book book = readRecord(entry.getValue(), genres);
+                                if (book != null) {
+                                    changes.put(book.getId(), book);
+                                }
+                            }
+                        }
+                        for (String id : knownSlots.keySet()) {
+                            if (!recordSlots.containsKey(id)) {
+                                changes.put(id, null);
+                            }
+                        }
+                        knownSlots.clear();
+                        knownSlots.putAll(recordSlots);
+                    }
+                }
+
+                // 3. Journal: os registros que ainda não conhecíamos (todos, se o journal foi recomeçado)
+                long from = journalResumePosition();
+                if (from == 0) {
+                    journalRecordCount = 0;
+                }
+                readJournalFrom(from, genres, changes);
+
+                // 4. A versão atual passa a ser a conhecida
+                pendingExternalChanges.clear();
+                externalChanges = false;
+                knownGeneration = generation;
+                rememberFileState();
+                return new LibraryChanges(changes);
+            }
+        } catch (IOException | UncheckedIOException e) {
+            System.err.println("Erro ao atualizar a biblioteca: " + e.getMessage());
+            return new LibraryChanges(Collections.emptyMap());
+        }
+    }
+
+    /**
+     * Compara os registros do {@code books.bin} atual com a versão conhecida, pelo checksum de cada registro,
+     * e registra no mapa os livros alterados e os excluídos.
+     */
+    private void refreshBinarySnapshot(List<Genre> genres, Map<String, Book> changes) throws IOException {
+        Map<String, RecordSlot> slots = new HashMap<>();
+        readBinaryFile(genres, (book, start, end, checksum) -> {
+            RecordSlot slot = new RecordSlot(start, (int) (end - start), checksum);
+            RecordSlot known = knownSlots.get(book.getId());
+            if (known == null || !known.sameContent(slot)) {
+                changes.put(book.getId(), book);
+            }
+            slots.put(book.getId(), slot);
+        });
+        for (String id : knownSlots.keySet()) {
+            if (!slots.containsKey(id)) {
+                changes.put(id, null);
+            }
+        }
+        recordSlots.clear();
+        recordSlots.putAll(slots);
+        knownSlots.clear();
+        knownSlots.putAll(slots);
+    }
+
+    /**
+     * Executa uma gravação com o bloqueio exclusivo da biblioteca e o monitor deste objeto.
+     * Se outro processo gravou desde a última sincronização, antes da gravação os registros que ele
+     * anexou ao journal são guardados (para o {@link #refresh(List)}) e as posições dos registros são
+     * relidas do disco, para que a gravação não estrague o que ele gravou.
+     */
+    private <T> T writeLocked(LockedAction<T> action) throws IOException {
+        try (LibraryLock.Hold hold = libraryLock.exclusive()) {
+            synchronized (this) {
+                long generation = hold.generation();
+                // Uma instância que ainda não leu nem gravou nada não tem versão antiga a proteger
+                if (knownGeneration >= 0 && generation != knownGeneration) {
+                    externalChanges = true;
+                    captureExternalJournal();
+                    if (!binaryStorage && !readIndex()) {
+                        rebuildIndex(Collections.emptyList());
+                    }
+                }
+                try {
+                    return action.run();
+                } finally {
+                    knownGeneration = generation + 1; // O incremento feito por esta gravação, ao liberar o bloqueio
+                    if (externalChanges) {
+                        rememberJournalState(); // O que havia de outro processo já foi guardado
+                    } else {
+                        rememberFileState();
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Guarda os registros anexados ao journal por outro processo desde a última sincronização.
+     * Precisa acontecer antes de o journal ser consolidado ou apagado, senão essas alterações
+     * não chegariam a esta instância pelo {@link #refresh(List)}.
+     */
+    private void captureExternalJournal() throws IOException {
+        long journalLength = new File(journalFilename).length();
+        long from = journalResumePosition();
+        if (journalLength > from) {
+            if (from == 0) {
+                journalRecordCount = 0;
+            }
+            readJournalFrom(from, readGenres(), pendingExternalChanges);
+        }
+        knownJournalLength = journalLength;
+        knownJournalEpoch = readJournalEpoch();
+    }
+
+    /**
+     * Posição do journal a partir da qual os registros ainda não são conhecidos:
+     * o fim conhecido, ou o início, se o journal foi apagado e recomeçado desde então.
+     */
+    private long journalResumePosition() {
+        long journalLength = new File(journalFilename).length();
+        if (readJournalEpoch() != knownJournalEpoch || journalLength < knownJournalLength) {
+            return 0;
+        }
+        return knownJournalLength;
+    }
+
+    /** @return Os recomeços do journal (exige o bloqueio), ou -1 se não foi possível lê-los. */
+    private long readJournalEpoch() {
+        try {
+            return libraryLock.journalEpoch();
+        } catch (IOException e) {
+            System.err.println("Erro ao ler o estado do journal: " + e.getMessage());
+            return -1;
+        }
+    }
+
+    /**
+     * Lê os registros do journal a partir de uma posição (início de registro), registrando cada
+     * alteração no mapa (null = excluído). Registros danificados são pulados.
+     */
+    private void readJournalFrom(long from, List<Genre> genres, Map<String, Book> changes) throws IOException {
+        if (!new File(journalFilename).exists()) {
+            return;
+        }
+        try (OffsetLineReader reader = new OffsetLineReader(journalFilename)) {
+            reader.seek(from);
+            readBookRecords(reader, genres,
+                    (book, start, end, checksum) -> { changes.put(book.getId(), book); journalRecordCount++; },
+                    id -> { changes.put(id, null); journalRecordCount++; },
+                    IGNORE_DAMAGE);
+        }
+    }
+
+    /** Guarda o estado atual dos arquivos como o último conhecido. */
+    private void rememberFileState() {
+        File file = new File(snapshotFilename());
+        knownBooksLength = file.length();
+        knownBooksModified = file.lastModified();
+        rememberJournalState();
+    }
+
+    /** Guarda o ponto atual do journal: tudo o que está nele já é conhecido. */
+    private void rememberJournalState() {
+        knownJournalLength = new File(journalFilename).length();
+        knownJournalEpoch = readJournalEpoch();
+    }
+
+    /** @return {@code true} se o {@code books.txt} (ou o {@code books.bin}) mudou desde a última sincronização. */
+    private boolean booksFileChanged() {
+        File file = new File(snapshotFilename());
+        return file.length() != knownBooksLength || file.lastModified() != knownBooksModified;
+    }
+
+    /** @return O arquivo com o snapshot da biblioteca: {@code books.bin} no modo binário, senão {@code books.txt}. */
+    private String snapshotFilename() {
+        return binaryStorage ? binaryFilename : booksFilename;
+    }
+
+
+    /**
+     * Recebe cada livro lido, junto com a posição (em bytes) do seu registro no arquivo
+     * e o valor da sua linha {@code CHECKSUM} (-1 se o registro não tiver).
+     */
+    interface RecordHandler {
+        void accept(Book book, long start, long end, long checksum);
+    }
+
+    /**
+     * Recebe cada trecho danificado encontrado na leitura: posição (em bytes) de início e fim e o motivo.
+     */
+    interface DamageHandler {
+        void accept(long start, long end, String reason);
+    }
+
+    /**
+     * Gravação executada por {@link #writeLocked(LockedAction)}.
+     */
+    private interface LockedAction<T> {
+        T run() throws IOException;
+    }
+
+    /** Pula os registros danificados sem registrar nada (buscas pontuais, reconstrução do índice). */
+    private static final DamageHandler IGNORE_DAMAGE = (start, end, reason) -> { };
+
+    /**
+     * Fonte preguiçosa dos textos de um livro: lembra onde o registro estava no {@code books.txt}
+     * e o relê na primeira vez que a descrição, as citações ou as notas forem acessadas.
+     */
+    private class RecordTextSource implements LazyTextSource {
+        private final String id;
+        private final RecordSlot slot;
+
+        RecordTextSource(String id, RecordSlot slot) {
+            this.id = id;
+            this.slot = slot;
+        }
+
+        @Override
+        public boolean loadInto(Book book) {
+            try {
+                Book full = readFullRecord(id, slot);
+                if (full == null) {
+                    System.err.println("Textos do livro não encontrados no arquivo (ID: " + id + ")");
+                    return false;
+                }
+                book.setDescription(full.getDescription());
+                book.setQuotes(full.getQuotes());
+                book.setNotes(full.getNotes());
+                return true;
+            } catch (IOException e) {
+                System.err.println("Erro ao carregar textos do livro (ID: " + id + "): " + e.getMessage());
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Trecho do {@code books.txt} ocupado por um registro de livro.
+     */
+    static class RecordSlot {
+        final long offset;
+        final int length;
+        /** Checksum gravado no registro (-1 se não tiver): identifica o conteúdo sem precisar relê-lo. */
+        final long checksum;
+
+        RecordSlot(long offset, int length, long checksum) {
+            this.offset = offset;
+            this.length = length;
+            this.checksum = checksum;
+        }
+
+        /**
+         * Indica se os dois trechos guardam o mesmo registro: pelo checksum, quando os dois têm,
+         * ou (registros antigos, sem checksum) pela mesma posição e tamanho.
+         */
+        boolean sameContent(RecordSlot other) {
+            if (checksum >= 0 && other.checksum >= 0) {
+                return checksum == other.checksum;
+            }
+            return offset == other.offset && length == other.length;
+        }
+    }
+}
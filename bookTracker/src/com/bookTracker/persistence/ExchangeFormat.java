@@ -0,0 +1,109 @@
+package com.bookTracker.persistence;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Formatos de troca de listas de livros com outros programas (importação e exportação em lote).
+ *
+ * CSV: primeira linha com os nomes das colunas ({@link #FIELDS}); separador vírgula ou ponto e vírgula
+ * (detectado pelo cabeçalho); campos entre aspas podem conter quebras de linha. As listas (citações e notas)
+ * ficam numa única célula, com os itens separados por {@code |} (ver {@link #joinList(List)}).
+ * JSON_LINES: um objeto JSON por linha, com os mesmos nomes de campo; as listas são arrays de strings.
+ *
+ * * @author Netto
+ */
+public enum ExchangeFormat {
+    CSV,
+    JSON_LINES;
+
+    /** Campos de um livro, na ordem das colunas do CSV. O gênero é identificado pelo nome. */
+    public static final List<String> FIELDS = List.of("id", "type", "title", "author", "publisher", "genre", "status",
+            "totalPages", "currentPage", "rating", "local", "description", "quotes", "notes");
+
+    /** Campos que guardam listas de textos. */
+    static final List<String> LIST_FIELDS = List.of("quotes", "notes");
+
+    // Separador dos itens de uma lista numa célula do CSV, e o caractere que o protege dentro de um item
+    private static final char LIST_SEPARATOR = '|';
+    private static final char LIST_ESCAPE = '\\';
+
+    /**
+     * Descobre o formato pela extensão do arquivo ({@code .csv}, {@code .jsonl} ou {@code .ndjson}).
+     * Um {@code .json} comum (um array com todos os livros) não é JSON Lines e é recusado.
+     * @throws IllegalArgumentException Se a extensão não for reconhecida.
+     */
+    public static ExchangeFormat forFile(Path file) {
+        String name = file.getFileName().toString().toLowerCase(Locale.ROOT);
+        if (name.endsWith(".csv")) {
+            return CSV;
+        }
+        if (name.endsWith(".jsonl") || name.endsWith(".ndjson")) {
+            return JSON_LINES;
+        }
+        throw new IllegalArgumentException("Formato de arquivo não reconhecido: " + name + " (use .csv ou .jsonl)");
+    }
+
+    /**
+     * @return O nome oficial do campo ({@link #FIELDS}) escrito de qualquer forma (maiúsculas, espaços, "_"),
+     * ou {@code null} se não for um campo conhecido.
+     */
+    static String canonicalField(String name) {
+        String key = name.trim().replace("_", "").replace(" ", "");
+        for (String field : FIELDS) {
+            if (field.equalsIgnoreCase(key)) {
+                return field;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Junta os itens de uma lista numa única célula do CSV: {@code item1|item2}.
+     * Barras e contrabarras dentro dos itens são protegidas com uma contrabarra.
+     */
+    public static String joinList(List<String> items) {
+        StringBuilder out = new StringBuilder();
+        for (int i = 0; i < items.size(); i++) {
+            if (i > 0) {
+                out.append(LIST_SEPARATOR);
+            }
+            String item = items.get(i);
+            for (int c = 0; c < item.length(); c++) {
+                char ch = item.charAt(c);
+                if (ch == LIST_SEPARATOR || ch == LIST_ESCAPE) {
+                    out.append(LIST_ESCAPE);
+                }
+                out.append(ch);
+            }
+        }
+        return out.toString();
+    }
+
+    /**
+     * Separa uma célula do CSV gravada por {@link #joinList(List)} nos seus itens.
+     * @return Lista de itens (vazia se a célula estiver vazia).
+     */
+    public static List<String> splitList(String cell) {
+        List<String> items = new ArrayList<>();
+        if (cell == null || cell.isEmpty()) {
+            return items;
+        }
+        StringBuilder item = new StringBuilder();
+        for (int c = 0; c < cell.length(); c++) {
+            char ch = cell.charAt(c);
+            if (ch == LIST_ESCAPE && c + 1 < cell.length()) {
+                item.append(cell.charAt(++c));
+            } else if (ch == LIST_SEPARATOR) {
+                items.add(item.toString());
+                item.setLength(0);
+            } else {
+                item.append(ch);
+            }
+        }
+        items.add(item.toString());
+        return items;
+    }
+}
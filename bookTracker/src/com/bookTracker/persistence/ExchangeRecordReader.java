@@ -0,0 +1,201 @@
+package com.bookTracker.persistence;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Lê, em fluxo, os registros de um arquivo CSV ou JSON Lines ({@link ExchangeFormat}) para importação.
+ *
+ * A leitura é dividida em duas etapas, para que a mais cara possa rodar em paralelo:
+ * {@link #nextRecord()} apenas separa o texto de cada registro (sequencial, barato);
+ * {@link #parse(String)} interpreta o texto em campos e pode ser chamado por várias threads ao mesmo tempo.
+ * A memória usada não depende do tamanho do arquivo.
+ *
+ * * @author Netto
+ */
+public final class ExchangeRecordReader implements Closeable {
+
+    private static final char QUOTE = '"';
+    private static final int BUFFER_SIZE = 256 * 1024;
+
+    private final BufferedReader reader;
+    private final ExchangeFormat format;
+
+    /** Colunas do CSV (nome oficial de cada uma, ou {@code null} para colunas desconhecidas). */
+    private final String[] columns;
+    private final char delimiter;
+
+    private long lineNumber;
+    private long recordLine;
+
+    private ExchangeRecordReader(BufferedReader reader, ExchangeFormat format) throws IOException {
+        this.reader = reader;
+        this.format = format;
+        if (format == ExchangeFormat.CSV) {
+            String header = nextRecord();
+            if (header == null) {
+                throw new IOException("Arquivo CSV vazio (falta a linha de cabeçalho)");
+            }
+            // Planilhas em português costumam exportar com ponto e vírgula
+            this.delimiter = header.indexOf(',') < 0 && header.indexOf(';') >= 0 ? ';' : ',';
+            List<String> names = splitCsv(header, delimiter);
+            this.columns = new String[names.size()];
+            for (int i = 0; i < columns.length; i++) {
+                columns[i] = ExchangeFormat.canonicalField(names.get(i));
+            }
+        } else {
+            this.columns = null;
+            this.delimiter = ',';
+        }
+    }
+
+    /**
+     * Abre o arquivo para leitura (UTF-8; a marca BOM, se houver, é ignorada).
+     * @throws IOException Se o arquivo não puder ser aberto ou o cabeçalho do CSV estiver faltando.
+     */
+    public static ExchangeRecordReader open(Path file, ExchangeFormat format) throws IOException {
+        BufferedReader reader = new BufferedReader(
+                new InputStreamReader(Files.newInputStream(file), StandardCharsets.UTF_8), BUFFER_SIZE);
+        try {
+            reader.mark(1);
+            if (reader.read() != '\uFEFF') {
+                reader.reset();
+            }
+            return new ExchangeRecordReader(reader, format);
+        } catch (IOException e) {
+            reader.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Lê o texto do próximo registro, sem interpretá-lo. Linhas em branco são puladas.
+     * No CSV, um registro pode ocupar várias linhas (campos entre aspas com quebras de linha).
+     * @return O texto do registro, ou {@code null} no fim do arquivo.
+     */
+    public String nextRecord() throws IOException {
+        String line;
+        do {
+            line = reader.readLine();
+            if (line == null) {
+                return null;
+            }
+            lineNumber++;
+        } while (line.isBlank());
+        recordLine = lineNumber;
+        if (format != ExchangeFormat.CSV || countQuotes(line) % 2 == 0) {
+            return line;
+        }
+        // Aspas abertas: o campo continua na linha seguinte
+        StringBuilder record = new StringBuilder(line);
+        int quotes = countQuotes(line);
+        while (quotes % 2 != 0) {
+            String next = reader.readLine();
+            if (next == null) {
+                break; // O parse acusa as aspas sem fechamento
+            }
+            lineNumber++;
+            record.append('\n').append(next);
+            quotes += countQuotes(next);
+        }
+        return record.toString();
+    }
+
+    /** @return Número da linha (a partir de 1) onde começa o último registro lido. */
+    public long getRecordLine() {
+        return recordLine;
+    }
+
+    /**
+     * Interpreta o texto de um registro lido por {@link #nextRecord()}. Pode ser chamado em paralelo.
+     * @return Mapa com os campos reconhecidos ({@link ExchangeFormat#FIELDS}): valores texto,
+     * e listas de texto para citações e notas. Campos desconhecidos são ignorados.
+     * @throws IllegalArgumentException Se o registro estiver mal formado.
+     */
+    public Map<String, Object> parse(String record) {
+        Map<String, Object> fields = new LinkedHashMap<>();
+        if (format == ExchangeFormat.JSON_LINES) {
+            for (Map.Entry<String, Object> entry : JsonLine.parseObject(record).entrySet()) {
+                String field = ExchangeFormat.canonicalField(entry.getKey());
+                if (field != null) {
+                    fields.put(field, entry.getValue());
+                }
+            }
+            return fields;
+        }
+
+        List<String> values = splitCsv(record, delimiter);
+        if (values.size() > columns.length) {
+            throw new IllegalArgumentException("Registro com " + values.size() + " colunas; o cabeçalho tem " + columns.length);
+        }
+        for (int i = 0; i < values.size(); i++) {
+            String field = columns[i];
+            if (field != null) {
+                String value = values.get(i);
+                fields.put(field, ExchangeFormat.LIST_FIELDS.contains(field) ? ExchangeFormat.splitList(value) : value);
+            }
+        }
+        return fields;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private static int countQuotes(String line) {
+        int count = 0;
+        for (int i = 0; i < line.length(); i++) {
+            if (line.charAt(i) == QUOTE) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Separa um registro CSV nas suas células (RFC 4180: aspas duplas protegem separadores e quebras
+     * de linha; {@code ""} dentro das aspas é uma aspa literal).
+     */
+    private static List<String> splitCsv(String record, char delimiter) {
+        List<String> cells = new ArrayList<>();
+        StringBuilder cell = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < record.length(); i++) {
+            char ch = record.charAt(i);
+            if (quoted) {
+                if (ch == QUOTE) {
+                    if (i + 1 < record.length() && record.charAt(i + 1) == QUOTE) {
+                        cell.append(QUOTE);
+                        i++;
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    cell.append(ch);
+                }
+            } else if (ch == QUOTE) {
+                quoted = true;
+            } else if (ch == delimiter) {
+                cells.add(cell.toString());
+                cell.setLength(0);
+            } else {
+                cell.append(ch);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Campo entre aspas sem fechamento");
+        }
+        cells.add(cell.toString());
+        return cells;
+    }
+}
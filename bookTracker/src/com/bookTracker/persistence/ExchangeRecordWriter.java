@@ -0,0 +1,192 @@
+package com.bookTracker.persistence;
+
+import com.bookTracker.model.Book;
+import com.bookTracker.model.Ebook;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Grava, em fluxo, livros num arquivo CSV ou JSON Lines ({@link ExchangeFormat}) para exportação.
+ *
+ * Cada livro é convertido direto para o buffer de saída, sem listas ou mapas intermediários:
+ * a memória usada não depende da quantidade de livros. O resultado pode ser lido de volta
+ * pelo {@link ExchangeRecordReader}.
+ *
+ * * @author Netto
+ */
+public final class ExchangeRecordWriter implements Closeable {
+
+    private static final char QUOTE = '"';
+    private static final char DELIMITER = ',';
+    private static final int BUFFER_SIZE = 256 * 1024;
+
+    private final Writer writer;
+    private final ExchangeFormat format;
+
+    /** Registro sendo montado (reaproveitado entre os livros). */
+    private final StringBuilder record = new StringBuilder(1024);
+
+    private long recordsWritten;
+
+    private ExchangeRecordWriter(Writer writer, ExchangeFormat format) throws IOException {
+        this.writer = writer;
+        this.format = format;
+        if (format == ExchangeFormat.CSV) {
+            // A marca BOM faz planilhas (Excel) reconhecerem o arquivo como UTF-8
+            writer.write('\uFEFF');
+            writer.write(String.join(String.valueOf(DELIMITER), ExchangeFormat.FIELDS));
+            writer.write('\n');
+        }
+    }
+
+    /**
+     * Cria (ou substitui) o arquivo e grava o cabeçalho, no caso do CSV. Codificação UTF-8.
+     * @throws IOException Se o arquivo não puder ser criado.
+     */
+    public static ExchangeRecordWriter open(Path file, ExchangeFormat format) throws IOException {
+        Writer writer = new BufferedWriter(
+                new OutputStreamWriter(Files.newOutputStream(file), StandardCharsets.UTF_8), BUFFER_SIZE);
+        try {
+            return new ExchangeRecordWriter(writer, format);
+        } catch (IOException e) {
+            writer.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Grava um livro, com os campos na ordem de {@link ExchangeFormat#FIELDS}.
+     * O gênero é gravado pelo nome.
+     */
+    public void write(Book book) throws IOException {
+        record.setLength(0);
+        boolean ebook = book instanceof Ebook;
+        if (format == ExchangeFormat.CSV) {
+            appendCsv(book.getId());
+            appendCsv(ebook ? "EBOOK" : "PHYSICAL");
+            appendCsv(book.getTitle());
+            appendCsv(book.getAuthor());
+            appendCsv(book.getPublisher());
+            appendCsv(book.getGenre() != null ? book.getGenre().getName() : "");
+            appendCsv(book.getStatus().name());
+            record.append(book.getTotalPages()).append(DELIMITER);
+            record.append(book.getCurrentPage()).append(DELIMITER);
+            record.append(book.getRating()).append(DELIMITER);
+            appendCsv(ebook ? ((Ebook) book).getLocal() : "");
+            appendCsv(book.getDescription());
+            appendCsv(ExchangeFormat.joinList(book.getQuotes()));
+            appendCsv(ExchangeFormat.joinList(book.getNotes()));
+            record.setLength(record.length() - 1); // Sem o separador depois da última coluna
+        } else {
+            record.append('{');
+            appendJson("id", book.getId());
+            appendJson("type", ebook ? "EBOOK" : "PHYSICAL");
+            appendJson("title", book.getTitle());
+            appendJson("author", book.getAuthor());
+            appendJson("publisher", book.getPublisher());
+            appendJson("genre", book.getGenre() != null ? book.getGenre().getName() : null);
+            appendJson("status", book.getStatus().name());
+            record.append("\"totalPages\":").append(book.getTotalPages()).append(',');
+            record.append("\"currentPage\":").append(book.getCurrentPage()).append(',');
+            record.append("\"rating\":").append(book.getRating()).append(',');
+            if (ebook) {
+                appendJson("local", ((Ebook) book).getLocal());
+            }
+            appendJson("description", book.getDescription());
+            appendJson("quotes", book.getQuotes());
+            appendJson("notes", book.getNotes());
+            record.setCharAt(record.length() - 1, '}');
+        }
+        record.append('\n');
+        writer.append(record);
+        recordsWritten++;
+    }
+
+    /** @return Quantidade de livros gravados até agora. */
+    public long getRecordsWritten() {
+        return recordsWritten;
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+
+    /** Acrescenta uma célula e o separador; usa aspas apenas quando o valor tem separador, aspas ou quebra de linha. */
+    private void appendCsv(String value) {
+        if (value == null) {
+            value = "";
+        }
+        boolean quoted = false;
+        for (int i = 0; i < value.length() && !quoted; i++) {
+            char ch = value.charAt(i);
+            quoted = ch == DELIMITER || ch == QUOTE || ch == '\n' || ch == '\r';
+        }
+        if (!quoted) {
+            record.append(value);
+        } else {
+            record.append(QUOTE);
+            for (int i = 0; i < value.length(); i++) {
+                char ch = value.charAt(i);
+                if (ch == QUOTE) {
+                    record.append(QUOTE);
+                }
+                record.append(ch);
+            }
+            record.append(QUOTE);
+        }
+        record.append(DELIMITER);
+    }
+
+    /** Acrescenta {@code "campo":"valor",} (ou {@code null}). */
+    private void appendJson(String field, String value) {
+        record.append(QUOTE).append(field).append("\":");
+        appendJsonString(value);
+        record.append(',');
+    }
+
+    /** Acrescenta {@code "campo":["item",...],}. */
+    private void appendJson(String field, List<String> items) {
+        record.append(QUOTE).append(field).append("\":[");
+        for (int i = 0; i < items.size(); i++) {
+            if (i > 0) {
+                record.append(',');
+            }
+            appendJsonString(items.get(i));
+        }
+        record.append("],");
+    }
+
+    private void appendJsonString(String value) {
+        if (value == null) {
+            record.append("null");
+            return;
+        }
+        record.append(QUOTE);
+        for (int i = 0; i < value.length(); i++) {
+            char ch = value.charAt(i);
+            switch (ch) {
+                case '"': record.append("\\\""); break;
+                case '\\': record.append("\\\\"); break;
+                case '\n': record.append("\\n"); break;
+                case '\r': record.append("\\r"); break;
+                case '\t': record.append("\\t"); break;
+                default:
+                    if (ch < 0x20) {
+                        record.append(String.format("\\u%04x", (int) ch));
+                    } else {
+                        record.append(ch);
+                    }
+            }
+        }
+        record.append(QUOTE);
+    }
+}
@@ -0,0 +1,28 @@
+package com.bookTracker.persistence;
+
+import java.util.List;
+
+/**
+ * Passo de migração do {@code books.txt} de uma versão do formato para a seguinte
+ * (ver {@link DataManager#FORMAT_VERSION}).
+ *
+ * A migração é feita numa única passada pelo arquivo, um registro de cada vez, sem criar os livros:
+ * cada passo recebe as linhas de um registro ({@code BOOK_START ... BOOK_END}, sem a linha {@code CHECKSUM})
+ * e as altera no lugar. O checksum é recalculado depois do último passo. Registros danificados
+ * não passam pelos passos: são copiados como estão, para que a carga os trate.
+ *
+ * Para evoluir o formato: incremente {@code FORMAT_VERSION} e registre o passo da versão anterior
+ * em {@code DataManager.MIGRATIONS}. Campos novos e opcionais nem sempre precisam de um passo:
+ * versões que não os conhecem os preservam como campos desconhecidos ({@code Book#getUnknownFields()}).
+ *
+ * * @author Netto
+ */
+@FunctionalInterface
+interface FormatMigration {
+
+    /**
+     * Converte um registro para a versão seguinte do formato.
+     * @param lines Linhas do registro, da {@code BOOK_START} até a {@code BOOK_END} (sem a {@code CHECKSUM}).
+     */
+    void migrate(List<String> lines);
+}
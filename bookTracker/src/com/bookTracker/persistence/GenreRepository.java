@@ -0,0 +1,32 @@
+package com.bookTracker.persistence;
+
+import com.bookTracker.model.Genre;
+
+import java.util.List;
+
+/**
+ * Armazenamento dos gêneros, independente do formato usado em disco.
+ * Implementado pelos arquivos de texto ({@link DataManager}, {@link ShardedDataManager}) e pelo banco de dados ({@link SqlDataManager}).
+ *
+ * * @author Netto
+ */
+public interface GenreRepository {
+
+    /**
+     * Carrega todos os gêneros, na ordem em que foram cadastrados.
+     * @return Lista de gêneros (vazia se ainda não houver nenhum).
+     */
+    List<Genre> loadGenres();
+
+    /**
+     * Grava a lista completa de gêneros.
+     * @param genreList A lista de gêneros a ser persistida.
+     */
+    void saveGenres(List<Genre> genreList);
+
+    /**
+     * Grava um único gênero recém-cadastrado, sem regravar os demais.
+     * @param genre O novo gênero.
+     */
+    void appendGenre(Genre genre);
+}
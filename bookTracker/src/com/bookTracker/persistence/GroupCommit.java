@@ -0,0 +1,123 @@
+package com.bookTracker.persistence;
+
+import java.io.IOException;
+
+/**
+ * Agrupa pedidos de gravação concorrentes em uma única gravação ("group commit").
+ *
+ * Quem chega primeiro vira o "líder": espera uma pequena janela de tempo para que outros
+ * pedidos cheguem e então executa a gravação uma única vez, com o estado mais recente.
+ * Os pedidos que chegaram nesse meio tempo apenas aguardam o resultado do líder.
+ * Assim, várias alterações em sequência custam um único {@code fsync} em vez de um por alteração.
+ *
+ * Cada chamada a {@link #commit(Object)} só retorna depois que uma gravação contendo o seu
+ * pedido terminou (ou lança o erro dessa gravação).
+ *
+ * @param <T> Tipo do estado a ser gravado. Quando vários pedidos são agrupados, vale o último.
+ *
+ * * @author Netto
+ */
+final class GroupCommit<T> {
+
+    /**
+     * Gravação efetiva, executada pelo líder de cada grupo.
+     */
+    interface CommitAction<T> {
+        void commit(T state) throws IOException;
+    }
+
+    private final CommitAction<T> action;
+    private final long windowMillis;
+
+    // Estado compartilhado (protegido por synchronized)
+    private T pendingState;
+    private long requestedSeq;
+    private long committedSeq;
+    private boolean leaderActive;
+
+    /** Erro da última gravação e o intervalo de pedidos que ela cobria. */
+    private IOException lastError;
+    private long lastErrorFrom;
+    private long lastErrorTo;
+
+    /**
+     * @param action Gravação efetiva.
+     * @param windowMillis Tempo que o líder espera por outros pedidos antes de gravar.
+     */
+    GroupCommit(CommitAction<T> action, long windowMillis) {
+        this.action = action;
+        this.windowMillis = windowMillis;
+    }
+
+    /**
+     * Pede a gravação do estado e aguarda até que ela esteja concluída.
+     * @param state Estado a gravar (pode ser substituído por um pedido mais recente do mesmo grupo).
+     * @throws IOException Se a gravação que continha este pedido falhar.
+     */
+    void commit(T state) throws IOException {
+        long mySeq;
+        synchronized (this) {
+            pendingState = state;
+            mySeq = ++requestedSeq;
+            while (leaderActive && committedSeq < mySeq) {
+                waitQuietly();
+            }
+            if (committedSeq >= mySeq) {
+                // Outro líder já gravou um grupo que incluía este pedido
+                if (lastError != null && mySeq > lastErrorFrom && mySeq <= lastErrorTo) {
+                    throw lastError;
+                }
+                return;
+            }
+            leaderActive = true;
+        }
+
+        // Líder: aguarda a janela para juntar outros pedidos
+        if (windowMillis > 0) {
+            try {
+                Thread.sleep(windowMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt(); // Grava mesmo assim
+            }
+        }
+
+        T batchState;
+        long batchFrom;
+        long batchTo;
+        synchronized (this) {
+            batchState = pendingState;
+            pendingState = null;
+            batchFrom = committedSeq;
+            batchTo = requestedSeq;
+        }
+
+        IOException error = null;
+        try {
+            action.commit(batchState);
+        } catch (IOException e) {
+            error = e;
+        } finally {
+            synchronized (this) {
+                committedSeq = batchTo;
+                if (error != null) {
+                    lastError = error;
+                    lastErrorFrom = batchFrom;
+                    lastErrorTo = batchTo;
+                }
+                leaderActive = false;
+                notifyAll();
+            }
+        }
+        if (error != null) {
+            throw error;
+        }
+    }
+
+    private void waitQuietly() {
+        try {
+            wait();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package com.bookTracker.persistence;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Leitura de um objeto JSON de uma linha (formato JSON Lines), sem bibliotecas externas.
+ *
+ * Aceita apenas o que um livro usa: um objeto com valores texto, número, {@code true}/{@code false},
+ * {@code null} ou arrays desses valores. Números e booleanos são devolvidos como texto; objetos aninhados
+ * são recusados.
+ *
+ * * @author Netto
+ */
+final class JsonLine {
+    private final String text;
+    private int pos;
+
+    private JsonLine(String text) {
+        this.text = text;
+    }
+
+    /**
+     * Lê um objeto JSON.
+     * @return Mapa campo -> valor ({@code String}, {@code List<String>} ou {@code null}), na ordem da linha.
+     * @throws IllegalArgumentException Se a linha não for um objeto JSON válido.
+     */
+    static Map<String, Object> parseObject(String line) {
+        JsonLine parser = new JsonLine(line);
+        Map<String, Object> fields = parser.readObject();
+        parser.skipSpaces();
+        if (parser.pos < line.length()) {
+            throw parser.error("conteúdo depois do fim do objeto");
+        }
+        return fields;
+    }
+
+    private Map<String, Object> readObject() {
+        Map<String, Object> fields = new LinkedHashMap<>();
+        expect('{');
+        skipSpaces();
+        if (peek() == '}') {
+            pos++;
+            return fields;
+        }
+        while (true) {
+            skipSpaces();
+            String name = readString();
+            skipSpaces();
+            expect(':');
+            skipSpaces();
+            fields.put(name, peek() == '[' ? readArray() : readScalar());
+            skipSpaces();
+            char next = next();
+            if (next == '}') {
+                return fields;
+            }
+            if (next != ',') {
+                throw error("esperado ',' ou '}'");
+            }
+        }
+    }
+
+    private List<String> readArray() {
+        List<String> items = new ArrayList<>();
+        expect('[');
+        skipSpaces();
+        if (peek() == ']') {
+            pos++;
+            return items;
+        }
+        while (true) {
+            skipSpaces();
+            items.add(readScalar());
+            skipSpaces();
+            char next = next();
+            if (next == ']') {
+                return items;
+            }
+            if (next != ',') {
+                throw error("esperado ',' ou ']'");
+            }
+        }
+    }
+
+    /** Lê um texto, número, booleano ou {@code null} (devolvido como {@code null}). */
+    private String readScalar() {
+        char first = peek();
+        if (first == '"') {
+            return readString();
+        }
+        if (first == '{' || first == '[') {
+            throw error("valores aninhados não são suportados");
+        }
+        int start = pos;
+        while (pos < text.length() && ",}] \t\r\n".indexOf(text.charAt(pos)) < 0) {
+            pos++;
+        }
+        String literal = text.substring(start, pos);
+        if (literal.isEmpty()) {
+            throw error("valor ausente");
+        }
+        return literal.equals("null") ? null : literal;
+    }
+
+    private String readString() {
+        expect('"');
+        StringBuilder out = null; // Só é criado se houver escapes
+        int start = pos;
+        while (true) {
+            if (pos >= text.length()) {
+                throw error("texto sem aspas de fechamento");
+            }
+            char ch = text.charAt(pos++);
+            if (ch == '"') {
+                return out == null ? text.substring(start, pos - 1) : out.toString();
+            }
+            if (ch != '\\') {
+                if (out != null) {
+                    out.append(ch);
+                }
+                continue;
+            }
+            if (out == null) {
+                out = new StringBuilder(text.substring(start, pos - 1));
+            }
+            char escaped = next();
+            switch (escaped) {
+                case '"': case '\\': case '/': out.append(escaped); break;
+                case 'b': out.append('\b'); break;
+                case 'f': out.append('\f'); break;
+                case 'n': out.append('\n'); break;
+                case 'r': out.append('\r'); break;
+                case 't': out.append('\t'); break;
+                case 'u':
+                    if (pos + 4 > text.length()) {
+                        throw error("escape \\u incompleto");
+                    }
+                    try {
+                        out.append((char) Integer.parseInt(text.substring(pos, pos + 4), 16));
+                    } catch (NumberFormatException e) {
+                        throw error("escape \\u inválido");
+                    }
+                    pos += 4;
+                    break;
+                default:
+                    throw error("escape inválido: \\" + escaped);
+            }
+        }
+    }
+
+    private void skipSpaces() {
+        while (pos < text.length() && Character.isWhitespace(text.charAt(pos))) {
+            pos++;
+        }
+    }
+
+    private char peek() {
+        if (pos >= text.length()) {
+            throw error("fim inesperado da linha");
+        }
+        return text.charAt(pos);
+    }
+
+    private char next() {
+        char ch = peek();
+        pos++;
+        return ch;
+    }
+
+    private void expect(char expected) {
+        if (next() != expected) {
+            throw error("esperado '" + expected + "'");
+        }
+    }
+
+    private IllegalArgumentException error(String message) {
+        return new IllegalArgumentException("JSON inválido (coluna " + (pos + 1) + "): " + message);
+    }
+}
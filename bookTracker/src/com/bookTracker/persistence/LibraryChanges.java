@@ -0,0 +1,47 @@
+package com.bookTracker.persistence;
+
+import com.bookTracker.model.Book;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Alterações feitas por outro processo na biblioteca, entregues por {@link BookRepository#refresh(List)}.
+ * Cada livro aparece uma única vez, no seu estado final: ou entre os alterados, ou entre os excluídos.
+ *
+ * * @author Netto
+ */
+public class LibraryChanges {
+    private final List<Book> changedBooks = new ArrayList<>();
+    private final List<String> deletedBookIds = new ArrayList<>();
+
+    /**
+     * @param changes Estado final de cada livro alterado (ID -> livro; {@code null} = excluído).
+     */
+    LibraryChanges(Map<String, Book> changes) {
+        for (Map.Entry<String, Book> change : changes.entrySet()) {
+            if (change.getValue() != null) {
+                changedBooks.add(change.getValue());
+            } else {
+                deletedBookIds.add(change.getKey());
+            }
+        }
+    }
+
+    /** @return Livros incluídos ou editados, na versão gravada pelo outro processo. */
+    public List<Book> getChangedBooks() {
+        return Collections.unmodifiableList(changedBooks);
+    }
+
+    /** @return IDs dos livros excluídos. */
+    public List<String> getDeletedBookIds() {
+        return Collections.unmodifiableList(deletedBookIds);
+    }
+
+    /** @return {@code true} se nenhum livro mudou. */
+    public boolean isEmpty() {
+        return changedBooks.isEmpty() && deletedBookIds.isEmpty();
+    }
+}
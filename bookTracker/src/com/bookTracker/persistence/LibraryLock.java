@@ -0,0 +1,239 @@
+package com.bookTracker.persistence;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Bloqueio da biblioteca entre processos ({@code books.lock}).
+ *
+ * Coordena várias instâncias da aplicação (ou um script e a interface) sobre os mesmos arquivos:
+ * leitores compartilham o bloqueio, enquanto quem grava tem acesso exclusivo. O bloqueio entre processos
+ * é feito com {@link FileChannel#lock(long, long, boolean)}; dentro do mesmo processo, onde o sistema
+ * não distingue uma thread da outra, um {@link ReentrantReadWriteLock} faz o mesmo papel.
+ * Há uma única instância por arquivo em cada processo ({@link #forFile(String)}).
+ *
+ * O arquivo guarda também dois contadores: a geração, incrementada a cada gravação, e os recomeços
+ * do journal, incrementados sempre que o journal é apagado. Comparando a geração com a última conhecida,
+ * uma instância descobre se outro processo alterou a biblioteca desde a sua última leitura; comparando os
+ * recomeços, descobre se uma posição conhecida do journal ainda vale.
+ *
+ * Regra de uso: quem tem o bloqueio compartilhado não pode pedir o exclusivo (não há promoção).
+ * O contrário é permitido: quem grava pode ler.
+ *
+ * * @author Netto
+ */
+final class LibraryLock {
+
+    private static final Map<String, LibraryLock> LOCKS = new HashMap<>();
+
+    // Posição (em bytes) de cada contador no arquivo
+    private static final long GENERATION_POSITION = 0;
+    private static final long JOURNAL_EPOCH_POSITION = Long.BYTES;
+
+    private final File file;
+    private final ReentrantReadWriteLock local = new ReentrantReadWriteLock();
+
+    /**
+     * Canal do arquivo, aberto no primeiro uso e mantido aberto. Em alguns sistemas (Linux),
+     * fechar qualquer canal do arquivo libera todos os bloqueios do processo sobre ele.
+     */
+    private volatile FileChannel channel;
+
+    // Bloqueio do sistema, mantido enquanto houver alguém deste processo usando a biblioteca
+    private FileLock osLock;
+    private int holders;
+
+    private LibraryLock(File file) {
+        this.file = file;
+    }
+
+    /** @return O bloqueio do arquivo informado (o mesmo objeto para todo o processo). */
+    static LibraryLock forFile(String lockFilename) {
+        File file = new File(lockFilename).getAbsoluteFile();
+        synchronized (LOCKS) {
+            return LOCKS.computeIfAbsent(file.getPath(), path -> new LibraryLock(file));
+        }
+    }
+
+    /**
+     * Obtém o bloqueio compartilhado (leitura). Aguarda enquanto outro processo estiver gravando.
+     * Deve ser liberado com {@link Hold#close()} (try-with-resources).
+     */
+    Hold shared() {
+        return acquire(false);
+    }
+
+    /**
+     * Obtém o bloqueio exclusivo (gravação). Aguarda até que ninguém mais esteja lendo ou gravando.
+     * Ao ser liberado, incrementa o contador de geração.
+     * @throws IllegalStateException Se a thread atual tiver apenas o bloqueio compartilhado.
+     */
+    Hold exclusive() {
+        if (local.getReadHoldCount() > 0 && !local.isWriteLockedByCurrentThread()) {
+            throw new IllegalStateException("Bloqueio de leitura não pode ser promovido para gravação");
+        }
+        return acquire(true);
+    }
+
+    /**
+     * Lê o contador de geração sem obter o bloqueio. Serve apenas como aviso barato de que algo mudou
+     * (ex: a verificação periódica da interface); quem for ler os dados deve obter o bloqueio e conferir de novo.
+     * @return A geração gravada no arquivo, ou -1 se não foi possível lê-la.
+     */
+    long peekGeneration() {
+        try {
+            return readCounter(GENERATION_POSITION);
+        } catch (IOException e) {
+            return -1; // Ex: no Windows, o trecho fica ilegível enquanto outro processo grava
+        }
+    }
+
+    private Hold acquire(boolean exclusive) {
+        ReentrantReadWriteLock.ReadLock readLock = local.readLock();
+        ReentrantReadWriteLock.WriteLock writeLock = local.writeLock();
+        if (exclusive) {
+            writeLock.lock();
+        } else {
+            readLock.lock();
+        }
+        try {
+            synchronized (this) {
+                if (holders == 0) {
+                    // Primeiro uso neste processo: bloqueia o arquivo para os outros processos
+                    osLock = channel().lock(0, Long.MAX_VALUE, !exclusive);
+                }
+                holders++;
+            }
+        } catch (IOException e) {
+            (exclusive ? writeLock : readLock).unlock();
+            throw new UncheckedIOException("Erro ao bloquear a biblioteca: " + e.getMessage(), e);
+        } catch (RuntimeException e) {
+            (exclusive ? writeLock : readLock).unlock();
+            throw e;
+        }
+        return new Hold(exclusive);
+    }
+
+    private synchronized void release(boolean exclusive) {
+        try {
+            if (exclusive && local.getWriteHoldCount() == 1) {
+                increment(GENERATION_POSITION); // Avisa os outros processos da alteração
+            }
+        } catch (IOException e) {
+            System.err.println("Erro ao atualizar a geração da biblioteca: " + e.getMessage());
+        } finally {
+            holders--;
+            if (holders == 0) {
+                releaseOsLock();
+            }
+            if (exclusive) {
+                local.writeLock().unlock();
+            } else {
+                local.readLock().unlock();
+            }
+        }
+    }
+
+    private void releaseOsLock() {
+        try {
+            if (osLock != null && osLock.isValid()) {
+                osLock.release();
+            }
+        } catch (IOException e) {
+            System.err.println("Erro ao liberar o bloqueio da biblioteca: " + e.getMessage());
+        }
+        osLock = null;
+    }
+
+    /** Abre o canal do arquivo na primeira vez; depois, devolve sempre o mesmo. */
+    private FileChannel channel() throws IOException {
+        FileChannel current = channel;
+        if (current == null) {
+            synchronized (file) {
+                current = channel;
+                if (current == null) {
+                    current = FileChannel.open(file.toPath(),
+                            StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+                    channel = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Lê o contador de recomeços do journal. Deve ser chamado com o bloqueio obtido.
+     * @return Quantas vezes o journal já foi apagado (0 em uma biblioteca nova).
+     */
+    long journalEpoch() throws IOException {
+        return readCounter(JOURNAL_EPOCH_POSITION);
+    }
+
+    /**
+     * Registra que o journal foi apagado: posições guardadas do journal antigo deixam de valer.
+     * @throws IllegalStateException Se a thread atual não tiver o bloqueio exclusivo.
+     */
+    void advanceJournalEpoch() throws IOException {
+        if (!local.isWriteLockedByCurrentThread()) {
+            throw new IllegalStateException("O journal só pode ser recomeçado com o bloqueio exclusivo");
+        }
+        increment(JOURNAL_EPOCH_POSITION);
+    }
+
+    /** @return O contador gravado na posição informada (0 se o arquivo ainda não chega até ela). */
+    private long readCounter(long position) throws IOException {
+        ByteBuffer value = ByteBuffer.allocate(Long.BYTES);
+        while (value.hasRemaining()) {
+            if (channel().read(value, position + value.position()) < 0) {
+                return 0; // Arquivo novo (vazio)
+            }
+        }
+        return value.flip().getLong();
+    }
+
+    private void increment(long position) throws IOException {
+        ByteBuffer value = ByteBuffer.allocate(Long.BYTES).putLong(readCounter(position) + 1).flip();
+        // Sem fsync: os contadores só interessam aos processos em execução, que enxergam o mesmo cache do sistema
+        while (value.hasRemaining()) {
+            channel().write(value, position + value.position());
+        }
+    }
+
+    /**
+     * Bloqueio obtido. Liberado ao fechar.
+     */
+    final class Hold implements AutoCloseable {
+        private final boolean exclusive;
+        private boolean released;
+
+        private Hold(boolean exclusive) {
+            this.exclusive = exclusive;
+        }
+
+        /** @return A geração atual da biblioteca, ou -1 se não foi possível lê-la. */
+        long generation() {
+            try {
+                return readCounter(GENERATION_POSITION);
+            } catch (IOException e) {
+                System.err.println("Erro ao ler a geração da biblioteca: " + e.getMessage());
+                return -1;
+            }
+        }
+
+        @Override
+        public void close() {
+            if (!released) {
+                released = true;
+                release(exclusive);
+            }
+        }
+    }
+}
@@ -0,0 +1,546 @@
+package com.bookTracker.persistence;
+
+import com.bookTracker.model.BookStatus;
+import com.bookTracker.model.Genre;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Leitor alternativo do {@code books.txt} baseado em arquivo mapeado em memória.
+ *
+ * Em vez de ler linha a linha com {@code BufferedReader} (que cria várias Strings por linha),
+ * o arquivo é mapeado com {@link FileChannel#map} e as tags são comparadas diretamente nos bytes.
+ * Só são criadas Strings para os valores que realmente vão para o livro (título, autor, etc.);
+ * autores, editoras e IDs de gênero repetidos são resolvidos pelos bytes em uma {@link SymbolTable};
+ * números e status são interpretados direto dos bytes e cada bloco de texto vira uma única String,
+ * sem {@code StringBuilder}.
+ *
+ * O resultado é idêntico ao da leitura linha a linha do {@link DataManager}, incluindo a posição
+ * em bytes de cada registro (usada no salvamento incremental).
+ *
+ * * @author Netto
+ */
+class MappedBookParser {
+
+    // Tags em bytes (UTF-8) para comparação direta no buffer
+    private static final byte[] BOOK_START = bytes(DataManager.TAG_BOOK_START);
+    private static final byte[] BOOK_END = bytes(DataManager.TAG_BOOK_END);
+    private static final byte[] ID = bytes(DataManager.TAG_ID);
+    private static final byte[] TITLE = bytes(DataManager.TAG_TITLE);
+    private static final byte[] AUTHOR = bytes(DataManager.TAG_AUTHOR);
+    private static final byte[] PUBLISHER = bytes(DataManager.TAG_PUBLISHER);
+    private static final byte[] TOTAL_PAGES = bytes(DataManager.TAG_TOTAL_PAGES);
+    private static final byte[] CURRENT_PAGE = bytes(DataManager.TAG_CURRENT_PAGE);
+    private static final byte[] RATING = bytes(DataManager.TAG_RATING);
+    private static final byte[] STATUS = bytes(DataManager.TAG_STATUS);
+    private static final byte[] GENRE_ID = bytes(DataManager.TAG_GENRE_ID);
+    private static final byte[] LOCAL = bytes(DataManager.TAG_LOCAL);
+    private static final byte[] DESCRIPTION_START = bytes(DataManager.TAG_DESCRIPTION_START);
+    private static final byte[] DESCRIPTION_END = bytes(DataManager.TAG_DESCRIPTION_END);
+    private static final byte[] QUOTE_START = bytes(DataManager.TAG_QUOTE_START);
+    private static final byte[] QUOTE_END = bytes(DataManager.TAG_QUOTE_END);
+    private static final byte[] NOTE_START = bytes(DataManager.TAG_NOTE_START);
+    private static final byte[] NOTE_END = bytes(DataManager.TAG_NOTE_END);
+    private static final byte[] DESCRIPTION_DEFLATE = bytes(DataManager.TAG_DESCRIPTION_DEFLATE);
+    private static final byte[] QUOTE_DEFLATE = bytes(DataManager.TAG_QUOTE_DEFLATE);
+    private static final byte[] NOTE_DEFLATE = bytes(DataManager.TAG_NOTE_DEFLATE);
+    private static final byte[] CHECKSUM = bytes(DataManager.TAG_CHECKSUM);
+    private static final byte[] BLOCK_START_SUFFIX = bytes(DataManager.BLOCK_START_SUFFIX);
+    private static final byte[] EBOOK = bytes("EBOOK");
+
+    /** Nomes dos status em bytes, na mesma ordem de {@link BookStatus#values()}. */
+    private static final BookStatus[] STATUS_VALUES = BookStatus.values();
+    private static final byte[][] STATUS_NAMES = new byte[STATUS_VALUES.length][];
+    static {
+        for (int i = 0; i < STATUS_VALUES.length; i++) {
+            STATUS_NAMES[i] = bytes(STATUS_VALUES[i].name());
+        }
+    }
+
+    /** Maior trecho que um único {@link MappedByteBuffer} consegue mapear. */
+    static final long MAX_MAPPED_SIZE = Integer.MAX_VALUE;
+
+    private final ByteBuffer buffer;
+    private final SymbolTable symbols;
+
+    /**
+     * Se verdadeiro, os blocos de texto (descrição, citações e notas) são pulados sem criar Strings.
+     * Usado na carga preguiçosa: os textos são lidos depois, só quando forem acessados.
+     */
+    private boolean skipText;
+
+    /** Recebe os registros danificados. Por padrão, interrompe a leitura com {@link CorruptRecordException}. */
+    private DataManager.DamageHandler onDamage = CorruptRecordException::raise;
+
+    /** Início (no arquivo) do registro que ficou aberto no fim da última leitura, ou -1. */
+    private long openRecordStart = -1;
+
+    /** Área reaproveitada para copiar os bytes de um valor antes de criar a String. */
+    private byte[] scratch = new byte[256];
+
+    /** Fim da linha atual (posição do '\n' ou fim do buffer). */
+    private int lineEnd;
+
+    /** Início da próxima linha. */
+    private int nextLine;
+
+    /**
+     * @param buffer Trecho do arquivo a ser lido (posição 0 = {@code baseOffset} no arquivo).
+     * @param genres Lista de gêneros para vincular os livros.
+     */
+    MappedBookParser(ByteBuffer buffer, List<Genre> genres) {
+        this.buffer = buffer;
+        this.symbols = new SymbolTable(genres);
+    }
+
+    /**
+     * Define se os blocos de texto devem ser pulados (carga preguiçosa).
+     * @return O próprio parser, para encadear com {@link #parse}.
+     */
+    MappedBookParser skipText(boolean skipText) {
+        this.skipText = skipText;
+        return this;
+    }
+
+    /**
+     * Define quem recebe os registros danificados. Sem isso, o primeiro dano interrompe a leitura.
+     * @return O próprio parser, para encadear com {@link #parse}.
+     */
+    MappedBookParser onDamage(DataManager.DamageHandler onDamage) {
+        this.onDamage = onDamage;
+        return this;
+    }
+
+    /**
+     * Mapeia o arquivo inteiro em memória e lê todos os registros.
+     * @param filename Caminho do {@code books.txt}.
+     * @param genres Lista de gêneros para vincular os livros.
+     * @param skipText Se verdadeiro, os blocos de texto não são lidos (carga preguiçosa).
+     * @param onBook Recebe cada livro e a posição (em bytes) do seu registro.
+     * @param onDamage Recebe cada registro danificado (ver {@link #parse}).
+     */
+    static void parseFile(String filename, List<Genre> genres, boolean skipText,
+                          DataManager.RecordHandler onBook, DataManager.DamageHandler onDamage) throws IOException {
+        try (FileChannel channel = FileChannel.open(Path.of(filename), StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > MAX_MAPPED_SIZE) {
+                throw new IOException("Arquivo grande demais para ser mapeado de uma vez: " + size + " bytes");
+            }
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            try {
+                parseAll(mapped, (int) size, genres, skipText, onBook, onDamage);
+            } finally {
+                unmap(mapped);
+            }
+        }
+    }
+
+    /**
+     * Lê todos os registros do buffer, do início ao fim. Um registro que fica aberto no fim
+     * (arquivo truncado) também é informado como danificado.
+     */
+    static void parseAll(ByteBuffer buffer, int size, List<Genre> genres, boolean skipText,
+                         DataManager.RecordHandler onBook, DataManager.DamageHandler onDamage) {
+        MappedBookParser parser = new MappedBookParser(buffer, genres).skipText(skipText).onDamage(onDamage);
+        if (!parser.parse(0, size, 0, onBook)) {
+            onDamage.accept(parser.getOpenRecordStart(), size, "registro incompleto no fim do arquivo");
+        }
+    }
+
+    /**
+     * Lê os registros contidos no trecho {@code [from, to)} do buffer.
+     * 
+     * Registros danificados (valor inválido, bloco de texto sem fechamento, registro sem {@code BOOK_END})
+     * são entregues ao tratador de danos ({@link #onDamage}) com o seu
+     * trecho em bytes, e a leitura continua no próximo registro.
+     * @param from Posição inicial (deve estar no início de uma linha).
+     * @param to Posição final (exclusiva).
+     * @param baseOffset Posição do byte 0 do buffer dentro do arquivo (para calcular os offsets dos registros).
+     * @param onBook Recebe cada livro e a posição (em bytes, relativa ao arquivo) do seu registro.
+     * @return {@code true} se o trecho terminou fora de um registro (nenhum livro ficou pela metade).
+     * Caso contrário, o início do registro aberto fica em {@link #getOpenRecordStart()}.
+     */
+    boolean parse(int from, int to, long baseOffset, DataManager.RecordHandler onBook) {
+        BookBuilder builder = null;
+        int recordStart = 0;
+        String damage = null; // Motivo, se o registro atual estiver danificado
+        int checksumLine = -1; // Início da linha CHECKSUM do registro atual (-1 = registro sem checksum)
+        long expectedChecksum = -1;
+        int pos = from;
+        openRecordStart = -1;
+
+        while (pos < to) {
+            int lineStart = pos;
+            advanceLine(lineStart, to);
+            pos = nextLine;
+            int end = contentEnd(lineStart, lineEnd);
+
+            if (startsWith(lineStart, end, BOOK_START)) {
+                if (builder != null) {
+                    onDamage.accept(baseOffset + recordStart, baseOffset + lineStart, "registro sem " + DataManager.TAG_BOOK_END);
+                }
+                builder = new BookBuilder(); // Inicia um novo livro
+                recordStart = lineStart;
+                damage = null;
+                checksumLine = -1;
+                builder.isEbook = equalsAt(lineStart + BOOK_START.length, end, EBOOK);
+            } else if (equalsAt(lineStart, end, BOOK_END)) {
+                if (builder != null) {
+                    if (damage == null && builder.id == null) {
+                        damage = "registro sem ID";
+                    }
+                    if (damage == null) {
+                        // Lido sem erros: um checksum que não confere (ex: edição à mão) só marca o registro
+                        long checksum = -1;
+                        if (checksumLine >= 0) {
+                            checksum = (expectedChecksum >= 0
+                                    && RecordChecksum.of(buffer, recordStart, checksumLine) == expectedChecksum)
+                                    ? expectedChecksum : RecordChecksum.UNSEALED;
+                        }
+                        onBook.accept(builder.build(), baseOffset + recordStart, baseOffset + pos, checksum);
+                    } else {
+                        onDamage.accept(baseOffset + recordStart, baseOffset + pos, damage);
+                    }
+                    builder = null;
+                }
+            } else if (builder == null) {
+                // Linha fora de um registro (ex: separador em branco): ignorada
+            } else if (equalsAt(lineStart, end, DESCRIPTION_START)
+                    || equalsAt(lineStart, end, QUOTE_START)
+                    || equalsAt(lineStart, end, NOTE_START)
+                    || isBlockStart(lineStart, end)) {
+                if (!readTextBlock(builder, lineStart, end, pos, to)) {
+                    // Bloco sem fechamento: o registro termina onde começa o próximo
+                    int resync = nextRecordStart(pos, to);
+                    if (resync < 0) {
+                        pos = to; // Vai até o fim do trecho: registro fica aberto
+                        break;
+                    }
+                    onDamage.accept(baseOffset + recordStart, baseOffset + resync, "bloco de texto sem fechamento");
+                    builder = null;
+                    pos = resync;
+                    continue;
+                }
+                pos = nextLine;
+            } else if (startsWith(lineStart, end, CHECKSUM)) {
+                checksumLine = lineStart;
+                expectedChecksum = RecordChecksum.parse(string(lineStart + CHECKSUM.length, end));
+            } else {
+                try {
+                    readField(builder, lineStart, end);
+                } catch (IllegalArgumentException e) {
+                    // Valor inválido (número, status): o registro inteiro é descartado
+                    if (damage == null) {
+                        damage = e.getMessage();
+                    }
+                }
+            }
+        }
+        if (builder != null) {
+            openRecordStart = baseOffset + recordStart;
+        }
+        return builder == null;
+    }
+
+    /** Interpreta uma linha de campo simples ({@code TAG: valor}) do registro atual. */
+    private void readField(BookBuilder builder, int lineStart, int end) {
+        if (startsWith(lineStart, end, ID)) {
+            builder.id = string(lineStart + ID.length, end);
+        } else if (startsWith(lineStart, end, TITLE)) {
+            builder.title = string(lineStart + TITLE.length, end);
+        } else if (startsWith(lineStart, end, AUTHOR)) {
+            builder.author = symbols.intern(buffer, lineStart + AUTHOR.length, end);
+        } else if (startsWith(lineStart, end, PUBLISHER)) {
+            builder.publisher = symbols.intern(buffer, lineStart + PUBLISHER.length, end);
+        } else if (startsWith(lineStart, end, TOTAL_PAGES)) {
+            builder.totalPages = parseInt(lineStart + TOTAL_PAGES.length, end);
+        } else if (startsWith(lineStart, end, CURRENT_PAGE)) {
+            builder.currentPage = parseInt(lineStart + CURRENT_PAGE.length, end);
+        } else if (startsWith(lineStart, end, RATING)) {
+            builder.rating = parseInt(lineStart + RATING.length, end);
+        } else if (startsWith(lineStart, end, STATUS)) {
+            builder.status = parseStatus(lineStart + STATUS.length, end);
+        } else if (startsWith(lineStart, end, GENRE_ID)) {
+            builder.genre = symbols.genre(buffer, lineStart + GENRE_ID.length, end);
+        } else if (startsWith(lineStart, end, LOCAL)) {
+            builder.local = symbols.intern(buffer, lineStart + LOCAL.length, end);
+        } else if (startsWith(lineStart, end, DESCRIPTION_DEFLATE)) {
+            // Na carga preguiçosa, os textos compactados também ficam para depois
+            if (!skipText) builder.description = decompress(lineStart + DESCRIPTION_DEFLATE.length, end);
+        } else if (startsWith(lineStart, end, QUOTE_DEFLATE)) {
+            if (!skipText) builder.quotes.add(decompress(lineStart + QUOTE_DEFLATE.length, end));
+        } else if (startsWith(lineStart, end, NOTE_DEFLATE)) {
+            if (!skipText) builder.notes.add(decompress(lineStart + NOTE_DEFLATE.length, end));
+        } else if (!isBlank(lineStart, end)) {
+            // Campo de uma versão mais nova: guardado como está, para ser regravado
+            builder.addUnknownField(string(lineStart, end));
+        }
+    }
+
+    /**
+     * Lê o bloco de texto que começa na linha {@code [lineStart, end)} e o guarda no livro.
+     * @param textFrom Início da primeira linha do conteúdo do bloco.
+     * @return {@code false} se a tag de fechamento não foi encontrada antes de {@code to}.
+     */
+    private boolean readTextBlock(BookBuilder builder, int lineStart, int end, int textFrom, int to) {
+        if (equalsAt(lineStart, end, DESCRIPTION_START)) {
+            String text = readTextBlock(textFrom, to, DESCRIPTION_END);
+            if (text != null && !skipText) builder.description = text;
+            return text != null;
+        } else if (equalsAt(lineStart, end, QUOTE_START)) {
+            String text = readTextBlock(textFrom, to, QUOTE_END);
+            if (text != null && !skipText) builder.quotes.add(text);
+            return text != null;
+        } else if (equalsAt(lineStart, end, NOTE_START)) {
+            String text = readTextBlock(textFrom, to, NOTE_END);
+            if (text != null && !skipText) builder.notes.add(text);
+            return text != null;
+        } else {
+            return readUnknownBlock(builder, lineStart, end, textFrom, to);
+        }
+    }
+
+    /**
+     * Lê um bloco desconhecido ({@code NOME_START ... NOME_END}, de uma versão mais nova) e o guarda
+     * inteiro no livro, com as linhas de abertura e fechamento, como campo desconhecido.
+     * @return {@code false} se a tag de fechamento não foi encontrada antes de {@code to}.
+     */
+    private boolean readUnknownBlock(BookBuilder builder, int lineStart, int end, int textFrom, int to) {
+        byte[] endTag = bytes(DataManager.blockEndTag(string(lineStart, end)));
+        int pos = textFrom;
+        while (pos < to) {
+            int blockLine = pos;
+            advanceLine(blockLine, to);
+            pos = nextLine;
+            int blockLineEnd = contentEnd(blockLine, lineEnd);
+            if (equalsAt(blockLine, blockLineEnd, endTag)) {
+                builder.addUnknownField(text(lineStart, blockLineEnd, true));
+                nextLine = pos;
+                return true;
+            }
+        }
+        nextLine = to;
+        return false;
+    }
+
+    /** Versão em bytes de {@link DataManager#isBlockStart(String)}. */
+    private boolean isBlockStart(int from, int end) {
+        if (end - from <= BLOCK_START_SUFFIX.length || !startsWith(end - BLOCK_START_SUFFIX.length, end, BLOCK_START_SUFFIX)) {
+            return false;
+        }
+        for (int i = from; i < end; i++) {
+            byte b = buffer.get(i);
+            if ((b < 'A' || b > 'Z') && (b < '0' || b > '9') && b != '_') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** @return {@code true} se o trecho {@code [from, to)} só tem espaços. */
+    private boolean isBlank(int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (buffer.get(i) != ' ' && buffer.get(i) != '\t') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** Procura, a partir de {@code from}, a próxima linha {@code BOOK_START:}. Retorna -1 se não houver. */
+    private int nextRecordStart(int from, int to) {
+        int pos = from;
+        while (pos < to) {
+            int lineStart = pos;
+            advanceLine(lineStart, to);
+            pos = nextLine;
+            if (startsWith(lineStart, lineEnd, BOOK_START)) {
+                return lineStart;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @return Posição (no arquivo) do registro que ficou aberto no fim da última leitura,
+     * ou -1 se a leitura terminou fora de um registro.
+     */
+    long getOpenRecordStart() {
+        return openRecordStart;
+    }
+
+    /**
+     * Lê um bloco de texto multilinhas até a linha de fechamento ({@code endTag}).
+     * Assim como a leitura linha a linha, as linhas vazias no início do bloco são descartadas
+     * e as quebras {@code \r\n} viram {@code \n}.
+     * Ao retornar, {@code nextLine} aponta para a linha seguinte à tag de fechamento.
+     * Com {@code skipText}, apenas localiza o fechamento e devolve {@code ""}.
+     * @return O texto, ou {@code null} se a tag de fechamento não foi encontrada.
+     */
+    private String readTextBlock(int from, int to, byte[] endTag) {
+        int textStart = -1; // Primeira linha não vazia do bloco
+        int textEnd = from;
+        boolean hasCarriageReturn = false;
+        int pos = from;
+
+        while (pos < to) {
+            int lineStart = pos;
+            advanceLine(lineStart, to);
+            pos = nextLine;
+            int end = contentEnd(lineStart, lineEnd);
+
+            if (equalsAt(lineStart, end, endTag)) {
+                nextLine = pos;
+                return (textStart < 0 || skipText) ? "" : text(textStart, textEnd, hasCarriageReturn);
+            }
+            if (textStart < 0 && end == lineStart) {
+                continue; // Linha vazia no início do bloco
+            }
+            if (textStart < 0) {
+                textStart = lineStart;
+            }
+            hasCarriageReturn |= (end != lineEnd);
+            textEnd = end;
+        }
+        // Bloco sem fechamento (arquivo truncado ou danificado)
+        nextLine = to;
+        return null;
+    }
+
+    /** Cria a String do trecho de texto, convertendo {@code \r\n} em {@code \n} quando necessário. */
+    private String text(int from, int to, boolean hasCarriageReturn) {
+        if (!hasCarriageReturn) {
+            return string(from, to);
+        }
+        int length = 0;
+        ensureScratch(to - from);
+        for (int i = from; i < to; i++) {
+            byte b = buffer.get(i);
+            if (b == '\r' && i + 1 < to && buffer.get(i + 1) == '\n') {
+                continue;
+            }
+            scratch[length++] = b;
+        }
+        return new String(scratch, 0, length, StandardCharsets.UTF_8);
+    }
+
+    /** Localiza o fim da linha que começa em {@code from}, preenchendo {@code lineEnd} e {@code nextLine}. */
+    private void advanceLine(int from, int to) {
+        int i = from;
+        while (i < to && buffer.get(i) != '\n') {
+            i++;
+        }
+        lineEnd = i;
+        nextLine = (i < to) ? i + 1 : to;
+    }
+
+    /** Fim do conteúdo da linha, ignorando um {@code \r} final. */
+    private int contentEnd(int lineStart, int end) {
+        return (end > lineStart && buffer.get(end - 1) == '\r') ? end - 1 : end;
+    }
+
+    private boolean startsWith(int from, int end, byte[] tag) {
+        if (end - from < tag.length) {
+            return false;
+        }
+        for (int i = 0; i < tag.length; i++) {
+            if (buffer.get(from + i) != tag[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean equalsAt(int from, int end, byte[] tag) {
+        return end - from == tag.length && startsWith(from, end, tag);
+    }
+
+    /** Descompacta o valor em Base64 do trecho {@code [from, to)} ({@link TextCompression}). */
+    private String decompress(int from, int to) {
+        return TextCompression.decompress(buffer.slice(from, to - from));
+    }
+
+    /** Cria uma String (UTF-8) a partir do trecho {@code [from, to)} do buffer. */
+    private String string(int from, int to) {
+        int length = to - from;
+        ensureScratch(length);
+        buffer.get(from, scratch, 0, length);
+        return new String(scratch, 0, length, StandardCharsets.UTF_8);
+    }
+
+    private void ensureScratch(int length) {
+        if (scratch.length < length) {
+            scratch = new byte[Math.max(length, scratch.length * 2)];
+        }
+    }
+
+    /**
+     * Interpreta um inteiro direto dos bytes, sem criar String.
+     * @throws NumberFormatException Se o valor não for um inteiro válido (mesmo comportamento de {@code Integer.parseInt}).
+     */
+    private int parseInt(int from, int to) {
+        boolean negative = from < to && buffer.get(from) == '-';
+        boolean signed = negative || (from < to && buffer.get(from) == '+');
+        int i = signed ? from + 1 : from;
+        if (i >= to || to - i > 10) {
+            return Integer.parseInt(string(from, to)); // Vazio ou longo demais: deixa o JDK validar/lançar o erro
+        }
+        long value = 0;
+        for (; i < to; i++) {
+            int digit = buffer.get(i) - '0';
+            if (digit < 0 || digit > 9) {
+                throw new NumberFormatException("Valor numérico inválido: \"" + string(from, to) + "\"");
+            }
+            value = value * 10 + digit;
+        }
+        value = negative ? -value : value;
+        if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+            throw new NumberFormatException("Valor numérico fora do intervalo: \"" + string(from, to) + "\"");
+        }
+        return (int) value;
+    }
+
+    /**
+     * Identifica o status comparando os bytes com o nome de cada constante do enum.
+     * @throws IllegalArgumentException Se o nome não existir (mesmo comportamento de {@code BookStatus.valueOf}).
+     */
+    private BookStatus parseStatus(int from, int to) {
+        for (int i = 0; i < STATUS_NAMES.length; i++) {
+            if (equalsAt(from, to, STATUS_NAMES[i])) {
+                return STATUS_VALUES[i];
+            }
+        }
+        return BookStatus.valueOf(string(from, to));
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Libera o mapeamento imediatamente, sem esperar o Garbage Collector.
+     * No Windows um arquivo mapeado não pode ser truncado nem substituído, o que quebraria
+     * o salvamento logo após a carga. Se a liberação não for possível, o mapeamento é
+     * liberado normalmente pelo GC.
+     */
+    static void unmap(MappedByteBuffer buffer) {
+        try {
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            Field field = unsafeClass.getDeclaredField("theUnsafe");
+            field.setAccessible(true);
+            Method invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+            invokeCleaner.invoke(field.get(null), buffer);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            // Sem suporte: o GC libera o mapeamento mais tarde
+        }
+    }
+}
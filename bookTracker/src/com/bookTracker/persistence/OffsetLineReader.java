@@ -0,0 +1,133 @@
+package com.bookTracker.persistence;
+
+import java.io.Closeable;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+
+/**
+ * Leitor de linhas (UTF-8) que, ao contrário do {@link java.io.BufferedReader},
+ * informa a posição em bytes de cada linha dentro do arquivo.
+ *
+ * O {@link DataManager} usa essas posições para saber onde cada registro
+ * {@code BOOK_START ... BOOK_END} começa e termina, o que permite regravar
+ * apenas os livros alterados em vez do arquivo inteiro.
+ *
+ * * @author Netto
+ */
+class OffsetLineReader implements Closeable {
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final FileInputStream in;
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private int bufferPos;
+    private int bufferLen;
+
+    /** Acumula os bytes de uma linha que atravessa o fim do buffer. */
+    private byte[] lineBytes = new byte[256];
+
+    /** Tamanho (em bytes, sem o terminador) da última linha lida. */
+    private int lineLength;
+
+    /** Posição (em bytes) do início da última linha lida. */
+    private long lineStart;
+
+    /** Posição (em bytes) logo após o fim da última linha lida (incluindo a quebra de linha). */
+    private long position;
+
+    /**
+     * Abre o arquivo para leitura.
+     * @param filename Caminho do arquivo.
+     */
+    OffsetLineReader(String filename) throws IOException {
+        this.in = new FileInputStream(filename);
+    }
+
+    /**
+     * Lê a próxima linha, sem o terminador ({@code \n} ou {@code \r\n}).
+     * @return A linha lida, ou {@code null} no fim do arquivo.
+     */
+    String readLine() throws IOException {
+        lineStart = position;
+        int length = 0;
+        boolean sawAny = false;
+
+        while (true) {
+            if (bufferPos >= bufferLen) {
+                bufferLen = in.read(buffer);
+                bufferPos = 0;
+                if (bufferLen <= 0) {
+                    bufferLen = 0;
+                    return sawAny ? decode(length) : null; // Última linha sem quebra
+                }
+            }
+            sawAny = true;
+
+            // Procura a quebra de linha dentro do trecho já carregado
+            int start = bufferPos;
+            while (bufferPos < bufferLen && buffer[bufferPos] != '\n') {
+                bufferPos++;
+            }
+            int chunk = bufferPos - start;
+            if (length + chunk > lineBytes.length) {
+                lineBytes = Arrays.copyOf(lineBytes, Math.max(lineBytes.length * 2, length + chunk));
+            }
+            System.arraycopy(buffer, start, lineBytes, length, chunk);
+            length += chunk;
+            position += chunk;
+
+            if (bufferPos < bufferLen) {
+                bufferPos++; // Consome o '\n'
+                position++;
+                return decode(length);
+            }
+        }
+    }
+
+    /** Converte os bytes acumulados em String, descartando um {@code \r} final. */
+    private String decode(int length) {
+        if (length > 0 && lineBytes[length - 1] == '\r') {
+            length--;
+        }
+        lineLength = length;
+        return new String(lineBytes, 0, length, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Acrescenta a última linha lida ao checksum, com a quebra normalizada para {@code \n}
+     * (mesma regra de {@link RecordChecksum}).
+     */
+    void updateChecksum(CRC32 crc) {
+        crc.update(lineBytes, 0, lineLength);
+        crc.update('\n');
+    }
+
+    /**
+     * Reposiciona a leitura em um ponto do arquivo (deve ser o início de uma linha).
+     * @param newPosition Posição em bytes a partir do início do arquivo.
+     */
+    void seek(long newPosition) throws IOException {
+        in.getChannel().position(newPosition);
+        bufferPos = 0;
+        bufferLen = 0;
+        position = newPosition;
+        lineStart = newPosition;
+    }
+
+    /** @return Posição (em bytes) do início da última linha lida. */
+    long getLineStart() {
+        return lineStart;
+    }
+
+    /** @return Posição (em bytes) logo após a última linha lida. */
+    long getPosition() {
+        return position;
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+}
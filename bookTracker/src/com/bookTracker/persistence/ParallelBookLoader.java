@@ -0,0 +1,231 @@
+package com.bookTracker.persistence;
+
+import com.bookTracker.model.Book;
+import com.bookTracker.model.Genre;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Carrega o {@code books.txt} em paralelo, usando todos os núcleos do processador.
+ *
+ * Como cada livro é um bloco independente ({@code BOOK_START ... BOOK_END}), o arquivo
+ * mapeado em memória é dividido em trechos que sempre começam em uma linha {@code BOOK_START:}
+ * logo após um {@code BOOK_END}. Cada trecho é lido por um {@link MappedBookParser} próprio
+ * em um {@link ForkJoinPool}, e os resultados são juntados na ordem original do arquivo.
+ *
+ * Se algum trecho terminar com um livro pela metade (ex: uma descrição que contém uma linha
+ * {@code BOOK_START:}), a divisão não é confiável e o arquivo é lido de forma sequencial.
+ *
+ * * @author Netto
+ */
+class ParallelBookLoader {
+
+    /** Tamanho mínimo de cada trecho; abaixo disso o custo de coordenação não compensa. */
+    private static final int MIN_CHUNK_SIZE = 1024 * 1024;
+
+    /** Trechos por núcleo, para equilibrar a carga quando os livros têm tamanhos diferentes. */
+    private static final int CHUNKS_PER_THREAD = 4;
+
+    private static final byte[] BOOK_START = DataManager.TAG_BOOK_START.getBytes(StandardCharsets.UTF_8);
+    private static final byte[] BOOK_END = DataManager.TAG_BOOK_END.getBytes(StandardCharsets.UTF_8);
+
+    /**
+     * Mapeia o arquivo e lê todos os registros em paralelo.
+     * Os livros são entregues ao {@code onBook} na mesma ordem do arquivo, sempre na thread chamadora.
+     * @param filename Caminho do {@code books.txt}.
+     * @param genres Lista de gêneros para vincular os livros.
+     * @param skipText Se verdadeiro, os blocos de texto não são lidos (carga preguiçosa).
+     * @param onBook Recebe cada livro e a posição (em bytes) do seu registro.
+     * @param onDamage Recebe cada registro danificado, também na ordem do arquivo e na thread chamadora.
+     */
+    static void parseFile(String filename, List<Genre> genres, boolean skipText,
+                          DataManager.RecordHandler onBook, DataManager.DamageHandler onDamage) throws IOException {
+        try (FileChannel channel = FileChannel.open(Path.of(filename), StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > MappedBookParser.MAX_MAPPED_SIZE) {
+                throw new IOException("Arquivo grande demais para ser mapeado de uma vez: " + size + " bytes");
+            }
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            try {
+                parse(mapped, (int) size, genres, skipText, onBook, onDamage);
+            } finally {
+                MappedBookParser.unmap(mapped);
+            }
+        }
+    }
+
+    private static void parse(ByteBuffer buffer, int size, List<Genre> genres, boolean skipText,
+                              DataManager.RecordHandler onBook, DataManager.DamageHandler onDamage) {
+        List<Integer> boundaries = splitPoints(buffer, size);
+        if (boundaries.size() <= 2) {
+            MappedBookParser.parseAll(buffer, size, genres, skipText, onBook, onDamage); // Um trecho só
+            return;
+        }
+
+        // 1. Dispara a leitura de cada trecho no pool
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+        List<ForkJoinTask<Chunk>> tasks = new ArrayList<>(boundaries.size() - 1);
+        for (int i = 0; i + 1 < boundaries.size(); i++) {
+            int from = boundaries.get(i);
+            int to = boundaries.get(i + 1);
+            tasks.add(pool.submit(() -> Chunk.read(buffer, from, to, genres, skipText)));
+        }
+
+        // 2. Aguarda todos os trechos, na ordem do arquivo
+        List<Chunk> chunks = new ArrayList<>(tasks.size());
+        boolean clean = true;
+        for (ForkJoinTask<Chunk> task : tasks) {
+            Chunk chunk = task.join();
+            clean &= chunk.clean;
+            chunks.add(chunk);
+        }
+
+        if (!clean) {
+            // Divisão caiu no meio de um registro: descarta e lê sequencialmente
+            MappedBookParser.parseAll(buffer, size, genres, skipText, onBook, onDamage);
+            return;
+        }
+
+        // 3. Junta os resultados preservando a ordem original
+        for (Chunk chunk : chunks) {
+            for (int i = 0; i < chunk.books.size(); i++) {
+                onBook.accept(chunk.books.get(i), chunk.starts[i], chunk.ends[i], chunk.checksums[i]);
+            }
+            for (Damage damage : chunk.damages) {
+                onDamage.accept(damage.start, damage.end, damage.reason);
+            }
+        }
+    }
+
+    /**
+     * Calcula os pontos de divisão do arquivo (sempre inclui 0 e {@code size}).
+     * Cada ponto intermediário é o início de uma linha {@code BOOK_START:} cuja linha
+     * não vazia anterior é {@code BOOK_END}.
+     */
+    private static List<Integer> splitPoints(ByteBuffer buffer, int size) {
+        int threads = ForkJoinPool.commonPool().getParallelism();
+        int chunkSize = Math.max(MIN_CHUNK_SIZE, size / Math.max(1, threads * CHUNKS_PER_THREAD));
+
+        List<Integer> points = new ArrayList<>();
+        points.add(0);
+        int target = chunkSize;
+        while (target < size) {
+            int boundary = nextRecordStart(buffer, target, size);
+            if (boundary >= size) {
+                break;
+            }
+            points.add(boundary);
+            target = boundary + chunkSize;
+        }
+        points.add(size);
+        return points;
+    }
+
+    /** Procura, a partir de {@code from}, o início do próximo registro seguro para divisão. */
+    private static int nextRecordStart(ByteBuffer buffer, int from, int size) {
+        int pos = from;
+        // Avança até o início da próxima linha
+        while (pos < size && buffer.get(pos - 1) != '\n') {
+            pos++;
+        }
+        while (pos < size) {
+            if (matches(buffer, pos, size, BOOK_START) && previousLineIsBookEnd(buffer, pos)) {
+                return pos;
+            }
+            while (pos < size && buffer.get(pos) != '\n') {
+                pos++;
+            }
+            pos++;
+        }
+        return size;
+    }
+
+    /** Verifica se a última linha não vazia antes de {@code lineStart} é {@code BOOK_END}. */
+    private static boolean previousLineIsBookEnd(ByteBuffer buffer, int lineStart) {
+        int end = lineStart - 1; // '\n' da linha anterior
+        // Pula linhas em branco (separadores e espaço apagado pelo salvamento incremental)
+        while (end > 0 && isBlank(buffer.get(end - 1))) {
+            end--;
+        }
+        int start = end;
+        while (start > 0 && buffer.get(start - 1) != '\n') {
+            start--;
+        }
+        return end - start == BOOK_END.length && matches(buffer, start, end, BOOK_END);
+    }
+
+    private static boolean isBlank(byte b) {
+        return b == '\n' || b == '\r' || b == ' ';
+    }
+
+    private static boolean matches(ByteBuffer buffer, int pos, int limit, byte[] tag) {
+        if (limit - pos < tag.length) {
+            return false;
+        }
+        for (int i = 0; i < tag.length; i++) {
+            if (buffer.get(pos + i) != tag[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Resultado da leitura de um trecho: livros na ordem do arquivo, com a posição e o checksum de cada registro.
+     */
+    private static class Chunk {
+        final List<Book> books = new ArrayList<>();
+        final List<Damage> damages = new ArrayList<>();
+        long[] starts = new long[16];
+        long[] ends = new long[16];
+        long[] checksums = new long[16];
+        boolean clean;
+
+        static Chunk read(ByteBuffer buffer, int from, int to, List<Genre> genres, boolean skipText) {
+            Chunk chunk = new Chunk();
+            chunk.clean = new MappedBookParser(buffer, genres).skipText(skipText)
+                    .onDamage((start, end, reason) -> chunk.damages.add(new Damage(start, end, reason)))
+                    .parse(from, to, 0, chunk::add);
+            return chunk;
+        }
+
+        private void add(Book book, long start, long end, long checksum) {
+            int i = books.size();
+            if (i == starts.length) {
+                starts = Arrays.copyOf(starts, i * 2);
+                ends = Arrays.copyOf(ends, i * 2);
+                checksums = Arrays.copyOf(checksums, i * 2);
+            }
+            starts[i] = start;
+            ends[i] = end;
+            checksums[i] = checksum;
+            books.add(book);
+        }
+    }
+
+    /**
+     * Registro danificado encontrado em um trecho, guardado até a entrega na thread chamadora.
+     */
+    private static class Damage {
+        final long start;
+        final long end;
+        final String reason;
+
+        Damage(long start, long end, String reason) {
+            this.start = start;
+            this.end = end;
+            this.reason = reason;
+        }
+    }
+}
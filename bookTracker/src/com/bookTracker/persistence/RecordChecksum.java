@@ -0,0 +1,74 @@
+package com.bookTracker.persistence;
+
+import java.nio.ByteBuffer;
+import java.util.zip.CRC32;
+
+/**
+ * Soma de verificação (CRC-32) de um registro de livro.
+ *
+ * Cada registro gravado termina com uma linha {@code CHECKSUM: xxxxxxxx} logo antes de {@code BOOK_END}.
+ * O valor cobre todos os bytes desde a linha {@code BOOK_START} até a linha anterior ao {@code CHECKSUM},
+ * com as quebras de linha normalizadas para {@code \n} (um {@code \r} antes de {@code \n} é ignorado),
+ * para que o arquivo continue válido se for convertido entre os padrões Windows e Linux.
+ *
+ * Registros antigos, sem a linha {@code CHECKSUM}, continuam sendo aceitos sem verificação.
+ * Um registro que é lido sem nenhum erro, mas cujo checksum não confere (ex: editado à mão), também é aceito:
+ * a leitura o entrega marcado com {@link #UNSEALED}, para que seja regravado com um checksum novo.
+ *
+ * * @author Netto
+ */
+final class RecordChecksum {
+
+    /**
+     * Valor entregue no lugar do checksum de um registro lido sem erros, mas cujo checksum não confere
+     * ou está ilegível (-1 continua significando "registro sem checksum").
+     */
+    static final long UNSEALED = -2;
+
+    private RecordChecksum() {
+    }
+
+    /** Calcula o CRC dos bytes {@code [from, to)}, ignorando {@code \r} antes de {@code \n}. */
+    static long of(byte[] bytes, int from, int to) {
+        return of(ByteBuffer.wrap(bytes), from, to);
+    }
+
+    /** Calcula o CRC do trecho {@code [from, to)} do buffer, ignorando {@code \r} antes de {@code \n}. */
+    static long of(ByteBuffer buffer, int from, int to) {
+        CRC32 crc = new CRC32();
+        ByteBuffer view = buffer.duplicate();
+        int segmentStart = from;
+        for (int i = from; i < to; i++) {
+            if (buffer.get(i) == '\r' && i + 1 < to && buffer.get(i + 1) == '\n') {
+                update(crc, view, segmentStart, i);
+                segmentStart = i + 1; // Continua a partir do '\n'
+            }
+        }
+        update(crc, view, segmentStart, to);
+        return crc.getValue();
+    }
+
+    private static void update(CRC32 crc, ByteBuffer view, int from, int to) {
+        if (to > from) {
+            view.limit(to).position(from);
+            crc.update(view);
+        }
+    }
+
+    /** Formata o CRC como 8 dígitos hexadecimais (valor gravado na linha {@code CHECKSUM}). */
+    static String format(long checksum) {
+        return String.format("%08x", checksum);
+    }
+
+    /**
+     * Interpreta o valor gravado na linha {@code CHECKSUM}.
+     * @return O CRC, ou -1 se o valor não for um número hexadecimal válido.
+     */
+    static long parse(String value) {
+        try {
+            return (value.length() == 8) ? Long.parseLong(value, 16) : -1;
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,595 @@
+package com.bookTracker.persistence;
+
+import com.bookTracker.model.Book;
+import com.bookTracker.model.Genre;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.BiFunction;
+import java.util.stream.Stream;
+
+/**
+ * Armazenamento em arquivos de texto dividido por gênero: cada gênero tem o seu próprio segmento
+ * (um {@code books.txt} com journal, índice e bloqueio próprios, gerenciado por um {@link DataManager}).
+ * Livros sem gênero ficam em um segmento à parte, que também guarda o arquivo de gêneros.
+ *
+ * Estrutura do diretório:
+ * manifest.txt: Lista dos segmentos, na ordem em que foram criados ({@code SEGMENT: <ID do gênero> ; <arquivo>}).
+ * genre-&lt;ID&gt;.txt: Segmento de um gênero (mais os seus arquivos auxiliares: .journal, .idx, .lock).
+ * no-genre.txt: Segmento dos livros sem gênero.
+ * manifest.lock: Bloqueio entre processos do manifesto.
+ *
+ * Vantagens em bibliotecas grandes:
+ * Os segmentos são carregados em paralelo, cada um pelo seu próprio leitor.
+ * Um salvamento incremental regrava apenas os segmentos dos livros alterados.
+ * Os livros de um gênero podem ser lidos sem abrir os demais segmentos ({@link #streamBooksByGenre(Genre, List)}).
+ *
+ * Um livro que muda de gênero muda de segmento: primeiro é gravado no novo, depois excluído do antigo.
+ * Se uma queda acontecer entre as duas gravações, a carga fica com a cópia do segmento do gênero atual.
+ * A ordem dos livros na carga segue a ordem dos segmentos no manifesto (os livros vêm agrupados por gênero).
+ *
+ * * @author Netto
+ */
+public class ShardedDataManager implements BookRepository, GenreRepository {
+
+    /** Chave do segmento dos livros sem gênero. */
+    private static final String NO_GENRE_KEY = "-";
+    private static final String NO_GENRE_FILE = "no-genre.txt";
+
+    private static final String MANIFEST_FILE = "manifest.txt";
+    private static final String MANIFEST_LOCK_FILE = "manifest.lock";
+    private static final String TAG_MANIFEST_VERSION = "MANIFEST_VERSION: ";
+    private static final String TAG_SEGMENT = "SEGMENT: ";
+    private static final String SEPARATOR = " ; ";
+    private static final int MANIFEST_VERSION = 1;
+
+    private final File directory;
+    private final String genresFilename;
+    private final String manifestFilename;
+    private final LibraryLock manifestLock;
+
+    /** Segmentos abertos (chave -> armazenamento), na ordem do manifesto. */
+    private final Map<String, DataManager> segments = new LinkedHashMap<>();
+
+    /** Segmento em que cada livro conhecido está gravado (ID do livro -> chave do segmento). */
+    private final Map<String, String> bookSegments = new ConcurrentHashMap<>();
+
+    /** Geração do {@code manifest.lock} na última leitura ou gravação do manifesto. */
+    private long knownManifestGeneration = -1;
+
+    // Configurações repassadas a cada segmento (inclusive aos criados depois)
+    private boolean mappedLoading = true;
+    private boolean parallelLoading = true;
+    private boolean lazyTextLoading = false;
+    /** Compactação dos textos ({@code null}: nenhuma escolhida, cada segmento segue o seu cabeçalho). */
+    private Boolean textCompression = null;
+    private boolean recoveryMode = true;
+    private boolean damageRepair = false;
+
+    /**
+     * Construtor do armazenamento dividido por gênero.
+     * @param directory Diretório dos segmentos e do manifesto (criado se não existir).
+     * @param genresFilename Caminho/Nome do arquivo onde os gêneros são salvos.
+     */
+    public ShardedDataManager(String directory, String genresFilename) {
+        this.directory = new File(directory);
+        this.genresFilename = genresFilename;
+        this.manifestFilename = new File(this.directory, MANIFEST_FILE).getPath();
+        this.manifestLock = LibraryLock.forFile(new File(this.directory, MANIFEST_LOCK_FILE).getPath());
+        if (!this.directory.isDirectory() && !this.directory.mkdirs()) {
+            System.err.println("Erro ao criar o diretório dos segmentos: " + directory);
+        }
+    }
+
+    /** @return {@code true} se o diretório já tem um manifesto (a biblioteca já foi gravada por inteiro neste formato). */
+    public boolean exists() {
+        return new File(manifestFilename).exists();
+    }
+
+    /** @see DataManager#setMappedLoading(boolean) */
+    public synchronized void setMappedLoading(boolean mappedLoading) {
+        this.mappedLoading = mappedLoading;
+        segments.values().forEach(segment -> segment.setMappedLoading(mappedLoading));
+    }
+
+    /**
+     * Define se cada segmento grande deve ser lido em paralelo ({@link DataManager#setParallelLoading(boolean)}).
+     * Os segmentos em si são sempre carregados em paralelo entre si.
+     */
+    public synchronized void setParallelLoading(boolean parallelLoading) {
+        this.parallelLoading = parallelLoading;
+        segments.values().forEach(segment -> segment.setParallelLoading(parallelLoading));
+    }
+
+    /** @see DataManager#setLazyTextLoading(boolean) */
+    public synchronized void setLazyTextLoading(boolean lazyTextLoading) {
+        this.lazyTextLoading = lazyTextLoading;
+        segments.values().forEach(segment -> segment.setLazyTextLoading(lazyTextLoading));
+    }
+
+    /** @see DataManager#setTextCompression(boolean) */
+    @Override
+    public synchronized void setTextCompression(boolean textCompression) {
+        this.textCompression = textCompression;
+        segments.values().forEach(segment -> segment.setTextCompression(textCompression));
+    }
+
+    /** @return A compactação escolhida ou, sem escolha, a gravada no segmento dos livros sem gênero. */
+    @Override
+    public synchronized boolean isTextCompression() {
+        return (textCompression != null) ? textCompression : segment(NO_GENRE_KEY).isTextCompression();
+    }
+
+    /** @see DataManager#setRecoveryMode(boolean) */
+    public synchronized void setRecoveryMode(boolean recoveryMode) {
+        this.recoveryMode = recoveryMode;
+        segments.values().forEach(segment -> segment.setRecoveryMode(recoveryMode));
+    }
+
+    /** @see DataManager#setDamageRepair(boolean) */
+    public synchronized void setDamageRepair(boolean damageRepair) {
+        this.damageRepair = damageRepair;
+        segments.values().forEach(segment -> segment.setDamageRepair(damageRepair));
+    }
+
+    /** @return Os trechos danificados encontrados na última carga de cada segmento. */
+    public List<DamagedRecord> getDamagedRecords() {
+        List<DamagedRecord> damaged = new ArrayList<>();
+        openSegments().forEach(segment -> damaged.addAll(segment.getDamagedRecords()));
+        return damaged;
+    }
+
+    // ========================================================================
+    // == MÉTODOS DE GÊNEROS
+    // ========================================================================
+
+    // Os gêneros ficam com o segmento dos livros sem gênero, que sempre existe
+
+    @Override
+    public List<Genre> loadGenres() {
+        return segment(NO_GENRE_KEY).loadGenres();
+    }
+
+    @Override
+    public void saveGenres(List<Genre> genreList) {
+        segment(NO_GENRE_KEY).saveGenres(genreList);
+    }
+
+    @Override
+    public void appendGenre(Genre genre) {
+        segment(NO_GENRE_KEY).appendGenre(genre);
+    }
+
+    // ========================================================================
+    // == MÉTODOS DE LIVROS
+    // ========================================================================
+
+    /**
+     * Carrega os livros de todos os segmentos, em paralelo.
+     * @param genres A lista de gêneros já carregada.
+     * @return Os livros, agrupados por segmento na ordem do manifesto.
+     */
+    @Override
+    public List<Book> loadBooks(List<Genre> genres) {
+        readManifest();
+        List<String> keys = segmentKeys();
+        List<List<Book>> loaded = forEachSegment(keys, (key, segment) -> segment.loadBooks(genres));
+
+        // Junta os segmentos. Um livro em dois segmentos (queda no meio de uma troca de gênero)
+        // fica com a cópia do segmento do seu gênero atual.
+        Map<String, Book> books = new LinkedHashMap<>();
+        bookSegments.clear();
+        for (int i = 0; i < keys.size(); i++) {
+            String key = keys.get(i);
+            for (Book book : loaded.get(i)) {
+                String previous = bookSegments.get(book.getId());
+                if (previous == null || key.equals(segmentKey(book))) {
+                    books.put(book.getId(), book);
+                    bookSegments.put(book.getId(), key);
+                }
+            }
+        }
+        return new ArrayList<>(books.values());
+    }
+
+    /**
+     * Carrega um único livro pelo ID. Se o segmento do livro é conhecido (carga anterior), apenas ele é consultado.
+     */
+    @Override
+    public Book loadBook(String id, List<Genre> genres) {
+        String known = bookSegments.get(id);
+        if (known != null) {
+            Book book = segment(known).loadBook(id, genres);
+            if (book != null) {
+                return book;
+            }
+        }
+        readManifest();
+        Book found = null;
+        for (String key : segmentKeys()) {
+            Book book = segment(key).loadBook(id, genres);
+            if (book != null && (found == null || key.equals(segmentKey(book)))) {
+                found = book;
+            }
+        }
+        return found;
+    }
+
+    /** Lê os livros de todos os segmentos, um segmento depois do outro. */
+    @Override
+    public Stream<Book> streamBooks(List<Genre> genres) {
+        readManifest();
+        return segmentKeys().stream().flatMap(key -> segment(key).streamBooks(genres));
+    }
+
+    /**
+     * Lê apenas o segmento do gênero, sem abrir os demais.
+     * @param genre O gênero; {@code null} lê os livros sem gênero.
+     */
+    @Override
+    public Stream<Book> streamBooksByGenre(Genre genre, List<Genre> genres) {
+        readManifest();
+        String key = segmentKey(genre);
+        if (!segmentKeys().contains(key)) {
+            return Stream.empty();
+        }
+        // Cópias deixadas por uma troca de gênero interrompida não pertencem a este segmento
+        return segment(key).streamBooks(genres).filter(book -> key.equals(segmentKey(book)));
+    }
+
+    /**
+     * Salvamento completo: cada segmento é regravado com os seus livros, em paralelo.
+     * Segmentos que ficaram vazios são esvaziados e saem do manifesto.
+     * Na primeira gravação (ex: a divisão do {@code books.txt}), o manifesto só é criado depois de todos os
+     * segmentos: uma divisão interrompida não deixa {@link #exists()} verdadeiro e é refeita por inteiro.
+     */
+    @Override
+    public void saveBooks(List<Book> bookList) {
+        Map<String, List<Book>> groups = groupBySegment(bookList);
+        // Os segmentos novos entram no manifesto antes de serem gravados, e os vazios só saem depois:
+        // uma queda no meio nunca deixa livros gravados fora do manifesto
+        if (exists()) {
+            registerSegments(groups.keySet(), false);
+        }
+        Set<String> keys = new LinkedHashSet<>(groups.keySet());
+        keys.addAll(segmentKeys());
+        forEachSegment(new ArrayList<>(keys), (key, segment) -> {
+            segment.saveBooks(groups.getOrDefault(key, Collections.emptyList()));
+            return null;
+        });
+        registerSegments(groups.keySet(), true); // Sem manifesto antes, é aqui que ele é criado
+        bookSegments.clear();
+        groups.forEach((key, books) -> books.forEach(book -> bookSegments.put(book.getId(), key)));
+    }
+
+    /**
+     * Salvamento incremental: apenas os segmentos que têm livros alterados ou excluídos são regravados.
+     * Um livro que mudou de gênero é gravado no segmento novo e excluído do antigo.
+     */
+    @Override
+    public boolean saveChangedBooks(Collection<Book> changedBooks, Collection<String> deletedBookIds) {
+        Map<String, List<Book>> changed = groupBySegment(changedBooks);
+        Map<String, List<String>> deleted = new LinkedHashMap<>();
+        for (Book book : changedBooks) {
+            String previous = bookSegments.get(book.getId());
+            if (previous != null && !previous.equals(segmentKey(book))) {
+                deleted.computeIfAbsent(previous, key -> new ArrayList<>()).add(book.getId());
+            }
+        }
+        for (String id : deletedBookIds) {
+            for (String key : segmentsOf(id)) {
+                deleted.computeIfAbsent(key, k -> new ArrayList<>()).add(id);
+            }
+        }
+        registerSegments(changed.keySet(), false);
+
+        // Primeiro as gravações, depois as exclusões (ver a troca de gênero na documentação da classe)
+        List<String> keys = new ArrayList<>(changed.keySet());
+        deleted.keySet().stream().filter(key -> !changed.containsKey(key)).forEach(keys::add);
+        List<Boolean> results = forEachSegment(keys, (key, segment) -> segment.saveChangedBooks(
+                changed.getOrDefault(key, Collections.emptyList()),
+                deleted.getOrDefault(key, Collections.emptyList())));
+        if (results.contains(Boolean.FALSE)) {
+            return false;
+        }
+        changed.forEach((key, books) -> books.forEach(book -> bookSegments.put(book.getId(), key)));
+        deletedBookIds.forEach(bookSegments::remove);
+        return true;
+    }
+
+    @Override
+    public void appendBookUpsert(Book book) {
+        String key = segmentKey(book);
+        registerSegments(Collections.singleton(key), false);
+        segment(key).appendBookUpsert(book);
+        String previous = bookSegments.put(book.getId(), key);
+        if (previous != null && !previous.equals(key)) {
+            segment(previous).appendBookDelete(book.getId()); // Mudou de gênero
+        }
+    }
+
+    /** Cada segmento registra a sua parte do lote no próprio journal. */
+    @Override
+    public boolean appendBookUpserts(Collection<Book> books) {
+        Map<String, List<Book>> changed = groupBySegment(books);
+        registerSegments(changed.keySet(), false);
+        List<Boolean> results = forEachSegment(new ArrayList<>(changed.keySet()),
+                (key, segment) -> segment.appendBookUpserts(changed.get(key)));
+        if (results.contains(Boolean.FALSE)) {
+            return false;
+        }
+        changed.forEach((key, group) -> group.forEach(book -> {
+            String previous = bookSegments.put(book.getId(), key);
+            if (previous != null && !previous.equals(key)) {
+                segment(previous).appendBookDelete(book.getId()); // Mudou de gênero
+            }
+        }));
+        return true;
+    }
+
+    @Override
+    public void appendBookDelete(String bookId) {
+        for (String key : segmentsOf(bookId)) {
+            segment(key).appendBookDelete(bookId);
+        }
+        bookSegments.remove(bookId);
+    }
+
+    // ========================================================================
+    // == JOURNAL E ACESSO POR VÁRIOS PROCESSOS
+    // ========================================================================
+
+    @Override
+    public int getJournalRecordCount() {
+        return openSegments().stream().mapToInt(DataManager::getJournalRecordCount).sum();
+    }
+
+    @Override
+    public long getJournalSize() {
+        return openSegments().stream().mapToLong(DataManager::getJournalSize).sum();
+    }
+
+    /** Consolida o journal de cada segmento que tiver alterações pendentes. */
+    @Override
+    public boolean compactJournal() {
+        boolean compacted = true;
+        for (DataManager segment : openSegments()) {
+            if (segment.getJournalRecordCount() > 0 || segment.getJournalSize() > 0) {
+                compacted &= segment.compactJournal();
+            }
+        }
+        return compacted;
+    }
+
+    @Override
+    public boolean hasExternalChanges() {
+        if (manifestLock.peekGeneration() != knownManifestGeneration) {
+            return true;
+        }
+        return openSegments().stream().anyMatch(DataManager::hasExternalChanges);
+    }
+
+    /**
+     * Traz as alterações de outros processos: de cada segmento conhecido, só o que mudou;
+     * de um segmento criado por outro processo, todos os livros.
+     */
+    @Override
+    public LibraryChanges refresh(List<Genre> genres) {
+        Set<String> before = new HashSet<>(segmentKeys());
+        readManifest();
+        Map<String, Book> changes = new LinkedHashMap<>();
+        for (String key : segmentKeys()) {
+            DataManager segment = segment(key);
+            if (!before.contains(key)) {
+                for (Book book : segment.loadBooks(genres)) {
+                    changes.put(book.getId(), book);
+                    bookSegments.put(book.getId(), key);
+                }
+                continue;
+            }
+            LibraryChanges segmentChanges = segment.refresh(genres);
+            // Uma troca de gênero aparece como exclusão em um segmento e alteração em outro: vale a alteração
+            for (String id : segmentChanges.getDeletedBookIds()) {
+                if (key.equals(bookSegments.get(id))) {
+                    changes.putIfAbsent(id, null);
+                }
+            }
+            for (Book book : segmentChanges.getChangedBooks()) {
+                changes.put(book.getId(), book);
+                bookSegments.put(book.getId(), key);
+            }
+        }
+        changes.forEach((id, book) -> {
+            if (book == null) bookSegments.remove(id);
+        });
+        return new LibraryChanges(changes);
+    }
+
+    // ========================================================================
+    // == SEGMENTOS E MANIFESTO
+    // ========================================================================
+
+    /** @return A chave do segmento de um livro (o ID do seu gênero). */
+    private static String segmentKey(Book book) {
+        return segmentKey(book.getGenre());
+    }
+
+    private static String segmentKey(Genre genre) {
+        return (genre == null) ? NO_GENRE_KEY : genre.getId();
+    }
+
+    /** Nome do arquivo do segmento. Caracteres que não servem em nomes de arquivo viram {@code _}. */
+    private static String segmentFilename(String key) {
+        if (key.equals(NO_GENRE_KEY)) {
+            return NO_GENRE_FILE;
+        }
+        return "genre-" + key.replaceAll("[^A-Za-z0-9_-]", "_") + ".txt";
+    }
+
+    /** @return O armazenamento do segmento (aberto na primeira vez, com as configurações atuais). */
+    private synchronized DataManager segment(String key) {
+        DataManager segment = segments.get(key);
+        if (segment == null) {
+            File file = new File(directory, segmentFilename(key));
+            segment = new DataManager(file.getPath(), genresFilename);
+            segment.setMappedLoading(mappedLoading);
+            segment.setParallelLoading(parallelLoading);
+            segment.setLazyTextLoading(lazyTextLoading);
+            if (textCompression != null) {
+                segment.setTextCompression(textCompression);
+            } else if (!key.equals(NO_GENRE_KEY) && !file.exists()) {
+                // Segmento novo: segue a opção gravada na biblioteca
+                segment.setTextCompression(segment(NO_GENRE_KEY).isTextCompression());
+            }
+            segment.setRecoveryMode(recoveryMode);
+            segment.setDamageRepair(damageRepair);
+            segments.put(key, segment);
+        }
+        return segment;
+    }
+
+    private synchronized List<String> segmentKeys() {
+        return new ArrayList<>(segments.keySet());
+    }
+
+    private synchronized List<DataManager> openSegments() {
+        return new ArrayList<>(segments.values());
+    }
+
+    /** Segmentos onde um livro pode estar: o conhecido ou, se não houver, todos. */
+    private List<String> segmentsOf(String bookId) {
+        String known = bookSegments.get(bookId);
+        return (known != null) ? Collections.singletonList(known) : segmentKeys();
+    }
+
+    /** Agrupa os livros pela chave do segmento, mantendo a ordem da lista. */
+    private static Map<String, List<Book>> groupBySegment(Collection<Book> books) {
+        Map<String, List<Book>> groups = new LinkedHashMap<>();
+        for (Book book : books) {
+            groups.computeIfAbsent(segmentKey(book), key -> new ArrayList<>()).add(book);
+        }
+        return groups;
+    }
+
+    /**
+     * Executa a mesma operação em vários segmentos ao mesmo tempo.
+     * @return Os resultados, na ordem das chaves.
+     */
+    private <T> List<T> forEachSegment(List<String> keys, BiFunction<String, DataManager, T> action) {
+        if (keys.size() == 1) {
+            return Collections.singletonList(action.apply(keys.get(0), segment(keys.get(0))));
+        }
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+        List<ForkJoinTask<T>> tasks = new ArrayList<>(keys.size());
+        for (String key : keys) {
+            DataManager segment = segment(key);
+            tasks.add(pool.submit(() -> action.apply(key, segment)));
+        }
+        List<T> results = new ArrayList<>(tasks.size());
+        for (ForkJoinTask<T> task : tasks) {
+            results.add(task.join());
+        }
+        return results;
+    }
+
+    /**
+     * Lê o manifesto e deixa abertos exatamente os segmentos listados nele, na mesma ordem
+     * (os que já estavam abertos são reaproveitados). Sem manifesto, só existe o segmento dos livros sem gênero.
+     */
+    private void readManifest() {
+        List<String> keys = new ArrayList<>();
+        try (LibraryLock.Hold hold = manifestLock.shared()) {
+            long generation = hold.generation();
+            File file = new File(manifestFilename);
+            if (file.exists()) {
+                try (BufferedReader reader = new BufferedReader(new FileReader(file, StandardCharsets.UTF_8))) {
+                    String line;
+                    while ((line = reader.readLine()) != null) {
+                        if (line.startsWith(TAG_SEGMENT)) {
+                            String[] parts = line.substring(TAG_SEGMENT.length()).split(SEPARATOR, -1);
+                            keys.add(parts[0]);
+                        }
+                    }
+                } catch (IOException e) {
+                    System.err.println("Erro ao ler o manifesto dos segmentos: " + e.getMessage());
+                }
+            }
+            synchronized (this) {
+                knownManifestGeneration = generation;
+                if (!keys.contains(NO_GENRE_KEY)) {
+                    keys.add(0, NO_GENRE_KEY);
+                }
+                Map<String, DataManager> open = new HashMap<>(segments);
+                segments.clear();
+                for (String key : keys) {
+                    DataManager segment = open.get(key);
+                    if (segment != null) {
+                        segments.put(key, segment);
+                    } else {
+                        segment(key);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Inclui segmentos novos no manifesto (e, com {@code replace}, retira os que não estão na lista).
+     * O manifesto é relido com o bloqueio exclusivo, para não perder segmentos criados por outro processo.
+     */
+    private void registerSegments(Set<String> keys, boolean replace) {
+        synchronized (this) {
+            if (!replace && segments.keySet().containsAll(keys) && new File(manifestFilename).exists()) {
+                return; // Nada novo (caso comum)
+            }
+        }
+        try (LibraryLock.Hold hold = manifestLock.exclusive()) {
+            long generation = hold.generation();
+            if (generation != knownManifestGeneration) {
+                readManifest(); // Segmentos criados por outro processo
+            }
+            List<String> listed;
+            synchronized (this) {
+                keys.forEach(this::segment);
+                if (replace) {
+                    segments.keySet().removeIf(key -> !key.equals(NO_GENRE_KEY) && !keys.contains(key));
+                }
+                listed = new ArrayList<>(segments.keySet());
+            }
+            AtomicFileWriter.write(manifestFilename, out -> {
+                BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+                writer.write(TAG_MANIFEST_VERSION + MANIFEST_VERSION);
+                writer.newLine();
+                for (String key : listed) {
+                    writer.write(TAG_SEGMENT + key + SEPARATOR + segmentFilename(key));
+                    writer.newLine();
+                }
+                writer.flush();
+            });
+            synchronized (this) {
+                knownManifestGeneration = generation + 1; // O incremento feito por esta gravação, ao liberar o bloqueio
+            }
+        } catch (IOException | UncheckedIOException e) {
+            System.err.println("Erro ao gravar o manifesto dos segmentos: " + e.getMessage());
+        }
+    }
+}
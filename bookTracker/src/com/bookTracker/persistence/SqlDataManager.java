@@ -0,0 +1,887 @@
+package com.bookTracker.persistence;
+
+import com.bookTracker.model.Book;
+import com.bookTracker.model.BookStatus;
+import com.bookTracker.model.Ebook;
+import com.bookTracker.model.Genre;
+import com.bookTracker.model.LazyTextSource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Gerencia a persistência em um banco de dados SQLite (um único arquivo local, ex: {@code books.db}).
+ *
+ * Alternativa aos arquivos de texto ({@link DataManager}) para bibliotecas grandes (dezenas de milhares de livros):
+ * cada inclusão, edição ou exclusão é a atualização de uma linha, e buscas por ID, gênero ou status usam índices,
+ * sem ler nem regravar a biblioteca inteira. Todos os comandos são {@link PreparedStatement}s.
+ *
+ * Tabelas:
+ * genres: um gênero por linha, na ordem de cadastro.
+ * books: os campos de cada livro e a descrição. A ordem de inclusão é a do {@code rowid}.
+ * book_texts: citações e notas, uma por linha, com a posição de cada uma na lista do livro.
+ * deleted_books: IDs dos livros excluídos, para que outros processos fiquem sabendo ({@link #refresh(List)}).
+ * library_state: contador de revisões. Cada gravação incrementa o contador e marca as linhas gravadas com ele.
+ * library_meta: marcações da biblioteca (ex: a cópia dos arquivos TXT concluída, {@link #importTextLibrary}).
+ *
+ * O driver JDBC ({@code org.xerial:sqlite-jdbc}) não acompanha o projeto e precisa estar no classpath
+ * (ver {@link #isDriverAvailable()}).
+ *
+ * Acesso por vários processos:
+ * O próprio SQLite coordena o acesso (modo WAL: leitores não bloqueiam quem grava). Uma instância percebe as
+ * gravações de outra conexão pelo {@code PRAGMA data_version} e busca só as linhas com revisão maior que a última vista.
+ *
+ * * @author Netto
+ */
+public class SqlDataManager implements BookRepository, GenreRepository {
+
+    private static final String URL_PREFIX = "jdbc:sqlite:";
+
+    /** Tempo que uma gravação espera enquanto outro processo grava no banco. */
+    private static final int BUSY_TIMEOUT_MILLIS = 10_000;
+
+    /** Quantidade de comandos enviados ao banco de uma vez nas gravações em lote. */
+    private static final int BATCH_SIZE = 1000;
+
+    // Tipos de linha da tabela book_texts
+    private static final String KIND_QUOTE = "QUOTE";
+    private static final String KIND_NOTE = "NOTE";
+
+    // Tipos de livro, como na tag BOOK_START do books.txt
+    private static final String TYPE_EBOOK = "EBOOK";
+    private static final String TYPE_PHYSICAL = "PHYSICAL";
+
+    private static final String[] SCHEMA = {
+        "CREATE TABLE IF NOT EXISTS genres (id TEXT PRIMARY KEY, name TEXT NOT NULL)",
+        "CREATE TABLE IF NOT EXISTS books ("
+                + "id TEXT PRIMARY KEY, type TEXT NOT NULL, title TEXT, author TEXT, publisher TEXT,"
+                + " total_pages INTEGER NOT NULL, current_page INTEGER NOT NULL, rating INTEGER NOT NULL,"
+                + " status TEXT NOT NULL, genre_id TEXT, local TEXT, description TEXT, revision INTEGER NOT NULL)",
+        "CREATE TABLE IF NOT EXISTS book_texts ("
+                + "book_id TEXT NOT NULL, kind TEXT NOT NULL, position INTEGER NOT NULL, text TEXT NOT NULL,"
+                + " PRIMARY KEY (book_id, kind, position)) WITHOUT ROWID",
+        "CREATE TABLE IF NOT EXISTS deleted_books (id TEXT PRIMARY KEY, revision INTEGER NOT NULL)",
+        "CREATE TABLE IF NOT EXISTS library_state (revision INTEGER NOT NULL)",
+        "INSERT INTO library_state (revision) SELECT 0 WHERE NOT EXISTS (SELECT 1 FROM library_state)",
+        "CREATE TABLE IF NOT EXISTS library_meta (key TEXT PRIMARY KEY, value TEXT NOT NULL)",
+        "CREATE INDEX IF NOT EXISTS books_genre ON books (genre_id)",
+        "CREATE INDEX IF NOT EXISTS books_status ON books (status)",
+        "CREATE INDEX IF NOT EXISTS books_revision ON books (revision)",
+        "CREATE INDEX IF NOT EXISTS deleted_books_revision ON deleted_books (revision)"
+    };
+
+    // Colunas curtas (sem a descrição), na ordem lida por readBook
+    private static final String BOOK_COLUMNS = "id, type, title, author, publisher, total_pages, current_page,"
+            + " rating, status, genre_id, local";
+
+    private static final String UPSERT_BOOK = "INSERT INTO books (" + BOOK_COLUMNS + ", description, revision)"
+            + " VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)"
+            + " ON CONFLICT (id) DO UPDATE SET type = excluded.type, title = excluded.title, author = excluded.author,"
+            + " publisher = excluded.publisher, total_pages = excluded.total_pages, current_page = excluded.current_page,"
+            + " rating = excluded.rating, status = excluded.status, genre_id = excluded.genre_id, local = excluded.local,"
+            + " description = excluded.description, revision = excluded.revision";
+    private static final String UPSERT_GENRE = "INSERT INTO genres (id, name) VALUES (?, ?)"
+            + " ON CONFLICT (id) DO UPDATE SET name = excluded.name";
+    private static final String INSERT_TEXT = "INSERT OR REPLACE INTO book_texts (book_id, kind, position, text) VALUES (?, ?, ?, ?)";
+    private static final String DELETE_TEXTS = "DELETE FROM book_texts WHERE book_id = ?";
+    private static final String DELETE_BOOK = "DELETE FROM books WHERE id = ?";
+    private static final String INSERT_TOMBSTONE = "INSERT OR REPLACE INTO deleted_books (id, revision) VALUES (?, ?)";
+    private static final String INSERT_META = "INSERT OR REPLACE INTO library_meta (key, value) VALUES (?, ?)";
+
+    /** Marcação gravada na mesma transação da cópia da biblioteca dos arquivos TXT. */
+    private static final String META_TEXT_IMPORT = "text_import";
+
+    private static final String SELECT_TEXTS = "SELECT kind, text FROM book_texts WHERE book_id = ? ORDER BY kind, position";
+
+    private final String databaseFilename;
+
+    /** Conexão usada por esta instância (aberta no primeiro uso). Protegida pelo monitor deste objeto. */
+    private Connection connection;
+
+    /** Se verdadeiro, descrição, citações e notas só são lidas do banco quando acessadas ({@link LazyTextSource}). */
+    private boolean lazyTextLoading = false;
+
+    /** Última revisão da biblioteca que esta instância conhece (-1 antes da primeira carga). */
+    private long knownRevision = -1;
+
+    /** Valor de {@code PRAGMA data_version} na última sincronização: muda quando outra conexão grava. */
+    private long knownDataVersion = -1;
+
+    /**
+     * Construtor. O banco só é aberto (e criado, se não existir) no primeiro uso.
+     * @param databaseFilename Caminho do arquivo do banco (ex: "books.db").
+     */
+    public SqlDataManager(String databaseFilename) {
+        this.databaseFilename = databaseFilename;
+    }
+
+    /**
+     * Ativa ou desativa a carga preguiçosa dos textos longos (descrição, citações e notas).
+     * Quando ativa, {@link #loadBooks(List)} lê apenas os campos curtos; os textos de cada livro
+     * são buscados pelo ID na primeira vez que forem acessados.
+     */
+    public void setLazyTextLoading(boolean lazyTextLoading) {
+        this.lazyTextLoading = lazyTextLoading;
+    }
+
+    /**
+     * Verifica se o driver JDBC do SQLite está no classpath.
+     * @return {@code false} se o banco não pode ser usado (a aplicação deve ficar nos arquivos de texto).
+     */
+    public static boolean isDriverAvailable() {
+        try {
+            DriverManager.getDriver(URL_PREFIX);
+            return true;
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    // ========================================================================
+    // == CONEXÃO E TRANSAÇÕES
+    // ========================================================================
+
+    /** Abre a conexão na primeira vez (criando as tabelas e índices que faltarem); depois, devolve sempre a mesma. */
+    private Connection connection() throws SQLException {
+        if (connection == null) {
+            Connection opened = openConnection();
+            try (Statement statement = opened.createStatement()) {
+                for (String command : SCHEMA) {
+                    statement.execute(command);
+                }
+                opened.commit();
+            } catch (SQLException e) {
+                opened.close();
+                throw e;
+            }
+            connection = opened;
+        }
+        return connection;
+    }
+
+    /** Abre uma conexão nova, já configurada e sem confirmação automática (cada operação é uma transação). */
+    private Connection openConnection() throws SQLException {
+        Connection opened = DriverManager.getConnection(URL_PREFIX + databaseFilename);
+        try (Statement statement = opened.createStatement()) {
+            // WAL: leituras não esperam gravações; a confirmação de cada transação é forçada para o disco
+            statement.execute("PRAGMA journal_mode = WAL");
+            statement.execute("PRAGMA busy_timeout = " + BUSY_TIMEOUT_MILLIS);
+            opened.setAutoCommit(false);
+        } catch (SQLException e) {
+            opened.close();
+            throw e;
+        }
+        return opened;
+    }
+
+    /**
+     * Executa uma leitura dentro de uma transação: tudo o que ela lê corresponde à mesma versão do banco.
+     * Deve ser chamado com o monitor deste objeto.
+     */
+    private <T> T read(SqlAction<T> action) throws SQLException {
+        Connection current = connection();
+        try {
+            T result = action.run(current);
+            current.commit(); // Encerra a transação: a próxima leitura enxerga as gravações mais recentes
+            return result;
+        } catch (SQLException | RuntimeException e) {
+            current.rollback();
+            throw e;
+        }
+    }
+
+    /**
+     * Executa uma gravação dentro de uma transação, com uma revisão nova da biblioteca.
+     * O primeiro comando já é uma gravação (o contador de revisões), então a transação obtém logo
+     * o acesso exclusivo ao banco, esperando até {@link #BUSY_TIMEOUT_MILLIS} se outro processo estiver gravando.
+     * Deve ser chamado com o monitor deste objeto.
+     */
+    private void write(WriteAction action) throws SQLException {
+        Connection current = connection();
+        try {
+            long revision;
+            try (Statement statement = current.createStatement()) {
+                statement.executeUpdate("UPDATE library_state SET revision = revision + 1");
+                try (ResultSet result = statement.executeQuery("SELECT revision FROM library_state")) {
+                    result.next();
+                    revision = result.getLong(1);
+                }
+            }
+            action.run(current, revision);
+            current.commit();
+            // Ninguém mais gravou desde a última sincronização: esta revisão já é conhecida
+            if (revision - 1 == knownRevision) {
+                knownRevision = revision;
+            }
+        } catch (SQLException | RuntimeException e) {
+            current.rollback();
+            throw e;
+        }
+    }
+
+    private static long currentRevision(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet result = statement.executeQuery("SELECT revision FROM library_state")) {
+            return result.next() ? result.getLong(1) : 0;
+        }
+    }
+
+    private static long dataVersion(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet result = statement.executeQuery("PRAGMA data_version")) {
+            return result.next() ? result.getLong(1) : -1;
+        }
+    }
+
+    // ========================================================================
+    // == MÉTODOS DE GÊNEROS
+    // ========================================================================
+
+    /**
+     * Carrega a lista de gêneros do banco, na ordem de cadastro.
+     * @return Uma lista de objetos {@link Genre}. Em caso de erro, retorna lista vazia.
+     */
+    @Override
+    public synchronized List<Genre> loadGenres() {
+        try {
+            return read(current -> {
+                List<Genre> genreList = new ArrayList<>();
+                try (Statement statement = current.createStatement();
+                     ResultSet result = statement.executeQuery("SELECT id, name FROM genres ORDER BY rowid")) {
+                    while (result.next()) {
+                        genreList.add(new Genre(result.getString(1), result.getString(2)));
+                    }
+                }
+                return genreList;
+            });
+        } catch (SQLException e) {
+            System.err.println("Erro ao carregar gêneros: " + e.getMessage());
+            return new ArrayList<>();
+        }
+    }
+
+    /**
+     * Grava a lista de gêneros (inclui os novos e atualiza o nome dos existentes).
+     * Gêneros que não estão na lista são mantidos: podem ter sido cadastrados por outro processo,
+     * e a aplicação não exclui gêneros.
+     * @param genreList A lista de gêneros a ser persistida.
+     */
+    @Override
+    public synchronized void saveGenres(List<Genre> genreList) {
+        try {
+            write((current, revision) -> writeGenres(current, genreList));
+        } catch (SQLException e) {
+            System.err.println("Erro ao salvar gêneros: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Grava um único gênero recém-cadastrado.
+     * @param genre O novo gênero.
+     */
+    @Override
+    public synchronized void appendGenre(Genre genre) {
+        try {
+            write((current, revision) -> writeGenres(current, Collections.singletonList(genre)));
+        } catch (SQLException e) {
+            System.err.println("Erro ao salvar gênero: " + e.getMessage());
+        }
+    }
+
+    private static void writeGenres(Connection connection, List<Genre> genres) throws SQLException {
+        try (PreparedStatement upsert = connection.prepareStatement(UPSERT_GENRE)) {
+            for (Genre genre : genres) {
+                upsert.setString(1, genre.getId());
+                upsert.setString(2, genre.getName());
+                upsert.addBatch();
+            }
+            upsert.executeBatch();
+        }
+    }
+
+    // ========================================================================
+    // == MÉTODOS DE LIVROS
+    // ========================================================================
+
+    /**
+     * Carrega todos os livros do banco, na ordem em que foram incluídos.
+     * @param genres A lista de gêneros já carregada, para vincular cada livro ao seu {@link Genre}.
+     * @return Uma lista de livros. Em caso de erro, retorna lista vazia.
+     */
+    @Override
+    public synchronized List<Book> loadBooks(List<Genre> genres) {
+        try {
+            return read(current -> {
+                SymbolTable symbols = new SymbolTable(genres);
+                Map<String, BookBuilder> builders = new LinkedHashMap<>();
+
+                // 1. Campos curtos (e a descrição, se a carga não for preguiçosa)
+                String columns = lazyTextLoading ? BOOK_COLUMNS : BOOK_COLUMNS + ", description";
+                try (Statement statement = current.createStatement();
+                     ResultSet result = statement.executeQuery("SELECT " + columns + " FROM books ORDER BY rowid")) {
+                    while (result.next()) {
+                        BookBuilder builder = readBook(result, symbols);
+                        if (!lazyTextLoading) {
+                            builder.description = nonNull(result.getString(12));
+                        }
+                        builders.put(builder.id, builder);
+                    }
+                }
+
+                // 2. Citações e notas de todos os livros, em uma única consulta
+                if (!lazyTextLoading) {
+                    try (Statement statement = current.createStatement();
+                         ResultSet result = statement.executeQuery(
+                                 "SELECT book_id, kind, text FROM book_texts ORDER BY book_id, kind, position")) {
+                        while (result.next()) {
+                            BookBuilder builder = builders.get(result.getString(1));
+                            if (builder != null) {
+                                addText(builder, result.getString(2), result.getString(3));
+                            }
+                        }
+                    }
+                }
+
+                // 3. Monta os livros e guarda a versão da biblioteca que acabou de ser lida
+                List<Book> bookList = new ArrayList<>(builders.size());
+                for (BookBuilder builder : builders.values()) {
+                    Book book = builder.build();
+                    if (lazyTextLoading) {
+                        book.setLazyTextSource(new RowTextSource(book.getId()));
+                    }
+                    bookList.add(book);
+                }
+                knownRevision = currentRevision(current);
+                knownDataVersion = dataVersion(current);
+                return bookList;
+            });
+        } catch (SQLException | RuntimeException e) {
+            System.err.println("Erro ao carregar livros: " + e.getMessage());
+            return new ArrayList<>();
+        }
+    }
+
+    /**
+     * Carrega um único livro pelo ID (busca pela chave primária), com todos os textos.
+     * @param id O ID (UUID) do livro.
+     * @param genres A lista de gêneros já carregada.
+     * @return O livro, ou {@code null} se não existir.
+     */
+    @Override
+    public synchronized Book loadBook(String id, List<Genre> genres) {
+        try {
+            return read(current -> findBook(current, id, new SymbolTable(genres)));
+        } catch (SQLException | RuntimeException e) {
+            System.err.println("Erro ao carregar livro (ID: " + id + "): " + e.getMessage());
+            return null;
+        }
+    }
+
+    /** Lê um livro completo (campos, descrição, citações e notas) pelo ID. */
+    private static Book findBook(Connection connection, String id, SymbolTable symbols) throws SQLException {
+        BookBuilder builder;
+        try (PreparedStatement select = connection.prepareStatement(
+                "SELECT " + BOOK_COLUMNS + ", description FROM books WHERE id = ?")) {
+            select.setString(1, id);
+            try (ResultSet result = select.executeQuery()) {
+                if (!result.next()) {
+                    return null;
+                }
+                builder = readBook(result, symbols);
+                builder.description = nonNull(result.getString(12));
+            }
+        }
+        readTexts(connection, builder);
+        return builder.build();
+    }
+
+    /**
+     * Lê os livros um de cada vez, sem carregar a biblioteca inteira.
+     * Usa uma conexão própria, aberta em uma única transação: o percurso enxerga sempre a mesma versão do banco,
+     * mesmo que outras gravações aconteçam enquanto isso. O stream deve ser fechado após o uso.
+     * @param genres A lista de gêneros já carregada.
+     * @return Stream sequencial dos livros, na ordem de inclusão.
+     * Erros de leitura são lançados como {@link UncheckedIOException}.
+     */
+    @Override
+    public Stream<Book> streamBooks(List<Genre> genres) {
+        try {
+            BookCursor cursor = new BookCursor(openConnection(), new SymbolTable(genres));
+            return StreamSupport.stream(cursor, false).onClose(cursor::close);
+        } catch (SQLException e) {
+            throw new UncheckedIOException("Erro ao abrir livros: " + e.getMessage(), new IOException(e));
+        }
+    }
+
+    /**
+     * Grava a biblioteca inteira: cada livro da lista é incluído ou atualizado, e os que não estão
+     * na lista são excluídos. Tudo em uma única transação.
+     * @param bookList A lista de livros a ser persistida.
+     */
+    @Override
+    public void saveBooks(List<Book> bookList) {
+        DataManager.loadLazyTexts(bookList); // Fora do monitor (ver DataManager.loadLazyTexts)
+        synchronized (this) {
+            try {
+                write((current, revision) -> {
+                    Set<String> keep = new HashSet<>();
+                    for (Book book : bookList) {
+                        keep.add(book.getId());
+                    }
+                    List<String> removed = new ArrayList<>();
+                    try (Statement statement = current.createStatement();
+                         ResultSet result = statement.executeQuery("SELECT id FROM books")) {
+                        while (result.next()) {
+                            if (!keep.contains(result.getString(1))) {
+                                removed.add(result.getString(1));
+                            }
+                        }
+                    }
+                    deleteBooks(current, removed, revision);
+                    writeBooks(current, bookList, revision);
+                });
+            } catch (SQLException | RuntimeException e) {
+                System.err.println("Erro ao salvar livros: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Grava apenas os livros alterados, com atualizações pontuais, em uma única transação.
+     * @return {@code true} se a gravação deu certo.
+     */
+    @Override
+    public boolean saveChangedBooks(Collection<Book> changedBooks, Collection<String> deletedBookIds) {
+        DataManager.loadLazyTexts(changedBooks);
+        synchronized (this) {
+            try {
+                write((current, revision) -> {
+                    deleteBooks(current, deletedBookIds, revision);
+                    writeBooks(current, changedBooks, revision);
+                });
+                return true;
+            } catch (SQLException | RuntimeException e) {
+                System.err.println("Erro ao salvar livros alterados: " + e.getMessage());
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Inclui ou atualiza um único livro (uma linha em {@code books} e suas citações e notas).
+     * @param book O livro incluído ou editado.
+     */
+    @Override
+    public void appendBookUpsert(Book book) {
+        DataManager.loadLazyTexts(Collections.singletonList(book));
+        synchronized (this) {
+            try {
+                write((current, revision) -> writeBooks(current, Collections.singletonList(book), revision));
+            } catch (SQLException | RuntimeException e) {
+                System.err.println("Erro ao salvar livro (ID: " + book.getId() + "): " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Inclui ou atualiza um lote de livros numa única transação (o banco já é o armazenamento definitivo).
+     * @return {@code true} se a gravação deu certo.
+     */
+    @Override
+    public boolean appendBookUpserts(Collection<Book> books) {
+        return saveChangedBooks(books, Collections.emptyList());
+    }
+
+    /**
+     * Exclui um único livro.
+     * @param bookId O ID do livro excluído.
+     */
+    @Override
+    public synchronized void appendBookDelete(String bookId) {
+        try {
+            write((current, revision) -> deleteBooks(current, Collections.singletonList(bookId), revision));
+        } catch (SQLException e) {
+            System.err.println("Erro ao excluir livro (ID: " + bookId + "): " + e.getMessage());
+        }
+    }
+
+    /** Inclui ou atualiza os livros, em lotes de {@link #BATCH_SIZE}. */
+    private static void writeBooks(Connection connection, Collection<Book> books, long revision) throws SQLException {
+        try (PreparedStatement upsert = connection.prepareStatement(UPSERT_BOOK);
+             PreparedStatement deleteTexts = connection.prepareStatement(DELETE_TEXTS);
+             PreparedStatement insertText = connection.prepareStatement(INSERT_TEXT)) {
+            int pending = 0;
+            for (Book book : books) {
+                bindBook(upsert, book, revision);
+                upsert.addBatch();
+                deleteTexts.setString(1, book.getId());
+                deleteTexts.addBatch();
+                addTexts(insertText, book.getId(), KIND_QUOTE, book.getQuotes());
+                addTexts(insertText, book.getId(), KIND_NOTE, book.getNotes());
+                if (++pending == BATCH_SIZE) {
+                    // Textos antigos são apagados antes de os novos entrarem
+                    upsert.executeBatch();
+                    deleteTexts.executeBatch();
+                    insertText.executeBatch();
+                    pending = 0;
+                }
+            }
+            upsert.executeBatch();
+            deleteTexts.executeBatch();
+            insertText.executeBatch();
+        }
+    }
+
+    /** Exclui os livros e registra cada exclusão para os outros processos. */
+    private static void deleteBooks(Connection connection, Collection<String> ids, long revision) throws SQLException {
+        if (ids.isEmpty()) {
+            return;
+        }
+        try (PreparedStatement deleteBook = connection.prepareStatement(DELETE_BOOK);
+             PreparedStatement deleteTexts = connection.prepareStatement(DELETE_TEXTS);
+             PreparedStatement tombstone = connection.prepareStatement(INSERT_TOMBSTONE)) {
+            for (String id : ids) {
+                deleteBook.setString(1, id);
+                deleteBook.addBatch();
+                deleteTexts.setString(1, id);
+                deleteTexts.addBatch();
+                tombstone.setString(1, id);
+                tombstone.setLong(2, revision);
+                tombstone.addBatch();
+            }
+            deleteBook.executeBatch();
+            deleteTexts.executeBatch();
+            tombstone.executeBatch();
+        }
+    }
+
+    private static void bindBook(PreparedStatement upsert, Book book, long revision) throws SQLException {
+        if (!book.isTextLoaded()) {
+            // Os textos não puderam ser lidos: gravar os provisórios apagaria os verdadeiros
+            throw new SQLException("textos do livro não puderam ser lidos, gravação recusada (ID: " + book.getId() + ")");
+        }
+        upsert.setString(1, book.getId());
+        upsert.setString(2, book instanceof Ebook ? TYPE_EBOOK : TYPE_PHYSICAL);
+        upsert.setString(3, book.getTitle());
+        upsert.setString(4, book.getAuthor());
+        upsert.setString(5, book.getPublisher());
+        upsert.setInt(6, book.getTotalPages());
+        upsert.setInt(7, book.getCurrentPage());
+        upsert.setInt(8, book.getRating());
+        upsert.setString(9, book.getStatus().name());
+        upsert.setString(10, book.getGenre() != null ? book.getGenre().getId() : null);
+        upsert.setString(11, book instanceof Ebook ? ((Ebook) book).getLocal() : null);
+        upsert.setString(12, book.getDescription());
+        upsert.setLong(13, revision);
+    }
+
+    private static void addTexts(PreparedStatement insert, String bookId, String kind, List<String> texts) throws SQLException {
+        for (int i = 0; i < texts.size(); i++) {
+            insert.setString(1, bookId);
+            insert.setString(2, kind);
+            insert.setInt(3, i);
+            insert.setString(4, texts.get(i));
+            insert.addBatch();
+        }
+    }
+
+    /** Lê as colunas de {@link #BOOK_COLUMNS} da linha atual. */
+    private static BookBuilder readBook(ResultSet result, SymbolTable symbols) throws SQLException {
+        BookBuilder builder = new BookBuilder();
+        builder.id = result.getString(1);
+        builder.isEbook = TYPE_EBOOK.equals(result.getString(2));
+        builder.title = result.getString(3);
+        builder.author = symbols.intern(result.getString(4)); // Autores e editoras se repetem muito
+        builder.publisher = symbols.intern(result.getString(5));
+        builder.totalPages = result.getInt(6);
+        builder.currentPage = result.getInt(7);
+        builder.rating = result.getInt(8);
+        builder.status = BookStatus.valueOf(result.getString(9));
+        String genreId = result.getString(10);
+        builder.genre = genreId != null ? symbols.genre(genreId) : null;
+        builder.local = result.getString(11);
+        return builder;
+    }
+
+    /** Lê as citações e notas de um livro, na ordem em que foram gravadas. */
+    private static void readTexts(Connection connection, BookBuilder builder) throws SQLException {
+        try (PreparedStatement select = connection.prepareStatement(SELECT_TEXTS)) {
+            select.setString(1, builder.id);
+            try (ResultSet result = select.executeQuery()) {
+                while (result.next()) {
+                    addText(builder, result.getString(1), result.getString(2));
+                }
+            }
+        }
+    }
+
+    private static void addText(BookBuilder builder, String kind, String text) {
+        if (KIND_QUOTE.equals(kind)) {
+            builder.quotes.add(text);
+        } else if (KIND_NOTE.equals(kind)) {
+            builder.notes.add(text);
+        }
+    }
+
+    private static String nonNull(String value) {
+        return value != null ? value : "";
+    }
+
+    // ========================================================================
+    // == CÓPIA DOS ARQUIVOS TXT
+    // ========================================================================
+
+    /**
+     * Verifica se a biblioteca dos arquivos TXT ainda precisa ser copiada para o banco: a cópia nunca foi
+     * concluída e o banco não tem nenhum livro nem gênero. Um banco que já está em uso não é tocado,
+     * mesmo sem a marcação (ex: criado por uma versão anterior da aplicação).
+     * @return {@code false} também se o banco não pode ser lido.
+     */
+    public synchronized boolean needsTextImport() {
+        try {
+            return read(current -> {
+                try (Statement statement = current.createStatement();
+                     ResultSet result = statement.executeQuery("SELECT"
+                             + " EXISTS (SELECT 1 FROM library_meta WHERE key = '" + META_TEXT_IMPORT + "')"
+                             + " OR EXISTS (SELECT 1 FROM books) OR EXISTS (SELECT 1 FROM genres)")) {
+                    return result.next() && !result.getBoolean(1);
+                }
+            });
+        } catch (SQLException e) {
+            System.err.println("Erro ao verificar a cópia da biblioteca: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Copia a biblioteca dos arquivos TXT para o banco numa única transação, que também grava a marcação
+     * de cópia concluída. Uma interrupção no meio não deixa o banco pela metade: ele continua vazio e
+     * a próxima abertura refaz a cópia ({@link #needsTextImport()}).
+     * @param genres Os gêneros dos arquivos TXT.
+     * @param books Os livros dos arquivos TXT (com os textos).
+     * @return {@code false} se a cópia falhou.
+     */
+    public boolean importTextLibrary(List<Genre> genres, List<Book> books) {
+        DataManager.loadLazyTexts(books); // Fora do monitor (ver DataManager.loadLazyTexts)
+        synchronized (this) {
+            try {
+                write((current, revision) -> {
+                    writeGenres(current, genres);
+                    writeBooks(current, books, revision);
+                    try (PreparedStatement meta = current.prepareStatement(INSERT_META)) {
+                        meta.setString(1, META_TEXT_IMPORT);
+                        meta.setString(2, String.valueOf(books.size()));
+                        meta.executeUpdate();
+                    }
+                });
+                return true;
+            } catch (SQLException | RuntimeException e) {
+                System.err.println("Erro ao copiar a biblioteca para o banco: " + e.getMessage());
+                return false;
+            }
+        }
+    }
+
+    // ========================================================================
+    // == ACESSO POR VÁRIOS PROCESSOS
+    // ========================================================================
+
+    /**
+     * Indica se outra conexão (outro processo ou outra instância) gravou no banco desde a última sincronização.
+     * @return {@code true} se vale a pena chamar {@link #refresh(List)}.
+     */
+    @Override
+    public synchronized boolean hasExternalChanges() {
+        try {
+            return read(SqlDataManager::dataVersion) != knownDataVersion;
+        } catch (SQLException e) {
+            System.err.println("Erro ao verificar alterações no banco: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Traz os livros gravados ou excluídos por outras conexões desde a última sincronização:
+     * apenas as linhas com revisão maior que a conhecida (consulta pelo índice de revisão).
+     * @param genres A lista de gêneros atual (deve incluir os gêneros novos).
+     * @return Os livros incluídos ou editados e os IDs dos excluídos (vazio se nada mudou).
+     */
+    @Override
+    public synchronized LibraryChanges refresh(List<Genre> genres) {
+        try {
+            return read(current -> {
+                long revision = currentRevision(current);
+                knownDataVersion = dataVersion(current);
+                Map<String, Book> changes = new LinkedHashMap<>(); // ID -> livro (null = excluído)
+                if (revision == knownRevision) {
+                    return new LibraryChanges(changes);
+                }
+
+                // 1. Livros gravados depois da última revisão conhecida
+                SymbolTable symbols = new SymbolTable(genres);
+                List<String> changedIds = new ArrayList<>();
+                try (PreparedStatement select = current.prepareStatement(
+                        "SELECT id FROM books WHERE revision > ? ORDER BY rowid")) {
+                    select.setLong(1, knownRevision);
+                    try (ResultSet result = select.executeQuery()) {
+                        while (result.next()) {
+                            changedIds.add(result.getString(1));
+                        }
+                    }
+                }
+                for (String id : changedIds) {
+                    changes.put(id, findBook(current, id, symbols));
+                }
+
+                // 2. Livros excluídos depois da última revisão conhecida (e não incluídos de novo)
+                try (PreparedStatement select = current.prepareStatement(
+                        "SELECT id FROM deleted_books WHERE revision > ? AND id NOT IN (SELECT id FROM books)")) {
+                    select.setLong(1, knownRevision);
+                    try (ResultSet result = select.executeQuery()) {
+                        while (result.next()) {
+                            changes.put(result.getString(1), null);
+                        }
+                    }
+                }
+                knownRevision = revision;
+                return new LibraryChanges(changes);
+            });
+        } catch (SQLException | RuntimeException e) {
+            System.err.println("Erro ao atualizar a biblioteca: " + e.getMessage());
+            return new LibraryChanges(Collections.emptyMap());
+        }
+    }
+
+    // ========================================================================
+    // == CLASSES AUXILIARES
+    // ========================================================================
+
+    /**
+     * Operação executada por {@link #read(SqlAction)}.
+     */
+    private interface SqlAction<T> {
+        T run(Connection connection) throws SQLException;
+    }
+
+    /**
+     * Gravação executada por {@link #write(WriteAction)}, com a revisão que deve ser gravada nas linhas alteradas.
+     */
+    private interface WriteAction {
+        void run(Connection connection, long revision) throws SQLException;
+    }
+
+    /**
+     * Fonte preguiçosa dos textos de um livro: busca a descrição, as citações e as notas pelo ID
+     * na primeira vez que forem acessadas.
+     */
+    private class RowTextSource implements LazyTextSource {
+        private final String id;
+
+        RowTextSource(String id) {
+            this.id = id;
+        }
+
+        @Override
+        public boolean loadInto(Book book) {
+            BookBuilder texts = new BookBuilder();
+            texts.id = id;
+            try {
+                synchronized (SqlDataManager.this) {
+                    boolean found = read(current -> {
+                        try (PreparedStatement select = current.prepareStatement("SELECT description FROM books WHERE id = ?")) {
+                            select.setString(1, id);
+                            try (ResultSet result = select.executeQuery()) {
+                                if (!result.next()) {
+                                    return false;
+                                }
+                                texts.description = nonNull(result.getString(1));
+                            }
+                        }
+                        readTexts(current, texts);
+                        return true;
+                    });
+                    if (!found) {
+                        System.err.println("Textos do livro não encontrados no banco (ID: " + id + ")");
+                        return false;
+                    }
+                }
+                book.setDescription(texts.description);
+                book.setQuotes(texts.quotes);
+                book.setNotes(texts.notes);
+                return true;
+            } catch (SQLException e) {
+                System.err.println("Erro ao carregar textos do livro (ID: " + id + "): " + e.getMessage());
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Percorre a tabela de livros com uma conexão própria, montando um livro completo por vez.
+     */
+    private static class BookCursor extends Spliterators.AbstractSpliterator<Book> implements AutoCloseable {
+        private final Connection connection;
+        private final SymbolTable symbols;
+        private final Statement statement;
+        private final ResultSet result;
+
+        BookCursor(Connection connection, SymbolTable symbols) throws SQLException {
+            super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+            this.connection = connection;
+            this.symbols = symbols;
+            try {
+                this.statement = connection.createStatement();
+                this.result = statement.executeQuery("SELECT " + BOOK_COLUMNS + ", description FROM books ORDER BY rowid");
+            } catch (SQLException e) {
+                connection.close();
+                throw e;
+            }
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super Book> action) {
+            try {
+                if (!result.next()) {
+                    return false;
+                }
+                BookBuilder builder = readBook(result, symbols);
+                builder.description = nonNull(result.getString(12));
+                readTexts(connection, builder);
+                action.accept(builder.build());
+                return true;
+            } catch (SQLException e) {
+                throw new UncheckedIOException("Erro ao ler livros: " + e.getMessage(), new IOException(e));
+            }
+        }
+
+        @Override
+        public void close() {
+            try {
+                statement.close();
+                connection.rollback(); // Apenas leitura: encerra a transação
+                connection.close();
+            } catch (SQLException e) {
+                System.err.println("Erro ao fechar o banco: " + e.getMessage());
+            }
+        }
+    }
+}
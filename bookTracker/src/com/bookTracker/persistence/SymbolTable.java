@@ -0,0 +1,162 @@
+package com.bookTracker.persistence;
+
+import com.bookTracker.model.Genre;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Tabela de símbolos usada durante a carga dos livros.
+ *
+ * Resolve o {@code GENRE_ID:} de cada livro para o objeto {@link Genre} em O(1) (tabela hash),
+ * em vez de percorrer a lista de gêneros a cada livro. Também compartilha os textos que se repetem
+ * entre livros (autor, editora, local do ebook): cada valor distinto vira uma única String em memória,
+ * não importa quantos livros o usem.
+ *
+ * Há duas formas de consulta: por String (leitura linha a linha) e direto pelos bytes do arquivo
+ * (leitura mapeada), onde a String só é criada na primeira vez que o valor aparece.
+ *
+ * Não é thread-safe: cada leitor usa a sua própria tabela.
+ *
+ * * @author Netto
+ */
+final class SymbolTable {
+
+    // Consultas por String
+    private final Map<String, Genre> genresById;
+    private final Map<String, String> strings = new HashMap<>();
+
+    // Consultas pelos bytes do arquivo
+    private final ByteTable<Genre> genresByBytes = new ByteTable<>();
+    private final ByteTable<String> stringsByBytes = new ByteTable<>();
+
+    /**
+     * @param genres Lista de gêneros para vincular os livros. Em IDs repetidos, vale o primeiro.
+     */
+    SymbolTable(List<Genre> genres) {
+        this.genresById = new HashMap<>(Math.max(16, genres.size() * 2));
+        for (Genre genre : genres) {
+            if (genresById.putIfAbsent(genre.getId(), genre) == null) {
+                genresByBytes.putIfAbsent(genre.getId().getBytes(StandardCharsets.UTF_8), genre);
+            }
+        }
+    }
+
+    /** @return O gênero com o ID informado, ou {@code null} se não existir. */
+    Genre genre(String id) {
+        return genresById.get(id);
+    }
+
+    /** @return O gênero cujo ID está nos bytes {@code [from, to)}, ou {@code null} se não existir. */
+    Genre genre(ByteBuffer buffer, int from, int to) {
+        return genresByBytes.get(buffer, from, to);
+    }
+
+    /**
+     * @return A instância compartilhada de um texto igual a {@code value}.
+     */
+    String intern(String value) {
+        if (value == null) {
+            return null;
+        }
+        String shared = strings.putIfAbsent(value, value);
+        return (shared != null) ? shared : value;
+    }
+
+    /**
+     * @return A instância compartilhada do texto UTF-8 nos bytes {@code [from, to)}.
+     * A String só é criada na primeira ocorrência do valor.
+     */
+    String intern(ByteBuffer buffer, int from, int to) {
+        String shared = stringsByBytes.get(buffer, from, to);
+        if (shared == null) {
+            byte[] key = new byte[to - from];
+            buffer.get(from, key);
+            shared = new String(key, StandardCharsets.UTF_8);
+            stringsByBytes.putIfAbsent(key, shared);
+        }
+        return shared;
+    }
+
+    /**
+     * Tabela hash de endereçamento aberto com chaves em bytes.
+     * Permite consultar um trecho do buffer sem criar um array nem uma String para a chave.
+     */
+    private static final class ByteTable<V> {
+        private byte[][] keys = new byte[64][];
+        private Object[] values = new Object[64];
+        private int[] hashes = new int[64];
+        private int size;
+
+        @SuppressWarnings("unchecked")
+        V get(ByteBuffer buffer, int from, int to) {
+            int hash = hash(buffer, from, to);
+            int mask = keys.length - 1;
+            for (int i = hash & mask; keys[i] != null; i = (i + 1) & mask) {
+                if (hashes[i] == hash && matches(keys[i], buffer, from, to)) {
+                    return (V) values[i];
+                }
+            }
+            return null;
+        }
+
+        void putIfAbsent(byte[] key, V value) {
+            if (get(ByteBuffer.wrap(key), 0, key.length) != null) {
+                return;
+            }
+            if ((size + 1) * 2 > keys.length) {
+                grow();
+            }
+            insert(key, value, hash(ByteBuffer.wrap(key), 0, key.length));
+            size++;
+        }
+
+        private void insert(byte[] key, Object value, int hash) {
+            int mask = keys.length - 1;
+            int i = hash & mask;
+            while (keys[i] != null) {
+                i = (i + 1) & mask;
+            }
+            keys[i] = key;
+            values[i] = value;
+            hashes[i] = hash;
+        }
+
+        private void grow() {
+            byte[][] oldKeys = keys;
+            Object[] oldValues = values;
+            int[] oldHashes = hashes;
+            keys = new byte[oldKeys.length * 2][];
+            values = new Object[oldKeys.length * 2];
+            hashes = new int[oldKeys.length * 2];
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != null) {
+                    insert(oldKeys[i], oldValues[i], oldHashes[i]);
+                }
+            }
+        }
+
+        private static int hash(ByteBuffer buffer, int from, int to) {
+            int hash = 1;
+            for (int i = from; i < to; i++) {
+                hash = 31 * hash + buffer.get(i);
+            }
+            return hash ^ (hash >>> 16); // Espalha os bits altos para a máscara
+        }
+
+        private static boolean matches(byte[] key, ByteBuffer buffer, int from, int to) {
+            if (key.length != to - from) {
+                return false;
+            }
+            for (int i = 0; i < key.length; i++) {
+                if (key[i] != buffer.get(from + i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
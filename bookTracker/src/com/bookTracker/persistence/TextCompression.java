@@ -0,0 +1,100 @@
+package com.bookTracker.persistence;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Compactação dos blocos de texto longos (descrição, citações e notas) do {@code books.txt}.
+ *
+ * O texto é compactado com {@link Deflater} e gravado em Base64 numa única linha
+ * ({@code DESCRIPTION_DEFLATE: ...}), para que o arquivo continue sendo lido linha por linha.
+ * Textos curtos, ou que não diminuem depois de compactados, continuam sendo gravados como texto puro.
+ * Ao contrário do bloco em texto puro, o valor compactado preserva o texto exatamente (inclusive
+ * linhas em branco no início).
+ *
+ * * @author Netto
+ */
+final class TextCompression {
+
+    /** Tamanho mínimo (em bytes UTF-8) para tentar compactar: abaixo disso o ganho não compensa. */
+    static final int MIN_LENGTH = 256;
+
+    private TextCompression() {
+    }
+
+    /**
+     * Compacta o texto, se valer a pena.
+     * @return O valor em Base64 para a linha {@code *_DEFLATE}, ou {@code null} se o texto deve ser
+     * gravado como texto puro (curto demais ou sem ganho de espaço).
+     */
+    static String compress(String text) {
+        if (text == null) {
+            return null;
+        }
+        byte[] raw = text.getBytes(StandardCharsets.UTF_8);
+        if (raw.length < MIN_LENGTH) {
+            return null;
+        }
+        Deflater deflater = new Deflater();
+        try {
+            deflater.setInput(raw);
+            deflater.finish();
+            byte[] out = new byte[raw.length / 2 + 64];
+            int length = 0;
+            while (!deflater.finished()) {
+                if (length == out.length) {
+                    out = Arrays.copyOf(out, out.length * 2);
+                }
+                length += deflater.deflate(out, length, out.length - length);
+            }
+            // Base64 ocupa 4 bytes a cada 3: só compensa se o resultado final for menor que o texto puro
+            if ((length + 2) / 3 * 4 >= raw.length) {
+                return null;
+            }
+            return Base64.getEncoder().encodeToString(Arrays.copyOf(out, length));
+        } finally {
+            deflater.end();
+        }
+    }
+
+    /**
+     * Descompacta um valor gravado por {@link #compress(String)}.
+     * @throws IllegalArgumentException Se o valor não for um texto compactado válido.
+     */
+    static String decompress(String value) {
+        return decompress(ByteBuffer.wrap(value.getBytes(StandardCharsets.ISO_8859_1)));
+    }
+
+    /**
+     * Descompacta um valor gravado por {@link #compress(String)}, direto dos bytes do arquivo.
+     * @param base64 Trecho com o valor em Base64 (entre a posição e o limite do buffer).
+     * @throws IllegalArgumentException Se o valor não for um texto compactado válido.
+     */
+    static String decompress(ByteBuffer base64) {
+        ByteBuffer compressed = Base64.getDecoder().decode(base64); // IllegalArgumentException se inválido
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(compressed);
+            ByteArrayOutputStream out = new ByteArrayOutputStream(compressed.remaining() * 3);
+            byte[] chunk = new byte[8 * 1024];
+            while (!inflater.finished()) {
+                int n = inflater.inflate(chunk);
+                if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new IllegalArgumentException("Texto compactado incompleto");
+                }
+                out.write(chunk, 0, n);
+            }
+            return out.toString(StandardCharsets.UTF_8);
+        } catch (DataFormatException e) {
+            throw new IllegalArgumentException("Texto compactado inválido: " + e.getMessage(), e);
+        } finally {
+            inflater.end();
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.bookTracker.service;
+
+import com.bookTracker.exception.ValidationException;
+import com.bookTracker.model.Book;
+import com.bookTracker.model.BookStatus;
+import com.bookTracker.model.Genre;
+import com.bookTracker.persistence.BookRepository;
+import com.bookTracker.persistence.ExchangeFormat;
+import com.bookTracker.persistence.ExchangeRecordWriter;
+import com.bookTracker.persistence.GenreRepository;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Exportação da biblioteca para CSV ou JSON Lines ({@link ExchangeFormat}), no formato aceito pelo {@link BookImporter}.
+ *
+ * Os livros são lidos do armazenamento um de cada vez ({@link BookRepository#streamBooks}) e gravados
+ * direto no arquivo ({@link ExchangeRecordWriter}), sem listas intermediárias: bibliotecas maiores que a
+ * memória disponível podem ser exportadas. Os filtros por gênero e status são aplicados durante a leitura;
+ * com filtro por gênero, só os livros dos gêneros escolhidos são lidos ({@link BookRepository#streamBooksByGenre}).
+ *
+ * * @author Netto
+ */
+public class BookExporter {
+
+    /** Fonte dos livros: cada chamada abre um novo percurso do armazenamento. */
+    private final Supplier<Stream<Book>> source;
+
+    /** Fonte dos livros de um único gênero. */
+    private final Function<Genre, Stream<Book>> genreSource;
+
+    /**
+     * Exporta os livros do serviço (as alterações pendentes são gravadas antes da exportação).
+     * @param bookService O serviço da aplicação.
+     */
+    public BookExporter(BookService bookService) {
+        this.source = bookService::streamStoredBooks;
+        this.genreSource = bookService::streamStoredBooks;
+    }
+
+    /**
+     * Exporta direto de um armazenamento, sem carregar a biblioteca em memória.
+     * @param bookRepository Onde os livros estão gravados.
+     * @param genreRepository Onde os gêneros estão gravados.
+     */
+    public BookExporter(BookRepository bookRepository, GenreRepository genreRepository) {
+        this.source = () -> bookRepository.streamBooks(genreRepository.loadGenres());
+        this.genreSource = genre -> bookRepository.streamBooksByGenre(genre, genreRepository.loadGenres());
+    }
+
+    /**
+     * Exporta os livros para um arquivo, descobrindo o formato pela extensão ({@code .csv} ou {@code .jsonl}).
+     * @see #exportFile(Path, ExchangeFormat, Collection, Collection)
+     */
+    public long exportFile(Path file, Collection<Genre> genres, Collection<BookStatus> statuses) throws IOException {
+        return exportFile(file, ExchangeFormat.forFile(file), genres, statuses);
+    }
+
+    /**
+     * Exporta os livros para um arquivo (criado ou substituído).
+     * @param file Arquivo de destino.
+     * @param format Formato do arquivo.
+     * @param genres Apenas livros destes gêneros ({@code null} ou vazio = todos).
+     * @param statuses Apenas livros com estes status ({@code null} ou vazio = todos).
+     * @return Quantidade de livros exportados.
+     * @throws IOException Se a leitura da biblioteca ou a gravação do arquivo falhar. Nesse caso
+     * o arquivo incompleto é apagado.
+     */
+    public long exportFile(Path file, ExchangeFormat format, Collection<Genre> genres,
+                           Collection<BookStatus> statuses) throws IOException {
+        // Os filtros são comparados pelo ID do gênero e pelo enum, sem depender das instâncias
+        Map<String, Genre> genreFilter = new LinkedHashMap<>();
+        if (genres != null) {
+            for (Genre genre : genres) {
+                genreFilter.putIfAbsent(genre.getId(), genre);
+            }
+        }
+        Set<BookStatus> statusFilter = statuses == null || statuses.isEmpty()
+                ? EnumSet.allOf(BookStatus.class) : EnumSet.copyOf(statuses);
+
+        // Com filtro por gênero, cada gênero é lido à parte (o resto da biblioteca nem é percorrido)
+        try (Stream<Book> books = genreFilter.isEmpty() ? source.get() : genreFilter.values().stream().flatMap(genreSource);
+             ExchangeRecordWriter writer = ExchangeRecordWriter.open(file, format)) {
+            Iterator<Book> iterator = books
+                    .filter(book -> statusFilter.contains(book.getStatus()))
+                    .iterator();
+            while (iterator.hasNext()) {
+                writer.write(iterator.next());
+            }
+            return writer.getRecordsWritten();
+        } catch (IOException | UncheckedIOException e) {
+            Files.deleteIfExists(file);
+            throw e instanceof UncheckedIOException ? ((UncheckedIOException) e).getCause() : (IOException) e;
+        }
+    }
+
+    /**
+     * Exporta a biblioteca pela linha de comando, direto do armazenamento (sem abrir a aplicação).
+     * Uso: {@code java -cp bookTracker.jar com.bookTracker.service.BookExporter livros.csv [--genre=Nome] [--status=READING]}
+     * (os filtros podem ser repetidos).
+     */
+    public static void main(String[] args) {
+        if (args.length < 1) {
+            System.err.println("Uso: BookExporter <arquivo.csv | arquivo.jsonl> [--genre=Nome]... [--status=Status]...");
+            System.exit(2);
+        }
+        BookRepository storage = BookService.openStorage();
+        GenreRepository genreStorage = (GenreRepository) storage;
+        try {
+            // 1. Filtros
+            List<Genre> genres = new ArrayList<>();
+            List<BookStatus> statuses = new ArrayList<>();
+            for (int i = 1; i < args.length; i++) {
+                if (args[i].startsWith("--genre=")) {
+                    genres.add(findGenre(genreStorage.loadGenres(), args[i].substring("--genre=".length())));
+                } else if (args[i].startsWith("--status=")) {
+                    statuses.add(BookImporter.status(args[i].substring("--status=".length()).trim()));
+                } else {
+                    throw new IllegalArgumentException("Opção desconhecida: " + args[i]);
+                }
+            }
+
+            // 2. Exportação
+            long start = System.nanoTime();
+            long count = new BookExporter(storage, genreStorage).exportFile(Path.of(args[0]), genres, statuses);
+            long millis = Math.max(1, (System.nanoTime() - start) / 1_000_000);
+            System.out.println(String.format("Exportação concluída: %,d livros, %,d ms (%,.0f livros/s, %,.1f MB/s)",
+                    count, millis, count * 1000.0 / millis, Files.size(Path.of(args[0])) / 1024.0 / 1024.0 * 1000.0 / millis));
+        } catch (IOException | IllegalArgumentException | ValidationException e) {
+            System.err.println("Erro ao exportar: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    /** @return O gênero com o nome informado (sem diferenciar maiúsculas). */
+    private static Genre findGenre(List<Genre> genres, String name) {
+        for (Genre genre : genres) {
+            if (genre.getName().trim().equalsIgnoreCase(name.trim())) {
+                return genre;
+            }
+        }
+        throw new IllegalArgumentException("Gênero não encontrado: " + name);
+    }
+}
@@ -0,0 +1,149 @@
+package com.bookTracker.service;
+
+import com.bookTracker.model.Book;
+import com.bookTracker.model.BookStatus;
+import com.bookTracker.model.Genre;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Índices secundários dos livros em memória, usados pelos filtros do {@link BookService}:
+ * por gênero (ID do {@link Genre}), por {@link BookStatus} e por tipo ({@code Ebook}/{@code PhysicalBook}).
+ *
+ * Cada índice guarda, para cada valor, os livros com aquele valor ordenados pela posição do livro
+ * na lista do serviço (um número de sequência dado na inclusão). Assim um filtro devolve o resultado
+ * na mesma ordem da lista completa, e o seu custo depende do tamanho do resultado, não da biblioteca.
+ *
+ * O índice lembra sob quais valores cada livro foi registrado: uma edição que altera o objeto no lugar
+ * (o mesmo {@link Book} com outro gênero) ainda é retirada do valor antigo corretamente.
+ * Não é thread-safe: é usado pelo {@link BookService}, na thread da interface.
+ *
+ * * @author Netto
+ */
+final class BookFilterIndex {
+
+    /** Valores sob os quais um livro está registrado, mais a sua posição na lista. */
+    private static final class Entry {
+        final long sequence;
+        String genreId;
+        BookStatus status;
+        Class<? extends Book> type;
+
+        Entry(long sequence) {
+            this.sequence = sequence;
+        }
+    }
+
+    private final Map<String, Entry> entries = new HashMap<>();
+    private final Map<String, NavigableMap<Long, Book>> byGenre = new HashMap<>();
+    private final Map<BookStatus, NavigableMap<Long, Book>> byStatus = new EnumMap<>(BookStatus.class);
+    private final Map<Class<? extends Book>, NavigableMap<Long, Book>> byType = new HashMap<>();
+    private long nextSequence;
+
+    /**
+     * Registra um livro novo no fim da lista, ou atualiza os índices de um livro já registrado
+     * (que mantém a sua posição).
+     */
+    void put(Book book) {
+        Entry entry = entries.get(book.getId());
+        if (entry == null) {
+            entry = new Entry(nextSequence++);
+            entries.put(book.getId(), entry);
+        } else {
+            unlink(entry);
+        }
+        entry.genreId = (book.getGenre() != null) ? book.getGenre().getId() : null;
+        entry.status = book.getStatus();
+        entry.type = book.getClass();
+        link(entry, book);
+    }
+
+    /** Retira um livro de todos os índices. */
+    void remove(String bookId) {
+        Entry entry = entries.remove(bookId);
+        if (entry != null) {
+            unlink(entry);
+        }
+    }
+
+    /**
+     * Consulta os livros que atendem a todos os critérios informados.
+     * Percorre apenas o menor dos índices envolvidos e confere os demais critérios em cada livro.
+     * @param genre Gênero ({@code null} = qualquer um).
+     * @param status Status ({@code null} = qualquer um).
+     * @param type Tipo do livro ({@code null} = qualquer um).
+     * @return Nova lista, na ordem da lista do serviço; {@code null} se nenhum critério foi informado.
+     */
+    List<Book> query(Genre genre, BookStatus status, Class<? extends Book> type) {
+        List<NavigableMap<Long, Book>> candidates = new ArrayList<>(3);
+        if (genre != null) candidates.add(bucket(byGenre, genre.getId()));
+        if (status != null) candidates.add(bucket(byStatus, status));
+        if (type != null) candidates.add(bucket(byType, type));
+        if (candidates.isEmpty()) {
+            return null;
+        }
+
+        NavigableMap<Long, Book> smallest = candidates.get(0);
+        for (NavigableMap<Long, Book> candidate : candidates) {
+            if (candidate.size() < smallest.size()) {
+                smallest = candidate;
+            }
+        }
+        List<Book> result = new ArrayList<>(smallest.size());
+        if (candidates.size() == 1) {
+            result.addAll(smallest.values());
+            return result;
+        }
+        for (Book book : smallest.values()) {
+            Entry entry = entries.get(book.getId());
+            if ((genre == null || genre.getId().equals(entry.genreId))
+                    && (status == null || status == entry.status)
+                    && (type == null || type == entry.type)) {
+                result.add(book);
+            }
+        }
+        return result;
+    }
+
+    private void link(Entry entry, Book book) {
+        if (entry.genreId != null) {
+            byGenre.computeIfAbsent(entry.genreId, key -> new TreeMap<>()).put(entry.sequence, book);
+        }
+        if (entry.status != null) {
+            byStatus.computeIfAbsent(entry.status, key -> new TreeMap<>()).put(entry.sequence, book);
+        }
+        byType.computeIfAbsent(entry.type, key -> new TreeMap<>()).put(entry.sequence, book);
+    }
+
+    private void unlink(Entry entry) {
+        unlink(byGenre, entry.genreId, entry.sequence);
+        unlink(byStatus, entry.status, entry.sequence);
+        unlink(byType, entry.type, entry.sequence);
+    }
+
+    /** Retira a posição do valor e descarta o valor que ficou sem livros. */
+    private static <K> void unlink(Map<K, NavigableMap<Long, Book>> index, K key, long sequence) {
+        if (key == null) {
+            return;
+        }
+        NavigableMap<Long, Book> books = index.get(key);
+        if (books != null) {
+            books.remove(sequence);
+            if (books.isEmpty()) {
+                index.remove(key);
+            }
+        }
+    }
+
+    private static <K> NavigableMap<Long, Book> bucket(Map<K, NavigableMap<Long, Book>> index, K key) {
+        NavigableMap<Long, Book> books = index.get(key);
+        return (books != null) ? books : Collections.emptyNavigableMap();
+    }
+}
@@ -0,0 +1,350 @@
+package com.bookTracker.service;
+
+import com.bookTracker.exception.ValidationException;
+import com.bookTracker.model.Book;
+import com.bookTracker.model.BookStatus;
+import com.bookTracker.model.Ebook;
+import com.bookTracker.model.Genre;
+import com.bookTracker.model.PhysicalBook;
+import com.bookTracker.persistence.DataManager;
+import com.bookTracker.persistence.ExchangeFormat;
+import com.bookTracker.persistence.ExchangeRecordReader;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+/**
+ * Importação em lote de listas de livros em CSV ou JSON Lines ({@link ExchangeFormat}),
+ * feita para arquivos grandes (centenas de milhares ou milhões de registros).
+ *
+ * Etapas, repetidas a cada lote de {@link #BATCH_SIZE} registros:
+ * 1. Leitura: o arquivo é lido em fluxo; apenas o texto de cada registro é separado.
+ * 2. Validação: os registros do lote são interpretados e validados em paralelo, com as mesmas
+ * regras do cadastro manual ({@code NewBook}).
+ * 3. Gêneros: os nomes são resolvidos de uma vez para o lote (sem diferenciar maiúsculas);
+ * os que ainda não existem são cadastrados. Gênero vazio (como a exportação grava um livro sem gênero)
+ * importa o livro sem gênero.
+ * 4. Gravação: o lote entra no serviço com uma única gravação ({@link BookService#importBatch}),
+ * feita em segundo plano enquanto o próximo lote é lido e validado.
+ *
+ * Registros inválidos não interrompem a importação: são contados e descritos no {@link ImportReport}.
+ * Livros com o ID de um livro já cadastrado substituem o existente.
+ * Também pode ser executado pela linha de comando ({@link #main(String[])}), inclusive com a aplicação
+ * aberta: a interface recebe os livros importados pela verificação periódica de alterações externas.
+ *
+ * * @author Netto
+ */
+public class BookImporter {
+
+    /** Registros por lote: cada lote é validado em paralelo e gravado de uma vez. */
+    static final int BATCH_SIZE = 50_000;
+
+    /** Local padrão dos Ebooks sem local informado (o mesmo do cadastro manual). */
+    private static final String DEFAULT_EBOOK_LOCAL = "PDF";
+
+    /**
+     * Recebe o andamento da importação ao fim de cada lote (na thread que está importando).
+     */
+    public interface ProgressListener {
+        void onProgress(ImportReport progress);
+    }
+
+    private final BookService bookService;
+
+    /**
+     * @param bookService O serviço que recebe os livros importados.
+     */
+    public BookImporter(BookService bookService) {
+        this.bookService = bookService;
+    }
+
+    /**
+     * Importa um arquivo, descobrindo o formato pela extensão ({@code .csv} ou {@code .jsonl}).
+     * @see #importFile(Path, ExchangeFormat, ProgressListener)
+     */
+    public ImportReport importFile(Path file, ProgressListener listener) throws IOException {
+        return importFile(file, ExchangeFormat.forFile(file), listener);
+    }
+
+    /**
+     * Importa todos os livros do arquivo. Retorna só depois que tudo foi gravado em disco.
+     * @param file Arquivo CSV (com cabeçalho) ou JSON Lines.
+     * @param format Formato do arquivo.
+     * @param listener Recebe o andamento a cada lote (pode ser {@code null}).
+     * @return Totais da importação e a descrição dos primeiros registros recusados.
+     * @throws IOException Se o arquivo não puder ser lido.
+     */
+    public ImportReport importFile(Path file, ExchangeFormat format, ProgressListener listener) throws IOException {
+        long start = System.nanoTime();
+        ImportReport report = new ImportReport();
+
+        // Gêneros por nome e IDs já cadastrados: consultados a cada registro, sem percorrer as listas
+        Map<String, Genre> genresByName = new HashMap<>();
+        for (Genre genre : bookService.getAllGenres()) {
+            genresByName.putIfAbsent(genreKey(genre.getName()), genre);
+        }
+        Set<String> knownIds = new HashSet<>();
+        for (Book book : bookService.getAllBooks()) {
+            knownIds.add(book.getId());
+        }
+
+        try (ExchangeRecordReader reader = ExchangeRecordReader.open(file, format)) {
+            List<String> records = new ArrayList<>(BATCH_SIZE);
+            long[] lines = new long[BATCH_SIZE];
+            while (true) {
+                // 1. Leitura do lote
+                records.clear();
+                String record;
+                while (records.size() < BATCH_SIZE && (record = reader.nextRecord()) != null) {
+                    lines[records.size()] = reader.getRecordLine();
+                    records.add(record);
+                }
+                if (records.isEmpty()) {
+                    break;
+                }
+                report.recordsRead += records.size();
+
+                // 2. Validação em paralelo (cada posição do vetor é escrita por uma única thread)
+                Book[] books = new Book[records.size()];
+                String[] genreNames = new String[records.size()];
+                String[] errors = new String[records.size()];
+                IntStream.range(0, records.size()).parallel().forEach(i -> {
+                    try {
+                        Map<String, Object> fields = reader.parse(records.get(i));
+                        genreNames[i] = genreName(fields);
+                        books[i] = toBook(fields);
+                    } catch (ValidationException | IllegalArgumentException e) {
+                        errors[i] = e.getMessage();
+                    }
+                });
+
+                // 3. Gêneros e montagem do lote, na ordem do arquivo
+                List<Book> added = new ArrayList<>(records.size());
+                List<Book> updated = new ArrayList<>();
+                List<Genre> newGenres = new ArrayList<>();
+                for (int i = 0; i < books.length; i++) {
+                    if (errors[i] != null) {
+                        report.reject(lines[i], errors[i]);
+                        continue;
+                    }
+                    Genre genre = null;
+                    if (genreNames[i] != null) {
+                        String key = genreKey(genreNames[i]);
+                        genre = genresByName.get(key);
+                        if (genre == null) {
+                            genre = new Genre(genreNames[i]);
+                            genresByName.put(key, genre);
+                            newGenres.add(genre);
+                        }
+                    }
+                    books[i].setGenre(genre);
+                    if (knownIds.add(books[i].getId())) {
+                        added.add(books[i]);
+                    } else {
+                        updated.add(books[i]);
+                    }
+                }
+
+                // 4. Uma única gravação para o lote inteiro
+                bookService.importBatch(added, updated, newGenres);
+                report.booksAdded += added.size();
+                report.booksUpdated += updated.size();
+                report.genresCreated += newGenres.size();
+                report.elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+                if (listener != null) {
+                    listener.onProgress(report.copy());
+                }
+            }
+        }
+
+        bookService.flush(); // O relatório final vale para o que já está em disco
+        report.elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        report.finished = true;
+        if (listener != null) {
+            listener.onProgress(report.copy());
+        }
+        return report;
+    }
+
+    /**
+     * Valida os campos de um registro e cria o livro (ainda sem gênero).
+     * As regras são as mesmas do cadastro manual: título, autor e editora obrigatórios,
+     * total de páginas maior que zero e página atual entre 0 e o total.
+     */
+    private static Book toBook(Map<String, Object> fields) throws ValidationException {
+        // 1. Textos
+        String title = requiredText(fields, "title", "Título");
+        String author = requiredText(fields, "author", "Autor");
+        String publisher = requiredText(fields, "publisher", "Editora");
+        String description = blockText(text(fields, "description"), "Descrição");
+
+        // 2. Números
+        int totalPages = number(fields, "totalPages", "Total de Páginas");
+        int currentPage = number(fields, "currentPage", "Página Atual");
+        int rating = number(fields, "rating", "Avaliação");
+        if (totalPages <= 0) {
+            throw new ValidationException("Total de Páginas deve ser maior que zero.");
+        }
+        if (currentPage < 0 || currentPage > totalPages) {
+            throw new ValidationException("Página Atual deve estar entre 0 e " + totalPages);
+        }
+        if (rating < 0 || rating > 5) {
+            throw new ValidationException("Avaliação deve estar entre 0 e 5.");
+        }
+
+        // 3. Status, ID e tipo
+        BookStatus status = status(text(fields, "status"));
+        String id = singleLine(text(fields, "id"), "ID");
+        if (id.isEmpty()) {
+            id = UUID.randomUUID().toString();
+        }
+        String type = text(fields, "type").toUpperCase(Locale.ROOT);
+        List<String> notes = list(fields, "notes");
+        List<String> quotes = list(fields, "quotes");
+        for (String note : notes) {
+            blockText(note, "Notas");
+        }
+        for (String quote : quotes) {
+            blockText(quote, "Citações");
+        }
+        if (type.isEmpty() || type.equals("PHYSICAL") || type.equals("FÍSICO")) {
+            return new PhysicalBook(id, title, author, totalPages, publisher, description, null,
+                    status, rating, currentPage, notes, quotes);
+        }
+        if (type.equals("EBOOK")) {
+            String local = singleLine(text(fields, "local"), "Local");
+            return new Ebook(id, title, author, totalPages, publisher, description, null,
+                    status, rating, currentPage, notes, quotes, local.isEmpty() ? DEFAULT_EBOOK_LOCAL : local);
+        }
+        throw new ValidationException("Tipo de livro inválido: " + type);
+    }
+
+    /** @return O texto do campo, sem espaços nas pontas ("" se ausente). */
+    private static String text(Map<String, Object> fields, String field) {
+        Object value = fields.get(field);
+        return value instanceof String ? ((String) value).trim() : "";
+    }
+
+    /** @return O texto de um campo obrigatório de uma linha só. */
+    private static String requiredText(Map<String, Object> fields, String field, String label) throws ValidationException {
+        String value = singleLine(text(fields, field), label);
+        if (value.isEmpty()) {
+            throw new ValidationException("Campo obrigatório vazio: " + label);
+        }
+        return value;
+    }
+
+    /**
+     * O nome do gênero, que precisa caber numa linha do arquivo de gêneros.
+     * @return O nome, ou {@code null} se o campo está vazio ou ausente (livro sem gênero).
+     */
+    private static String genreName(Map<String, Object> fields) throws ValidationException {
+        String name = singleLine(text(fields, "genre"), "Gênero");
+        if (name.isEmpty()) {
+            return null;
+        }
+        if (!DataManager.isStorableGenreName(name)) {
+            throw new ValidationException("Gênero não pode conter \" ; \": " + name);
+        }
+        return name;
+    }
+
+    /** Textos longos não podem ter uma linha igual à tag que fecha o bloco no {@code books.txt}. */
+    private static String blockText(String value, String label) throws ValidationException {
+        if (DataManager.hasBlockEndLine(value)) {
+            throw new ValidationException("Campo " + label + " tem uma linha reservada do formato (ex: DESCRIPTION_END).");
+        }
+        return value;
+    }
+
+    /** Campos curtos ocupam uma única linha no {@code books.txt}. */
+    private static String singleLine(String value, String label) throws ValidationException {
+        if (value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0) {
+            throw new ValidationException("Campo " + label + " não pode ter quebra de linha.");
+        }
+        return value;
+    }
+
+    /** @return O número do campo (0 se ausente). */
+    private static int number(Map<String, Object> fields, String field, String label) throws ValidationException {
+        String value = text(fields, field);
+        if (value.isEmpty()) {
+            return 0;
+        }
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new ValidationException("O campo " + label + " deve conter apenas números: " + value);
+        }
+    }
+
+    /** Aceita o nome do enum ({@code READING}) ou o nome exibido na tela ("Lendo"). Vazio = A Ler. */
+    static BookStatus status(String value) throws ValidationException {
+        if (value.isEmpty()) {
+            return BookStatus.TO_READ;
+        }
+        for (BookStatus status : BookStatus.values()) {
+            if (status.name().equalsIgnoreCase(value) || status.toString().equalsIgnoreCase(value)) {
+                return status;
+            }
+        }
+        throw new ValidationException("Status inválido: " + value);
+    }
+
+    /** @return Os itens de uma lista (citações ou notas), sem os vazios. */
+    private static List<String> list(Map<String, Object> fields, String field) {
+        Object value = fields.get(field);
+        List<String> items = new ArrayList<>();
+        if (value instanceof List) {
+            for (Object item : (List<?>) value) {
+                if (item instanceof String && !((String) item).isBlank()) {
+                    items.add((String) item);
+                }
+            }
+        } else if (value instanceof String && !((String) value).isBlank()) {
+            items.add((String) value); // JSON com um texto só no lugar do array
+        }
+        return items;
+    }
+
+    private static String genreKey(String name) {
+        return name.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Importa um arquivo pela linha de comando, mostrando o andamento a cada lote.
+     * Uso: {@code java -cp bookTracker.jar com.bookTracker.service.BookImporter livros.csv}
+     */
+    public static void main(String[] args) {
+        if (args.length != 1) {
+            System.err.println("Uso: BookImporter <arquivo.csv | arquivo.jsonl>");
+            System.exit(2);
+        }
+        BookService service = new BookService();
+        try {
+            ImportReport report = new BookImporter(service).importFile(Path.of(args[0]),
+                    progress -> System.out.println("Importando... " + progress));
+            System.out.println("Importação concluída: " + report);
+            for (String error : report.getErrors()) {
+                System.out.println("  " + error);
+            }
+            if (report.getRecordsRejected() > report.getErrors().size()) {
+                System.out.println("  ... e mais " + (report.getRecordsRejected() - report.getErrors().size()) + " registros recusados");
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("Erro ao importar: " + e.getMessage());
+            System.exit(1);
+        } finally {
+            service.shutdown();
+        }
+    }
+}
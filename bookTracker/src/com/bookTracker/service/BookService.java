@@ -1,191 +1,855 @@
-package com.bookTracker.service;
-
-import com.bookTracker.model.Book;
-import com.bookTracker.model.BookStatus;
-import com.bookTracker.model.Genre;
-import com.bookTracker.exception.ValidationException;
-import com.bookTracker.persistence.DataManager;
-
-import java.util.ArrayList;
-import java.util.List;
-import java.util.stream.Collectors;
-
-/**
- * Classe de Serviço (Controller) responsável pela lógica de negócios da aplicação.
- * 
- * O {@code BookService} atua como um intermediário entre a interface gráfica (GUI)
- * e a camada de persistência (arquivos). Ele mantém o estado atual da aplicação em memória
- * (listas de livros e gêneros) e garante que as regras de validação sejam cumpridas
- * antes de salvar qualquer dado.
- * 
- * * @author Netto
- */
-public class BookService {
-    /** Lista em memória contendo todos os livros cadastrados. */
-    private List<Book> bookList;
-    
-     /** Lista em memória contendo todos os gêneros cadastrados. */
-    private List<Genre> genreList;
-    
-    /** Gerenciador responsável por ler e escrever nos arquivos físicos (.txt). */
-    private DataManager dataManager;
-
-    // Arquivos TXT
-    // Nomes dos arquivos de persistência
-    private static final String BOOKS_FILE = "books.txt";
-    private static final String GENRES_FILE = "genres.txt";
-
-    /**
-     * Construtor do serviço.
-     * Inicializa o {@code DataManager} apontando para os arquivos corretos e
-     * carrega os dados imediatamente para a memória.
-     */
-    public BookService() {
-        // Aponta para os arquivos .txt
-        this.dataManager = new DataManager(BOOKS_FILE, GENRES_FILE);
-        loadData();
-    }
-
-    /**
-     * Carrega os dados dos arquivos de texto para as listas em memória.
-     * Ordem de Carregamento:
-     * 
-     * Primeiro carrega os Gêneros.
-     * Depois carrega os Livros, passando a lista de gêneros. Isso é necessário
-     * para que o {@code DataManager} possa vincular cada livro ao seu objeto {@code Genre} correto
-     * através do ID salvo no arquivo.
-     */
-    private void loadData() {
-        // 1. Carrega Gêneros
-        this.genreList = dataManager.loadGenres();
-        if (this.genreList == null) {
-            this.genreList = new ArrayList<>();
-        }
-
-        // 2. Carrega Livros (com a referência dos gêneros)
-        this.bookList = dataManager.loadBooks(this.genreList);
-        if (this.bookList == null) {
-            this.bookList = new ArrayList<>();
-        }
-    }
-
-    /**
-     * Persiste o estado atual das listas em memória para os arquivos de texto.
-     * Deve ser chamado após qualquer operação de adição, edição ou remoção.
-     * 
-     * Salva os arquivos .txt
-     */
-    public void saveData() {
-        dataManager.saveGenres(this.genreList);
-        dataManager.saveBooks(this.bookList);
-    }
-
-    /**
-     * Adiciona um novo livro ao sistema.
-     * * @param book O objeto livro a ser adicionado.
-     * @throws ValidationException Se o título do livro for nulo ou vazio.
-     */
-    public void addBook(Book book) throws ValidationException {
-        if (book.getTitle() == null || book.getTitle().trim().isEmpty()) {
-            throw new ValidationException("O título do livro não pode estar vazio.");
-        }
-        this.bookList.add(book);
-        saveData(); // Persiste a alteração
-    }
-
-    /**
-     * Adiciona um novo gênero ao sistema.
-     * * @param genre O objeto gênero a ser adicionado.
-     * @throws ValidationException Se o nome for vazio ou se já existir um gênero com o mesmo nome (case-insensitive).
-     */
-    public void addGenre(Genre genre) throws ValidationException {
-        if (genre.getName() == null || genre.getName().trim().isEmpty()) {
-                throw new ValidationException("O nome do gênero não pode estar vazio");
-        }
-        // Regra de negócio: Não permitir duplicados
-        if (this.genreList.stream().anyMatch(g -> g.getName().equalsIgnoreCase(genre.getName()))) {
-                throw new ValidationException("Esse gênero já existe");
-        }
-        this.genreList.add(genre);
-        saveData(); // Persiste a alteração
-    }
-
-    /**
-     * Filtra a lista de livros por um gênero específico.
-     * * @param genre O gênero para filtrar. Se for {@code null}, retorna todos os livros.
-     * @return Uma nova lista contendo apenas os livros do gênero especificado.
-     */
-    public List<Book> filterBooksByGenre(Genre genre) {
-        if (genre == null) {
-            return new ArrayList<>(this.bookList); 
-        }
-        return this.bookList.stream().filter(book -> book.getGenre() != null && book.getGenre().equals(genre)).collect(Collectors.toList());
-    }
-
-    /**
-     * Retorna todos os gêneros cadastrados.
-     * @return Uma cópia da lista de gêneros.
-     */
-    public List<Genre> getAllGenres() {
-        return new ArrayList<>(this.genreList);
-    }
-
-    /**
-     * Retorna todos os livros cadastrados.
-     * @return Uma cópia da lista de livros.
-     */
-    public List<Book> getAllBooks() {
-        return new ArrayList<>(this.bookList);
-    }
-
-    /**
-     * Atualiza os dados de um livro existente.
-     * O método busca o livro na lista pelo ID. Se encontrado, substitui
-     * o objeto antigo pelo novo (que contém as edições) e salva o arquivo.
-     * @param updateBook O objeto livro com os dados atualizados (deve ter o mesmo ID do original).
-     */
-    public void updateBook(Book updateBook) {	    
-        if (updateBook == null || updateBook.getId() == null) {
-            System.out.println("Erro: Tentativa de atualizar um livro nulo ou sem ID.");
-            return;
-        }
-
-        int index = -1;
-        for (int i = 0; i < bookList.size(); i++) {
-            // Busca pelo ID para garantir que estamos alterando o livro certo
-            if (bookList.get(i).getId().equals(updateBook.getId())) {
-                index = i;
-                break;
-            }
-        }
-
-        if (index != -1) {
-            bookList.set(index, updateBook);
-            saveData(); // Persiste a alteração
-            System.out.println("Livro atualizado: " + updateBook.getTitle());
-        } else {
-            System.out.println("Tentativa de atualizar um livro que não existe na lista (ID: " + updateBook.getId() + ")");
-        }
-    }
-
-    /**
-     * Remove um livro do sistema.
-     * @param bookToRemove O livro a ser removido.
-     */
-    public void deleteBook(Book bookToRemove) {
-    if (bookToRemove == null) {
-        System.err.println("Erro: Tentativa de remover um livro nulo.");
-        return;
-    }
-
-    // Remove da lista se o ID corresponder
-    boolean removed = this.bookList.removeIf(book -> book.getId().equals(bookToRemove.getId()));
-
-    if (removed) {
-        saveData(); // Persiste a alteração - Salva a lista modificada
-        System.out.println("Livro removido: " + bookToRemove.getTitle());
-    } else {
-        System.err.println("Tentativa de remover um livro que não foi encontrado (ID: " + bookToRemove.getId() + ")");
-    }
-   }
-}
+package com.bookTracker.service;
+
+import com.bookTracker.model.Book;
+import com.bookTracker.model.BookStatus;
+import com.bookTracker.model.Genre;
+import com.bookTracker.exception.ValidationException;
+import com.bookTracker.persistence.BookRepository;
+import com.bookTracker.persistence.DataManager;
+import com.bookTracker.persistence.GenreRepository;
+import com.bookTracker.persistence.LibraryChanges;
+import com.bookTracker.persistence.ShardedDataManager;
+import com.bookTracker.persistence.SqlDataManager;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
+
+/**
+ * Classe de Serviço (Controller) responsável pela lógica de negócios da aplicação.
+ * 
+ * O {@code BookService} atua como um intermediário entre a interface gráfica (GUI)
+ * e a camada de persistência (arquivos). Ele mantém o estado atual da aplicação em memória
+ * (listas de livros e gêneros) e garante que as regras de validação sejam cumpridas
+ * antes de salvar qualquer dado.
+ * 
+ * As gravações em disco são feitas em segundo plano ({@link WriteBehindQueue}): cada operação
+ * altera a memória e retorna imediatamente, sem fazer a interface esperar pelo disco.
+ * Use {@link #flush()} para aguardar a gravação de tudo o que está pendente. Ao encerrar a
+ * aplicação, um shutdown hook faz isso automaticamente.
+ * O journal de alterações é consolidado no {@code books.txt} por uma thread de baixa prioridade
+ * ({@link CompactionScheduler}) sempre que passa do limite de registros ou de tamanho.
+ * Outros processos (ex: um importador em lote) podem alterar a mesma biblioteca ao mesmo tempo;
+ * {@link #readExternalChanges()} lê essas alterações fora da thread da interface e
+ * {@link #applyExternalChanges} as traz para a memória.
+ * 
+ * * @author Netto
+ */
+public class BookService {
+    /**
+     * Todos os livros cadastrados, indexados pelo ID (índice primário).
+     * O mapa mantém a ordem de inclusão, que é a ordem da lista entregue à interface; substituir um livro
+     * pelo ID mantém a sua posição. Busca, edição e exclusão são feitas direto pelo ID, sem percorrer a lista.
+     */
+    private final Map<String, Book> booksById = new LinkedHashMap<>();
+
+    /** Índices secundários (gênero, status e tipo), mantidos junto com o {@link #booksById}. */
+    private final BookFilterIndex filterIndex = new BookFilterIndex();
+
+    /**
+     * Índice de texto (título, autor, descrição, citações e notas) da busca por palavras ({@link #searchText}).
+     * Montado em segundo plano na primeira vez que é pedido ({@link #textIndexBuild}) e, a partir daí, mantido
+     * junto com o {@link #booksById}. {@code null} enquanto a montagem não termina.
+     */
+    private FullTextIndex textIndex;
+
+    /**
+     * Montagem em andamento do índice de texto e do {@link #titleAuthorIndex}, na mesma leitura
+     * ({@code null} depois que os índices foram adotados).
+     */
+    private CompletableFuture<SearchIndexes> textIndexBuild;
+
+    /** Livros alterados durante a montagem dos índices de busca (ID -> livro; {@code null} = excluído). */
+    private final Map<String, Book> textIndexBacklog = new LinkedHashMap<>();
+
+    /** Leitura das alterações de outros processos em andamento ({@code null} se nenhuma). */
+    private CompletableFuture<ExternalChanges> externalRead;
+
+    /** IDs dos livros incluídos, editados ou excluídos nesta aplicação durante a {@link #externalRead}. */
+    private final Set<String> editedDuringExternalRead = new HashSet<>();
+
+    /**
+     * Índice de trigramas do título e do autor, da busca "contém" ({@link #searchTitleAuthor}).
+     * Montado em segundo plano junto com o {@link #textIndex} e, a partir daí, mantido junto com o
+     * {@link #booksById}. {@code null} enquanto a montagem não termina.
+     */
+    private TrigramIndex titleAuthorIndex;
+    
+     /** Lista em memória contendo todos os gêneros cadastrados. */
+    private List<Genre> genreList;
+    
+    /**
+     * Armazenamento dos livros: arquivos de texto ({@link DataManager}), arquivos de texto por gênero
+     * ({@link ShardedDataManager}) ou banco de dados ({@link SqlDataManager}).
+     */
+    private final BookRepository bookRepository;
+
+    /** Armazenamento dos gêneros (o mesmo objeto do {@link #bookRepository}, em todos os formatos). */
+    private final GenreRepository genreRepository;
+
+    // Arquivos TXT
+    // Nomes dos arquivos de persistência
+    private static final String BOOKS_FILE = "books.txt";
+    private static final String GENRES_FILE = "genres.txt";
+    // Snapshot dos livros quando STORAGE_PROPERTY = "binary" (o journal continua no books.journal)
+    private static final String BINARY_BOOKS_FILE = "books.bin";
+    // Banco de dados SQLite, usado no lugar dos arquivos TXT quando STORAGE_PROPERTY = "sqlite"
+    private static final String DATABASE_FILE = "books.db";
+    // Diretório dos segmentos por gênero, usado quando STORAGE_PROPERTY = "sharded"
+    private static final String SHARDS_DIRECTORY = "books";
+
+    /**
+     * Propriedade do sistema que escolhe o armazenamento ({@code -DbookTracker.storage=sqlite}, {@code sharded}
+     * ou {@code binary}); o padrão são os arquivos TXT.
+     */
+    private static final String STORAGE_PROPERTY = "bookTracker.storage";
+    private static final String STORAGE_SQLITE = "sqlite";
+    private static final String STORAGE_SHARDED = "sharded";
+    private static final String STORAGE_BINARY = "binary";
+
+    /**
+     * Propriedade do sistema que liga ou desliga a compactação dos textos longos nos arquivos TXT
+     * ({@code -DbookTracker.textCompression=true} ou {@code false}). A escolha fica gravada com a biblioteca:
+     * sem a propriedade, vale a última escolha.
+     */
+    private static final String TEXT_COMPRESSION_PROPERTY = "bookTracker.textCompression";
+
+    /**
+     * Quantidade de registros no journal a partir da qual o serviço consolida as alterações
+     * no {@code books.txt}, evitando que o journal (e o tempo de carga) cresça sem limite.
+     */
+    private static final int JOURNAL_COMPACT_THRESHOLD = 500;
+
+    /** Tamanho do journal (em bytes) a partir do qual ele é consolidado, mesmo com poucos registros. */
+    private static final long JOURNAL_COMPACT_BYTES = 4L * 1024 * 1024;
+
+    /** Intervalo entre as verificações periódicas do journal. */
+    private static final long COMPACTION_CHECK_INTERVAL_MILLIS = 60_000;
+
+    /** Quantidade máxima de gravações pendentes antes de a fila segurar quem está alterando dados. */
+    private static final int WRITE_QUEUE_CAPACITY = 1024;
+
+    /** Fila de gravação em segundo plano. Tudo o que toca o disco depois da carga passa por ela. */
+    private final WriteBehindQueue writeQueue;
+
+    /** Consolida o journal em segundo plano, com prioridade baixa, quando ele passa do limite. */
+    private final CompactionScheduler compactionScheduler;
+
+    /**
+     * Construtor do serviço.
+     * Abre o armazenamento escolhido pela propriedade {@code bookTracker.storage} (arquivos TXT,
+     * por padrão) e carrega os dados imediatamente para a memória.
+     */
+    public BookService() {
+        this(openStorage());
+    }
+
+    /** Todos os formatos guardam livros e gêneros no mesmo objeto. */
+    private BookService(BookRepository storage) {
+        this(storage, (GenreRepository) storage);
+    }
+
+    /**
+     * Construtor do serviço com um armazenamento específico.
+     * @param bookRepository Onde os livros são lidos e gravados.
+     * @param genreRepository Onde os gêneros são lidos e gravados.
+     */
+    public BookService(BookRepository bookRepository, GenreRepository genreRepository) {
+        this.bookRepository = bookRepository;
+        this.genreRepository = genreRepository;
+        loadData();
+
+        this.writeQueue = new WriteBehindQueue("BookTracker-Persistencia", WRITE_QUEUE_CAPACITY);
+        this.compactionScheduler = new CompactionScheduler("BookTracker-Consolidacao",
+                this::journalNeedsCompaction, bookRepository::compactJournal, COMPACTION_CHECK_INTERVAL_MILLIS);
+        // Um journal grande deixado por uma queda é consolidado logo, para a próxima abertura reaplicar pouco
+        compactionScheduler.requestCheck();
+        // Garante que nada pendente seja perdido ao fechar a aplicação (ex: EXIT_ON_CLOSE)
+        Runtime.getRuntime().addShutdownHook(new Thread(this::shutdown, "BookTracker-Encerramento"));
+    }
+
+    /**
+     * Abre o armazenamento padrão da aplicação.
+     * Com {@code -DbookTracker.storage=sqlite}, usa o banco {@code books.db}; na primeira abertura, a biblioteca
+     * dos arquivos TXT é copiada para ele. Se o driver do SQLite não estiver no classpath (ou a cópia falhar),
+     * continua nos arquivos TXT.
+     * Com {@code -DbookTracker.storage=sharded}, usa um segmento por gênero no diretório {@code books}
+     * ({@link ShardedDataManager}); na primeira abertura, a biblioteca do {@code books.txt} é dividida entre eles.
+     * Com {@code -DbookTracker.storage=binary}, o snapshot dos livros fica no {@code books.bin}, com o journal
+     * por cima; na primeira abertura, o {@code books.txt} é convertido (e, sem a propriedade, convertido de volta).
+     * Com {@code -DbookTracker.textCompression}, os arquivos TXT passam a usar (ou deixam de usar) a compactação
+     * dos textos longos.
+     */
+    static BookRepository openStorage() {
+        if (STORAGE_SHARDED.equalsIgnoreCase(System.getProperty(STORAGE_PROPERTY))) {
+            ShardedDataManager shards = new ShardedDataManager(SHARDS_DIRECTORY, GENRES_FILE);
+            applyTextCompressionProperty(shards);
+            if (!shards.exists() && hasFileLibrary()) {
+                DataManager textFiles = new DataManager(BOOKS_FILE, GENRES_FILE);
+                shards.saveBooks(textFiles.loadBooks(textFiles.loadGenres()));
+                System.out.println("Biblioteca dividida por gênero em " + SHARDS_DIRECTORY);
+            }
+            shards.setLazyTextLoading(true);
+            return shards;
+        }
+        if (STORAGE_SQLITE.equalsIgnoreCase(System.getProperty(STORAGE_PROPERTY))) {
+            if (SqlDataManager.isDriverAvailable()) {
+                SqlDataManager database = new SqlDataManager(DATABASE_FILE);
+                boolean imported = true;
+                // A cópia é uma única transação com a marcação de concluída: interrompida, é refeita na próxima abertura
+                if (hasFileLibrary() && database.needsTextImport()) {
+                    DataManager textFiles = new DataManager(BOOKS_FILE, GENRES_FILE);
+                    List<Genre> genres = textFiles.loadGenres();
+                    imported = database.importTextLibrary(genres, textFiles.loadBooks(genres));
+                    if (imported) {
+                        System.out.println("Biblioteca copiada dos arquivos TXT para " + DATABASE_FILE);
+                    }
+                }
+                if (imported) {
+                    // A tabela principal só usa campos curtos: descrição, citações e notas são lidas ao abrir o livro
+                    database.setLazyTextLoading(true);
+                    return database;
+                }
+                System.err.println("Não foi possível copiar a biblioteca para " + DATABASE_FILE + "; usando os arquivos TXT.");
+            } else {
+                System.err.println("Driver do SQLite não encontrado no classpath; usando os arquivos TXT.");
+            }
+        }
+        // Aponta para os arquivos .txt
+        DataManager dataManager = new DataManager(BOOKS_FILE, GENRES_FILE);
+        applyTextCompressionProperty(dataManager);
+        dataManager.setBinaryStorage(STORAGE_BINARY.equalsIgnoreCase(System.getProperty(STORAGE_PROPERTY)));
+        // A tabela principal só usa campos curtos: descrição, citações e notas são lidas ao abrir o livro
+        dataManager.setLazyTextLoading(true);
+        return dataManager;
+    }
+
+    /**
+     * Indica se há uma biblioteca nos arquivos ({@code books.txt} ou, no formato binário, {@code books.bin})
+     * para ser levada a outro armazenamento. Lida pelo {@link DataManager} de texto, ela volta antes ao {@code books.txt}.
+     */
+    private static boolean hasFileLibrary() {
+        return new File(BOOKS_FILE).exists() || new File(BINARY_BOOKS_FILE).exists();
+    }
+
+    /** Aplica a {@link #TEXT_COMPRESSION_PROPERTY}, se informada (a biblioteca é regravada na carga, se preciso). */
+    private static void applyTextCompressionProperty(BookRepository repository) {
+        String value = System.getProperty(TEXT_COMPRESSION_PROPERTY);
+        if (value != null && !value.isBlank()) {
+            repository.setTextCompression(Boolean.parseBoolean(value.trim()));
+        }
+    }
+
+    /**
+     * Aguarda até que todas as alterações feitas até agora estejam gravadas em disco.
+     */
+    public void flush() {
+        writeQueue.flush();
+    }
+
+    /**
+     * Lê os livros gravados um de cada vez, direto do armazenamento (sem passar pela lista em memória).
+     * As alterações pendentes são gravadas antes, para que o resultado corresponda à lista atual.
+     * O stream deve ser fechado após o uso.
+     */
+    Stream<Book> streamStoredBooks() {
+        flush();
+        return bookRepository.streamBooks(getAllGenres());
+    }
+
+    /**
+     * Lê os livros gravados de um único gênero, direto do armazenamento. No armazenamento dividido por gênero,
+     * só o segmento do gênero é lido.
+     * @param genre O gênero; {@code null} lê os livros sem gênero.
+     * @see #streamStoredBooks()
+     */
+    Stream<Book> streamStoredBooks(Genre genre) {
+        flush();
+        return bookRepository.streamBooksByGenre(genre, getAllGenres());
+    }
+
+    /**
+     * Grava tudo o que está pendente e encerra a thread de gravação.
+     * Alterações feitas depois disso são gravadas de forma síncrona.
+     */
+    public void shutdown() {
+        compactionScheduler.shutdown();
+        writeQueue.shutdown();
+    }
+
+    /**
+     * Liga ou desliga a compactação dos textos longos (descrição, citações e notas) no {@code books.txt}.
+     * A biblioteca inteira é regravada no novo formato, em segundo plano.
+     * @param enabled {@code true} para compactar os textos longos.
+     */
+    public void setTextCompression(boolean enabled) {
+        bookRepository.setTextCompression(enabled);
+        saveData();
+    }
+
+    /**
+     * Carrega os dados dos arquivos de texto para as listas em memória.
+     * Ordem de Carregamento:
+     * 
+     * Primeiro carrega os Gêneros.
+     * Depois carrega os Livros, passando a lista de gêneros. Isso é necessário
+     * para que o armazenamento possa vincular cada livro ao seu objeto {@code Genre} correto
+     * através do ID salvo no arquivo.
+     */
+    private void loadData() {
+        // 1. Carrega Gêneros
+        this.genreList = genreRepository.loadGenres();
+        if (this.genreList == null) {
+            this.genreList = new ArrayList<>();
+        }
+
+        // 2. Carrega Livros (com a referência dos gêneros)
+        List<Book> loaded = bookRepository.loadBooks(this.genreList);
+        if (loaded != null) {
+            loaded.forEach(this::putBook);
+        }
+    }
+
+    /**
+     * Persiste o estado atual das listas em memória para os arquivos de texto.
+     * As operações do dia a dia gravam apenas no journal; este método faz o salvamento
+     * completo (snapshot) e descarta o journal.
+     * 
+     * Salva os arquivos .txt (em segundo plano, a partir de uma cópia das listas atuais)
+     */
+    public void saveData() {
+        List<Genre> genres = new ArrayList<>(this.genreList);
+        List<Book> books = getAllBooks();
+        // Um salvamento completo substitui qualquer outro ainda pendente
+        writeQueue.submit("snapshot", () -> {
+            genreRepository.saveGenres(genres);
+            bookRepository.saveBooks(books);
+        });
+    }
+
+    /**
+     * Inclui um lote de livros importados ({@link BookImporter}) com uma única gravação para o lote inteiro:
+     * os gêneros novos e, em seguida, os livros. O lote é registrado no journal (uma única sincronização)
+     * e logo consolidado no armazenamento definitivo, para que uma queda no meio não perca nem corrompa livros.
+     * @param added Livros novos, acrescentados ao fim da lista.
+     * @param updated Livros com o ID de um livro já cadastrado, que é substituído.
+     * @param newGenres Gêneros criados para o lote.
+     */
+    void importBatch(List<Book> added, List<Book> updated, List<Genre> newGenres) {
+        this.genreList.addAll(newGenres);
+        added.forEach(this::putBook);
+        for (Book book : updated) {
+            Book previous = booksById.get(book.getId());
+            if (previous != null) {
+                keepUnknownFields(previous, book);
+            }
+            putBook(book); // Substitui no mesmo lugar, ou acrescenta ao fim
+        }
+
+        List<Book> batch = new ArrayList<>(added.size() + updated.size());
+        batch.addAll(added);
+        batch.addAll(updated);
+        // Cópias para o salvamento completo, caso o incremental não seja possível
+        List<Genre> genres = new ArrayList<>(this.genreList);
+        List<Book> books = getAllBooks();
+        writeQueue.submit(null, () -> {
+            newGenres.forEach(genreRepository::appendGenre);
+            if (!bookRepository.appendBookUpserts(batch) || !bookRepository.compactJournal()) {
+                genreRepository.saveGenres(genres);
+                bookRepository.saveBooks(books);
+            }
+        });
+    }
+
+    /**
+     * Enfileira o registro de um livro no journal. Edições seguidas do mesmo livro
+     * que ainda não foram gravadas são coalescidas: apenas a versão mais recente vai para o disco.
+     * A tarefa grava uma cópia feita agora: edições posteriores no livro em memória não entram
+     * pela metade num registro já enfileirado.
+     */
+    private void persistUpsert(Book book) {
+        Book snapshot = book.copy();
+        writeQueue.submit("book:" + book.getId(), () -> bookRepository.appendBookUpsert(snapshot));
+    }
+
+    /**
+     * Pede ao agendador que verifique o journal assim que a alteração enfileirada chegar ao disco.
+     * Chamado após cada alteração registrada no journal. A consolidação em si acontece em segundo plano.
+     */
+    private void compactJournalIfNeeded() {
+        // Mesma chave: o pedido vai sempre para depois da última alteração enfileirada
+        writeQueue.submit("compaction-check", compactionScheduler::requestCheck);
+    }
+
+    /** Diz se o journal passou do limite de registros ou de tamanho. */
+    private boolean journalNeedsCompaction() {
+        return bookRepository.getJournalRecordCount() >= JOURNAL_COMPACT_THRESHOLD
+                || bookRepository.getJournalSize() >= JOURNAL_COMPACT_BYTES;
+    }
+
+    /**
+     * Alterações gravadas por outro processo, lidas por {@link #readExternalChanges()} e ainda não
+     * trazidas para a memória ({@link #applyExternalChanges}).
+     */
+    public static final class ExternalChanges {
+        private final List<Genre> newGenres;
+        private final LibraryChanges books;
+
+        private ExternalChanges(List<Genre> newGenres, LibraryChanges books) {
+            this.newGenres = newGenres;
+            this.books = books;
+        }
+    }
+
+    /**
+     * Começa a ler, numa thread própria, as alterações gravadas por outro processo desde a carga (ou a última
+     * atualização), sem recarregar a biblioteca inteira. Feito para ser chamado periodicamente pela interface:
+     * a conferência, a gravação das alterações pendentes e a leitura (feitas com o arquivo bloqueado)
+     * não travam a tela.
+     * 
+     * O resultado deve ser entregue a {@link #applyExternalChanges} na thread da interface, mesmo que
+     * a leitura falhe; até lá, novas chamadas não começam outra leitura.
+     * @return A leitura em andamento, que termina com as alterações ({@code null} se não houve nenhuma);
+     * {@code null} se a leitura anterior ainda não foi aplicada.
+     */
+    public CompletableFuture<ExternalChanges> readExternalChanges() {
+        if (this.externalRead != null) {
+            return null;
+        }
+        List<Genre> known = new ArrayList<>(this.genreList);
+        CompletableFuture<ExternalChanges> read = new CompletableFuture<>();
+        Thread reader = new Thread(() -> {
+            try {
+                read.complete(loadExternalChanges(known));
+            } catch (RuntimeException | Error e) {
+                read.completeExceptionally(e);
+            }
+        }, "BookTracker-AlteracoesExternas");
+        reader.setDaemon(true);
+        this.externalRead = read;
+        reader.start();
+        return read;
+    }
+
+    /**
+     * Lê as alterações de outros processos (na thread de leitura).
+     * @param known Os gêneros em memória quando a leitura começou.
+     */
+    private ExternalChanges loadExternalChanges(List<Genre> known) {
+        if (!bookRepository.hasExternalChanges()) {
+            return null;
+        }
+        flush(); // Nossas alterações chegam ao disco antes de lermos as dos outros
+
+        // 1. Gêneros cadastrados por fora
+        List<Genre> genres = new ArrayList<>(known);
+        List<Genre> newGenres = new ArrayList<>();
+        Set<String> knownIds = new HashSet<>();
+        known.forEach(genre -> knownIds.add(genre.getId()));
+        for (Genre genre : genreRepository.loadGenres()) {
+            if (knownIds.add(genre.getId())) {
+                genres.add(genre);
+                newGenres.add(genre);
+            }
+        }
+
+        // 2. Livros
+        return new ExternalChanges(newGenres, bookRepository.refresh(genres));
+    }
+
+    /**
+     * Traz para a memória as alterações lidas por {@link #readExternalChanges()}. Deve ser chamado na
+     * thread da interface, com o resultado da leitura (ou {@code null} se ela falhou).
+     * 
+     * Gêneros novos são acrescentados à lista; os existentes são mantidos, pois os livros em memória
+     * apontam para eles. Um livro alterado nesta aplicação durante a leitura mantém a versão em memória,
+     * que é a mais nova (e é a que vai para o disco).
+     * @return {@code true} se algum livro ou gênero mudou (a interface deve ser atualizada).
+     */
+    public boolean applyExternalChanges(ExternalChanges changes) {
+        this.externalRead = null;
+        Set<String> editedIds = new HashSet<>(this.editedDuringExternalRead);
+        this.editedDuringExternalRead.clear();
+        if (changes == null) {
+            return false;
+        }
+
+        // 1. Gêneros cadastrados por fora
+        boolean changed = false;
+        for (Genre genre : changes.newGenres) {
+            if (findGenre(genre.getId()) == null) {
+                this.genreList.add(genre);
+                changed = true;
+            }
+        }
+
+        // 2. Livros: já estão gravados, então não entram no controle de alterações pendentes
+        for (String id : changes.books.getDeletedBookIds()) {
+            if (editedIds.contains(id)) {
+                continue;
+            }
+            removeBook(id);
+            changed = true;
+        }
+        for (Book book : changes.books.getChangedBooks()) {
+            if (editedIds.contains(book.getId())) {
+                continue;
+            }
+            if (book.getGenre() != null) {
+                Genre own = findGenre(book.getGenre().getId());
+                if (own != null) {
+                    book.setGenre(own); // Mesmo objeto usado pelo resto da aplicação
+                }
+            }
+            putBook(book);
+            changed = true;
+        }
+        return changed;
+    }
+
+    /** Procura um gênero da lista em memória pelo ID. */
+    private Genre findGenre(String id) {
+        for (Genre genre : this.genreList) {
+            if (genre.getId().equals(id)) {
+                return genre;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Adiciona um novo livro ao sistema.
+     * * @param book O objeto livro a ser adicionado.
+     * @throws ValidationException Se o título do livro for nulo ou vazio.
+     */
+    public void addBook(Book book) throws ValidationException {
+        if (book.getTitle() == null || book.getTitle().trim().isEmpty()) {
+            throw new ValidationException("O título do livro não pode estar vazio.");
+        }
+        putBook(book);
+        persistUpsert(book); // Persiste apenas a alteração (journal)
+        compactJournalIfNeeded();
+    }
+
+    /**
+     * Adiciona um novo gênero ao sistema.
+     * * @param genre O objeto gênero a ser adicionado.
+     * @throws ValidationException Se o nome for vazio ou se já existir um gênero com o mesmo nome (case-insensitive).
+     */
+    public void addGenre(Genre genre) throws ValidationException {
+        if (genre.getName() == null || genre.getName().trim().isEmpty()) {
+                throw new ValidationException("O nome do gênero não pode estar vazio");
+        }
+        // Regra de negócio: Não permitir duplicados
+        if (this.genreList.stream().anyMatch(g -> g.getName().equalsIgnoreCase(genre.getName()))) {
+                throw new ValidationException("Esse gênero já existe");
+        }
+        this.genreList.add(genre);
+        writeQueue.submit(null, () -> genreRepository.appendGenre(genre)); // Anexa apenas o novo gênero ao arquivo
+    }
+
+    /**
+     * Filtra a lista de livros por um gênero específico.
+     * * @param genre O gênero para filtrar. Se for {@code null}, retorna todos os livros.
+     * @return Uma nova lista contendo apenas os livros do gênero especificado.
+     */
+    public List<Book> filterBooksByGenre(Genre genre) {
+        return filterBooks(genre, null, null);
+    }
+
+    /**
+     * Filtra os livros por gênero, status e tipo, usando os índices secundários: o custo depende da
+     * quantidade de livros encontrados, não do tamanho da biblioteca.
+     * @param genre O gênero ({@code null} = todos).
+     * @param status O status de leitura ({@code null} = todos).
+     * @param type O tipo do livro, ex: {@code Ebook.class} ({@code null} = todos).
+     * @return Uma nova lista com os livros encontrados, na ordem da lista completa.
+     */
+    public List<Book> filterBooks(Genre genre, BookStatus status, Class<? extends Book> type) {
+        List<Book> result = filterIndex.query(genre, status, type);
+        return (result != null) ? result : getAllBooks();
+    }
+
+    /**
+     * Retorna todos os gêneros cadastrados.
+     * @return Uma cópia da lista de gêneros.
+     */
+    public List<Genre> getAllGenres() {
+        return new ArrayList<>(this.genreList);
+    }
+
+    /**
+     * Retorna todos os livros cadastrados.
+     * @return Uma cópia da lista de livros.
+     */
+    public List<Book> getAllBooks() {
+        return new ArrayList<>(this.booksById.values());
+    }
+
+    /**
+     * Procura um livro pelo ID, direto no índice (sem percorrer a lista).
+     * @param id O ID (UUID) do livro.
+     * @return O livro, ou {@code null} se não existir.
+     */
+    public Book findById(String id) {
+        return (id == null) ? null : this.booksById.get(id);
+    }
+
+    /**
+     * Busca livros por palavras no título, autor, descrição, citações e notas, sem diferenciar maiúsculas
+     * nem acentos. O livro precisa conter todas as palavras; palavras com 3 letras ou mais também valem
+     * como começo de palavra ("machad" encontra "Machado"), e a busca no singular encontra o plural.
+     *
+     * Usa um índice invertido: o custo depende das palavras buscadas, não do tamanho da biblioteca.
+     * O índice é montado em segundo plano na primeira busca (ou antes, por {@link #whenTextIndexReady(Runnable)}),
+     * lendo os textos direto do armazenamento (os livros em memória continuam sem os textos longos carregados);
+     * depois disso é atualizado a cada alteração. Enquanto a montagem não termina, a busca não encontra nada.
+     * @param query As palavras buscadas.
+     * @return Os livros encontrados (vazio se a busca não tem nenhuma palavra válida).
+     */
+    public SearchHits searchText(String query) {
+        FullTextIndex index = textIndex();
+        return (index != null) ? index.search(query) : SearchHits.empty();
+    }
+
+    /**
+     * Busca por palavras apenas nos campos informados.
+     * @see #searchText(String)
+     */
+    public SearchHits searchText(String query, Set<SearchField> fields) {
+        FullTextIndex index = textIndex();
+        return (index != null) ? index.search(query, fields) : SearchHits.empty();
+    }
+
+    /**
+     * Começa a montar os índices de busca (por palavras e por trecho do título e do autor) em segundo plano,
+     * se ainda não foram montados, e executa a ação quando eles estiverem prontos (na hora, se já estiverem).
+     * A ação roda na thread que montou o índice: a interface deve repassá-la à sua thread.
+     * @param action Ex: refazer a busca que estava na tela.
+     */
+    public void whenTextIndexReady(Runnable action) {
+        if (textIndex() == null && this.textIndexBuild == null) {
+            startTextIndexBuild();
+        }
+        CompletableFuture<SearchIndexes> build = this.textIndexBuild;
+        if (build != null) {
+            build.whenComplete((index, error) -> action.run());
+        } else {
+            action.run();
+        }
+    }
+
+    /**
+     * Busca os livros cujo título ou autor contém o trecho informado (qualquer parte de uma palavra),
+     * sem diferenciar maiúsculas. Usa um índice de trigramas: só os livros que têm todos os trechos de
+     * 3 caracteres da busca são conferidos, em vez de toda a biblioteca.
+     * O índice é montado em segundo plano junto com o da busca por palavras (ver {@link #searchText(String)}):
+     * enquanto a montagem não termina, a busca não encontra nada.
+     * @param term O trecho buscado.
+     * @return Os livros encontrados (vazio se o trecho é vazio).
+     */
+    public SearchHits searchTitleAuthor(String term) {
+        adoptSearchIndexes();
+        return (this.titleAuthorIndex != null) ? this.titleAuthorIndex.search(term) : SearchHits.empty();
+    }
+
+    /**
+     * Começa a montar os índices de busca numa thread própria, a partir dos livros atuais.
+     * As alterações feitas enquanto isso ficam no {@link #textIndexBacklog}.
+     */
+    private void startTextIndexBuild() {
+        Set<String> ids = new HashSet<>(booksById.keySet());
+        List<Genre> genres = new ArrayList<>(this.genreList);
+        CompletableFuture<SearchIndexes> build = new CompletableFuture<>();
+        Thread builder = new Thread(() -> {
+            try {
+                flush(); // As alterações anteriores chegam ao armazenamento antes da leitura (fora da thread da interface)
+                build.complete(buildSearchIndexes(ids, genres));
+            } catch (RuntimeException | Error e) {
+                build.completeExceptionally(e);
+            }
+        }, "BookTracker-IndiceDeBusca");
+        builder.setDaemon(true);
+        this.textIndexBuild = build;
+        builder.start();
+    }
+
+    /**
+     * Monta os índices de busca lendo os livros direto do armazenamento (na thread de montagem),
+     * numa única passada para os dois índices.
+     * @param ids Os livros carregados (o armazenamento pode ter, por exemplo, livros de outro processo).
+     */
+    private SearchIndexes buildSearchIndexes(Set<String> ids, List<Genre> genres) {
+        long start = System.nanoTime();
+        SearchIndexes indexes = new SearchIndexes();
+        try (Stream<Book> books = bookRepository.streamBooks(genres)) {
+            books.filter(book -> ids.contains(book.getId())).forEach(indexes::put);
+        } catch (RuntimeException e) {
+            // Os livros que faltarem entram pela memória, quando os índices forem adotados
+            System.err.println("Erro ao ler os livros para o índice de busca: " + e.getMessage());
+        }
+        System.out.println("Índice de busca montado: " + indexes.text.size() + " livros em "
+                + (System.nanoTime() - start) / 1_000_000 + " ms");
+        return indexes;
+    }
+
+    /**
+     * @return O índice de texto, ou {@code null} se ainda está sendo montado.
+     */
+    private FullTextIndex textIndex() {
+        adoptSearchIndexes();
+        return this.textIndex;
+    }
+
+    /**
+     * Começa a montagem dos índices de busca, se ainda não começou, e adota os índices se ela já terminou.
+     * Ao serem adotados, os índices recebem as alterações feitas durante a montagem.
+     */
+    private void adoptSearchIndexes() {
+        if (this.textIndex == null && this.textIndexBuild == null) {
+            startTextIndexBuild();
+        }
+        if (this.textIndex == null && this.textIndexBuild.isDone()) {
+            SearchIndexes indexes = this.textIndexBuild.isCompletedExceptionally()
+                    ? new SearchIndexes() : this.textIndexBuild.join();
+            this.textIndexBuild = null;
+            this.textIndexBacklog.forEach((id, book) -> {
+                if (book != null) {
+                    indexes.put(book);
+                } else {
+                    indexes.remove(id);
+                }
+            });
+            this.textIndexBacklog.clear();
+            if (indexes.text.size() < booksById.size()) {
+                // Livros que não estavam no armazenamento (ex: gravação que falhou) entram pela memória
+                for (Book book : booksById.values()) {
+                    if (indexes.text.documentOf(book.getId()) < 0) {
+                        indexes.put(book);
+                    }
+                }
+            }
+            this.textIndex = indexes.text;
+            this.titleAuthorIndex = indexes.titleAuthor;
+        }
+    }
+
+    /** Os dois índices de busca, montados juntos em segundo plano. */
+    private static final class SearchIndexes {
+        final FullTextIndex text = new FullTextIndex();
+        final TrigramIndex titleAuthor = new TrigramIndex();
+
+        void put(Book book) {
+            text.put(book);
+            titleAuthor.put(book);
+        }
+
+        void remove(String id) {
+            text.remove(id);
+            titleAuthor.remove(id);
+        }
+    }
+
+    /** Inclui um livro nos índices, ou substitui no mesmo lugar o livro com o mesmo ID. */
+    private void putBook(Book book) {
+        this.booksById.put(book.getId(), book);
+        if (this.externalRead != null) {
+            this.editedDuringExternalRead.add(book.getId());
+        }
+        this.filterIndex.put(book);
+        if (this.textIndex != null) {
+            this.textIndex.put(book);
+        } else if (this.textIndexBuild != null) {
+            this.textIndexBacklog.put(book.getId(), book);
+        }
+        if (this.titleAuthorIndex != null) {
+            this.titleAuthorIndex.put(book);
+        }
+    }
+
+    /**
+     * Retira um livro dos índices.
+     * @return O livro retirado, ou {@code null} se não existia.
+     */
+    private Book removeBook(String id) {
+        this.filterIndex.remove(id);
+        if (this.externalRead != null) {
+            this.editedDuringExternalRead.add(id);
+        }
+        if (this.textIndex != null) {
+            this.textIndex.remove(id);
+        } else if (this.textIndexBuild != null) {
+            this.textIndexBacklog.put(id, null);
+        }
+        if (this.titleAuthorIndex != null) {
+            this.titleAuthorIndex.remove(id);
+        }
+        return this.booksById.remove(id);
+    }
+
+    /**
+     * Atualiza os dados de um livro existente.
+     * O método busca o livro pelo ID ({@link #findById(String)}). Se encontrado, substitui
+     * o objeto antigo pelo novo (que contém as edições) e salva o arquivo.
+     * @param updateBook O objeto livro com os dados atualizados (deve ter o mesmo ID do original).
+     */
+    public void updateBook(Book updateBook) {	    
+        if (updateBook == null || updateBook.getId() == null) {
+            System.out.println("Erro: Tentativa de atualizar um livro nulo ou sem ID.");
+            return;
+        }
+
+        // Busca pelo ID para garantir que estamos alterando o livro certo
+        Book previous = findById(updateBook.getId());
+
+        if (previous != null) {
+            keepUnknownFields(previous, updateBook);
+            putBook(updateBook); // Mantém a posição do livro na lista
+            persistUpsert(updateBook); // Persiste apenas a alteração (journal)
+            compactJournalIfNeeded();
+            System.out.println("Livro atualizado: " + updateBook.getTitle());
+        } else {
+            System.out.println("Tentativa de atualizar um livro que não existe na lista (ID: " + updateBook.getId() + ")");
+        }
+    }
+
+    /**
+     * Passa para a nova versão de um livro os campos desconhecidos da versão anterior (gravados por uma
+     * versão mais nova da aplicação), que as telas de edição não conhecem e deixariam de fora.
+     */
+    private static void keepUnknownFields(Book previous, Book replacement) {
+        if (replacement.getUnknownFields() == null) {
+            replacement.setUnknownFields(previous.getUnknownFields());
+        }
+    }
+
+    /**
+     * Remove um livro do sistema.
+     * @param bookToRemove O livro a ser removido.
+     */
+    public void deleteBook(Book bookToRemove) {
+    if (bookToRemove == null) {
+        System.err.println("Erro: Tentativa de remover um livro nulo.");
+        return;
+    }
+
+    // Remove do índice se o ID existir
+    boolean removed = removeBook(bookToRemove.getId()) != null;
+
+    if (removed) {
+        String bookId = bookToRemove.getId();
+        writeQueue.submit("book:" + bookId, () -> bookRepository.appendBookDelete(bookId)); // Persiste apenas a exclusão (journal)
+        compactJournalIfNeeded();
+        System.out.println("Livro removido: " + bookToRemove.getTitle());
+    } else {
+        System.err.println("Tentativa de remover um livro que não foi encontrado (ID: " + bookToRemove.getId() + ")");
+    }
+   }
+}
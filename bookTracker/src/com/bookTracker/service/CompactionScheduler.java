@@ -0,0 +1,108 @@
+package com.bookTracker.service;
+
+import java.util.function.BooleanSupplier;
+
+/**
+ * Agendador da consolidação do journal, usado pelo {@link BookService}.
+ *
+ * Uma thread de baixa prioridade verifica periodicamente (e sempre que alguém avisa, via
+ * {@link #requestCheck()}) se o journal passou do limite. Se passou, executa a consolidação,
+ * que grava o estado atual no {@code books.txt} e descarta o journal. Assim o journal, e o
+ * tempo de reaplicá-lo na próxima abertura, nunca crescem sem limite.
+ *
+ * Quem altera os dados apenas avisa e segue em frente: a verificação e a consolidação
+ * acontecem nesta thread, sem segurar a interface nem a fila de gravação.
+ *
+ * * @author Netto
+ */
+class CompactionScheduler {
+
+    private final BooleanSupplier needsCompaction;
+    private final Runnable compaction;
+    private final long intervalMillis;
+    private final Thread worker;
+
+    /** Indica se há um pedido de verificação ainda não atendido. */
+    private boolean checkRequested;
+
+    /** Indica se a thread está consolidando neste momento. */
+    private boolean running;
+    private boolean shutdown;
+
+    /**
+     * Cria o agendador e inicia a thread.
+     * @param name Nome da thread (aparece em ferramentas de diagnóstico).
+     * @param needsCompaction Diz se o journal passou do limite (tamanho ou quantidade de registros).
+     * @param compaction A consolidação em si.
+     * @param intervalMillis Intervalo entre as verificações periódicas.
+     */
+    CompactionScheduler(String name, BooleanSupplier needsCompaction, Runnable compaction, long intervalMillis) {
+        this.needsCompaction = needsCompaction;
+        this.compaction = compaction;
+        this.intervalMillis = intervalMillis;
+        this.worker = new Thread(this::run, name);
+        this.worker.setDaemon(true);
+        this.worker.setPriority(Thread.MIN_PRIORITY); // Só usa a CPU que sobrar
+        this.worker.start();
+    }
+
+    /**
+     * Pede uma verificação imediata (ex: depois de uma alteração ir para o journal).
+     * Não espera: apenas acorda a thread. Vários pedidos seguidos viram uma única verificação.
+     */
+    synchronized void requestCheck() {
+        checkRequested = true;
+        notifyAll();
+    }
+
+    /**
+     * Encerra a thread, aguardando a consolidação em andamento (se houver) terminar.
+     */
+    void shutdown() {
+        synchronized (this) {
+            shutdown = true;
+            notifyAll();
+            while (running && Thread.currentThread() != worker) {
+                waitQuietly(0);
+            }
+        }
+    }
+
+    /** Laço da thread: espera um pedido ou o intervalo, verifica e consolida se necessário. */
+    private void run() {
+        while (true) {
+            synchronized (this) {
+                if (!checkRequested && !shutdown) {
+                    waitQuietly(intervalMillis);
+                }
+                if (shutdown) {
+                    return;
+                }
+                checkRequested = false;
+                running = true;
+            }
+
+            try {
+                if (needsCompaction.getAsBoolean()) {
+                    compaction.run();
+                }
+            } catch (RuntimeException e) {
+                // Uma falha não pode derrubar a thread: a próxima verificação tenta de novo
+                System.err.println("Erro ao consolidar o journal: " + e.getMessage());
+            } finally {
+                synchronized (this) {
+                    running = false;
+                    notifyAll();
+                }
+            }
+        }
+    }
+
+    private void waitQuietly(long millis) {
+        try {
+            wait(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,285 @@
+package com.bookTracker.service;
+
+import com.bookTracker.model.Book;
+import com.bookTracker.model.SearchKeys;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Índice invertido dos textos dos livros (título, autor, descrição, citações e notas), usado pela
+ * busca por palavras do {@link BookService}.
+ *
+ * Cada termo produzido pelo {@link PortugueseTokenizer} aponta, para cada {@link SearchField}, a lista
+ * dos documentos que o contêm. Um documento é o número dado a um livro quando ele entra no índice;
+ * as listas só crescem no fim e ficam sempre em ordem.
+ *
+ * Uma edição não altera as listas existentes: o livro recebe um número novo e o antigo é marcado como
+ * removido. Quando há mais removidos do que livros, o índice é refeito a partir das próprias listas
+ * (sem ler os livros de novo).
+ *
+ * Busca: o livro precisa conter todas as palavras buscadas. Palavras com 3 letras ou mais também
+ * encontram termos que começam com elas ("polít" encontra "política"); as menores, só o termo exato.
+ * Não é thread-safe: é usado pelo {@link BookService}, na thread da interface.
+ *
+ * * @author Netto
+ */
+final class FullTextIndex {
+
+    /** Tamanho mínimo de uma palavra buscada para valer como começo de termo. */
+    static final int MIN_PREFIX_LENGTH = 3;
+
+    /** Quantidade de documentos removidos tolerada antes de refazer o índice. */
+    private static final int MIN_DEAD_TO_COMPACT = 1024;
+
+    private static final SearchField[] FIELDS = SearchField.values();
+
+    /** Documentos de um termo, separados por campo. */
+    private static final class Postings {
+        final int[][] documents = new int[FIELDS.length][];
+        final int[] sizes = new int[FIELDS.length];
+
+        void add(SearchField field, int document) {
+            int f = field.ordinal();
+            int[] list = documents[f];
+            int size = sizes[f];
+            if (list == null) {
+                documents[f] = list = new int[2];
+            } else if (size > 0 && list[size - 1] == document) {
+                return; // O termo já apareceu nesse campo do mesmo livro
+            } else if (size == list.length) {
+                documents[f] = list = Arrays.copyOf(list, size + (size >> 1) + 1);
+            }
+            list[size] = document;
+            sizes[f] = size + 1;
+        }
+
+        boolean isEmpty() {
+            for (int size : sizes) {
+                if (size > 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    private final Map<String, Postings> terms = new HashMap<>();
+    private final Map<String, Integer> documentsById = new HashMap<>();
+    private String[] bookIds = new String[16];
+    private final BitSet live = new BitSet();
+    private int documentCount;
+
+    /** Termos em ordem, para achar os que começam com uma palavra; cada termo novo entra no seu lugar. */
+    private final NavigableSet<String> sortedTerms = new TreeSet<>();
+
+    /**
+     * Indexa um livro novo, ou reindexa um livro já indexado (ex: depois de uma edição).
+     * Os textos longos são lidos do livro; num livro carregado sob demanda, isso os carrega.
+     */
+    void put(Book book) {
+        remove(book.getId());
+        int document = documentCount++;
+        if (document == bookIds.length) {
+            bookIds = Arrays.copyOf(bookIds, document * 2);
+        }
+        bookIds[document] = book.getId();
+        documentsById.put(book.getId(), document);
+        live.set(document);
+
+        indexFolded(SearchField.TITLE, book.getTitleKey(), document);
+        indexFolded(SearchField.AUTHOR, book.getAuthorKey(), document);
+        index(SearchField.DESCRIPTION, book.getDescription(), document);
+        index(SearchField.QUOTE, book.getQuotes(), document);
+        index(SearchField.NOTE, book.getNotes(), document);
+    }
+
+    /** Retira um livro do índice (as listas são limpas na próxima reorganização). */
+    void remove(String bookId) {
+        Integer document = documentsById.remove(bookId);
+        if (document == null) {
+            return;
+        }
+        live.clear(document);
+        bookIds[document] = null;
+        int dead = documentCount - documentsById.size();
+        if (dead > MIN_DEAD_TO_COMPACT && dead > documentsById.size()) {
+            compact();
+        }
+    }
+
+    /** Busca em todos os campos. */
+    SearchHits search(String query) {
+        return search(query, EnumSet.allOf(SearchField.class));
+    }
+
+    /**
+     * Busca os livros que contêm todas as palavras da consulta em algum dos campos informados.
+     * Cada palavra pode estar num campo diferente.
+     * @param query As palavras buscadas (acentos, maiúsculas e palavras vazias são ignorados).
+     * @param fields Os campos considerados.
+     * @return Os livros encontrados; vazio se a consulta não tem nenhuma palavra válida.
+     */
+    SearchHits search(String query, Set<SearchField> fields) {
+        BitSet result = null;
+        for (String word : queryWords(query)) {
+            BitSet matches = new BitSet(documentCount);
+            if (word.length() >= MIN_PREFIX_LENGTH) {
+                for (String term : sortedTerms.tailSet(word, true)) {
+                    if (!term.startsWith(word)) {
+                        break;
+                    }
+                    collect(terms.get(term), fields, matches);
+                }
+            } else {
+                collect(terms.get(word), fields, matches);
+            }
+            String stem = PortugueseTokenizer.stem(word);
+            if (!stem.startsWith(word)) {
+                collect(terms.get(stem), fields, matches);
+            }
+
+            if (result == null) {
+                result = matches;
+            } else {
+                result.and(matches);
+            }
+            if (result.isEmpty()) {
+                break;
+            }
+        }
+        if (result == null) {
+            result = new BitSet();
+        }
+        result.and(live);
+        return new SearchHits(this::documentOf, this::bookIdOf, result);
+    }
+
+    /** @return Quantidade de livros no índice. */
+    int size() {
+        return documentsById.size();
+    }
+
+    /** @return O documento atual do livro, ou -1 se ele não está no índice. */
+    int documentOf(String bookId) {
+        Integer document = documentsById.get(bookId);
+        return (document != null) ? document : -1;
+    }
+
+    String bookIdOf(int document) {
+        return bookIds[document];
+    }
+
+    // ==========================================================================================
+    // == MÉTODOS INTERNOS
+    // ==========================================================================================
+
+    private void index(SearchField field, String text, int document) {
+        PortugueseTokenizer.tokenize(text, term -> addPosting(term, field, document));
+    }
+
+    /** Título e autor já vêm normalizados do livro. */
+    private void indexFolded(SearchField field, String key, int document) {
+        PortugueseTokenizer.tokenizeFolded(key, term -> addPosting(term, field, document));
+    }
+
+    private void index(SearchField field, List<String> texts, int document) {
+        if (texts != null) {
+            for (String text : texts) {
+                index(field, text, document);
+            }
+        }
+    }
+
+    private void addPosting(String term, SearchField field, int document) {
+        Postings postings = terms.get(term);
+        if (postings == null) {
+            postings = new Postings();
+            terms.put(term, postings);
+            sortedTerms.add(term);
+        }
+        postings.add(field, document);
+    }
+
+    /** As palavras da consulta, normalizadas e sem as palavras vazias nem repetições. */
+    private static Set<String> queryWords(String query) {
+        Set<String> words = new LinkedHashSet<>();
+        if (query == null) {
+            return words;
+        }
+        for (String word : SearchKeys.fold(query).split("[^\\p{L}\\p{N}]+")) {
+            if (!PortugueseTokenizer.isStopword(word)) {
+                words.add(word);
+            }
+        }
+        return words;
+    }
+
+    private static void collect(Postings postings, Set<SearchField> fields, BitSet matches) {
+        if (postings == null) {
+            return;
+        }
+        for (SearchField field : fields) {
+            int f = field.ordinal();
+            int[] list = postings.documents[f];
+            for (int i = 0; i < postings.sizes[f]; i++) {
+                matches.set(list[i]);
+            }
+        }
+    }
+
+    /**
+     * Renumera os livros que continuam no índice (na mesma ordem) e retira das listas os documentos
+     * removidos. Termos que ficaram sem nenhum livro são descartados.
+     */
+    private void compact() {
+        int[] renumber = new int[documentCount];
+        String[] compacted = new String[Math.max(16, documentsById.size() * 2)];
+        int next = 0;
+        for (int document = 0; document < documentCount; document++) {
+            if (live.get(document)) {
+                renumber[document] = next;
+                compacted[next] = bookIds[document];
+                documentsById.put(bookIds[document], next);
+                next++;
+            } else {
+                renumber[document] = -1;
+            }
+        }
+
+        Iterator<Map.Entry<String, Postings>> iterator = terms.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<String, Postings> entry = iterator.next();
+            Postings postings = entry.getValue();
+            for (int f = 0; f < FIELDS.length; f++) {
+                int[] list = postings.documents[f];
+                int size = 0;
+                for (int i = 0; i < postings.sizes[f]; i++) {
+                    int document = renumber[list[i]];
+                    if (document >= 0) {
+                        list[size++] = document;
+                    }
+                }
+                postings.sizes[f] = size;
+            }
+            if (postings.isEmpty()) {
+                iterator.remove();
+                sortedTerms.remove(entry.getKey());
+            }
+        }
+
+        bookIds = compacted;
+        documentCount = next;
+        live.clear();
+        live.set(0, next);
+    }
+}
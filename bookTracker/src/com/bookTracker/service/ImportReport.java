@@ -0,0 +1,99 @@
+package com.bookTracker.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Resultado (ou andamento) de uma importação em lote ({@link BookImporter}).
+ * Cada chamada de progresso recebe uma cópia independente, que pode ser guardada ou exibida em outra thread.
+ *
+ * * @author Netto
+ */
+public class ImportReport {
+    /** Quantidade máxima de erros guardados com a descrição (os demais são apenas contados). */
+    static final int MAX_ERRORS = 100;
+
+    long recordsRead;
+    long booksAdded;
+    long booksUpdated;
+    long recordsRejected;
+    int genresCreated;
+    long elapsedMillis;
+    boolean finished;
+    final List<String> errors = new ArrayList<>();
+
+    /** @return Cópia do estado atual (usada para avisar o progresso). */
+    ImportReport copy() {
+        ImportReport copy = new ImportReport();
+        copy.recordsRead = recordsRead;
+        copy.booksAdded = booksAdded;
+        copy.booksUpdated = booksUpdated;
+        copy.recordsRejected = recordsRejected;
+        copy.genresCreated = genresCreated;
+        copy.elapsedMillis = elapsedMillis;
+        copy.finished = finished;
+        copy.errors.addAll(errors);
+        return copy;
+    }
+
+    /** Registra um registro recusado, guardando a descrição dos primeiros {@link #MAX_ERRORS}. */
+    void reject(long line, String reason) {
+        recordsRejected++;
+        if (errors.size() < MAX_ERRORS) {
+            errors.add("Linha " + line + ": " + reason);
+        }
+    }
+
+    /** @return Registros lidos do arquivo até agora. */
+    public long getRecordsRead() {
+        return recordsRead;
+    }
+
+    /** @return Livros novos incluídos na biblioteca. */
+    public long getBooksAdded() {
+        return booksAdded;
+    }
+
+    /** @return Livros já existentes (mesmo ID) substituídos pela versão do arquivo. */
+    public long getBooksUpdated() {
+        return booksUpdated;
+    }
+
+    /** @return Registros recusados pela validação. */
+    public long getRecordsRejected() {
+        return recordsRejected;
+    }
+
+    /** @return Gêneros cadastrados automaticamente por não existirem ainda. */
+    public int getGenresCreated() {
+        return genresCreated;
+    }
+
+    /** @return Tempo decorrido desde o início da importação, em milissegundos. */
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    /** @return Vazão média, em registros lidos por segundo. */
+    public double getRecordsPerSecond() {
+        return elapsedMillis > 0 ? recordsRead * 1000.0 / elapsedMillis : 0;
+    }
+
+    /** @return {@code true} se a importação terminou (todos os lotes foram entregues para gravação). */
+    public boolean isFinished() {
+        return finished;
+    }
+
+    /** @return Descrição dos primeiros erros de validação (no máximo {@value #MAX_ERRORS}). */
+    public List<String> getErrors() {
+        return Collections.unmodifiableList(errors);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%,d registros lidos (%,d incluídos, %,d atualizados, %,d recusados), %d gêneros novos, "
+                + "%,d ms (%,.0f registros/s)", recordsRead, booksAdded, booksUpdated, recordsRejected,
+                genresCreated, elapsedMillis, getRecordsPerSecond());
+    }
+}
@@ -0,0 +1,108 @@
+package com.bookTracker.service;
+
+import com.bookTracker.model.SearchKeys;
+
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Separa textos em português nos termos usados pelo índice de texto ({@link FullTextIndex}).
+ *
+ * 1. Normalização: letras minúsculas e sem acentos ({@link SearchKeys}: "Política" e "politica" viram o mesmo termo).
+ * 2. Separação: cada sequência de letras e dígitos é uma palavra; o resto (espaços, pontuação) separa.
+ * 3. Palavras vazias: artigos, preposições e conjunções comuns ("de", "para", "que"...) e palavras
+ * de uma letra só não são indexadas.
+ * 4. Plural: além da palavra como está, é indexado o seu radical no singular ("livros" → "livro",
+ * "canções" → "cancao", "animais" → "animal"), de forma que a busca no singular encontra o plural.
+ *
+ * * @author Netto
+ */
+final class PortugueseTokenizer {
+
+    /** Palavras frequentes demais para ajudar numa busca (já sem acentos). */
+    private static final Set<String> STOPWORDS = Set.of(
+            "as", "os", "um", "uma", "uns", "umas",
+            "de", "da", "do", "das", "dos", "em", "na", "no", "nas", "nos",
+            "ao", "aos", "pela", "pelo", "pelas", "pelos", "num", "numa",
+            "ou", "que", "para", "pra", "por", "com", "sem", "se", "como", "mas", "mais",
+            "ja", "nao", "sim", "foi", "ser", "sao", "esta", "este", "isso", "isto",
+            "ele", "ela", "eles", "elas", "seu", "sua", "seus", "suas", "lhe", "me", "te");
+
+    private PortugueseTokenizer() {
+    }
+
+    /**
+     * Entrega cada termo do texto, na ordem em que aparece. Uma palavra no plural é entregue
+     * duas vezes: como está e como radical no singular.
+     * @param text O texto ({@code null} não gera termos).
+     * @param terms Recebe os termos.
+     */
+    static void tokenize(String text, Consumer<String> terms) {
+        if (text != null && !text.isEmpty()) {
+            tokenizeFolded(SearchKeys.fold(text), terms);
+        }
+    }
+
+    /**
+     * Como {@link #tokenize}, para um texto já normalizado (ex: {@link com.bookTracker.model.Book#getTitleKey()}).
+     */
+    static void tokenizeFolded(String folded, Consumer<String> terms) {
+        int length = folded.length();
+        int start = -1;
+        for (int i = 0; i <= length; i++) {
+            boolean wordChar = i < length && Character.isLetterOrDigit(folded.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                emit(folded.substring(start, i), terms);
+                start = -1;
+            }
+        }
+    }
+
+    /**
+     * Radical no singular de uma palavra já normalizada (regras simples do plural em português).
+     * @return O radical, ou a própria palavra se ela não parece estar no plural.
+     */
+    static String stem(String word) {
+        int length = word.length();
+        if (length <= 3 || !word.endsWith("s")) {
+            return word;
+        }
+        if (word.endsWith("oes") || word.endsWith("aes")) {
+            return word.substring(0, length - 3) + "ao";   // canções, pães
+        }
+        if (word.endsWith("ns")) {
+            return word.substring(0, length - 2) + "m";    // homens, jardins
+        }
+        if (length > 4 && word.endsWith("ais")) {
+            return word.substring(0, length - 2) + "l";    // animais
+        }
+        if (length > 4 && (word.endsWith("eis") || word.endsWith("ois"))) {
+            return word.substring(0, length - 2) + "l";    // papéis, faróis
+        }
+        if (length > 4 && (word.endsWith("res") || word.endsWith("zes"))) {
+            return word.substring(0, length - 2);          // autores, vozes
+        }
+        if (word.endsWith("ss") || word.endsWith("us") || word.endsWith("is")) {
+            return word;                                   // ônibus, lápis
+        }
+        return word.substring(0, length - 1);              // livros, poemas
+    }
+
+    /** @return {@code true} se a palavra (já normalizada) não deve ser indexada nem buscada. */
+    static boolean isStopword(String word) {
+        return word.length() < 2 || STOPWORDS.contains(word);
+    }
+
+    private static void emit(String word, Consumer<String> terms) {
+        if (isStopword(word)) {
+            return;
+        }
+        terms.accept(word);
+        String stem = stem(word);
+        if (!stem.equals(word)) {
+            terms.accept(stem);
+        }
+    }
+}
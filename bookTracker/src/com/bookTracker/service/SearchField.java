@@ -0,0 +1,25 @@
+package com.bookTracker.service;
+
+/**
+ * Campos de texto de um livro que entram no índice de busca ({@link BookService#searchText}).
+ *
+ * * @author Netto
+ */
+public enum SearchField {
+    TITLE("Título"),
+    AUTHOR("Autor"),
+    DESCRIPTION("Descrição"),
+    QUOTE("Citações"),
+    NOTE("Notas");
+
+    private final String displayName;
+
+    SearchField(String displayName) {
+        this.displayName = displayName;
+    }
+
+    @Override
+    public String toString() {
+        return displayName;
+    }
+}
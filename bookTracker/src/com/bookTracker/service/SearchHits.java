@@ -0,0 +1,70 @@
+package com.bookTracker.service;
+
+import com.bookTracker.model.Book;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.function.IntFunction;
+import java.util.function.ToIntFunction;
+
+/**
+ * Resultado de uma busca num índice do {@link BookService}: o conjunto de livros que contêm todas
+ * as palavras buscadas ({@link BookService#searchText}) ou o trecho buscado ({@link BookService#searchTitleAuthor}).
+ *
+ * O resultado não copia a lista de livros; ele vale para o estado da biblioteca no momento da busca
+ * e deve ser usado logo em seguida (ex: para filtrar a tabela da tela principal).
+ *
+ * * @author Netto
+ */
+public final class SearchHits {
+
+    private final ToIntFunction<String> documentOf;
+    private final IntFunction<String> bookIdOf;
+    private final BitSet documents;
+
+    /**
+     * @param documentOf Número do livro no índice que fez a busca (-1 se não está no índice).
+     * @param bookIdOf ID do livro de um número do índice.
+     * @param documents Números dos livros encontrados.
+     */
+    SearchHits(ToIntFunction<String> documentOf, IntFunction<String> bookIdOf, BitSet documents) {
+        this.documentOf = documentOf;
+        this.bookIdOf = bookIdOf;
+        this.documents = documents;
+    }
+
+    /** @return Um resultado sem nenhum livro (ex: o índice ainda está sendo montado). */
+    static SearchHits empty() {
+        return new SearchHits(bookId -> -1, document -> null, new BitSet());
+    }
+
+    /** @return {@code true} se o livro com esse ID foi encontrado pela busca. */
+    public boolean contains(String bookId) {
+        int document = documentOf.applyAsInt(bookId);
+        return document >= 0 && documents.get(document);
+    }
+
+    /** @return {@code true} se o livro foi encontrado pela busca. */
+    public boolean contains(Book book) {
+        return book != null && contains(book.getId());
+    }
+
+    /** @return A quantidade de livros encontrados. */
+    public int size() {
+        return documents.cardinality();
+    }
+
+    public boolean isEmpty() {
+        return documents.isEmpty();
+    }
+
+    /** @return Os IDs dos livros encontrados. */
+    public List<String> bookIds() {
+        List<String> ids = new ArrayList<>(size());
+        for (int document = documents.nextSetBit(0); document >= 0; document = documents.nextSetBit(document + 1)) {
+            ids.add(bookIdOf.apply(document));
+        }
+        return ids;
+    }
+}
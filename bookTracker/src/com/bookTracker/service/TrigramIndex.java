@@ -0,0 +1,297 @@
+package com.bookTracker.service;
+
+import com.bookTracker.model.Book;
+import com.bookTracker.model.SearchKeys;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Índice de trigramas (trechos de 3 caracteres) do título e do autor dos livros, usado pela busca
+ * "contém" da tela principal ({@link BookService#searchTitleAuthor}): qualquer parte de uma palavra encontra o livro,
+ * sem diferenciar maiúsculas nem acentos.
+ *
+ * Os trigramas são tirados das chaves normalizadas do livro ({@link Book#getTitleKey()}, {@link Book#getAuthorKey()});
+ * cada um aponta a lista dos documentos que o contêm.
+ * As listas são comprimidas: cada documento é gravado como a diferença para o anterior, em bytes de 7 bits
+ * (a maioria das diferenças ocupa 1 byte).
+ *
+ * Busca de um trecho com 3 caracteres ou mais:
+ * 1. Candidatos: os documentos presentes nas listas de todos os trigramas do trecho, começando pela menor lista.
+ * 2. Conferência: os trigramas podem estar em posições que não formam o trecho, por isso cada candidato
+ * é conferido nas chaves do título e do autor (o índice guarda as mesmas chaves do livro, sem cópias).
+ * Trechos com 1 ou 2 caracteres não têm trigramas e são conferidos em todos os livros.
+ *
+ * Como no {@link FullTextIndex}, uma edição dá ao livro um número novo e o antigo é descartado na
+ * próxima reorganização. Não é thread-safe: é usado pelo {@link BookService}, na thread da interface.
+ *
+ * * @author Netto
+ */
+final class TrigramIndex {
+
+    /** Tamanho dos trechos indexados. */
+    static final int GRAM_LENGTH = 3;
+
+    /** Quantidade de documentos removidos tolerada antes de refazer o índice. */
+    private static final int MIN_DEAD_TO_COMPACT = 1024;
+
+    /**
+     * Lista comprimida dos documentos de um trigrama, em ordem crescente.
+     * A cada {@link #SKIP_INTERVAL} documentos é guardado um ponto de salto (o documento e a posição no vetor
+     * de bytes), para que a interseção com poucos candidatos pule os trechos da lista que não interessam.
+     */
+    private static final class Postings {
+        static final int SKIP_INTERVAL = 64;
+
+        byte[] data = new byte[4];
+        int length;
+        int count;
+        int last = -1;
+        int[] skipDocuments = new int[0];
+        int[] skipPositions = new int[0];
+
+        void add(int document) {
+            if (document == last) {
+                return; // O trigrama se repete no mesmo livro
+            }
+            if (length + 5 > data.length) {
+                data = Arrays.copyOf(data, data.length * 2 + 5);
+            }
+            int delta = document - last;
+            while (delta >= 0x80) {
+                data[length++] = (byte) (delta | 0x80);
+                delta >>>= 7;
+            }
+            data[length++] = (byte) delta;
+            last = document;
+            count++;
+            if (count % SKIP_INTERVAL == 0) {
+                int skip = count / SKIP_INTERVAL - 1;
+                if (skip == skipDocuments.length) {
+                    skipDocuments = Arrays.copyOf(skipDocuments, skip * 2 + 1);
+                    skipPositions = Arrays.copyOf(skipPositions, skip * 2 + 1);
+                }
+                skipDocuments[skip] = document;
+                skipPositions[skip] = length;
+            }
+        }
+
+        int[] decode() {
+            int[] documents = new int[count];
+            int position = 0;
+            int document = -1;
+            for (int i = 0; i < count; i++) {
+                int delta = 0;
+                int shift = 0;
+                byte b;
+                do {
+                    b = data[position++];
+                    delta |= (b & 0x7F) << shift;
+                    shift += 7;
+                } while (b < 0);
+                document += delta;
+                documents[i] = document;
+            }
+            return documents;
+        }
+
+        /**
+         * Mantém em {@code candidates} apenas os documentos que também estão nesta lista.
+         * @return A nova quantidade de candidatos.
+         */
+        int retainAll(int[] candidates, int size) {
+            int skips = count / SKIP_INTERVAL;
+            int nextSkip = 0;
+            int kept = 0;
+            int position = 0;
+            int read = 0;
+            int document = -1;
+            for (int i = 0; i < size; i++) {
+                int candidate = candidates[i];
+                // Pula os blocos que terminam antes do candidato
+                while (nextSkip < skips && skipDocuments[nextSkip] < candidate) {
+                    if ((nextSkip + 1) * SKIP_INTERVAL > read) {
+                        document = skipDocuments[nextSkip];
+                        position = skipPositions[nextSkip];
+                        read = (nextSkip + 1) * SKIP_INTERVAL;
+                    }
+                    nextSkip++;
+                }
+                while (document < candidate && read < count) {
+                    int delta = 0;
+                    int shift = 0;
+                    byte b;
+                    do {
+                        b = data[position++];
+                        delta |= (b & 0x7F) << shift;
+                        shift += 7;
+                    } while (b < 0);
+                    document += delta;
+                    read++;
+                }
+                if (document == candidate) {
+                    candidates[kept++] = candidate;
+                } else if (document < candidate) {
+                    break; // A lista acabou
+                }
+            }
+            return kept;
+        }
+    }
+
+    private final Map<Long, Postings> grams = new HashMap<>();
+    private final Map<String, Integer> documentsById = new HashMap<>();
+    private String[] bookIds = new String[16];
+    /** Chaves normalizadas do título e do autor de cada documento ({@code null} = removido). */
+    private String[] titleKeys = new String[16];
+    private String[] authorKeys = new String[16];
+    private int documentCount;
+
+    /** Indexa um livro novo, ou reindexa um livro já indexado (ex: depois de uma edição). */
+    void put(Book book) {
+        remove(book.getId());
+        add(book.getId(), book.getTitleKey(), book.getAuthorKey());
+    }
+
+    /** Retira um livro do índice (as listas são limpas na próxima reorganização). */
+    void remove(String bookId) {
+        Integer document = documentsById.remove(bookId);
+        if (document == null) {
+            return;
+        }
+        bookIds[document] = null;
+        titleKeys[document] = null;
+        authorKeys[document] = null;
+        int dead = documentCount - documentsById.size();
+        if (dead > MIN_DEAD_TO_COMPACT && dead > documentsById.size()) {
+            compact();
+        }
+    }
+
+    /**
+     * Busca os livros cujo título ou autor contém o trecho, sem diferenciar maiúsculas nem acentos.
+     * @param term O trecho buscado, normalizado como as chaves dos livros (sem retirar espaços).
+     * @return Os livros encontrados; vazio se o trecho é vazio.
+     */
+    SearchHits search(String term) {
+        BitSet result = new BitSet();
+        String key = SearchKeys.fold(term);
+        if (key.isEmpty()) {
+            return hits(result);
+        }
+        if (key.length() < GRAM_LENGTH) {
+            for (int document = 0; document < documentCount; document++) {
+                if (matches(document, key)) {
+                    result.set(document);
+                }
+            }
+            return hits(result);
+        }
+
+        // 1. Listas dos trigramas do trecho, da menor para a maior
+        Postings[] lists = new Postings[key.length() - GRAM_LENGTH + 1];
+        for (int i = 0; i < lists.length; i++) {
+            lists[i] = grams.get(gram(key, i));
+            if (lists[i] == null) {
+                return hits(result); // Um trigrama que nenhum livro tem
+            }
+        }
+        Arrays.sort(lists, (a, b) -> Integer.compare(a.count, b.count));
+
+        // 2. Candidatos: interseção das listas, pulando as repetidas
+        int[] candidates = lists[0].decode();
+        int size = candidates.length;
+        for (int i = 1; i < lists.length && size > 0; i++) {
+            if (lists[i] != lists[i - 1]) {
+                size = lists[i].retainAll(candidates, size);
+            }
+        }
+
+        // 3. Conferência no título e no autor (um trecho de 3 caracteres é o próprio trigrama)
+        boolean verify = key.length() > GRAM_LENGTH;
+        for (int i = 0; i < size; i++) {
+            int document = candidates[i];
+            if (verify ? matches(document, key) : titleKeys[document] != null) {
+                result.set(document);
+            }
+        }
+        return hits(result);
+    }
+
+    /** @return Quantidade de livros no índice. */
+    int size() {
+        return documentsById.size();
+    }
+
+    /** @return O documento atual do livro, ou -1 se ele não está no índice. */
+    int documentOf(String bookId) {
+        Integer document = documentsById.get(bookId);
+        return (document != null) ? document : -1;
+    }
+
+    String bookIdOf(int document) {
+        return bookIds[document];
+    }
+
+    // ==========================================================================================
+    // == MÉTODOS INTERNOS
+    // ==========================================================================================
+
+    private void add(String bookId, String titleKey, String authorKey) {
+        int document = documentCount++;
+        if (document == bookIds.length) {
+            bookIds = Arrays.copyOf(bookIds, document * 2);
+            titleKeys = Arrays.copyOf(titleKeys, document * 2);
+            authorKeys = Arrays.copyOf(authorKeys, document * 2);
+        }
+        bookIds[document] = bookId;
+        titleKeys[document] = titleKey;
+        authorKeys[document] = authorKey;
+        documentsById.put(bookId, document);
+        index(titleKey, document);
+        index(authorKey, document);
+    }
+
+    private void index(String key, int document) {
+        for (int i = 0; i + GRAM_LENGTH <= key.length(); i++) {
+            grams.computeIfAbsent(gram(key, i), gram -> new Postings()).add(document);
+        }
+    }
+
+    /** Confere o trecho (já normalizado) nas chaves do documento. */
+    private boolean matches(int document, String key) {
+        return titleKeys[document] != null
+                && (titleKeys[document].contains(key) || authorKeys[document].contains(key));
+    }
+
+    private SearchHits hits(BitSet documents) {
+        return new SearchHits(this::documentOf, this::bookIdOf, documents);
+    }
+
+    /** Os 3 caracteres a partir da posição, num único número. */
+    private static long gram(String key, int start) {
+        return ((long) key.charAt(start) << 32) | ((long) key.charAt(start + 1) << 16) | key.charAt(start + 2);
+    }
+
+    /** Refaz o índice só com os livros que continuam nele, na mesma ordem (a partir das chaves guardadas). */
+    private void compact() {
+        String[] oldIds = bookIds;
+        String[] oldTitles = titleKeys;
+        String[] oldAuthors = authorKeys;
+        int oldCount = documentCount;
+        int capacity = Math.max(16, documentsById.size() * 2);
+        grams.clear();
+        documentsById.clear();
+        bookIds = new String[capacity];
+        titleKeys = new String[capacity];
+        authorKeys = new String[capacity];
+        documentCount = 0;
+        for (int document = 0; document < oldCount; document++) {
+            if (oldTitles[document] != null) {
+                add(oldIds[document], oldTitles[document], oldAuthors[document]);
+            }
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.bookTracker.service;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Fila de gravação em segundo plano ("write-behind") usada pelo {@link BookService}.
+ *
+ * As alterações são aplicadas na memória imediatamente e a gravação em disco é enfileirada
+ * aqui, para ser executada por uma thread dedicada. Assim a interface (EDT) nunca espera pelo disco.
+ *
+ * Regras da fila:
+ * Coalescência: tarefas com a mesma chave (ex: o mesmo livro editado várias vezes) são substituídas
+ * pela mais recente, que vai para o fim da fila. Apenas a última versão é gravada.
+ * Limite: a fila aceita no máximo {@code capacity} tarefas pendentes. Se encher, quem enfileira
+ * espera até a thread de gravação abrir espaço (backpressure), em vez de consumir memória sem limite.
+ * Ordem: tarefas são executadas na ordem em que foram (re)enfileiradas, uma de cada vez.
+ *
+ * * @author Netto
+ */
+class WriteBehindQueue {
+
+    /** Tarefas pendentes, na ordem de execução (chave -> tarefa). */
+    private final Map<Object, Runnable> pending = new LinkedHashMap<>();
+    private final int capacity;
+    private final Thread worker;
+
+    /** Indica se a thread está executando uma tarefa neste momento. */
+    private boolean busy;
+    private boolean shutdown;
+
+    /**
+     * Cria a fila e inicia a thread de gravação.
+     * @param name Nome da thread (aparece em ferramentas de diagnóstico).
+     * @param capacity Quantidade máxima de tarefas pendentes.
+     */
+    WriteBehindQueue(String name, int capacity) {
+        this.capacity = capacity;
+        this.worker = new Thread(this::run, name);
+        this.worker.setDaemon(true); // Não impede o encerramento; o shutdown hook esvazia a fila
+        this.worker.start();
+    }
+
+    /**
+     * Enfileira uma tarefa de gravação.
+     * @param key Chave para coalescência (ex: "book:" + ID). {@code null} = nunca coalescer.
+     * @param task A gravação a ser executada na thread de segundo plano.
+     */
+    synchronized void submit(Object key, Runnable task) {
+        if (shutdown) {
+            task.run(); // Fila encerrada: grava na hora para não perder a alteração
+            return;
+        }
+        if (key == null) {
+            key = new Object(); // Chave única: só é igual a si mesma
+        }
+        // Remove a versão anterior para que a nova vá para o fim da fila
+        boolean replaced = pending.remove(key) != null;
+        while (!replaced && pending.size() >= capacity && !shutdown) {
+            waitQuietly(); // Backpressure: aguarda a thread de gravação abrir espaço
+        }
+        pending.put(key, task);
+        notifyAll();
+    }
+
+    /**
+     * Aguarda até que todas as tarefas enfileiradas até agora tenham sido gravadas.
+     */
+    synchronized void flush() {
+        if (Thread.currentThread() == worker) {
+            return; // Chamado de dentro de uma tarefa: esperar causaria um impasse
+        }
+        while ((!pending.isEmpty() || busy) && worker.isAlive()) {
+            waitQuietly();
+        }
+    }
+
+    /**
+     * Grava tudo o que está pendente e encerra a thread.
+     * Tarefas enfileiradas depois disso são executadas imediatamente na thread chamadora.
+     */
+    void shutdown() {
+        flush();
+        synchronized (this) {
+            shutdown = true;
+            notifyAll();
+        }
+    }
+
+    /** @return Quantidade de tarefas aguardando gravação. */
+    synchronized int pendingCount() {
+        return pending.size();
+    }
+
+    /** Laço da thread de gravação: retira e executa uma tarefa por vez. */
+    private void run() {
+        while (true) {
+            Runnable task;
+            synchronized (this) {
+                while (pending.isEmpty() && !shutdown) {
+                    waitQuietly();
+                }
+                if (pending.isEmpty()) {
+                    return; // Encerrada e sem pendências
+                }
+                Iterator<Runnable> it = pending.values().iterator();
+                task = it.next();
+                it.remove();
+                busy = true;
+                notifyAll(); // Libera quem estava esperando espaço na fila
+            }
+
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                // Uma falha não pode derrubar a thread: as próximas gravações ainda precisam acontecer
+                System.err.println("Erro na gravação em segundo plano: " + e.getMessage());
+            } finally {
+                synchronized (this) {
+                    busy = false;
+                    notifyAll();
+                }
+            }
+        }
+    }
+
+    private void waitQuietly() {
+        try {
+            wait();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
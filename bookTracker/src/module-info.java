@@ -1,10 +1,12 @@
-/**
- * 
- */
-/**
- * 
- */
-module bookTracker {
-    requires java.desktop;
-    requires java.logging;
+/**
+ * 
+ */
+/**
+ * 
+ */
+module bookTracker {
+    requires java.desktop;
+    requires java.logging;
+    requires java.sql; // Armazenamento opcional em SQLite (SqlDataManager); o driver não acompanha o projeto
+    requires jdk.unsupported; // Liberação imediata de arquivos mapeados em memória (MappedBookParser)
 }
\ No newline at end of file